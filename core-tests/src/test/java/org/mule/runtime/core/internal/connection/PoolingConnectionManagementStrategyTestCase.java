@@ -15,8 +15,11 @@ import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -36,6 +39,8 @@ import org.mule.runtime.api.connection.PoolingListener;
 import org.mule.runtime.core.api.Injector;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 
 import java.util.Arrays;
 
@@ -56,6 +61,7 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
       new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
   private PoolingConnectionManagementStrategy<Lifecycle> strategy;
   private PoolingListener<Lifecycle> poolingListener;
+  private boolean validateIdleConnections = false;
   private Injector injector;
 
   private ConnectionHandler<Lifecycle> connection1;
@@ -154,6 +160,37 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
     strategy.getConnectionHandler().getConnection();
   }
 
+  @Test
+  public void invalidIdleConnectionsAreEvicted() throws Exception {
+    poolingProfile = new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    poolingProfile.setEvictionCheckIntervalMillis(50);
+    validateIdleConnections = true;
+    initStrategy();
+
+    strategy.getConnectionHandler().release();
+    doReturn(ConnectionValidationResult.failure("Connection closed by peer", ConnectionExceptionCode.UNKNOWN, new Exception()))
+        .when(connectionProvider).validate(anyObject());
+
+    new PollingProber(5000, 50).check(new JUnitLambdaProbe(() -> {
+      verify(connectionProvider).disconnect(any(Lifecycle.class));
+      return true;
+    }));
+  }
+
+  @Test
+  public void idleConnectionsNotValidatedUnlessRequested() throws Exception {
+    poolingProfile = new PoolingProfile(MAX_ACTIVE, MAX_ACTIVE, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    poolingProfile.setEvictionCheckIntervalMillis(50);
+    initStrategy();
+
+    strategy.getConnectionHandler().release();
+    reset(connectionProvider);
+
+    Thread.sleep(500);
+    verify(connectionProvider, never()).validate(anyObject());
+    verify(connectionProvider, never()).disconnect(any(Lifecycle.class));
+  }
+
   private void resetConnectionProvider() throws ConnectionException {
     ConnectionProvider<Lifecycle> connectionProvider = mock(ConnectionProvider.class);
     when(connectionProvider.connect()).thenAnswer(i -> mock(Lifecycle.class));
@@ -162,7 +199,8 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
   }
 
   private void initStrategy() {
-    strategy = new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener, muleContext);
+    strategy = new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, poolingListener,
+                                                         validateIdleConnections, muleContext);
   }
 
   private <T> void verifyThat(Assertion<T> assertion) throws Exception {
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.Arrays.asList;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.registry.RegistrationException;
+import org.mule.runtime.core.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.message.GroupCorrelation;
+import org.mule.runtime.core.routing.correlation.CollectPayloadsAccumulator;
+import org.mule.runtime.core.routing.correlation.ConcatenatingAccumulator;
+import org.mule.runtime.core.util.UUID;
+import org.mule.runtime.core.util.store.DefaultObjectStoreFactoryBean;
+import org.mule.runtime.core.util.store.PartitionedPersistentObjectStore;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AccumulatingEventGroupTestCase extends AbstractMuleContextTestCase {
+
+  private PartitionableObjectStore<Event> objectStore;
+
+  @Before
+  public void before() throws RegistrationException {
+    objectStore = (PartitionableObjectStore) muleContext.getRegistry().lookupObject(DefaultObjectStoreFactoryBean.class)
+        .createDefaultInMemoryObjectStore();
+  }
+
+  @Test
+  public void collectsPayloadsInSequenceOrder() throws Exception {
+    EventGroup group = createGroup(new CollectPayloadsAccumulator());
+
+    group.addEvent(part("foo3", 3));
+    group.addEvent(part("foo1", 1));
+    group.addEvent(part("foo2", 2));
+
+    assertThat(group.size(), is(3));
+    assertThat(group.toArray(), arrayWithSize(0));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), equalTo(asList("foo1", "foo2", "foo3")));
+  }
+
+  @Test
+  public void duplicatedSequenceIsAccumulatedOnce() throws Exception {
+    EventGroup group = createGroup(new CollectPayloadsAccumulator());
+
+    group.addEvent(part("foo1", 1));
+    group.addEvent(part("foo1", 1));
+    group.addEvent(part("foo2", 2));
+
+    assertThat(group.size(), is(2));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), equalTo(asList("foo1", "foo2")));
+  }
+
+  @Test
+  public void concatenatesInSequenceOrder() throws Exception {
+    EventGroup group = createGroup(new ConcatenatingAccumulator());
+
+    group.addEvent(part("lo".getBytes(), 2));
+    group.addEvent(part("hel".getBytes(), 1));
+
+    assertThat(new String((byte[]) group.getMessageCollectionEvent().getMessage().getPayload().getValue()), equalTo("hello"));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    EventGroup group = createGroup(new CollectPayloadsAccumulator());
+    group.addEvent(part("foo1", 1));
+
+    group.clear();
+    group.initEventsStore(objectStore);
+
+    assertThat(group.size(), is(0));
+  }
+
+  @Test
+  public void accumulatedStateStoredOnceInPersistentStore() throws Exception {
+    objectStore = new PartitionedPersistentObjectStore<>(muleContext);
+    EventGroup group = createGroup(new CollectPayloadsAccumulator());
+
+    group.addEvent(part("foo3", 3));
+    group.addEvent(part("foo1", 1));
+    group.addEvent(part("foo2", 2));
+
+    // the accumulated state plus the template for the aggregated event, regardless of the amount of events
+    assertThat(objectStore.allKeys(group.getEventsPartitionKey()), hasSize(2));
+    assertThat(group.size(), is(3));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), equalTo(asList("foo1", "foo2", "foo3")));
+  }
+
+  @Test
+  public void unsequencedEventsCollectedInArrivalOrder() throws Exception {
+    objectStore = new PartitionedPersistentObjectStore<>(muleContext);
+    EventGroup group = createGroup(new CollectPayloadsAccumulator());
+
+    group.addEvent(eventBuilder().message(InternalMessage.of("foo1")).build());
+    group.addEvent(eventBuilder().message(InternalMessage.of("foo2")).build());
+    group.addEvent(part("foo0", 1));
+
+    assertThat(group.size(), is(3));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), equalTo(asList("foo0", "foo1", "foo2")));
+  }
+
+  @Test
+  public void arrivalOrderKeptWhenGroupIsRetrievedFromPersistentStore() throws Exception {
+    objectStore = new PartitionedPersistentObjectStore<>(muleContext);
+    PartitionableObjectStore<EventGroup> groupsStore = new PartitionedPersistentObjectStore<>(muleContext);
+    groupsStore.open("groups");
+    EventGroup group = createGroup(new CollectPayloadsAccumulator());
+    groupsStore.store(group.getGroupId().toString(), group, "groups");
+
+    for (String payload : asList("foo1", "foo2", "foo0")) {
+      EventGroup retrieved = groupsStore.retrieve(group.getGroupId().toString(), "groups");
+      retrieved.initEventsStore(objectStore);
+      retrieved.addEvent(eventBuilder().message(InternalMessage.of(payload)).build());
+    }
+
+    assertThat(group.size(), is(3));
+    assertThat(group.getMessageCollectionEvent().getMessage().getPayload().getValue(), equalTo(asList("foo1", "foo2", "foo0")));
+  }
+
+  private EventGroup createGroup(CollectPayloadsAccumulator accumulator) throws Exception {
+    EventGroup group = new AccumulatingEventGroup(UUID.getUUID(), muleContext, of(3), EventGroup.DEFAULT_STORE_PREFIX,
+                                                  accumulator);
+    group.initEventsStore(objectStore);
+    return group;
+  }
+
+  private Event part(Object payload, int sequence) throws Exception {
+    return eventBuilder().message(InternalMessage.of(payload)).groupCorrelation(new GroupCorrelation(3, sequence)).build();
+  }
+}
@@ -6,10 +6,14 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
@@ -23,6 +27,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.routing.AsynchronousUntilSuccessfulProcessingStrategy.MAX_MILLIS_BEFORE_RETRY;
 import static org.mule.tck.util.MuleContextUtils.mockContextWithServices;
 
 import org.mule.runtime.api.exception.MuleException;
@@ -48,11 +53,13 @@ import org.mule.tck.SimpleUnitTestSupportSchedulerService;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
 import org.junit.Before;
@@ -315,11 +322,123 @@ public class AsynchronousUntilSuccessfulProcessingStrategyTestCase extends Abstr
     verify(mockFlow.getExceptionListener(), never()).handleException(any(MessagingException.class), eq(event));
   }
 
-  private void executeUntilSuccessfulFailingRoute(FailCallback failCallback) throws Exception {
+  @Test
+  public void exhaustedRetriesAreCounted() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getDlqMP()).thenReturn(mockDLQ);
+    AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = executeUntilSuccessfulFailingRoute(() -> {
+      throw new RuntimeException(EXPECTED_FAILURE_MSG);
+    });
+    waitUntilRouteIsExecuted();
+    waitUntilExceptionIsHandled();
+
+    assertThat(processingStrategy.getAttemptCount(), is((long) DEFAULT_TRIES));
+    assertThat(processingStrategy.getExhaustedCount(), is(1L));
+    assertThat(processingStrategy.getPendingCount(), is(0L));
+  }
+
+  @Test
+  public void exponentialBackoff() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(100L);
+    when(mockUntilSuccessfulConfiguration.getBackoffMultiplier()).thenReturn(2.0);
+    when(mockUntilSuccessfulConfiguration.getMaxMillisBetweenRetries()).thenReturn(350L);
+    AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+
+    assertThat(processingStrategy.getMillisBeforeRetry(1), is(100L));
+    assertThat(processingStrategy.getMillisBeforeRetry(2), is(200L));
+    assertThat(processingStrategy.getMillisBeforeRetry(3), is(350L));
+  }
+
+  @Test
+  public void exponentialBackoffWithoutMaximumIsBounded() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(100L);
+    when(mockUntilSuccessfulConfiguration.getBackoffMultiplier()).thenReturn(2.0);
+    AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+
+    assertThat(processingStrategy.getMillisBeforeRetry(5000), is(MAX_MILLIS_BEFORE_RETRY));
+  }
+
+  @Test
+  public void jitterShortensTimeBetweenRetries() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(100L);
+    when(mockUntilSuccessfulConfiguration.getRetryJitter()).thenReturn(0.5);
+    AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(processingStrategy.getMillisBeforeRetry(1), allOf(greaterThanOrEqualTo(50L), lessThanOrEqualTo(100L)));
+    }
+  }
+
+  @Test
+  public void maxConcurrentRetries() throws Exception {
+    final int events = 5;
+    when(mockUntilSuccessfulConfiguration.getMaxConcurrentRetries()).thenReturn(1);
+    AtomicInteger concurrentProcessing = new AtomicInteger();
+    AtomicInteger maxConcurrentProcessing = new AtomicInteger();
+    failRoute = () -> {
+      maxConcurrentProcessing.accumulateAndGet(concurrentProcessing.incrementAndGet(), Math::max);
+      Thread.sleep(20);
+      concurrentProcessing.decrementAndGet();
+    };
+    routeCountDownLatch = new CountDownLatch(events);
+    AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+    for (int i = 0; i < events; i++) {
+      processingStrategy.route(Event.builder(DefaultEventContext.create(mockFlow, TEST_CONNECTOR)).message(event.getMessage())
+          .build(), mock(FlowConstruct.class));
+    }
+    waitUntilRouteIsExecuted();
+
+    assertThat(maxConcurrentProcessing.get(), is(1));
+  }
+
+  @Test
+  public void staggeredRetriesWithMaxConcurrentRetries() throws Exception {
+    when(mockUntilSuccessfulConfiguration.getMaxConcurrentRetries()).thenReturn(1);
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(100L);
+    Set<Object> failedPayloads = newKeySet();
+    doAnswer(invocationOnMock -> {
+      routeCountDownLatch.countDown();
+      // the first attempt of each event fails
+      if (failedPayloads.add(((Event) invocationOnMock.getArguments()[0]).getMessage().getPayload().getValue())) {
+        throw new RuntimeException(EXPECTED_FAILURE_MSG);
+      }
+      return invocationOnMock.getArguments()[0];
+    }).when(mockRoute).process(any(Event.class));
+    routeCountDownLatch = new CountDownLatch(4);
+    AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+
+    // the retry of the second event is not the earliest one when scheduled, and is not due yet when the first one finishes
+    processingStrategy.route(Event.builder(DefaultEventContext.create(mockFlow, TEST_CONNECTOR))
+        .message(InternalMessage.of("first")).build(), mock(FlowConstruct.class));
+    Thread.sleep(50);
+    processingStrategy.route(Event.builder(DefaultEventContext.create(mockFlow, TEST_CONNECTOR))
+        .message(InternalMessage.of("second")).build(), mock(FlowConstruct.class));
+    waitUntilRouteIsExecuted();
+
+    assertThat(processingStrategy.getAttemptCount(), is(4L));
+    assertThat(processingStrategy.getPendingCount(), is(0L));
+  }
+
+  @Test
+  public void storedEventsProcessedWhenStarted() throws Exception {
+    final int events = 3;
+    when(mockUntilSuccessfulConfiguration.getMillisBetweenRetries()).thenReturn(100L);
+    for (int i = 0; i < events; i++) {
+      objectStore.store("stored" + i, event);
+    }
+    routeCountDownLatch = new CountDownLatch(events);
+    AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
+    waitUntilRouteIsExecuted();
+
+    assertThat(processingStrategy.getAttemptCount(), is((long) events));
+  }
+
+  private AsynchronousUntilSuccessfulProcessingStrategy executeUntilSuccessfulFailingRoute(FailCallback failCallback)
+      throws Exception {
     failRoute = failCallback;
     routeCountDownLatch = new CountDownLatch(DEFAULT_TRIES);
     AsynchronousUntilSuccessfulProcessingStrategy processingStrategy = createProcessingStrategy();
     processingStrategy.route(event, mock(FlowConstruct.class));
+    return processingStrategy;
   }
 
   private Event executeUntilSuccessful() throws Exception {
@@ -6,35 +6,52 @@
  */
 package org.mule.runtime.core.routing;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.Event.getCurrentEvent;
+import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
 
+import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.core.api.MuleSession;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.transaction.Transaction;
+import org.mule.runtime.core.routing.outbound.AbstractMessageSequenceSplitter;
 import org.mule.runtime.core.routing.outbound.IteratorMessageSequence;
 import org.mule.runtime.core.session.DefaultMuleSession;
+import org.mule.runtime.core.transaction.TransactionCoordination;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.testmodels.mule.TestTransaction;
 
 import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
@@ -129,6 +146,162 @@ public class CollectionMessageSplitterTestCase extends AbstractMuleContextTestCa
     assertRouted(new IteratorMessageSequence(TEST_LIST_SINGLE.iterator()), 1, false);
   }
 
+  @Test
+  public void concurrentPartsPreserveOrder() throws Exception {
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    CollectionSplitter splitter = new CollectionSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMaxConcurrency(2);
+    splitter.setListener(event -> {
+      maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+      try {
+        // make the first parts the slowest ones
+        Thread.sleep(50 / event.getGroupCorrelation().getSequence().get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        concurrent.decrementAndGet();
+      }
+      return Event.builder(event)
+          .message(InternalMessage.of(((String) event.getMessage().getPayload().getValue()).toUpperCase())).build();
+    });
+
+    Event result = splitter.process(eventBuilder().message(InternalMessage.of(TEST_LIST_MULTIPLE)).build());
+
+    List<Object> payloads = ((List<InternalMessage>) result.getMessage().getPayload().getValue()).stream()
+        .map(message -> message.getPayload().getValue()).collect(Collectors.toList());
+    assertThat(payloads, contains("ABC", "DEF", "GHI"));
+    assertThat(maxConcurrent.get() <= 2, is(true));
+  }
+
+  @Test
+  public void concurrentPartsOnlyRetainLastResult() throws Exception {
+    CollectionSplitter splitter = new CollectionSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMaxConcurrency(2);
+    splitter.setRetainResults(false);
+    splitter.setListener(event -> Event.builder(event)
+        .message(InternalMessage.of(((String) event.getMessage().getPayload().getValue()).toUpperCase())).build());
+
+    Event result = splitter.process(eventBuilder().message(InternalMessage.of(TEST_LIST_MULTIPLE)).build());
+
+    assertThat(result.getMessage().getPayload().getValue(), is("GHI"));
+  }
+
+  @Test
+  public void concurrentPartsProcessedWithCallerContext() throws Exception {
+    ClassLoader contextClassLoader = new URLClassLoader(new URL[0], Thread.currentThread().getContextClassLoader());
+    Set<ClassLoader> partClassLoaders = Collections.synchronizedSet(new HashSet<>());
+    Set<Object> currentEventPayloads = Collections.synchronizedSet(new HashSet<>());
+    CollectionSplitter splitter = new CollectionSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMaxConcurrency(2);
+    splitter.setListener(event -> {
+      partClassLoaders.add(Thread.currentThread().getContextClassLoader());
+      currentEventPayloads.add(getCurrentEvent().getMessage().getPayload().getValue());
+      return event;
+    });
+
+    Event event = eventBuilder().message(InternalMessage.of(TEST_LIST_MULTIPLE)).build();
+    withContextClassLoader(contextClassLoader, () -> {
+      try {
+        splitter.process(event);
+      } catch (MuleException e) {
+        throw new MuleRuntimeException(e);
+      }
+    });
+
+    assertThat(partClassLoaders, contains(contextClassLoader));
+    assertThat(currentEventPayloads, containsInAnyOrder("abc", "def", "ghi"));
+  }
+
+  @Test
+  public void concurrentPartsCollectAllFailures() throws Exception {
+    AtomicInteger processed = new AtomicInteger();
+    CollectionSplitter splitter = new CollectionSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMaxConcurrency(2);
+    splitter.setFailFast(false);
+    splitter.setListener(event -> {
+      processed.incrementAndGet();
+      if ("def".equals(event.getMessage().getPayload().getValue())) {
+        throw new DefaultMuleException("Expected");
+      }
+      return event;
+    });
+
+    try {
+      splitter.process(eventBuilder().message(InternalMessage.of(TEST_LIST_MULTIPLE)).build());
+      fail("Expected the failure of the second part");
+    } catch (CompositeRoutingException e) {
+      assertThat(e.getExceptions().keySet(), contains(2));
+      assertThat(e.getExceptionForRouteIndex(2), instanceOf(DefaultMuleException.class));
+    }
+    assertThat(processed.get(), is(3));
+  }
+
+  @Test
+  public void partsProcessedSequentiallyWithinTransaction() throws Exception {
+    Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+    CollectionSplitter splitter = new CollectionSplitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setMaxConcurrency(2);
+    splitter.setListener(event -> {
+      threads.add(Thread.currentThread());
+      return event;
+    });
+
+    Transaction transaction = new TestTransaction(muleContext);
+    TransactionCoordination.getInstance().bindTransaction(transaction);
+    try {
+      splitter.process(eventBuilder().message(InternalMessage.of(TEST_LIST_MULTIPLE)).build());
+    } finally {
+      TransactionCoordination.getInstance().unbindTransaction(transaction);
+    }
+
+    assertThat(threads, contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void concurrentPartsDoNotRequestSequenceSize() throws Exception {
+    List<Integer> groupSizes = Collections.synchronizedList(new ArrayList<>());
+    AbstractMessageSequenceSplitter splitter = new AbstractMessageSequenceSplitter() {
+
+      @Override
+      protected MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException {
+        Iterator<String> iterator = TEST_LIST_MULTIPLE.iterator();
+        return new AbstractMessageSequence<String>() {
+
+          @Override
+          public Integer size() {
+            throw new AssertionError("Size of the sequence should not be requested");
+          }
+
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public String next() {
+            return iterator.next();
+          }
+        };
+      }
+    };
+    splitter.setMuleContext(muleContext);
+    splitter.setMaxConcurrency(2);
+    splitter.setListener(event -> {
+      groupSizes.add(event.getGroupCorrelation().getGroupSize().orElse(null));
+      return event;
+    });
+
+    splitter.process(eventBuilder().message(InternalMessage.of(TEST_LIST_MULTIPLE)).build());
+
+    assertThat(groupSizes, containsInAnyOrder(null, null, 3));
+  }
+
   private void assertRouted(Object payload, int count, boolean counted) throws Exception, MuleException {
     MuleSession session = new DefaultMuleSession();
 
@@ -180,7 +353,8 @@ public class CollectionMessageSplitterTestCase extends AbstractMuleContextTestCa
     for (Event event : splits) {
       InternalMessage msg = event.getMessage();
       assertTrue(msg.getPayload().getValue() instanceof String);
-      if (counted) {
+      if (counted || event.getGroupCorrelation().getSequence().get() == count) {
+        // parts of sequences of unknown size have the group size only in the last one
         assertThat(event.getGroupCorrelation().getGroupSize().get(), is(count));
       } else {
         assertThat(event.getGroupCorrelation().getGroupSize().isPresent(), is(false));
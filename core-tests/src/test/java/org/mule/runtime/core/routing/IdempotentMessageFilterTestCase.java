@@ -6,8 +6,10 @@
  */
 package org.mule.runtime.core.routing;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mule.tck.MuleTestUtils.getTestFlow;
 
@@ -18,6 +20,7 @@ import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.MuleSession;
 import org.mule.runtime.core.construct.Flow;
 import org.mule.runtime.core.util.store.InMemoryObjectStore;
+import org.mule.runtime.core.util.store.SimpleMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import org.junit.Test;
@@ -52,4 +55,38 @@ public class IdempotentMessageFilterTestCase extends AbstractMuleContextTestCase
     processedEvent = ir.process(event);
     assertNull(processedEvent);
   }
+
+  @Test
+  public void bloomFilterSkipsStoreForNewIds() throws Exception {
+    Flow flow = getTestFlow(muleContext);
+
+    SimpleMemoryObjectStore<String> store = new SimpleMemoryObjectStore<>();
+    store.store("0", "0");
+
+    IdempotentMessageFilter ir = new IdempotentMessageFilter();
+    ir.setIdExpression("#[message.inboundProperties.id]");
+    ir.setFlowConstruct(flow);
+    ir.setThrowOnUnaccepted(false);
+    ir.setStorePrefix("foo");
+    ir.setStore(store);
+    ir.setUseBloomFilter(true);
+    ir.initialise();
+
+    final EventContext context = DefaultEventContext.create(flow, TEST_CONNECTOR);
+
+    assertNotNull(ir.process(eventWithId(context, "1")));
+    assertThat(ir.getBloomFilterHits(), is(1L));
+    assertThat(ir.getStoreChecks(), is(0L));
+
+    // duplicates, including the one stored before initialising, are looked up in the store
+    assertNull(ir.process(eventWithId(context, "1")));
+    assertNull(ir.process(eventWithId(context, "0")));
+    assertThat(ir.getBloomFilterHits(), is(1L));
+    assertThat(ir.getStoreChecks(), is(2L));
+  }
+
+  private Event eventWithId(EventContext context, String id) throws Exception {
+    InternalMessage message = InternalMessage.builder().payload("OK").addOutboundProperty("id", id).build();
+    return Event.builder(context).message(message).flow(getTestFlow(muleContext)).session(mock(MuleSession.class)).build();
+  }
 }
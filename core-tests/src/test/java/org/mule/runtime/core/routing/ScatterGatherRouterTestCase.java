@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.tck.MuleTestUtils.getTestFlow;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScatterGatherRouterTestCase extends AbstractMuleContextTestCase {
+
+  private static final long SLOW_ROUTE_MILLIS = 10000;
+
+  private ScatterGatherRouter router;
+
+  public ScatterGatherRouterTestCase() {
+    setStartContext(true);
+  }
+
+  @Before
+  public void before() throws Exception {
+    router = new ScatterGatherRouter();
+    router.setMuleContext(muleContext);
+    router.setFlowConstruct(getTestFlow(muleContext));
+  }
+
+  @After
+  public void after() throws Exception {
+    router.stop();
+    router.dispose();
+  }
+
+  @Test
+  public void completesWhenMinSuccessfulRoutesReached() throws Exception {
+    router.addRoute(payloadRoute("apple"));
+    router.addRoute(payloadRoute("banana"));
+    router.addRoute(slowRoute());
+    router.setMinSuccessfulRoutes(2);
+    router.initialise();
+    router.start();
+
+    long start = System.currentTimeMillis();
+    Event result = router.process(eventBuilder().message(InternalMessage.of(TEST_PAYLOAD)).build());
+
+    assertThat(System.currentTimeMillis() - start, lessThan(SLOW_ROUTE_MILLIS));
+    assertThat((List<InternalMessage>) result.getMessage().getPayload().getValue(), hasSize(2));
+  }
+
+  @Test
+  public void routesNotCompletedBeforeDeadlineFail() throws Exception {
+    router.addRoute(payloadRoute("apple"));
+    router.addRoute(slowRoute());
+    router.setDeadline(100);
+    router.initialise();
+    router.start();
+
+    try {
+      router.process(eventBuilder().message(InternalMessage.of(TEST_PAYLOAD)).build());
+      fail("Expected the slow route to fail");
+    } catch (CompositeRoutingException e) {
+      assertThat(e.getExceptions().size(), is(1));
+      assertThat(e.getExceptionForRouteIndex(1), instanceOf(TimeoutException.class));
+    }
+  }
+
+  private Processor payloadRoute(String payload) {
+    return event -> Event.builder(event).message(InternalMessage.of(payload)).build();
+  }
+
+  private Processor slowRoute() {
+    return event -> {
+      try {
+        Thread.sleep(SLOW_ROUTE_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return event;
+    };
+  }
+}
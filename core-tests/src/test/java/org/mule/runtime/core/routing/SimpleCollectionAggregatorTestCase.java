@@ -160,4 +160,73 @@ public class SimpleCollectionAggregatorTestCase extends AbstractMuleContextTestC
 
   }
 
+  @Test
+  public void testAggregateSequenceOfUnknownSize() throws Exception {
+    assertSequenceOfUnknownSizeAggregated(false);
+  }
+
+  @Test
+  public void testAggregateSequenceOfUnknownSizeWithPersistentStores() throws Exception {
+    assertSequenceOfUnknownSizeAggregated(true);
+  }
+
+  @Test
+  public void testAggregateEventWithoutSize() throws Exception {
+    assertEventWithoutSizeForwarded(false);
+  }
+
+  @Test
+  public void testAggregateEventWithoutSizeWithPersistentStores() throws Exception {
+    assertEventWithoutSizeForwarded(true);
+  }
+
+  private void assertSequenceOfUnknownSizeAggregated(boolean persistentStores) throws Exception {
+    Flow flow = getTestFlowWithComponent("test", Apple.class);
+    assertNotNull(flow);
+    SimpleCollectionAggregator router = createRouter(flow, persistentStores);
+
+    EventContext executionContext = DefaultEventContext.create(flow, TEST_CONNECTOR, "foo");
+
+    // the size of the group is only known by the last part of the sequence
+    Event event1 = Event.builder(executionContext).message(InternalMessage.of("test event A"))
+        .groupCorrelation(new GroupCorrelation(null, 1, true)).flow(flow).build();
+    Event event2 = Event.builder(executionContext).message(InternalMessage.of("test event B"))
+        .groupCorrelation(new GroupCorrelation(null, 2, true)).flow(flow).build();
+    Event event3 = Event.builder(executionContext).message(InternalMessage.of("test event C"))
+        .groupCorrelation(new GroupCorrelation(3, 3)).flow(flow).build();
+
+    assertNull(router.process(event1));
+    assertNull(router.process(event2));
+    Event resultEvent = router.process(event3);
+
+    assertNotNull(resultEvent);
+    List<InternalMessage> payload = (List<InternalMessage>) resultEvent.getMessage().getPayload().getValue();
+    assertEquals(3, payload.size());
+  }
+
+  private void assertEventWithoutSizeForwarded(boolean persistentStores) throws Exception {
+    Flow flow = getTestFlowWithComponent("test", Apple.class);
+    assertNotNull(flow);
+    SimpleCollectionAggregator router = createRouter(flow, persistentStores);
+
+    EventContext executionContext = DefaultEventContext.create(flow, TEST_CONNECTOR, "foo");
+
+    // the size is neither set nor announced by a later event, so there is nothing to wait for
+    Event event = Event.builder(executionContext).message(InternalMessage.of("test event A"))
+        .groupCorrelation(new GroupCorrelation(null, 1)).flow(flow).build();
+    Event resultEvent = router.process(event);
+
+    assertNotNull(resultEvent);
+    List<InternalMessage> payload = (List<InternalMessage>) resultEvent.getMessage().getPayload().getValue();
+    assertEquals(1, payload.size());
+  }
+
+  private SimpleCollectionAggregator createRouter(Flow flow, boolean persistentStores) throws Exception {
+    SimpleCollectionAggregator router = new SimpleCollectionAggregator();
+    router.setMuleContext(muleContext);
+    router.setFlowConstruct(flow);
+    router.setPersistentStores(persistentStores);
+    router.initialise();
+    return router;
+  }
 }
@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.core.routing.correlation;
 
+import static java.lang.System.currentTimeMillis;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -28,6 +32,7 @@ import org.mule.runtime.core.api.store.PartitionableObjectStore;
 import org.mule.runtime.core.routing.EventGroup;
 import org.mule.runtime.core.util.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
 import org.mule.tck.probe.Probe;
 import org.mule.tck.probe.Prober;
@@ -49,6 +54,7 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
 
   public static final String OBJECT_STOR_NAME_PREFIX = "prefix";
   public static final String TEST_GROUP_ID = "groupId";
+  public static final String OTHER_TEST_GROUP_ID = "otherGroupId";
   public static final boolean USE_PERSISTENT_STORE = false;
 
   private static final Logger logger = LoggerFactory.getLogger(EventCorrelatorTestCase.class);
@@ -167,6 +173,101 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     verify(mockEventGroup, times(1)).getMessageCollectionEvent();
   }
 
+  @Test
+  public void expiresGroupAddedAfterStart() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    memoryObjectStore.remove(TEST_GROUP_ID, "prefix.eventGroups");
+    eventCorrelator.setTimeout(100);
+    eventCorrelator.start();
+
+    try {
+      EventGroup eventGroup = mock(EventGroup.class, RETURNS_DEEP_STUBS);
+      when(eventGroup.getGroupId()).thenReturn(OTHER_TEST_GROUP_ID);
+      when(eventGroup.getCreated()).thenReturn(currentTimeMillis());
+      eventCorrelator.addEventGroup(eventGroup);
+
+      new PollingProber(5000, 50).check(new JUnitLambdaProbe(() -> eventCorrelator.getExpiredGroupsCount() == 1));
+      assertThat(memoryObjectStore.contains(OTHER_TEST_GROUP_ID, "prefix.eventGroups"), is(false));
+      assertThat(eventCorrelator.getOpenGroupsCount(), is(0L));
+      assertThat(eventCorrelator.getProcessedGroupsCount(), is(1L));
+    } finally {
+      eventCorrelator.stop();
+      eventCorrelator.dispose();
+    }
+  }
+
+  @Test
+  public void groupsNotIndexedWithoutTimeout() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.setTimeout(0);
+    eventCorrelator.start();
+
+    try {
+      for (int i = 0; i < 100; ++i) {
+        eventCorrelator.addEventGroup(mockEventGroup(OTHER_TEST_GROUP_ID + i));
+      }
+      assertThat(eventCorrelator.getExpiryIndexSize(), is(0));
+    } finally {
+      eventCorrelator.stop();
+      eventCorrelator.dispose();
+    }
+  }
+
+  @Test
+  public void groupsNotIndexedInSecondaryNode() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(false);
+
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.setTimeout(60000);
+    eventCorrelator.start();
+
+    try {
+      for (int i = 0; i < 100; ++i) {
+        eventCorrelator.addEventGroup(mockEventGroup(OTHER_TEST_GROUP_ID + i));
+      }
+      assertThat(eventCorrelator.getExpiryIndexSize(), is(0));
+    } finally {
+      eventCorrelator.stop();
+      eventCorrelator.dispose();
+    }
+  }
+
+  @Test
+  public void removedGroupsUnindexed() throws Exception {
+    when(mockMuleContext.isPrimaryPollingInstance()).thenReturn(true);
+
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    when(mockEventGroup.getCreated()).thenReturn(currentTimeMillis());
+    eventCorrelator.setTimeout(60000);
+    eventCorrelator.start();
+
+    try {
+      new PollingProber(5000, 50).check(new JUnitLambdaProbe(() -> eventCorrelator.getExpiryIndexSize() == 1));
+
+      EventGroup eventGroup = mockEventGroup(OTHER_TEST_GROUP_ID);
+      eventCorrelator.addEventGroup(eventGroup);
+      assertThat(eventCorrelator.getExpiryIndexSize(), is(2));
+
+      eventCorrelator.removeEventGroup(eventGroup);
+      assertThat(eventCorrelator.getExpiryIndexSize(), is(1));
+    } finally {
+      eventCorrelator.stop();
+      eventCorrelator.dispose();
+    }
+    assertThat(eventCorrelator.getExpiryIndexSize(), is(0));
+  }
+
+  private EventGroup mockEventGroup(String groupId) {
+    EventGroup eventGroup = mock(EventGroup.class, RETURNS_DEEP_STUBS);
+    when(eventGroup.getGroupId()).thenReturn(groupId);
+    when(eventGroup.getCreated()).thenReturn(currentTimeMillis());
+    return eventGroup;
+  }
+
   private EventCorrelator createEventCorrelator() throws Exception {
     when(mockMuleContext.getRegistry().get(MuleProperties.OBJECT_STORE_MANAGER)).thenReturn(mockObjectStoreManager);
     memoryObjectStore.store(TEST_GROUP_ID, mockEventGroup, "prefix.eventGroups");
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization;
+
+import static java.io.ObjectStreamClass.lookup;
+import static java.nio.ByteBuffer.allocate;
+import static java.util.Arrays.asList;
+import static org.apache.commons.lang.RandomStringUtils.randomAlphanumeric;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.serialization.internal.CompactSerializationProtocol;
+import org.mule.runtime.core.serialization.internal.JavaExternalSerializerProtocol;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CompactSerializationProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  @Override
+  protected void doSetUp() throws Exception {
+    CompactSerializationProtocol protocol = new CompactSerializationProtocol();
+    protocol.setMuleContext(muleContext);
+    serializationProtocol = protocol;
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void simpleTypes() throws Exception {
+    assertRoundTrip(randomAlphanumeric(100 * 1024));
+    assertRoundTrip(42);
+    assertRoundTrip(42L);
+    assertRoundTrip(true);
+    assertThat(serializationProtocol.deserialize(serializationProtocol.serialize(new byte[] {1, 2, 3})),
+               equalTo(new byte[] {1, 2, 3}));
+  }
+
+  @Test
+  public void objectGraph() throws Exception {
+    Map<String, Serializable> map = new HashMap<>();
+    map.put("list", new ArrayList<>(asList("a", 1, 2L)));
+    map.put("custom", new Custom("name", 3));
+    assertRoundTrip((Serializable) map);
+  }
+
+  @Test
+  public void event() throws Exception {
+    Event event = eventBuilder().message(InternalMessage.builder().payload(TEST_PAYLOAD).addOutboundProperty("foo", "bar").build())
+        .addVariable("var", "value").build();
+
+    Event deserialized = serializationProtocol.deserialize(serializationProtocol.serialize(event));
+
+    assertThat(deserialized.getMessage().getPayload().getValue(), equalTo(TEST_PAYLOAD));
+    assertThat(deserialized.getMessage().getOutboundProperty("foo"), equalTo("bar"));
+    assertThat(deserialized.getVariable("var").getValue(), equalTo("value"));
+    assertThat(deserialized.getContext().getId(), equalTo(event.getContext().getId()));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    JavaExternalSerializerProtocol javaProtocol = new JavaExternalSerializerProtocol();
+    javaProtocol.setMuleContext(muleContext);
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      events.add(eventBuilder().message(InternalMessage.of(TEST_PAYLOAD)).build());
+    }
+
+    assertThat(serializationProtocol.serialize(events).length, lessThan(javaProtocol.serialize((Serializable) events).length));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void differentSerialVersionUIDOfRegisteredClass() throws Exception {
+    byte[] bytes = serializationProtocol.serialize(new ArrayList<>(asList("a", "b")));
+    byte[] serialVersionUID = allocate(8).putLong(lookup(ArrayList.class).getSerialVersionUID()).array();
+    int position = indexOf(bytes, serialVersionUID);
+    assertThat(position, greaterThan(0));
+    bytes[position]++;
+
+    serializationProtocol.deserialize(bytes);
+  }
+
+  private int indexOf(byte[] bytes, byte[] subArray) {
+    for (int i = 0; i <= bytes.length - subArray.length; i++) {
+      if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + subArray.length), subArray)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void assertRoundTrip(Serializable object) {
+    assertThat(serializationProtocol.deserialize(serializationProtocol.serialize(object)), equalTo(object));
+  }
+
+  private static class Custom implements Serializable {
+
+    private static final long serialVersionUID = 6514352186813215446L;
+
+    private final String name;
+    private final int value;
+
+    private Custom(String name, int value) {
+      this.name = name;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Custom && ((Custom) obj).name.equals(name) && ((Custom) obj).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode() + value;
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class PrefetchingProducerTestCase extends AbstractMuleTestCase {
+
+  private Producer<List<String>> delegate = mock(Producer.class);
+  private ExecutorService executor;
+
+  @Before
+  public void before() {
+    executor = newSingleThreadExecutor();
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void producesAllPagesInOrder() throws Exception {
+    when(delegate.produce()).thenReturn(asList("a", "b"), asList("c"), emptyList());
+    PrefetchingProducer<String> producer = new PrefetchingProducer<>(delegate, 2, executor);
+
+    assertThat(producer.produce(), equalTo(asList("a", "b")));
+    assertThat(producer.produce(), equalTo(asList("c")));
+    assertThat(producer.produce(), is(nullValue()));
+    assertThat(producer.produce(), is(nullValue()));
+    verify(delegate, times(3)).produce();
+  }
+
+  @Test
+  public void readsAheadUpToLimit() throws Exception {
+    when(delegate.produce()).thenReturn(asList("a"), asList("b"), asList("c"), asList("d"), asList("e"));
+    PrefetchingProducer<String> producer = new PrefetchingProducer<>(delegate, 2, executor);
+
+    assertThat(producer.produce(), equalTo(asList("a")));
+
+    new PollingProber(1000, 50).check(new JUnitLambdaProbe(() -> {
+      verify(delegate, times(3)).produce();
+      return true;
+    }));
+    Thread.sleep(100);
+    verify(delegate, times(3)).produce();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void failureIsThrownWhenPageIsRequested() throws Exception {
+    when(delegate.produce()).thenReturn(asList("a")).thenThrow(new IllegalStateException());
+    PrefetchingProducer<String> producer = new PrefetchingProducer<>(delegate, 2, executor);
+
+    assertThat(producer.produce(), equalTo(asList("a")));
+    producer.produce();
+  }
+
+  @Test(timeout = 5000, expected = RejectedExecutionException.class)
+  public void rejectedFetchIsThrown() throws Exception {
+    PrefetchingProducer<String> producer = new PrefetchingProducer<>(delegate, 2, command -> {
+      throw new RejectedExecutionException();
+    });
+
+    producer.produce();
+  }
+
+  @Test(timeout = 5000)
+  public void pagesFetchedInCallingThread() throws Exception {
+    when(delegate.produce()).thenReturn(asList("a"), asList("b"), emptyList());
+    PrefetchingProducer<String> producer = new PrefetchingProducer<>(delegate, 2, Runnable::run);
+
+    assertThat(producer.produce(), equalTo(asList("a")));
+    assertThat(producer.produce(), equalTo(asList("b")));
+    assertThat(producer.produce(), is(nullValue()));
+  }
+
+  @Test
+  public void close() throws Exception {
+    when(delegate.produce()).thenReturn(asList("a"), asList("b"));
+    PrefetchingProducer<String> producer = new PrefetchingProducer<>(delegate, 2, executor);
+    producer.produce();
+
+    producer.close();
+
+    verify(delegate).close();
+    assertThat(producer.produce(), is(nullValue()));
+  }
+}
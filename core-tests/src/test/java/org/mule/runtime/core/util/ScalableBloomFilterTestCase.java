@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class ScalableBloomFilterTestCase extends AbstractMuleTestCase {
+
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+  private static final int ELEMENTS = 10000;
+
+  @Test
+  public void containsAddedElementsBeyondInitialCapacity() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(FALSE_POSITIVE_PROBABILITY, 100);
+    for (int i = 0; i < ELEMENTS; i++) {
+      filter.put("element-" + i);
+    }
+
+    for (int i = 0; i < ELEMENTS; i++) {
+      assertThat(filter.mightContain("element-" + i), is(true));
+    }
+  }
+
+  @Test
+  public void falsePositivesAfterGrowing() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(FALSE_POSITIVE_PROBABILITY, 100);
+    for (int i = 0; i < ELEMENTS; i++) {
+      filter.put("element-" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < ELEMENTS; i++) {
+      if (filter.mightContain("other-" + i)) {
+        falsePositives++;
+      }
+    }
+    // leave some margin over the expected amount, since it is probabilistic
+    assertThat(falsePositives, lessThan((int) (ELEMENTS * FALSE_POSITIVE_PROBABILITY * 2)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidFalsePositiveProbability() {
+    new ScalableBloomFilter(1);
+  }
+}
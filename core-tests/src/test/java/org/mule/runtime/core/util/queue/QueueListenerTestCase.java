@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueueListenerTestCase extends AbstractMuleContextTestCase {
+
+  private static final String TEST_QUEUE_NAME = "queue1";
+
+  private final AtomicInteger signals = new AtomicInteger();
+  private final QueueListener listener = queueName -> {
+    assertThat(queueName, is(TEST_QUEUE_NAME));
+    signals.incrementAndGet();
+  };
+  private QueueManager queueManager;
+
+  @Before
+  public void registerListener() {
+    queueManager = muleContext.getQueueManager();
+    assertThat(queueManager.addQueueListener(TEST_QUEUE_NAME, listener), is(true));
+  }
+
+  @Test
+  public void signalledOnOffer() throws Exception {
+    Queue queue = queueManager.getQueueSession().getQueue(TEST_QUEUE_NAME);
+    queue.put("value");
+
+    assertThat(signals.get(), is(1));
+    assertThat(queue.poll(0), is((Object) "value"));
+    assertThat(signals.get(), is(1));
+  }
+
+  @Test
+  public void signalledOnCommitOnly() throws Exception {
+    QueueSession session = queueManager.getQueueSession();
+    session.begin();
+    session.getQueue(TEST_QUEUE_NAME).put("value1");
+    session.getQueue(TEST_QUEUE_NAME).put("value2");
+    assertThat(signals.get(), is(0));
+
+    session.commit();
+    assertThat(signals.get(), is(2));
+  }
+
+  @Test
+  public void notSignalledOnRollback() throws Exception {
+    QueueSession session = queueManager.getQueueSession();
+    session.begin();
+    session.getQueue(TEST_QUEUE_NAME).put("value");
+    session.rollback();
+
+    assertThat(signals.get(), is(0));
+  }
+
+  @Test
+  public void notSignalledOnceRemoved() throws Exception {
+    queueManager.removeQueueListener(TEST_QUEUE_NAME, listener);
+    queueManager.getQueueSession().getQueue(TEST_QUEUE_NAME).put("value");
+
+    assertThat(signals.get(), is(0));
+  }
+
+  @Test
+  public void notSignalledForOtherQueues() throws Exception {
+    queueManager.getQueueSession().getQueue("queue2").put("value");
+
+    assertThat(signals.get(), is(0));
+  }
+
+  @Override
+  protected boolean isStartContext() {
+    return true;
+  }
+}
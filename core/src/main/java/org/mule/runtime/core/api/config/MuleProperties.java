@@ -198,4 +198,10 @@ public class MuleProperties {
   public static final String MULE_DEFAULT_PROCESSING_STRATEGY = SYSTEM_PROPERTY_PREFIX + "default.processing.strategy";
   public static final String MULE_FLOW_TRACE = SYSTEM_PROPERTY_PREFIX + "flowTrace";
   public static final String MULE_LOG_VERBOSE_CLASSLOADING = SYSTEM_PROPERTY_PREFIX + "classloading.verbose";
+
+  /**
+   * System property to set how many objects of the same kind (configurations, connectors or flows) may have a lifecycle phase
+   * applied on them at the same time. Defaults to {@code 1}, which applies the phases sequentially.
+   */
+  public static final String MULE_LIFECYCLE_PARALLELISM = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallelism";
 }
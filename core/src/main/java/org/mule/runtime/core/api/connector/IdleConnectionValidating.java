@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.connector;
+
+import org.mule.runtime.api.config.PoolingProfile;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.PoolingConnectionProvider;
+
+/**
+ * Marker interface for {@link PoolingConnectionProvider}s which want the connections that sit idle in the pool to be validated
+ * through {@link ConnectionProvider#validate(Object)} on each eviction run, as configured by
+ * {@link PoolingProfile#getEvictionCheckIntervalMillis()}. Connections which fail the validation are discarded before they are
+ * borrowed.
+ * <p>
+ * Only implement this interface when validating a connection is cheap, since it is performed for every idle connection on each
+ * eviction run.
+ *
+ * @since 4.0
+ */
+public interface IdleConnectionValidating {
+
+}
@@ -15,6 +15,7 @@ import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.PoolingConnectionProvider;
 import org.mule.runtime.api.connection.PoolingListener;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.connector.IdleConnectionValidating;
 import org.mule.runtime.api.meta.model.connection.ConnectionManagementType;
 
 /**
@@ -74,9 +75,10 @@ final class ConnectionManagementStrategyFactory {
           (PoolingProfile) ((ConnectionProviderWrapper) connectionProvider).getPoolingProfile().orElse(poolingProfile);
     }
 
+    ConnectionProvider<C> delegate = unwrap(connectionProvider);
     return poolingProfile.isDisabled() ? withoutManagement(connectionProvider)
-        : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile,
-                                                    (PoolingListener<C>) unwrap(connectionProvider), muleContext);
+        : new PoolingConnectionManagementStrategy<>(connectionProvider, poolingProfile, (PoolingListener<C>) delegate,
+                                                    delegate instanceof IdleConnectionValidating, muleContext);
   }
 
   private <C> ConnectionManagementType getManagementType(ConnectionProvider<C> connectionProvider) {
@@ -40,6 +40,7 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   private final PoolingProfile poolingProfile;
   private final ObjectPool<C> pool;
   private final PoolingListener<C> poolingListener;
+  private final boolean validateIdleConnections;
 
   /**
    * Creates a new instance
@@ -47,13 +48,16 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
    * @param connectionProvider the {@link ConnectionProvider} used to manage the connections
    * @param poolingProfile the {@link PoolingProfile} which configures the {@link #pool}
    * @param poolingListener a {@link PoolingListener}
+   * @param validateIdleConnections whether idle connections are to be validated on each eviction run
    * @param muleContext the application's {@link MuleContext}
    */
   PoolingConnectionManagementStrategy(ConnectionProvider<C> connectionProvider, PoolingProfile poolingProfile,
-                                      PoolingListener<C> poolingListener, MuleContext muleContext) {
+                                      PoolingListener<C> poolingListener, boolean validateIdleConnections,
+                                      MuleContext muleContext) {
     super(connectionProvider, muleContext);
     this.poolingProfile = poolingProfile;
     this.poolingListener = poolingListener;
+    this.validateIdleConnections = validateIdleConnections;
     pool = createPool();
   }
 
@@ -126,6 +130,7 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     config.whenExhaustedAction = (byte) poolingProfile.getExhaustedAction();
     config.minEvictableIdleTimeMillis = poolingProfile.getMinEvictionMillis();
     config.timeBetweenEvictionRunsMillis = poolingProfile.getEvictionCheckIntervalMillis();
+    config.testWhileIdle = validateIdleConnections;
     GenericObjectPool genericPool = new GenericObjectPool(new ObjectFactoryAdapter(), config);
 
     return genericPool;
@@ -148,8 +153,14 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     }
 
     @Override
-    public boolean validateObject(C obj) {
-      return false;
+    public boolean validateObject(C connection) {
+      try {
+        ConnectionValidationResult validationResult = connectionProvider.validate(connection);
+        return validationResult != null && validationResult.isValid();
+      } catch (Exception e) {
+        LOGGER.debug("Exception was found validating idle connection. It will be evicted", e);
+        return false;
+      }
     }
 
     @Override
@@ -6,12 +6,12 @@
  */
 package org.mule.runtime.core.lifecycle;
 
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.core.api.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecyclePhase;
 
-import java.util.HashSet;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -27,8 +27,8 @@ public class InitDisposeLifecycleInterceptor implements LifecycleInterceptor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(InitDisposeLifecycleInterceptor.class);
 
-  private Set<Integer> initialisedObjects = new HashSet<>();
-  private boolean initialiseCompleted = false;
+  private Set<Integer> initialisedObjects = newKeySet();
+  private volatile boolean initialiseCompleted = false;
 
   /**
    * Evaluates the following conditions in order to determine if the phase should be skipped:
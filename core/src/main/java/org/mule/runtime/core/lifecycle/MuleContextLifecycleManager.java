@@ -74,6 +74,10 @@ public class MuleContextLifecycleManager extends AbstractLifecycleManager<MuleCo
   class MuleContextLifecycleCallback implements LifecycleCallback<MuleContext> {
 
     public void onTransition(String phaseName, MuleContext muleContext) throws MuleException {
+      // the phase is applied on every registry, so the times recorded by all of them are kept
+      if (muleContext.getStatistics() != null) {
+        muleContext.getStatistics().getLifecycleStatistics().clear(phaseName);
+      }
       muleContext.getRegistry().fireLifecycle(phaseName);
     }
   }
@@ -6,18 +6,45 @@
  */
 package org.mule.runtime.core.lifecycle;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_LIFECYCLE_PARALLELISM;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.lifecycle.HasLifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
 import org.mule.runtime.api.lifecycle.LifecycleException;
 import org.mule.runtime.core.api.lifecycle.LifecycleInterceptor;
 import org.mule.runtime.core.api.lifecycle.LifecyclePhase;
+import org.mule.runtime.core.api.config.Config;
+import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.registry.Registry;
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.transport.LegacyConnector;
 import org.mule.runtime.core.lifecycle.phases.ContainerManagedLifecyclePhase;
+import org.mule.runtime.core.management.stats.LifecycleStatistics;
+import org.mule.runtime.extension.api.runtime.ConfigurationProvider;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -25,6 +52,12 @@ import org.slf4j.LoggerFactory;
 
 /**
  * An implementation of {@link LifecycleCallback} for applying {@link Registry} lifecycles
+ * <p>
+ * Configurations, connectors and flows don't depend on each other, so if the {@code mule.lifecycle.parallelism} system
+ * property is greater than {@code 1}, the phases are applied on several of them at the same time using the
+ * {@link SchedulerService}. An object is only applied the phase once the phase was applied on its
+ * {@link #getLifecycleDependencies(Object) dependencies}. The order between the different kinds of objects of a
+ * {@link LifecyclePhase} is always kept.
  *
  * @since 3.7.0
  */
@@ -32,7 +65,11 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RegistryLifecycleCallback.class);
 
+  private static final List<Class<?>> PARALLEL_LIFECYCLE_TYPES =
+      asList(ConfigurationProvider.class, Config.class, LegacyConnector.class, FlowConstruct.class);
+
   protected final RegistryLifecycleManager registryLifecycleManager;
+  private final int parallelism = getInteger(MULE_LIFECYCLE_PARALLELISM, 1);
   private LifecycleInterceptor interceptor = new NullLifecycleInterceptor();
 
   public RegistryLifecycleCallback(RegistryLifecycleManager registryLifecycleManager) {
@@ -55,7 +92,7 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     // overlapping interfaces can cause duplicates
     // TODO: each LifecycleManager should keep this set per executing phase
     // and clear it when the phase is fully applied
-    Set<Object> duplicates = new HashSet<>();
+    Set<Object> duplicates = ConcurrentHashMap.newKeySet();
 
     for (LifecycleObject lifecycleObject : phase.getOrderedLifecycleObjects()) {
       lifecycleObject.firePreNotification(registryLifecycleManager.muleContext);
@@ -76,27 +113,16 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       return;
     }
 
-    for (Object target : targetObjects) {
-      if (duplicates.contains(target)) {
-        continue;
-      }
-
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("lifecycle phase: " + phase.getName() + " for object: " + target);
+    Scheduler scheduler = getParallelLifecycleScheduler(lifecycleObject, targetObjects);
+    if (scheduler != null) {
+      try {
+        doApplyLifecycleInParallel(phase, duplicates, targetObjects, scheduler);
+      } finally {
+        scheduler.stop(0, MILLISECONDS);
       }
-
-      if (interceptor.beforeLifecycle(phase, target)) {
-        phase.applyLifecycle(target);
-        duplicates.add(target);
-        interceptor.afterLifecycle(phase, target);
-      } else {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(String.format(
-                                     "Skipping the application of the '%s' lifecycle phase over a certain object "
-                                         + "because a %s interceptor of type [%s] indicated so. Object is: %s",
-                                     phase.getName(), LifecycleInterceptor.class.getSimpleName(),
-                                     interceptor.getClass().getName(), target));
-        }
+    } else {
+      for (Object target : targetObjects) {
+        doApplyLifecycle(phase, duplicates, target);
       }
     }
 
@@ -110,6 +136,123 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
     }
   }
 
+  private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Object target) throws LifecycleException {
+    if (duplicates.contains(target)) {
+      return;
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("lifecycle phase: " + phase.getName() + " for object: " + target);
+    }
+
+    if (interceptor.beforeLifecycle(phase, target)) {
+      long startTime = nanoTime();
+      phase.applyLifecycle(target);
+      LifecycleStatistics lifecycleStatistics = getLifecycleStatistics();
+      if (lifecycleStatistics != null) {
+        lifecycleStatistics.record(phase.getName(), target, NANOSECONDS.toMillis(nanoTime() - startTime));
+      }
+      duplicates.add(target);
+      interceptor.afterLifecycle(phase, target);
+    } else {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(String.format(
+                                   "Skipping the application of the '%s' lifecycle phase over a certain object "
+                                       + "because a %s interceptor of type [%s] indicated so. Object is: %s",
+                                   phase.getName(), LifecycleInterceptor.class.getSimpleName(),
+                                   interceptor.getClass().getName(), target));
+      }
+    }
+  }
+
+  private void doApplyLifecycleInParallel(LifecyclePhase phase, Set<Object> duplicates, Collection<?> targetObjects,
+                                          Scheduler scheduler)
+      throws LifecycleException {
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    final Executor executor = new BoundedExecutor(scheduler, parallelism);
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    final Map<Object, CompletableFuture<Void>> lifecycleFutures = new IdentityHashMap<>();
+
+    // dependencies come before the objects that depend on them, so their futures are already there
+    for (Object target : targetObjects) {
+      if (lifecycleFutures.containsKey(target)) {
+        continue;
+      }
+
+      CompletableFuture<?>[] dependencies = getLifecycleDependencies(target).stream().map(lifecycleFutures::get)
+          .filter(Objects::nonNull).toArray(CompletableFuture[]::new);
+      lifecycleFutures.put(target, allOf(dependencies).thenRunAsync(() -> {
+        if (failed.get()) {
+          return;
+        }
+
+        Thread thread = currentThread();
+        ClassLoader originalClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        try {
+          doApplyLifecycle(phase, duplicates, target);
+        } catch (LifecycleException e) {
+          failed.set(true);
+          throw new CompletionException(e);
+        } catch (RuntimeException | Error e) {
+          failed.set(true);
+          throw e;
+        } finally {
+          thread.setContextClassLoader(originalClassLoader);
+        }
+      }, executor));
+    }
+
+    // wait for every object, even if one fails, so that none is still being applied the phase once this returns
+    Throwable failure = null;
+    for (CompletableFuture<Void> lifecycleFuture : lifecycleFutures.values()) {
+      try {
+        lifecycleFuture.join();
+      } catch (CompletionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+
+    if (failure instanceof LifecycleException) {
+      throw (LifecycleException) failure;
+    } else if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+  }
+
+  private Scheduler getParallelLifecycleScheduler(LifecycleObject lifecycleObject, Collection<?> targetObjects) {
+    if (parallelism <= 1 || targetObjects.size() <= 1 || !PARALLEL_LIFECYCLE_TYPES.contains(lifecycleObject.getType())
+        || registryLifecycleManager.muleContext == null) {
+      return null;
+    }
+
+    SchedulerService schedulerService = registryLifecycleManager.muleContext.getSchedulerService();
+    return schedulerService != null ? schedulerService.ioScheduler() : null;
+  }
+
+  private LifecycleStatistics getLifecycleStatistics() {
+    if (registryLifecycleManager.muleContext == null || registryLifecycleManager.muleContext.getStatistics() == null) {
+      return null;
+    }
+    return registryLifecycleManager.muleContext.getStatistics().getLifecycleStatistics();
+  }
+
+  /**
+   * Returns the objects on which the phase has to be applied before applying it on the given {@code target} when applying it on
+   * several objects at the same time. Only the dependencies which are also part of the objects being applied the phase are
+   * considered.
+   *
+   * @param target an object returned by {@link #lookupObjectsForLifecycle(LifecycleObject)}
+   * @return the dependencies of the {@code target}
+   */
+  protected Collection<?> getLifecycleDependencies(Object target) {
+    return emptyList();
+  }
+
   protected Collection<?> lookupObjectsForLifecycle(LifecycleObject lo) {
     return registryLifecycleManager.getLifecycleObject().lookupObjectsForLifecycle(lo.getType());
   }
@@ -118,4 +261,52 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
   public void setLifecycleInterceptor(LifecycleInterceptor interceptor) {
     this.interceptor = interceptor;
   }
+
+  /**
+   * Runs at most a given amount of tasks at the same time on a {@link Scheduler}, queueing the rest.
+   */
+  private static class BoundedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int maxRunningTasks;
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger runningTasks = new AtomicInteger();
+
+    private BoundedExecutor(Executor delegate, int maxRunningTasks) {
+      this.delegate = delegate;
+      this.maxRunningTasks = maxRunningTasks;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      pendingTasks.add(task);
+      runPendingTasks();
+    }
+
+    private void runPendingTasks() {
+      while (!pendingTasks.isEmpty()) {
+        int running = runningTasks.get();
+        if (running >= maxRunningTasks) {
+          return;
+        }
+        if (!runningTasks.compareAndSet(running, running + 1)) {
+          continue;
+        }
+
+        Runnable task = pendingTasks.poll();
+        if (task == null) {
+          runningTasks.decrementAndGet();
+          continue;
+        }
+        delegate.execute(() -> {
+          try {
+            task.run();
+          } finally {
+            runningTasks.decrementAndGet();
+            runPendingTasks();
+          }
+        });
+      }
+    }
+  }
 }
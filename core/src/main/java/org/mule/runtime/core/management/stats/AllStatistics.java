@@ -22,6 +22,7 @@ public class AllStatistics {
   private boolean isStatisticsEnabled;
   private long startTime;
   private ApplicationStatistics appStats;
+  private final LifecycleStatistics lifecycleStats = new LifecycleStatistics();
   private Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<String, FlowConstructStatistics>();
 
   /**
@@ -104,4 +105,11 @@ public class AllStatistics {
   public FlowConstructStatistics getApplicationStatistics() {
     return appStats;
   }
+
+  /**
+   * @return the times it took to apply the lifecycle phases on the objects of the application
+   */
+  public LifecycleStatistics getLifecycleStatistics() {
+    return lifecycleStats;
+  }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.management.stats;
+
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+import org.mule.runtime.api.meta.NamedObject;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps how long it took to apply each lifecycle phase on the objects of the registry, so that the slowest ones can be reported
+ * once the application is started.
+ * <p>
+ * This class is thread-safe, since the phases may be applied on several objects at the same time.
+ *
+ * @since 4.0
+ */
+public class LifecycleStatistics {
+
+  private final Map<String, Queue<LifecycleTime>> lifecycleTimes = new ConcurrentHashMap<>();
+
+  /**
+   * Discards the times recorded for the given phase, since it is about to be applied again on the whole {@code MuleContext}.
+   *
+   * @param phaseName the name of the lifecycle phase
+   */
+  public void clear(String phaseName) {
+    lifecycleTimes.remove(phaseName);
+  }
+
+  /**
+   * @param phaseName the name of the applied lifecycle phase
+   * @param object the object on which the phase was applied
+   * @param timeMillis how long it took to apply the phase
+   */
+  public void record(String phaseName, Object object, long timeMillis) {
+    String objectName = object instanceof NamedObject && ((NamedObject) object).getName() != null
+        ? ((NamedObject) object).getName() : object.getClass().getName();
+    lifecycleTimes.computeIfAbsent(phaseName, name -> new ConcurrentLinkedQueue<>())
+        .add(new LifecycleTime(objectName, timeMillis));
+  }
+
+  /**
+   * @param phaseName the name of the lifecycle phase
+   * @param count the maximum amount of times to return
+   * @return the longest times recorded for the given phase, the longest first
+   */
+  public List<LifecycleTime> getSlowest(String phaseName, int count) {
+    Collection<LifecycleTime> times = lifecycleTimes.get(phaseName);
+    if (times == null) {
+      return emptyList();
+    }
+    return times.stream().sorted(comparingLong(LifecycleTime::getTimeMillis).reversed()).limit(count).collect(toList());
+  }
+
+  /**
+   * The time it took to apply a lifecycle phase on an object.
+   */
+  public static class LifecycleTime {
+
+    private final String objectName;
+    private final long timeMillis;
+
+    LifecycleTime(String objectName, long timeMillis) {
+      this.objectName = objectName;
+      this.timeMillis = timeMillis;
+    }
+
+    /**
+     * @return the name of the object, or the name of its class if it has none
+     */
+    public String getObjectName() {
+      return objectName;
+    }
+
+    public long getTimeMillis() {
+      return timeMillis;
+    }
+  }
+}
@@ -27,6 +27,7 @@ public class GroupCorrelation implements Serializable {
 
   private final Integer groupSize;
   private final Integer sequence;
+  private final boolean groupSizeSentWithLastPart;
 
   /**
    * Builds a new {@link GroupCorrelation} with the given parameters.
@@ -35,8 +36,20 @@ public class GroupCorrelation implements Serializable {
    * @param sequence see {@link #getSequence()}.
    */
   public GroupCorrelation(Integer groupSize, Integer sequence) {
+    this(groupSize, sequence, false);
+  }
+
+  /**
+   * Builds a new {@link GroupCorrelation} with the given parameters.
+   * 
+   * @param groupSize see {@link #getGroupSize()}.
+   * @param sequence see {@link #getSequence()}.
+   * @param groupSizeSentWithLastPart see {@link #isGroupSizeSentWithLastPart()}.
+   */
+  public GroupCorrelation(Integer groupSize, Integer sequence, boolean groupSizeSentWithLastPart) {
     this.groupSize = groupSize;
     this.sequence = sequence;
+    this.groupSizeSentWithLastPart = groupSizeSentWithLastPart;
   }
 
   /**
@@ -57,6 +70,16 @@ public class GroupCorrelation implements Serializable {
     return ofNullable(groupSize);
   }
 
+  /**
+   * Determines whether the size of the correlation group, although not known yet, will be set in the correlation of the last
+   * message of the group, as is the case for the parts of a sequence of unknown size.
+   *
+   * @return {@code true} if the group size is announced by the last message of the group
+   */
+  public boolean isGroupSizeSentWithLastPart() {
+    return groupSizeSentWithLastPart;
+  }
+
   @Override
   public String toString() {
     StringBuilder buf = new StringBuilder(120);
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.message.GroupCorrelation.NOT_SET;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.MuleSession;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.core.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.routing.correlation.EventAccumulator;
+import org.mule.runtime.core.session.DefaultMuleSession;
+import org.mule.runtime.core.util.ClassUtils;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * An {@link EventGroup} which doesn't retain the events it receives but folds the part of each one of them that its
+ * {@link EventAccumulator} extracts into the accumulated state as soon as it arrives. That state is kept in the events store
+ * along with the amount of accumulated events, the sequence numbers already received and the merged session, so adding an event
+ * reads and writes a single entry regardless of the size of the group, and the group can be retrieved again from a persistent
+ * store at any time.
+ * <p>
+ * The first received event is stored once as the template for the aggregated one. Events with a sequence number which was
+ * already received are discarded, so the group can be completed regardless of the order in which its events arrived.
+ * <p>
+ * Since the individual events are not retained, {@link #toArray(boolean)} always returns an empty array.
+ *
+ * @since 4.0
+ */
+public class AccumulatingEventGroup extends EventGroup {
+
+  private static final long serialVersionUID = -3520745466185497013L;
+
+  private static final String TEMPLATE_KEY = "accumulation.template";
+  private static final String STATE_KEY = "accumulation.state";
+
+  private final EventAccumulator accumulator;
+
+  public AccumulatingEventGroup(Object groupId, MuleContext muleContext, Optional<Integer> expectedSize, String storePrefix,
+                                EventAccumulator<?> accumulator) {
+    super(groupId, muleContext, expectedSize, storePrefix);
+    this.accumulator = accumulator;
+  }
+
+  /**
+   * Folds the part of the given event extracted by the {@link EventAccumulator} into the accumulated state. Events with a
+   * sequence number which was already received are discarded.
+   *
+   * @param event the event to add
+   * @throws ObjectStoreException
+   */
+  @Override
+  public void addEvent(Event event) throws ObjectStoreException {
+    synchronized (this) {
+      PartitionableObjectStore store = getEventsObjectStore();
+      Optional<Integer> sequence =
+          event.getGroupCorrelation() != null ? event.getGroupCorrelation().getSequence() : Optional.empty();
+
+      AccumulationState state = retrieveState();
+      if (state == null) {
+        updateExpectedSize(event);
+        state = new AccumulationState(accumulator.createState(expectedSize()), new DefaultMuleSession(event.getSession()));
+        store.store(TEMPLATE_KEY, event, getEventsPartitionKey());
+      } else if (sequence.isPresent() && state.receivedSequences.get(sequence.get())) {
+        return;
+      } else {
+        updateExpectedSize(event);
+        for (String name : event.getSession().getPropertyNamesAsSet()) {
+          state.session.setProperty(name, event.getSession().getProperty(name));
+        }
+        store.remove(STATE_KEY, getEventsPartitionKey());
+      }
+
+      try {
+        state.value = accumulator.accumulate(state.value, accumulator.extract(event, getMuleContext()), sequence);
+      } catch (MuleException e) {
+        throw new MuleRuntimeException(createStaticMessage("Could not accumulate event into group " + getGroupId()), e);
+      }
+      sequence.ifPresent(state.receivedSequences::set);
+      state.count++;
+      store.store(STATE_KEY, state, getEventsPartitionKey());
+    }
+  }
+
+  /**
+   * Returns the number of events accumulated so far.
+   *
+   * @return number of events in this group or 0 if the group is empty.
+   */
+  @Override
+  public int size() {
+    synchronized (this) {
+      try {
+        AccumulationState state = retrieveState();
+        return state == null ? 0 : state.count;
+      } catch (ObjectStoreException e) {
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Individual events are not retained by this group.
+   *
+   * @return an empty array
+   */
+  @Override
+  public Event[] toArray(boolean sortByArrival) throws ObjectStoreException {
+    return EMPTY_EVENTS_ARRAY;
+  }
+
+  /**
+   * @return an {@link Event} based on the first received one, which message carries the result of the {@link EventAccumulator}
+   *         for the accumulated state, and which session has the properties of all the received events merged.
+   */
+  @Override
+  public Event getMessageCollectionEvent() {
+    synchronized (this) {
+      try {
+        AccumulationState state = retrieveState();
+        if (state == null) {
+          return null;
+        }
+
+        Event template = (Event) getEventsObjectStore().retrieve(TEMPLATE_KEY, getEventsPartitionKey());
+        return Event.builder(template)
+            .message(InternalMessage.builder().payload(accumulator.getResult(state.value)).build())
+            .session(state.session)
+            .build();
+      } catch (ObjectStoreException e) {
+        // Nothing to do...
+        return null;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return ClassUtils.getSimpleName(this.getClass()) + " {id=" + getGroupId() + ", expected size="
+        + expectedSize().map(v -> v.toString()).orElse(NOT_SET) + ", current events=" + size() + "}";
+  }
+
+  private AccumulationState retrieveState() throws ObjectStoreException {
+    try {
+      return (AccumulationState) ((PartitionableObjectStore) getEventsObjectStore()).retrieve(STATE_KEY, getEventsPartitionKey());
+    } catch (ObjectDoesNotExistException e) {
+      return null;
+    }
+  }
+
+  /**
+   * The state of the accumulation, along with the amount of accumulated events, the sequence numbers already received and the
+   * merged session
+   */
+  private static class AccumulationState implements Serializable {
+
+    private static final long serialVersionUID = -6318237416287512087L;
+
+    private Object value;
+    private int count;
+    private final BitSet receivedSequences = new BitSet();
+    private final MuleSession session;
+
+    private AccumulationState(Object value, MuleSession session) {
+      this.value = value;
+      this.session = session;
+    }
+  }
+}
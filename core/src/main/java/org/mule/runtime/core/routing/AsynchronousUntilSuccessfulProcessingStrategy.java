@@ -6,7 +6,12 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.DAYS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.core.api.Event.getVariableValueOrNull;
 import static org.mule.runtime.core.routing.UntilSuccessful.DEFAULT_PROCESS_ATTEMPT_COUNT_PROPERTY_VALUE;
 import static org.mule.runtime.core.routing.UntilSuccessful.PROCESS_ATTEMPT_COUNT_PROPERTY_NAME;
@@ -36,6 +41,14 @@ import org.mule.runtime.core.retry.RetryPolicyExhaustedException;
 import org.mule.runtime.core.util.queue.objectstore.QueueKey;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,14 +61,36 @@ import org.slf4j.LoggerFactory;
  * After that it will asynchronously try to process the message through the internal route. If route was not successfully executed
  * after the configured retry count then the message will be routed to the defined dead letter queue route or in case there is no
  * dead letter queue route then it will be handled by the flow exception strategy.
+ * <p>
+ * Only the keys of the stored events are kept in memory, in a queue ordered by the time of their next attempt. Instead of a
+ * scheduled task per event, a dispatch is scheduled for the earliest attempt only, which submits the processing of the events
+ * that became due up to {@link UntilSuccessfulConfiguration#getMaxConcurrentRetries()} at the same time. The time before each
+ * retry grows by {@link UntilSuccessfulConfiguration#getBackoffMultiplier()} after each failure, and may be randomly shortened by
+ * {@link UntilSuccessfulConfiguration#getRetryJitter()}, but never beyond {@link #MAX_MILLIS_BEFORE_RETRY}.
+ * <p>
+ * When started, the events left in the object store are spread along one
+ * {@link UntilSuccessfulConfiguration#getMillisBetweenRetries()} instead of being dispatched all at once.
  */
 public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntilSuccessfulProcessingStrategy
     implements Initialisable, Startable, Stoppable, MessagingExceptionHandlerAware {
 
   private static final String UNTIL_SUCCESSFUL_MSG_PREFIX = "until-successful retries exhausted. Last exception message was: %s";
+
+  /**
+   * The longest time to wait before a retry regardless of the configuration, so that an exponential backoff never overflows the
+   * time at which the retry is due.
+   */
+  static final long MAX_MILLIS_BEFORE_RETRY = DAYS.toMillis(365);
+
   protected transient Logger logger = LoggerFactory.getLogger(getClass());
   private MessagingExceptionHandler messagingExceptionHandler;
   private Scheduler pool;
+  private Semaphore processingPermits;
+  private final DelayQueue<PendingAttempt> pendingAttempts = new DelayQueue<>();
+
+  private final AtomicLong pendingCount = new AtomicLong();
+  private final AtomicLong attemptCount = new AtomicLong();
+  private final AtomicLong exhaustedCount = new AtomicLong();
 
   @Override
   public void initialise() throws InitialisationException {
@@ -72,7 +107,12 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     // TODO MULE-11018 Give a name to the scheduler: ThreadNameHelper.getPrefix(muleContext),
     // getUntilSuccessfulConfiguration().getFlowConstruct().getName(), "until-successful"
     pool = muleContext.getSchedulerService().ioScheduler();
+    int maxConcurrentRetries = getUntilSuccessfulConfiguration().getMaxConcurrentRetries();
+    processingPermits = maxConcurrentRetries > 0 ? new Semaphore(maxConcurrentRetries) : null;
 
+    // all the events in the object store are scheduled again, including those left in the queue when stopped
+    pendingAttempts.clear();
+    pendingCount.set(0);
     scheduleAllPendingEventsForProcessing();
   }
 
@@ -82,11 +122,32 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     pool = null;
   }
 
+  /**
+   * @return the number of events waiting for their next processing attempt.
+   */
+  public long getPendingCount() {
+    return pendingCount.get();
+  }
+
+  /**
+   * @return the number of processing attempts started, including the first one of each event.
+   */
+  public long getAttemptCount() {
+    return attemptCount.get();
+  }
+
+  /**
+   * @return the number of events that exhausted their retries.
+   */
+  public long getExhaustedCount() {
+    return exhaustedCount.get();
+  }
+
   @Override
   protected Event doRoute(Event event, FlowConstruct flow) throws MuleException {
     try {
       final Serializable eventStoreKey = storeEvent(event, flow);
-      scheduleForProcessing(eventStoreKey, true);
+      scheduleForProcessing(eventStoreKey, 0);
       if (getUntilSuccessfulConfiguration().getAckExpression() == null) {
         return event;
       }
@@ -101,9 +162,12 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
 
   private void scheduleAllPendingEventsForProcessing() {
     try {
-      for (final Serializable eventStoreKey : getUntilSuccessfulConfiguration().getObjectStore().allKeys()) {
+      List<Serializable> eventStoreKeys = getUntilSuccessfulConfiguration().getObjectStore().allKeys();
+      long spreadMillis = getUntilSuccessfulConfiguration().getMillisBetweenRetries();
+      for (int i = 0; i < eventStoreKeys.size(); i++) {
+        final Serializable eventStoreKey = eventStoreKeys.get(i);
         try {
-          scheduleForProcessing(eventStoreKey, true);
+          scheduleForProcessing(eventStoreKey, spreadMillis * i / eventStoreKeys.size());
         } catch (final Exception e) {
           logger.error(I18nMessageFactory
               .createStaticMessage("Failed to schedule for processing event stored with key: " + eventStoreKey).toString(), e);
@@ -117,23 +181,127 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     }
   }
 
-  private void scheduleForProcessing(final Serializable eventStoreKey, boolean firstTime) {
-    if (firstTime) {
-      submitForProcessing(eventStoreKey);
-    } else {
-      this.pool.schedule(() -> {
-        submitForProcessing(eventStoreKey);
-        return null;
-      }, getUntilSuccessfulConfiguration().getMillisBetweenRetries(), MILLISECONDS);
+  private void scheduleForProcessing(final Serializable eventStoreKey, long delayMillis) {
+    pendingCount.incrementAndGet();
+    PendingAttempt attempt = new PendingAttempt(eventStoreKey, delayMillis);
+    pendingAttempts.add(attempt);
+    if (pendingAttempts.peek() == attempt) {
+      // only the earliest attempt needs a dispatch scheduled, the rest are dispatched after it
+      scheduleDispatch(delayMillis);
     }
   }
 
-  protected void submitForProcessing(final Serializable eventStoreKey) {
-    this.pool.execute(() -> {
+  /**
+   * Computes the time to wait before the given retry of an event, according to the backoff and jitter configured.
+   *
+   * @param retry the number of the retry about to be scheduled, starting at 1
+   * @return the number of milliseconds to wait before the retry
+   */
+  long getMillisBeforeRetry(int retry) {
+    UntilSuccessfulConfiguration configuration = getUntilSuccessfulConfiguration();
+    double millis = configuration.getMillisBetweenRetries();
+    if (configuration.getBackoffMultiplier() > 1 && millis > 0) {
+      // may become infinite after enough retries, but it is bounded right after
+      millis *= pow(configuration.getBackoffMultiplier(), retry - 1);
+    }
+    if (configuration.getMaxMillisBetweenRetries() > 0) {
+      millis = min(millis, configuration.getMaxMillisBetweenRetries());
+    }
+    millis = min(millis, MAX_MILLIS_BEFORE_RETRY);
+    if (configuration.getRetryJitter() > 0) {
+      millis -= millis * configuration.getRetryJitter() * ThreadLocalRandom.current().nextDouble();
+    }
+    return (long) millis;
+  }
+
+  private void scheduleDispatch(long delayMillis) {
+    final Scheduler currentPool = pool;
+    if (currentPool == null) {
+      // stopped, the pending events will be scheduled again when started
+      return;
+    }
+    try {
+      if (delayMillis <= 0) {
+        currentPool.execute(this::dispatchDueAttempts);
+      } else {
+        currentPool.schedule(this::dispatchDueAttempts, delayMillis, MILLISECONDS);
+      }
+    } catch (RejectedExecutionException e) {
+      logger.warn("Could not schedule the dispatching of until successful pending events: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Submits the processing of all the events whose next attempt is due, as long as the concurrency limit allows it. When the
+   * limit is reached, the events left are dispatched as soon as a processing attempt finishes, or when due if they are not yet.
+   */
+  private void dispatchDueAttempts() {
+    final Scheduler currentPool = pool;
+    if (currentPool == null) {
+      return;
+    }
+
+    while (true) {
+      if (!tryAcquireProcessingPermit()) {
+        // a due attempt is dispatched when a permit is released, but one which is not due yet may have no dispatch scheduled
+        PendingAttempt next = pendingAttempts.peek();
+        if (next != null && next.getDelay(MILLISECONDS) > 0) {
+          scheduleDispatch(next.getDelay(MILLISECONDS));
+        }
+        return;
+      }
+
+      PendingAttempt attempt = pendingAttempts.poll();
+      if (attempt == null) {
+        releaseProcessingPermit();
+        PendingAttempt next = pendingAttempts.peek();
+        if (next != null) {
+          scheduleDispatch(next.getDelay(MILLISECONDS));
+        }
+        return;
+      }
+
+      pendingCount.decrementAndGet();
+      try {
+        submitForProcessing(currentPool, attempt.eventStoreKey);
+      } catch (RejectedExecutionException e) {
+        releaseProcessingPermit();
+        logger.error("Failed to submit for processing event stored with key: " + attempt.eventStoreKey, e);
+      }
+    }
+  }
+
+  private boolean tryAcquireProcessingPermit() {
+    return processingPermits == null || processingPermits.tryAcquire();
+  }
+
+  private void releaseProcessingPermit() {
+    if (processingPermits != null) {
+      processingPermits.release();
+    }
+  }
+
+  private void submitForProcessing(final Scheduler currentPool, final Serializable eventStoreKey) {
+    currentPool.execute(() -> {
+      attemptCount.incrementAndGet();
       try {
         retrieveAndProcessEvent(eventStoreKey);
       } catch (Exception e) {
         incrementProcessAttemptCountAndRescheduleOrRemoveFromStore(eventStoreKey, e);
+      } finally {
+        releaseProcessingPermit();
+        if (processingPermits != null) {
+          // the dispatch scheduled for the earliest attempt may have found no permit available, so it is scheduled again
+          PendingAttempt next = pendingAttempts.peek();
+          if (next != null) {
+            long delayMillis = next.getDelay(MILLISECONDS);
+            if (delayMillis <= 0) {
+              dispatchDueAttempts();
+            } else {
+              scheduleDispatch(delayMillis);
+            }
+          }
+        }
       }
     });
   }
@@ -153,8 +321,9 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
         incrementedEvent = Event.builder(incrementedEvent)
             .addVariable(PROCESS_ATTEMPT_COUNT_PROPERTY_NAME, deliveryAttemptCount + 1).build();
         getUntilSuccessfulConfiguration().getObjectStore().store(eventStoreKey, incrementedEvent);
-        this.scheduleForProcessing(eventStoreKey, false);
+        this.scheduleForProcessing(eventStoreKey, getMillisBeforeRetry(deliveryAttemptCount));
       } else {
+        exhaustedCount.incrementAndGet();
         abandonRetries(event, incrementedEvent, lastException);
       }
     } catch (final ObjectStoreException ose) {
@@ -263,4 +432,28 @@ public class AsynchronousUntilSuccessfulProcessingStrategy extends AbstractUntil
     this.messagingExceptionHandler = messagingExceptionHandler;
   }
 
+  /**
+   * The key of a stored event, which becomes available from the {@link #pendingAttempts} queue when its next processing attempt
+   * is due.
+   */
+  private static final class PendingAttempt implements Delayed {
+
+    private final Serializable eventStoreKey;
+    private final long dueNanos;
+
+    private PendingAttempt(Serializable eventStoreKey, long delayMillis) {
+      this.eventStoreKey = eventStoreKey;
+      this.dueNanos = nanoTime() + MILLISECONDS.toNanos(delayMillis);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(dueNanos - nanoTime(), NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(dueNanos, ((PendingAttempt) other).dueNanos);
+    }
+  }
 }
@@ -19,6 +19,7 @@ import org.mule.runtime.core.api.MuleSession;
 import org.mule.runtime.core.api.config.MuleProperties;
 import org.mule.runtime.core.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.message.GroupCorrelation;
 import org.mule.runtime.core.session.DefaultMuleSession;
 import org.mule.runtime.core.util.ClassUtils;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
@@ -53,7 +54,8 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
   private final String storePrefix;
   private final String eventsPartitionKey;
   private final long created;
-  private final Integer expectedSize;
+  private Integer expectedSize;
+  private boolean expectedSizePending = false;
   transient private MuleContext muleContext;
   private int arrivalOrderCounter = 0;
 
@@ -213,6 +215,7 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
    */
   public void addEvent(Event event) throws ObjectStoreException {
     synchronized (this) {
+      updateExpectedSize(event);
       event = Event.builder(event).addVariable(MULE_ARRIVAL_ORDER_PROPERTY, ++arrivalOrderCounter).build();
       // Using both event ID and CorrelationSequence since in certain instances
       // when an event is split up, the same event IDs are used.
@@ -264,6 +267,34 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
     return Optional.ofNullable(expectedSize);
   }
 
+  /**
+   * @return whether the {@link #expectedSize()} of this group is not known yet but will be announced by its last event, as is
+   *         the case for the parts of a sequence of unknown size.
+   */
+  public boolean isExpectedSizePending() {
+    return expectedSizePending;
+  }
+
+  /**
+   * Takes the expected size of this group from the correlation of the given event if it was not known when the group was
+   * created, as is the case for parts of a sequence of unknown size.
+   * <p>
+   * This group is stored by the correlator when created, so the correlator has to store it again when this method changes its
+   * {@link #expectedSize()} or {@link #isExpectedSizePending()}.
+   *
+   * @param event an event being added to this group
+   */
+  protected void updateExpectedSize(Event event) {
+    GroupCorrelation correlation = event.getGroupCorrelation();
+    if (correlation == null) {
+      return;
+    }
+    if (expectedSize == null) {
+      expectedSize = correlation.getGroupSize().orElse(null);
+    }
+    expectedSizePending = expectedSize == null && (expectedSizePending || correlation.isGroupSizeSentWithLastPart());
+  }
+
   /**
    * Removes all events from this group.
    *
@@ -364,6 +395,18 @@ public class EventGroup implements Comparable<EventGroup>, Serializable, Deseria
     return muleContext != null;
   }
 
+  protected MuleContext getMuleContext() {
+    return muleContext;
+  }
+
+  protected PartitionableObjectStore<Event> getEventsObjectStore() {
+    return eventsObjectStore;
+  }
+
+  protected String getEventsPartitionKey() {
+    return eventsPartitionKey;
+  }
+
   public final class ArrivalOrderEventComparator implements Comparator<Event> {
 
     @Override
@@ -66,6 +66,9 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private String collectionExpression;
   private ExpressionConfig expressionConfig = new ExpressionConfig();
   private int batchSize;
+  private int maxConcurrency = 1;
+  private boolean preserveOrder = true;
+  private boolean failFast = true;
   private String rootMessageVariableName;
   private String counterVariableName;
   private boolean xpathCollection;
@@ -181,6 +184,11 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     }
     splitter.setBatchSize(batchSize);
     splitter.setCounterVariableName(counterVariableName);
+    splitter.setMaxConcurrency(maxConcurrency);
+    splitter.setPreserveOrder(preserveOrder);
+    splitter.setFailFast(failFast);
+    // only the variables of the results are used, and each result already has the ones propagated from the previous one
+    splitter.setRetainResults(false);
     splitter.setMuleContext(muleContext);
 
     List<Processor> chainProcessors = new ArrayList<>();
@@ -202,6 +210,27 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.batchSize = batchSize;
   }
 
+  /**
+   * @see AbstractMessageSequenceSplitter#setMaxConcurrency(int)
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * @see AbstractMessageSequenceSplitter#setPreserveOrder(boolean)
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
+  /**
+   * @see AbstractMessageSequenceSplitter#setFailFast(boolean)
+   */
+  public void setFailFast(boolean failFast) {
+    this.failFast = failFast;
+  }
+
   public void setRootMessageVariableName(String rootMessageVariableName) {
     this.rootMessageVariableName = rootMessageVariableName;
   }
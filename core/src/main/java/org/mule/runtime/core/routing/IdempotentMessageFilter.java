@@ -17,6 +17,7 @@ import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
+import org.mule.runtime.core.api.store.ListableObjectStore;
 import org.mule.runtime.core.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.core.api.store.ObjectStore;
 import org.mule.runtime.core.api.store.ObjectStoreException;
@@ -24,8 +25,11 @@ import org.mule.runtime.core.api.store.ObjectStoreManager;
 import org.mule.runtime.core.api.store.ObjectStoreNotAvaliableException;
 import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.processor.AbstractFilteringMessageProcessor;
+import org.mule.runtime.core.util.ScalableBloomFilter;
 
+import java.io.Serializable;
 import java.text.MessageFormat;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +41,11 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
+ * <p>
+ * Optionally, a {@link ScalableBloomFilter} of the processed IDs can be kept in front of the store, so that IDs which are
+ * definitely new don't need to be looked up in it. When the store is a {@link ListableObjectStore}, the filter is populated with
+ * the IDs already in it on initialization. The store is still the one that decides whether a message is a duplicate when the
+ * filter is not conclusive, or when the message is stored.
  */
 public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor implements Initialisable, Disposable {
 
@@ -51,6 +60,12 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
   protected String valueExpression = MessageFormat.format("{0}message:id{1}", DEFAULT_EXPRESSION_PREFIX,
                                                           DEFAULT_EXPRESSION_POSTFIX);
 
+  private boolean useBloomFilter = false;
+  private double bloomFilterFalsePositiveProbability = 0.01;
+  private ScalableBloomFilter bloomFilter;
+  private final AtomicLong bloomFilterHits = new AtomicLong();
+  private final AtomicLong storeChecks = new AtomicLong();
+
   public IdempotentMessageFilter() {
     super();
   }
@@ -65,6 +80,27 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
     }
 
     LifecycleUtils.initialiseIfNeeded(store);
+
+    if (useBloomFilter) {
+      bloomFilter = createBloomFilter();
+    }
+  }
+
+  private ScalableBloomFilter createBloomFilter() throws InitialisationException {
+    ScalableBloomFilter filter = new ScalableBloomFilter(bloomFilterFalsePositiveProbability);
+    if (store instanceof ListableObjectStore) {
+      try {
+        for (Serializable id : ((ListableObjectStore<String>) store).allKeys()) {
+          filter.put(id.toString());
+        }
+      } catch (ObjectStoreException e) {
+        throw new InitialisationException(e, this);
+      }
+    } else {
+      LOGGER.warn("The store of the idempotent filter in flow '{}' can't be listed, so the IDs stored before this filter was "
+          + "initialised will always be looked up in it", flowConstruct.getName());
+    }
+    return filter;
   }
 
   @Override
@@ -108,12 +144,27 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
 
   @Override
   protected boolean accept(Event event, Event.Builder builder) {
-    if (event != null && isNewMessage(event)) {
+    if (event == null) {
+      return false;
+    }
+
+    String id;
+    try {
+      id = getIdForEvent(event);
+    } catch (MuleException e) {
+      logger.error("Exception attempting to determine idempotency of incoming message for " + flowConstruct.getName()
+          + " from the connector " + event.getContext().getOriginatingConnectorName(), e);
+      return false;
+    }
+
+    if (isNewMessage(event, id)) {
       try {
-        String id = getIdForEvent(event);
         String value = getValueForEvent(event);
         try {
           store.store(id, value);
+          if (bloomFilter != null) {
+            bloomFilter.put(id);
+          }
           return true;
         } catch (ObjectAlreadyExistsException ex) {
           return false;
@@ -135,12 +186,26 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
 
   protected boolean isNewMessage(Event event) {
     try {
-      String id = this.getIdForEvent(event);
+      return isNewMessage(event, this.getIdForEvent(event));
+    } catch (MuleException e) {
+      logger.error("Exception attempting to determine idempotency of incoming message for " + flowConstruct.getName()
+          + " from the connector " + event.getContext().getOriginatingConnectorName(), e);
+      return false;
+    }
+  }
+
+  private boolean isNewMessage(Event event, String id) {
+    try {
       if (store == null) {
         synchronized (this) {
           initialise();
         }
       }
+      if (bloomFilter != null && !bloomFilter.mightContain(id)) {
+        bloomFilterHits.incrementAndGet();
+        return true;
+      }
+      storeChecks.incrementAndGet();
       return !store.contains(id);
     } catch (MuleException e) {
       logger.error("Exception attempting to determine idempotency of incoming message for " + flowConstruct.getName()
@@ -149,6 +214,44 @@ public class IdempotentMessageFilter extends AbstractFilteringMessageProcessor i
     }
   }
 
+  /**
+   * @return the number of messages found to be new by the Bloom filter, without looking up their ID in the store.
+   */
+  public long getBloomFilterHits() {
+    return bloomFilterHits.get();
+  }
+
+  /**
+   * @return the number of messages whose ID was looked up in the store to determine if they were new.
+   */
+  public long getStoreChecks() {
+    return storeChecks.get();
+  }
+
+  public boolean isUseBloomFilter() {
+    return useBloomFilter;
+  }
+
+  /**
+   * @param useBloomFilter whether a Bloom filter of the processed IDs is kept in front of the store, so that new IDs don't need
+   *        to be looked up in it.
+   */
+  public void setUseBloomFilter(boolean useBloomFilter) {
+    this.useBloomFilter = useBloomFilter;
+  }
+
+  public double getBloomFilterFalsePositiveProbability() {
+    return bloomFilterFalsePositiveProbability;
+  }
+
+  /**
+   * @param bloomFilterFalsePositiveProbability the maximum probability of the Bloom filter not being able to tell that an ID is
+   *        new, in which case it is looked up in the store. Defaults to 0.01.
+   */
+  public void setBloomFilterFalsePositiveProbability(double bloomFilterFalsePositiveProbability) {
+    this.bloomFilterFalsePositiveProbability = bloomFilterFalsePositiveProbability;
+  }
+
   public String getValueExpression() {
     return valueExpression;
   }
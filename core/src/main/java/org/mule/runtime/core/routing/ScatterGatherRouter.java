@@ -7,7 +7,13 @@
 
 package org.mule.runtime.core.routing;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newChain;
 import static org.mule.runtime.core.api.processor.MessageProcessors.newExplicitChain;
@@ -16,34 +22,44 @@ import static org.mule.runtime.core.routing.AbstractRoutingStrategy.validateMess
 import static org.mule.runtime.core.util.rx.Exceptions.checkedConsumer;
 import static org.mule.runtime.core.util.rx.Exceptions.checkedFunction;
 import static org.mule.runtime.core.util.rx.Exceptions.rxExceptionToMuleException;
+import static reactor.core.Exceptions.unwrap;
 import static reactor.core.publisher.Flux.from;
-import static reactor.core.publisher.Flux.fromIterable;
 import static reactor.core.publisher.Flux.just;
+import static reactor.core.publisher.Flux.range;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.util.Preconditions;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.message.ExceptionPayload;
+import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.processor.MessageProcessorPathElement;
 import org.mule.runtime.core.api.processor.MessageRouter;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.routing.AggregationContext;
 import org.mule.runtime.core.api.routing.CouldNotRouteOutboundMessageException;
 import org.mule.runtime.core.api.routing.RoutePathNotFoundException;
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.core.message.DefaultExceptionPayload;
+import org.mule.runtime.core.message.ErrorBuilder;
 import org.mule.runtime.core.processor.AbstractMessageProcessorOwner;
 import org.mule.runtime.core.routing.outbound.MulticastingRouter;
 import org.mule.runtime.core.util.NotificationUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -69,6 +85,12 @@ import reactor.core.publisher.Mono;
  * For advanced use cases, a custom {@link AggregationStrategy} can be applied to customize the logic used to aggregate the route
  * responses back into one single element or to throw exception
  * <p>
+ * When processing in parallel, each route is subscribed to in the IO scheduler, so no thread is blocked waiting for the routes
+ * when the router is used in a non-blocking flow. A route which doesn't complete within the {@code timeout}, or before the overall
+ * {@code deadline} of the router, fails with a {@link java.util.concurrent.TimeoutException}. If {@code minSuccessfulRoutes} is
+ * set, the router completes as soon as that many routes succeed, cancelling the rest, and only the successful results are
+ * aggregated.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  * 
@@ -88,6 +110,19 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
    */
   private long timeout = 0;
 
+  /**
+   * Time in milliseconds in which all the routes have to be completed. Values lower or equal to zero means no deadline
+   */
+  private long deadline = 0;
+
+  /**
+   * Amount of successful routes after which the rest are cancelled. Values lower or equal to zero means that all the routes are
+   * waited for
+   */
+  private int minSuccessfulRoutes = 0;
+
+  private Scheduler scheduler;
+
   /**
    * The routes that the message will be sent to
    */
@@ -128,8 +163,85 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     return from(publisher).doOnNext(checkedConsumer(event -> {
       assertMorethanOneRoute();
       validateMessageIsNotConsumable(event, event.getMessage());
-    })).concatMap(event -> from(fromIterable(routeChains).concatMap(processor -> just(event).transform(processor))).collectList()
-        .map(checkedFunction(list -> aggregationStrategy.aggregate(new AggregationContext(event, list)))));
+    })).concatMap(this::routeAndAggregate);
+  }
+
+  private Mono<Event> routeAndAggregate(Event event) {
+    final Event[] results = new Event[routeChains.size()];
+    final AtomicInteger successfulRoutes = new AtomicInteger();
+    final long deadlineNanos = deadline > 0 ? nanoTime() + MILLISECONDS.toNanos(deadline) : 0;
+
+    Function<Integer, Mono<RouteResult>> route = index -> routeResult(event, index, deadlineNanos);
+    Flux<RouteResult> routed = parallel ? range(0, results.length).flatMap(route, results.length)
+        : range(0, results.length).concatMap(route);
+    // results are signaled serially, so they can be accumulated without further synchronization
+    routed = routed.doOnNext(result -> {
+      results[result.index] = result.event;
+      if (!result.event.getError().isPresent()) {
+        successfulRoutes.incrementAndGet();
+      }
+    });
+    if (minSuccessfulRoutes > 0) {
+      // the routes still running are cancelled once enough of them succeeded
+      routed = routed.takeUntil(result -> successfulRoutes.get() >= minSuccessfulRoutes);
+    }
+
+    return routed.collectList().map(checkedFunction(ignored -> {
+      if (minSuccessfulRoutes > 0 && successfulRoutes.get() >= minSuccessfulRoutes) {
+        for (int i = 0; i < results.length; ++i) {
+          if (results[i] != null && results[i].getError().isPresent()) {
+            results[i] = null;
+          }
+        }
+      }
+      return aggregationStrategy.aggregate(new AggregationContext(event, asList(results)));
+    }));
+  }
+
+  private Mono<RouteResult> routeResult(Event event, int index, long deadlineNanos) {
+    return Mono.defer(() -> {
+      Mono<Event> result = Mono.from(just(event).transform(routeChains.get(index)));
+      if (parallel) {
+        result = result.subscribeOn(fromExecutorService(getScheduler()));
+      }
+      long routeTimeout = getRouteTimeout(deadlineNanos);
+      if (routeTimeout < Long.MAX_VALUE) {
+        result = result.timeout(Duration.ofMillis(routeTimeout));
+      }
+      return result;
+    }).otherwise(e -> Mono.just(createFailedRouteEvent(event, unwrap(e)))).map(result -> new RouteResult(index, result));
+  }
+
+  private long getRouteTimeout(long deadlineNanos) {
+    if (deadlineNanos == 0) {
+      return timeout;
+    }
+    return min(timeout, max(0, NANOSECONDS.toMillis(deadlineNanos - nanoTime())));
+  }
+
+  private Event createFailedRouteEvent(Event event, Throwable e) {
+    return Event.builder(event)
+        .message(InternalMessage.builder(event.getMessage()).exceptionPayload(new DefaultExceptionPayload(e)).build())
+        .error(ErrorBuilder.builder(e).errorType(getMuleContext().getErrorTypeLocator().lookupErrorType(e)).build())
+        .build();
+  }
+
+  private synchronized Scheduler getScheduler() {
+    if (scheduler == null) {
+      scheduler = getMuleContext().getSchedulerService().ioScheduler();
+    }
+    return scheduler;
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    super.stop();
+    synchronized (this) {
+      if (scheduler != null) {
+        scheduler.stop(getMuleContext().getConfiguration().getShutdownTimeout(), MILLISECONDS);
+        scheduler = null;
+      }
+    }
   }
 
   @Override
@@ -202,6 +314,14 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     this.timeout = timeout;
   }
 
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  public void setMinSuccessfulRoutes(int minSuccessfulRoutes) {
+    this.minSuccessfulRoutes = minSuccessfulRoutes;
+  }
+
   public void setRoutes(List<Processor> routes) {
     this.routes = routes;
   }
@@ -214,4 +334,14 @@ public class ScatterGatherRouter extends AbstractMessageProcessorOwner implement
     }
   }
 
+  private static final class RouteResult {
+
+    private final int index;
+    private final Event event;
+
+    private RouteResult(int index, Event event) {
+      this.index = index;
+      this.event = event;
+    }
+  }
 }
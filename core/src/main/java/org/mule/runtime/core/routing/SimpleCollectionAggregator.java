@@ -7,7 +7,9 @@
 package org.mule.runtime.core.routing;
 
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.routing.correlation.AccumulatingCorrelatorCallback;
 import org.mule.runtime.core.routing.correlation.CollectionCorrelatorCallback;
+import org.mule.runtime.core.routing.correlation.EventAccumulator;
 import org.mule.runtime.core.routing.correlation.EventCorrelatorCallback;
 
 import java.util.Collection;
@@ -16,11 +18,27 @@ import java.util.Collection;
  * This router will return all aggregated events as a {@link Collection}. This allows the service itself to act upon the events
  * rather that the user having to write a custom aggregator. This may feel more natural for some users. <b>EIP Reference:</b>
  * <a href="http://www.eaipatterns.com/Aggregator.html" >http://www.eaipatterns.com/Aggregator.html</a>
+ * <p>
+ * If an {@link EventAccumulator} is set, only the part of each event that it extracts is kept, instead of every event of the
+ * group, and the aggregated message carries the result of folding those parts.
  */
 public class SimpleCollectionAggregator extends AbstractAggregator {
 
+  private EventAccumulator<?> accumulator;
+
   @Override
   protected EventCorrelatorCallback getCorrelatorCallback(MuleContext muleContext) {
+    if (accumulator != null) {
+      return new AccumulatingCorrelatorCallback(muleContext, storePrefix, accumulator);
+    }
     return new CollectionCorrelatorCallback(muleContext, storePrefix);
   }
+
+  public EventAccumulator<?> getAccumulator() {
+    return accumulator;
+  }
+
+  public void setAccumulator(EventAccumulator<?> accumulator) {
+    this.accumulator = accumulator;
+  }
 }
@@ -44,11 +44,16 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
   public static final String PROCESS_ATTEMPT_COUNT_PROPERTY_NAME = "process.attempt.count";
   static final int DEFAULT_PROCESS_ATTEMPT_COUNT_PROPERTY_VALUE = 1;
   private static final long DEFAULT_MILLIS_BETWEEN_RETRIES = 60 * 1000;
+  static final int DEFAULT_MAX_CONCURRENT_RETRIES = 32;
 
   private ListableObjectStore<Event> objectStore;
   private int maxRetries = 5;
   private Long millisBetweenRetries = null;
   private Long secondsBetweenRetries = null;
+  private double backoffMultiplier = 1;
+  private long maxMillisBetweenRetries = 0;
+  private double retryJitter = 0;
+  private int maxConcurrentRetries = DEFAULT_MAX_CONCURRENT_RETRIES;
   private String failureExpression;
   private String ackExpression;
   private ExpressionFilter failureExpressionFilter;
@@ -72,6 +77,8 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
     }
 
     setWaitTime();
+    Preconditions.checkArgument(backoffMultiplier >= 1, "backoffMultiplier must be greater than or equal to 1");
+    Preconditions.checkArgument(retryJitter >= 0 && retryJitter <= 1, "retryJitter must be between 0 and 1");
 
     super.initialise();
 
@@ -199,6 +206,42 @@ public class UntilSuccessful extends AbstractOutboundRouter implements UntilSucc
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  @Override
+  public double getBackoffMultiplier() {
+    return backoffMultiplier;
+  }
+
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  @Override
+  public long getMaxMillisBetweenRetries() {
+    return maxMillisBetweenRetries;
+  }
+
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  @Override
+  public double getRetryJitter() {
+    return retryJitter;
+  }
+
+  public void setRetryJitter(double retryJitter) {
+    this.retryJitter = retryJitter;
+  }
+
+  @Override
+  public int getMaxConcurrentRetries() {
+    return maxConcurrentRetries;
+  }
+
+  public void setMaxConcurrentRetries(int maxConcurrentRetries) {
+    this.maxConcurrentRetries = maxConcurrentRetries;
+  }
+
   public String getFailureExpression() {
     return failureExpression;
   }
@@ -53,6 +53,30 @@ public interface UntilSuccessfulConfiguration {
    */
   long getMillisBetweenRetries();
 
+  /**
+   * @return the factor by which the time between retries is multiplied after each failed retry. Default value is 1, which means
+   *         that the time between retries is always {@link #getMillisBetweenRetries()}.
+   */
+  double getBackoffMultiplier();
+
+  /**
+   * @return the maximum number of milliseconds between retries when a {@link #getBackoffMultiplier()} is used, or 0 if there is
+   *         no maximum. Default value is 0.
+   */
+  long getMaxMillisBetweenRetries();
+
+  /**
+   * @return the fraction, between 0 and 1, of each time between retries which is randomly subtracted from it, so that events which
+   *         failed together are not all retried at the same time. Default value is 0.
+   */
+  double getRetryJitter();
+
+  /**
+   * @return the maximum number of events being processed asynchronously at the same time, or 0 if there is no maximum. Default
+   *         value is 32.
+   */
+  int getMaxConcurrentRetries();
+
   /**
    * @return the number of retries to process the route when failing. Default value is 5.
    */
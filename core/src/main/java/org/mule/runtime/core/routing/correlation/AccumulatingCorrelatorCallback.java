@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import static java.util.Optional.empty;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.routing.AccumulatingEventGroup;
+import org.mule.runtime.core.routing.EventGroup;
+
+/**
+ * A {@link CollectionCorrelatorCallback} which creates {@link AccumulatingEventGroup}s, so that only the part of each event
+ * extracted by an {@link EventAccumulator} is kept until the group is complete, instead of the whole event.
+ *
+ * @since 4.0
+ */
+public class AccumulatingCorrelatorCallback extends CollectionCorrelatorCallback {
+
+  private final String storePrefix;
+  private final EventAccumulator<?> accumulator;
+
+  public AccumulatingCorrelatorCallback(MuleContext muleContext, String storePrefix, EventAccumulator<?> accumulator) {
+    super(muleContext, storePrefix);
+    this.storePrefix = storePrefix;
+    this.accumulator = accumulator;
+  }
+
+  /**
+   * Creates a new {@link AccumulatingEventGroup} that will expect the number of events as returned by
+   * {@link org.mule.runtime.core.message.GroupCorrelation#getGroupSize()}.
+   */
+  @Override
+  public EventGroup createEventGroup(Event event, Object groupId) {
+    return new AccumulatingEventGroup(groupId, muleContext,
+                                      event.getGroupCorrelation() != null ? event.getGroupCorrelation().getGroupSize() : empty(),
+                                      storePrefix, accumulator);
+  }
+}
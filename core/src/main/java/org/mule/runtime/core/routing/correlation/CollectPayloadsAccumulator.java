@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link EventAccumulator} which only keeps the payloads of the received events, discarding the rest of each event. The result
+ * is a {@link List} with the payloads ordered by the correlation sequence of their events. Events without a sequence are placed
+ * after the sequenced ones, in arrival order.
+ *
+ * @since 4.0
+ */
+public class CollectPayloadsAccumulator implements EventAccumulator<CollectPayloadsAccumulator.Elements> {
+
+  private static final long serialVersionUID = -2236580785498637283L;
+
+  @Override
+  public Elements createState(Optional<Integer> expectedSize) {
+    return new Elements(expectedSize.orElse(10));
+  }
+
+  @Override
+  public Object extract(Event event, MuleContext muleContext) throws MuleException {
+    return toElement(event, muleContext);
+  }
+
+  @Override
+  public Elements accumulate(Elements state, Object part, Optional<Integer> sequence) {
+    if (sequence.isPresent()) {
+      state.set(sequence.get(), part);
+    } else {
+      state.unsequenced.add(part);
+    }
+    return state;
+  }
+
+  @Override
+  public Object getResult(Elements state) {
+    return state.toList();
+  }
+
+  /**
+   * @param event a received event
+   * @param muleContext the context of the application
+   * @return the value to be collected for the given {@code event}
+   * @throws MuleException if the value could not be obtained
+   */
+  protected Object toElement(Event event, MuleContext muleContext) throws MuleException {
+    return event.getMessage().getPayload().getValue();
+  }
+
+  /**
+   * The collected elements. Sequenced elements are kept in a slot matching their sequence number, with a bitmap telling which
+   * slots have been filled.
+   */
+  public static class Elements implements Serializable {
+
+    private static final long serialVersionUID = 8937066253296766006L;
+
+    private final ArrayList<Object> sequenced;
+    private final BitSet filled = new BitSet();
+    private final ArrayList<Object> unsequenced = new ArrayList<>();
+
+    private Elements(int expectedSize) {
+      sequenced = new ArrayList<>(expectedSize + 1);
+    }
+
+    private void set(int sequence, Object element) {
+      while (sequenced.size() <= sequence) {
+        sequenced.add(null);
+      }
+      sequenced.set(sequence, element);
+      filled.set(sequence);
+    }
+
+    /**
+     * @return the collected elements, sequenced first
+     */
+    public List<Object> toList() {
+      List<Object> elements = new ArrayList<>(filled.cardinality() + unsequenced.size());
+      for (int i = filled.nextSetBit(0); i >= 0; i = filled.nextSetBit(i + 1)) {
+        elements.add(sequenced.get(i));
+      }
+      elements.addAll(unsequenced);
+      return elements;
+    }
+  }
+}
@@ -74,13 +74,18 @@ public class CollectionCorrelatorCallback implements EventCorrelatorCallback {
   }
 
   /**
-   * @return <code>true</code> if the correlation size is not set or exactly the expected size of the event group.
+   * @return <code>true</code> if the correlation size is not set and is not announced by the last event, or exactly the
+   *         expected size of the event group.
    * @see org.mule.runtime.core.routing.correlation.EventCorrelatorCallback#shouldAggregateEvents(org.mule.runtime.core.routing.EventGroup)
    */
   @Override
   public boolean shouldAggregateEvents(EventGroup events) {
 
     if (!events.expectedSize().isPresent()) {
+      if (events.isExpectedSizePending()) {
+        // the size of a sequence of unknown size is sent along with its last part
+        return false;
+      }
       logger.warn("GroupCorrelation Group Size not set, but correlation aggregator is being used."
           + " Message is being forwarded as is");
       return true;
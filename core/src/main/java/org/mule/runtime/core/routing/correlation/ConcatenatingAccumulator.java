@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * {@link EventAccumulator} which concatenates the content of the received events into a single {@code byte[]}, following the
+ * order of their correlation sequence.
+ * <p>
+ * Streamed payloads are consumed as soon as their event arrives, so only their bytes are retained.
+ *
+ * @since 4.0
+ */
+public class ConcatenatingAccumulator extends CollectPayloadsAccumulator {
+
+  private static final long serialVersionUID = 4384236797564811066L;
+
+  @Override
+  protected Object toElement(Event event, MuleContext muleContext) throws MuleException {
+    return event.getMessageAsBytes(muleContext);
+  }
+
+  @Override
+  public Object getResult(Elements state) {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    for (Object chunk : state.toList()) {
+      byte[] bytes = (byte[]) chunk;
+      result.write(bytes, 0, bytes.length);
+    }
+    return result.toByteArray();
+  }
+}
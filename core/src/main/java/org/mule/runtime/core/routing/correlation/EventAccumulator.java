@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.routing.AccumulatingEventGroup;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+/**
+ * Folds the events of a correlation group into a state, so that the group only needs to retain the part of each event which is
+ * relevant for the aggregation instead of the whole event.
+ * <p>
+ * When an event arrives, the part of it to be retained is obtained through {@link #extract(Event, MuleContext)} and folded right
+ * away into the state of the {@link AccumulatingEventGroup} through {@link #accumulate(Object, Object, Optional)}. The
+ * accumulator and its state are stored along with the group, so they need to be {@link Serializable} in order to be used with
+ * persistent stores.
+ *
+ * @param <S> the type of the accumulated state
+ * @since 4.0
+ */
+public interface EventAccumulator<S> extends Serializable {
+
+  /**
+   * Creates the state of a new group.
+   *
+   * @param expectedSize the amount of events the group expects, if known
+   * @return the initial state
+   */
+  S createState(Optional<Integer> expectedSize);
+
+  /**
+   * Obtains the part of the given {@code event} which is to be folded into the state of the group. This is invoked as soon
+   * as the event arrives, so streamed payloads may be consumed here.
+   *
+   * @param event the arrived event
+   * @param muleContext the context of the application
+   * @return the part of the {@code event} to be accumulated
+   * @throws MuleException if the part could not be obtained
+   */
+  Object extract(Event event, MuleContext muleContext) throws MuleException;
+
+  /**
+   * Folds a {@code part} obtained through {@link #extract(Event, MuleContext)} into the {@code state}. Parts are folded in the
+   * order in which their events arrived, so implementations which depend on the order of the group should use the
+   * {@code sequence}.
+   *
+   * @param state the current state of the group
+   * @param part the part of an event of the group
+   * @param sequence the correlation sequence of the event the {@code part} was extracted from, if any
+   * @return the updated state, which may be the same instance that was received
+   */
+  S accumulate(S state, Object part, Optional<Integer> sequence);
+
+  /**
+   * @param state the state of the complete group
+   * @return the payload of the aggregated message
+   */
+  Object getResult(S state);
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.routing.correlation;
 
+import static java.lang.System.currentTimeMillis;
+import static org.apache.commons.lang.StringUtils.isEmpty;
 import static org.mule.runtime.core.context.notification.RoutingNotification.CORRELATION_TIMEOUT;
 import static org.mule.runtime.core.context.notification.RoutingNotification.MISSED_AGGREGATION_GROUP_EVENT;
 import static org.mule.runtime.core.execution.ErrorHandlingExecutionTemplate.createErrorHandlingExecutionTemplate;
@@ -41,8 +43,14 @@ import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,6 +66,13 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
   private static final long ONE_DAY_IN_MILLI = 1000 * 60 * 60 * 24;
 
+  /**
+   * How often the expiry index is rebuilt from the groups in the store when running in a cluster, so that groups added by other
+   * nodes are eventually tracked. Otherwise, every group goes through this correlator, so the index is only rebuilt when the
+   * expiry monitoring starts.
+   */
+  private static final long EXPIRY_INDEX_RECONCILIATION_INTERVAL = 1000 * 60;
+
   protected long groupTimeToLive = ONE_DAY_IN_MILLI;
 
   protected final Object groupsLock = new Object();
@@ -85,6 +100,26 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   private EventCorrelator.ExpiringGroupMonitoringThread expiringGroupMonitoringThread;
   private final String name;
 
+  /**
+   * Open groups ordered by creation time, which since all of them share the same timeout is also the order in which they expire.
+   * Groups are only indexed while the expiry monitoring is active on this node, and their entries are removed once the group is
+   * completed or removed.
+   */
+  // @GuardedBy itself
+  private final NavigableSet<GroupExpiry> expiryIndex = new TreeSet<>();
+  // @GuardedBy expiryIndex
+  private final Map<Serializable, GroupExpiry> expiryIndexEntries = new HashMap<>();
+  // @GuardedBy expiryIndex
+  private List<GroupExpiry> indexedWhileRebuilding;
+  // @GuardedBy expiryIndex
+  private boolean expiryIndexSynchronized = false;
+  private final AtomicLong expiryIndexSequence = new AtomicLong();
+  private long nextExpiryIndexReconciliation;
+
+  private final AtomicLong openGroupsCount = new AtomicLong();
+  private final AtomicLong expiredGroupsCount = new AtomicLong();
+  private final AtomicLong processedGroupsCount = new AtomicLong();
+
   private final FlowConstruct flowConstruct;
 
   public EventCorrelator(EventCorrelatorCallback callback, Processor timeoutMessageProcessor, MuleContext muleContext,
@@ -181,7 +216,19 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
         }
 
         // add the incoming event to the group
+        Optional<Integer> expectedSize;
+        boolean expectedSizePending;
         try {
+          // another thread may have stored the group again since it was retrieved, but only to set its expected size while it
+          // was still unknown, so there is no need to read it again once known
+          if (!group.expectedSize().isPresent()) {
+            EventGroup storedGroup = this.getEventGroup(groupId);
+            if (storedGroup != null) {
+              group = storedGroup;
+            }
+          }
+          expectedSize = group.expectedSize();
+          expectedSizePending = group.isExpectedSizePending();
           group.addEvent(event);
         } catch (ObjectStoreException e) {
           throw new RoutingException(timeoutMessageProcessor, e);
@@ -203,6 +250,13 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
 
           return returnEvent;
         } else {
+          if (!expectedSize.equals(group.expectedSize()) || expectedSizePending != group.isExpectedSizePending()) {
+            try {
+              this.updateEventGroup(group);
+            } catch (ObjectStoreException e) {
+              throw new RoutingException(timeoutMessageProcessor, e);
+            }
+          }
           return null;
         }
       }
@@ -229,17 +283,36 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   protected EventGroup addEventGroup(EventGroup group) throws ObjectStoreException {
     try {
       correlatorStore.store((Serializable) group.getGroupId(), group, getEventGroupsPartitionKey());
+      openGroupsCount.incrementAndGet();
+      indexGroupExpiry(group);
       return group;
     } catch (ObjectAlreadyExistsException e) {
       return getEventGroup((String) group.getGroupId());
     }
   }
 
+  /**
+   * Stores the given group again, so that changes to its state other than the received events are kept when the correlator store
+   * does not hand out the stored instance, as is the case for persistent stores.
+   *
+   * @param group the group to store again
+   * @throws ObjectStoreException if the group could not be stored
+   */
+  protected void updateEventGroup(EventGroup group) throws ObjectStoreException {
+    final Serializable groupId = (Serializable) group.getGroupId();
+    synchronized (groupsLock) {
+      correlatorStore.remove(groupId, getEventGroupsPartitionKey());
+      correlatorStore.store(groupId, group, getEventGroupsPartitionKey());
+    }
+  }
+
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
     final Object groupId = group.getGroupId();
     synchronized (groupsLock) {
       if (!isGroupAlreadyProcessed(groupId)) {
         correlatorStore.remove((Serializable) groupId, getEventGroupsPartitionKey());
+        openGroupsCount.decrementAndGet();
+        unindexGroupExpiry((Serializable) groupId);
         addProcessedGroup(groupId);
       }
     }
@@ -248,6 +321,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
     synchronized (groupsLock) {
       processedGroups.store((Serializable) id, System.currentTimeMillis());
+      processedGroupsCount.incrementAndGet();
     }
   }
 
@@ -257,6 +331,28 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     }
   }
 
+  /**
+   * @return the amount of groups which are waiting for events to arrive
+   */
+  public long getOpenGroupsCount() {
+    return openGroupsCount.get();
+  }
+
+  /**
+   * @return the amount of groups which were expired since this correlator was created
+   */
+  public long getExpiredGroupsCount() {
+    return expiredGroupsCount.get();
+  }
+
+  /**
+   * @return the amount of groups which this correlator recorded in the processed groups store. Since that store may evict
+   *         entries on its own, this is an upper bound of its actual size.
+   */
+  public long getProcessedGroupsCount() {
+    return processedGroupsCount.get();
+  }
+
   public boolean isFailOnTimeout() {
     return failOnTimeout;
   }
@@ -279,6 +375,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     } catch (ObjectStoreException e) {
       throw new DefaultMuleException(e);
     }
+    expiredGroupsCount.incrementAndGet();
 
     if (isFailOnTimeout()) {
       Event messageCollectionEvent = group.getMessageCollectionEvent();
@@ -327,6 +424,136 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     }
   }
 
+  /**
+   * Adds the {@code group} to the expiry index, as long as the expiry monitoring is active on this node. Otherwise, the group
+   * will be found in the store once the index is rebuilt.
+   */
+  private void indexGroupExpiry(EventGroup group) {
+    synchronized (expiryIndex) {
+      if (!expiryIndexSynchronized && indexedWhileRebuilding == null) {
+        return;
+      }
+
+      GroupExpiry entry = newGroupExpiry((Serializable) group.getGroupId(), group.getCreated());
+      addToExpiryIndex(entry);
+      if (indexedWhileRebuilding != null) {
+        indexedWhileRebuilding.add(entry);
+      }
+    }
+  }
+
+  // @GuardedBy expiryIndex
+  private void addToExpiryIndex(GroupExpiry entry) {
+    GroupExpiry previous = expiryIndexEntries.put(entry.groupId, entry);
+    if (previous != null) {
+      expiryIndex.remove(previous);
+    }
+    expiryIndex.add(entry);
+  }
+
+  private void unindexGroupExpiry(Serializable groupId) {
+    synchronized (expiryIndex) {
+      GroupExpiry entry = expiryIndexEntries.remove(groupId);
+      if (entry != null) {
+        expiryIndex.remove(entry);
+      }
+    }
+  }
+
+  private GroupExpiry newGroupExpiry(Serializable groupId, long created) {
+    return new GroupExpiry(groupId, created, expiryIndexSequence.getAndIncrement());
+  }
+
+  /**
+   * Rebuilds the expiry index and the open groups counter from the groups in the store. This is the only operation which goes
+   * through all the open groups, and is only performed when the monitoring starts in the primary node, which includes this node
+   * becoming the primary one, and periodically after that when running in a cluster.
+   */
+  private void rebuildExpiryIndex() throws ObjectStoreException {
+    synchronized (expiryIndex) {
+      indexedWhileRebuilding = new ArrayList<>();
+    }
+
+    List<GroupExpiry> entries = new ArrayList<>();
+    try {
+      for (Serializable groupId : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        EventGroup group = getEventGroup(groupId);
+        if (group != null) {
+          entries.add(newGroupExpiry(groupId, group.getCreated()));
+        }
+      }
+
+      synchronized (expiryIndex) {
+        clearExpiryIndex();
+        entries.forEach(this::addToExpiryIndex);
+        // groups added while going through the store may have been missed by the scan
+        indexedWhileRebuilding.forEach(this::addToExpiryIndex);
+        expiryIndexSynchronized = true;
+      }
+    } finally {
+      synchronized (expiryIndex) {
+        indexedWhileRebuilding = null;
+      }
+    }
+
+    openGroupsCount.set(entries.size());
+    nextExpiryIndexReconciliation = currentTimeMillis() + EXPIRY_INDEX_RECONCILIATION_INTERVAL;
+  }
+
+  /**
+   * Stops indexing groups and discards the expiry index, which needs to be rebuilt from the store once the expiry monitoring is
+   * active again on this node.
+   */
+  private void discardExpiryIndex() {
+    synchronized (expiryIndex) {
+      expiryIndexSynchronized = false;
+      clearExpiryIndex();
+    }
+  }
+
+  /**
+   * @return whether this node is part of a cluster, in which case other nodes may add groups to the store
+   */
+  private boolean isClustered() {
+    return !isEmpty(muleContext.getClusterId());
+  }
+
+  // @GuardedBy expiryIndex
+  private void clearExpiryIndex() {
+    expiryIndex.clear();
+    expiryIndexEntries.clear();
+  }
+
+  private boolean isExpiryIndexSynchronized() {
+    synchronized (expiryIndex) {
+      return expiryIndexSynchronized;
+    }
+  }
+
+  /**
+   * @return the amount of groups in the expiry index
+   */
+  int getExpiryIndexSize() {
+    synchronized (expiryIndex) {
+      return expiryIndex.size();
+    }
+  }
+
+  /**
+   * Removes from the expiry index the entries of the groups that are due at {@code now}.
+   */
+  private List<GroupExpiry> pollDueGroups(long now) {
+    List<GroupExpiry> due = new ArrayList<>();
+    synchronized (expiryIndex) {
+      while (!expiryIndex.isEmpty() && expiryIndex.first().created + getTimeout() < now) {
+        GroupExpiry next = expiryIndex.pollFirst();
+        expiryIndexEntries.remove(next.groupId, next);
+        due.add(next);
+      }
+    }
+    return due;
+  }
+
   @Override
   public void start() throws MuleException {
     logger.info("Starting event correlator: " + name);
@@ -342,6 +569,7 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     if (expiringGroupMonitoringThread != null) {
       expiringGroupMonitoringThread.stopProcessing();
     }
+    discardExpiryIndex();
   }
 
   private final class ExpiringGroupMonitoringThread extends EventProcessingThread implements Expirable, Disposable {
@@ -383,15 +611,22 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
       //// start the thread on the primary node only, and then use a notification schema to start a new thread
       //// in a different node when the primary goes down.
       if (!muleContext.isPrimaryPollingInstance()) {
+        // groups may be added by the primary node in the meantime, so the index needs to be rebuilt if this node becomes primary
+        discardExpiryIndex();
         return;
       }
 
       List<EventGroup> expired = new ArrayList<>(1);
       try {
-        for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
-          EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
-          if (group != null && group.getCreated() + getTimeout() < System.currentTimeMillis()) {
+        if (!isExpiryIndexSynchronized() || (isClustered() && currentTimeMillis() >= nextExpiryIndexReconciliation)) {
+          rebuildExpiryIndex();
+        }
+
+        long now = currentTimeMillis();
+        for (GroupExpiry due : pollDueGroups(now)) {
+          EventGroup group = getEventGroup(due.groupId);
+          // group may have been completed, or replaced by a newer one with the same id which has its own entry in the index
+          if (group != null && group.getCreated() + getTimeout() < now) {
             expired.add(group);
           }
         }
@@ -422,6 +657,28 @@ public class EventCorrelator implements Startable, Stoppable, Disposable {
     }
   }
 
+  /**
+   * An entry of the expiry index
+   */
+  private static final class GroupExpiry implements Comparable<GroupExpiry> {
+
+    private final Serializable groupId;
+    private final long created;
+    private final long sequence;
+
+    private GroupExpiry(Serializable groupId, long created, long sequence) {
+      this.groupId = groupId;
+      this.created = created;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(GroupExpiry other) {
+      int result = Long.compare(created, other.created);
+      return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+  }
+
   protected String getExpiredAndDispatchedPartitionKey() {
     return storePrefix + ".expiredAndDispatchedGroups";
   }
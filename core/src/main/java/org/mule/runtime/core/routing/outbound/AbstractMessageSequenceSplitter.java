@@ -6,39 +6,84 @@
  */
 package org.mule.runtime.core.routing.outbound;
 
+import static java.lang.Thread.currentThread;
 import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.Event.getCurrentEvent;
+import static org.mule.runtime.core.api.Event.setCurrentEvent;
+import static org.mule.runtime.core.util.rx.Exceptions.rxExceptionToMuleException;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
-import org.mule.runtime.api.exception.MuleException;
-import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.api.routing.RouterResultsHandler;
+import org.mule.runtime.core.api.scheduler.Scheduler;
 import org.mule.runtime.core.message.GroupCorrelation;
 import org.mule.runtime.core.processor.AbstractInterceptingMessageProcessor;
 import org.mule.runtime.core.routing.AbstractSplitter;
+import org.mule.runtime.core.routing.CompositeRoutingException;
 import org.mule.runtime.core.routing.DefaultRouterResultsHandler;
 import org.mule.runtime.core.routing.MessageSequence;
+import org.mule.runtime.core.transaction.TransactionCoordination;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Base implementation of a {@link Message} splitter, that converts its payload in a {@link MessageSequence}, and process each
  * element of it. Implementations must implement {@link #splitMessageIntoSequence(Event)} and determine how the message is split.
  * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Sequencer.html">http://www .eaipatterns.com/Sequencer.html</a>
+ * <p>
+ * By default the parts are processed sequentially in the caller thread. If {@link #setMaxConcurrency(int)} is set to a value
+ * greater than one, up to that amount of parts are processed concurrently in the IO scheduler. In that case:
+ * <ul>
+ * <li>Each part is built from the original event, so flow variables set while processing a part are not propagated to the
+ * next one.</li>
+ * <li>Each part is processed as the current event and with the context class loader of the thread that split the event.</li>
+ * <li>Results are handed to the {@link RouterResultsHandler} in the order of the parts, unless {@link #setPreserveOrder(boolean)}
+ * is set to {@code false}, in which case they are handed in completion order.</li>
+ * <li>When a part fails the rest are cancelled and its exception is thrown, unless {@link #setFailFast(boolean)} is set to
+ * {@code false}, in which case all the parts are processed and a {@link CompositeRoutingException} with the failures of each
+ * part is thrown.</li>
+ * <li>The size of the sequence is not requested up front, so the parts are sent with no group size except for the last one, in
+ * the same way as for sequences of unknown size.</li>
+ * </ul>
+ * Transactions are bound to the thread that started them, so when a transaction is active the parts are always processed
+ * sequentially in the caller thread, regardless of {@link #setMaxConcurrency(int)}.
+ * <p>
+ * Sequences are consumed lazily, one part at a time. When the size of the sequence is not known beforehand (for instance, when
+ * splitting an {@link java.util.Iterator}), the parts are sent with no group size except for the last one, which carries the
+ * total amount of parts so that a downstream aggregator is able to complete the group.
  * 
  * @author flbulgarelli
  * @see AbstractSplitter
  */
 public abstract class AbstractMessageSequenceSplitter extends AbstractInterceptingMessageProcessor
-    implements MuleContextAware {
+    implements MuleContextAware, Stoppable {
 
   protected RouterResultsHandler resultsHandler = new DefaultRouterResultsHandler();
   protected int batchSize;
   protected String counterVariableName;
+  protected int maxConcurrency = 1;
+  protected boolean preserveOrder = true;
+  protected boolean failFast = true;
+  protected boolean retainResults = true;
+
+  private Scheduler scheduler;
 
   @Override
   public final Event process(Event event) throws MuleException {
@@ -69,6 +114,13 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected abstract MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException;
 
   protected List<Event> processParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
+    if (maxConcurrency > 1) {
+      if (TransactionCoordination.getInstance().getTransaction() == null) {
+        return processPartsConcurrently(seq, originalEvent);
+      }
+      logger.debug("A transaction is active, parts will be processed sequentially");
+    }
+
     List<Event> resultEvents = new ArrayList<>();
     int correlationSequence = 0;
     MessageSequence<?> messageSequence = seq;
@@ -87,11 +139,14 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
         builder.addVariable(counterVariableName, correlationSequence);
       }
 
-      builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
       initEventBuilder(messageSequence.next(), originalEvent, builder, resolvePropagatedFlowVars(lastResult));
+      builder.groupCorrelation(partCorrelation(count, correlationSequence, messageSequence));
       final Event event = builder.build();
       Event resultEvent = processNext(event);
       if (resultEvent != null) {
+        if (!retainResults) {
+          resultEvents.clear();
+        }
         resultEvents.add(resultEvent);
         lastResult = resultEvent;
       }
@@ -102,6 +157,122 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     return resultEvents;
   }
 
+  private List<Event> processPartsConcurrently(MessageSequence<?> seq, Event originalEvent) throws MuleException {
+    MessageSequence<?> messageSequence = batchSize > 1 ? new PartitionedMessageSequence(seq, batchSize) : seq;
+    Map<Integer, Throwable> failures = new TreeMap<>();
+    reactor.core.scheduler.Scheduler partsScheduler = fromExecutorService(getScheduler());
+
+    // parts are pulled from the sequence as processing slots are freed, so they are not all built up front
+    Iterable<Event> parts = () -> new Iterator<Event>() {
+
+      private int correlationSequence = 0;
+
+      @Override
+      public boolean hasNext() {
+        return messageSequence.hasNext();
+      }
+
+      @Override
+      public Event next() {
+        correlationSequence++;
+        final Builder builder = Event.builder(originalEvent);
+        if (counterVariableName != null) {
+          builder.addVariable(counterVariableName, correlationSequence);
+        }
+        initEventBuilder(messageSequence.next(), originalEvent, builder, emptySet());
+        // the size of the sequence is not requested, since some sequences need to be consumed to know it
+        builder.groupCorrelation(partCorrelation(null, correlationSequence, messageSequence));
+        return builder.build();
+      }
+    };
+
+    ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    Function<Event, Publisher<Event>> processPart = part -> {
+      Mono<Event> result = Mono.fromCallable(() -> processPartInWorker(part, contextClassLoader)).subscribeOn(partsScheduler);
+      if (failFast) {
+        return result;
+      }
+      return result.otherwise(e -> {
+        synchronized (failures) {
+          failures.put(part.getGroupCorrelation().getSequence().get(), e);
+        }
+        return Mono.empty();
+      });
+    };
+
+    Flux<Event> partsFlux = Flux.fromIterable(parts);
+    Flux<Event> results = preserveOrder ? partsFlux.flatMapSequential(processPart, maxConcurrency)
+        : partsFlux.flatMap(processPart, maxConcurrency);
+    List<Event> resultEvents;
+    try {
+      if (retainResults) {
+        resultEvents = results.collectList().block();
+      } else {
+        // as when processing sequentially, every result but the last one is discarded as soon as the next one is available
+        resultEvents = new ArrayList<>(1);
+        Event lastResult = results.reduce((previous, next) -> next).block();
+        if (lastResult != null) {
+          resultEvents.add(lastResult);
+        }
+      }
+    } catch (Throwable t) {
+      throw rxExceptionToMuleException(t);
+    }
+
+    if (!failures.isEmpty()) {
+      throw new CompositeRoutingException(failures);
+    }
+    return resultEvents;
+  }
+
+  /**
+   * Processes a part in a thread of the IO scheduler, with the same context {@link ClassLoader} as the thread that split the
+   * event and with the part as the current event, as if it was being processed in that thread.
+   */
+  private Event processPartInWorker(Event part, ClassLoader contextClassLoader) throws MuleException {
+    final Thread currentThread = currentThread();
+    final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+    final Event previousEvent = getCurrentEvent();
+    currentThread.setContextClassLoader(contextClassLoader);
+    setCurrentEvent(part);
+    try {
+      return processNext(part);
+    } finally {
+      setCurrentEvent(previousEvent);
+      currentThread.setContextClassLoader(previousClassLoader);
+    }
+  }
+
+  /**
+   * Must be called after the element for the part was pulled from the sequence, so that the last part of a sequence of unknown
+   * size can be identified. The other parts of such a sequence are flagged so that aggregators wait for the size announced by
+   * the last one.
+   */
+  private GroupCorrelation partCorrelation(Integer count, int correlationSequence, MessageSequence<?> messageSequence) {
+    if (count != null) {
+      return new GroupCorrelation(count, correlationSequence);
+    }
+    if (!messageSequence.hasNext()) {
+      return new GroupCorrelation(correlationSequence, correlationSequence);
+    }
+    return new GroupCorrelation(null, correlationSequence, true);
+  }
+
+  private synchronized Scheduler getScheduler() {
+    if (scheduler == null) {
+      scheduler = muleContext.getSchedulerService().ioScheduler();
+    }
+    return scheduler;
+  }
+
+  @Override
+  public synchronized void stop() throws MuleException {
+    if (scheduler != null) {
+      scheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+      scheduler = null;
+    }
+  }
+
   protected Set<String> resolvePropagatedFlowVars(Event lastResult) {
     return emptySet();
   }
@@ -139,4 +310,36 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   public void setCounterVariableName(String counterVariableName) {
     this.counterVariableName = counterVariableName;
   }
+
+  /**
+   * Whether the results of processing each part must be kept to be aggregated once all the parts are processed. When
+   * {@code false}, only the last result is kept, so that memory usage doesn't grow with the size of the sequence. When parts are
+   * processed concurrently and not in order, that is the result of the last part to complete.
+   */
+  public void setRetainResults(boolean retainResults) {
+    this.retainResults = retainResults;
+  }
+
+  /**
+   * The maximum amount of parts to be processed concurrently. The default value of one processes them sequentially. Parts are
+   * also processed sequentially when a transaction is active.
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Whether results of concurrently processed parts are aggregated in the order of the parts, or in completion order.
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
+  /**
+   * Whether to stop processing concurrent parts as soon as one of them fails, or to process all of them and then report all the
+   * failures.
+   */
+  public void setFailFast(boolean failFast) {
+    this.failFast = failFast;
+  }
 }
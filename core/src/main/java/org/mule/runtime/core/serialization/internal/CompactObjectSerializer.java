@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.serialization.internal;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+
+/**
+ * {@link ObjectSerializer} which uses a {@link CompactSerializationProtocol} for internal serialization. Since the compact
+ * format is only understood by the runtime, Java serialization is still used for external serialization.
+ * <p>
+ * It can be selected as the default serializer of an application by referencing it from the {@code defaultObjectSerializer-ref}
+ * attribute of its configuration.
+ *
+ * @since 4.0
+ */
+public class CompactObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  private final CompactSerializationProtocol internalProtocol = new CompactSerializationProtocol();
+  private final JavaExternalSerializerProtocol externalProtocol = new JavaExternalSerializerProtocol();
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return internalProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return externalProtocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    internalProtocol.setMuleContext(context);
+    externalProtocol.setMuleContext(context);
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.serialization.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableMap;
+
+import org.mule.runtime.core.api.serialization.SerializationException;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementation of {@link SerializationProtocol} which produces a more compact and faster to process output than
+ * {@link JavaExternalSerializerProtocol}, intended for objects which are serialized and deserialized by the same runtime, such as
+ * the contents of persistent queues and object stores.
+ * <p>
+ * Strings, byte arrays and the most common boxed primitives are written directly with a one byte tag. Any other object must be
+ * {@link Serializable} and is written with Java serialization, but instead of full class descriptors, only an id and the
+ * {@code serialVersionUID} are written for the registered classes (mostly the ones that compose an
+ * {@link org.mule.runtime.core.api.Event}). The fields of those classes are taken from their current version when deserializing,
+ * so a {@code serialVersionUID} which doesn't match the current one causes the deserialization to fail. The rest of the classes
+ * are written with their full class descriptors, as Java serialization does.
+ * <p>
+ * The buffers used for serialization are reused by each thread, unless they grow beyond {@link #MAX_REUSED_BUFFER_SIZE}.
+ *
+ * @since 4.0
+ */
+public class CompactSerializationProtocol extends AbstractSerializationProtocol {
+
+  static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte BYTES = 2;
+  private static final byte INTEGER = 3;
+  private static final byte LONG = 4;
+  private static final byte BOOLEAN = 5;
+  private static final byte OBJECT = 6;
+
+  private static final byte REGISTERED_CLASS = 0;
+  private static final byte FULL_CLASS_DESCRIPTOR = 1;
+
+  /**
+   * The position of each class is what gets written, so new classes may only be appended to the end.
+   */
+  private static final String[] REGISTERED_CLASSES = {
+      "org.mule.runtime.core.message.DefaultEventBuilder$EventImplementation",
+      "org.mule.runtime.core.message.DefaultMessageBuilder$MessageImplementation",
+      "org.mule.runtime.core.DefaultEventContext",
+      "org.mule.runtime.core.session.DefaultMuleSession",
+      "org.mule.runtime.core.message.GroupCorrelation",
+      "org.mule.runtime.core.MessageExchangePattern",
+      "org.mule.runtime.core.context.notification.DefaultFlowCallStack",
+      "org.mule.runtime.core.metadata.DefaultTypedValue",
+      "org.mule.runtime.core.metadata.SimpleDataType",
+      "org.mule.runtime.core.metadata.DefaultCollectionDataType",
+      "org.mule.runtime.core.util.CaseInsensitiveMapWrapper",
+      "org.mule.runtime.core.util.CaseInsensitiveHashMap",
+      "org.mule.runtime.core.util.CopyOnWriteCaseInsensitiveMap",
+      "java.lang.Enum",
+      "java.lang.Number",
+      "java.lang.Integer",
+      "java.lang.Long",
+      "java.lang.Boolean",
+      "java.util.ArrayList",
+      "java.util.LinkedList",
+      "java.util.HashMap",
+      "java.util.LinkedHashMap",
+      "java.util.TreeMap",
+      "java.util.HashSet",
+      "java.util.LinkedHashSet",
+      "java.util.Collections$EmptyMap",
+      "java.util.Collections$EmptyList",
+      "java.util.Collections$UnmodifiableMap",
+      "java.util.Collections$UnmodifiableCollection",
+      "java.util.Collections$UnmodifiableList",
+      "java.util.Collections$UnmodifiableRandomAccessList",
+      "[Ljava.lang.Object;",
+      "[Ljava.lang.String;",
+      "[B"
+  };
+
+  private static final Map<String, Short> REGISTERED_CLASS_IDS;
+
+  static {
+    Map<String, Short> ids = new HashMap<>();
+    for (short i = 0; i < REGISTERED_CLASSES.length; i++) {
+      ids.put(REGISTERED_CLASSES[i], i);
+    }
+    REGISTERED_CLASS_IDS = unmodifiableMap(ids);
+  }
+
+  private final ThreadLocal<ReusableByteArrayOutputStream> buffers = new ThreadLocal<>();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    ReusableByteArrayOutputStream buffer = acquireBuffer();
+    try {
+      write(object, buffer);
+      return buffer.toByteArray();
+    } finally {
+      releaseBuffer(buffer);
+    }
+  }
+
+  private void write(Object object, OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    if (object == null) {
+      data.writeByte(NULL);
+    } else if (object instanceof String) {
+      data.writeByte(STRING);
+      writeBytes(((String) object).getBytes(UTF_8), data);
+    } else if (object instanceof byte[]) {
+      data.writeByte(BYTES);
+      writeBytes((byte[]) object, data);
+    } else if (object instanceof Integer) {
+      data.writeByte(INTEGER);
+      data.writeInt((Integer) object);
+    } else if (object instanceof Long) {
+      data.writeByte(LONG);
+      data.writeLong((Long) object);
+    } else if (object instanceof Boolean) {
+      data.writeByte(BOOLEAN);
+      data.writeBoolean((Boolean) object);
+    } else if (object instanceof Serializable) {
+      data.writeByte(OBJECT);
+      ObjectOutputStream objectOut = new CompactObjectOutputStream(data);
+      objectOut.writeObject(object);
+      objectOut.flush();
+    } else {
+      throw new SerializationException(String.format("Was expecting a Serializable type. %s was found instead",
+                                                     object.getClass().getName()));
+    }
+    data.flush();
+  }
+
+  private void writeBytes(byte[] bytes, DataOutputStream data) throws IOException {
+    data.writeInt(bytes.length);
+    data.write(bytes);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    DataInputStream data = new DataInputStream(inputStream);
+    byte type = data.readByte();
+    switch (type) {
+      case NULL:
+        return null;
+      case STRING:
+        return (T) new String(readBytes(data), UTF_8);
+      case BYTES:
+        return (T) readBytes(data);
+      case INTEGER:
+        return (T) Integer.valueOf(data.readInt());
+      case LONG:
+        return (T) Long.valueOf(data.readLong());
+      case BOOLEAN:
+        return (T) Boolean.valueOf(data.readBoolean());
+      case OBJECT:
+        return (T) new CompactObjectInputStream(data, classLoader).readObject();
+      default:
+        throw new SerializationException("Unknown serialized type " + type
+            + ". Was the object serialized with a different protocol?");
+    }
+  }
+
+  private byte[] readBytes(DataInputStream data) throws IOException {
+    byte[] bytes = new byte[data.readInt()];
+    data.readFully(bytes);
+    return bytes;
+  }
+
+  private ReusableByteArrayOutputStream acquireBuffer() {
+    ReusableByteArrayOutputStream buffer = buffers.get();
+    if (buffer == null) {
+      return new ReusableByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+    }
+
+    // a nested serialization in this same thread gets its own buffer
+    buffers.set(null);
+    buffer.reset();
+    return buffer;
+  }
+
+  private void releaseBuffer(ReusableByteArrayOutputStream buffer) {
+    if (buffer.capacity() <= MAX_REUSED_BUFFER_SIZE) {
+      buffers.set(buffer);
+    }
+  }
+
+  private static class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+    private ReusableByteArrayOutputStream(int size) {
+      super(size);
+    }
+
+    private int capacity() {
+      return buf.length;
+    }
+  }
+
+  private static class CompactObjectOutputStream extends ObjectOutputStream {
+
+    private CompactObjectOutputStream(OutputStream out) throws IOException {
+      super(out);
+    }
+
+    @Override
+    protected void writeStreamHeader() throws IOException {
+      // the type tag already identifies the format
+    }
+
+    @Override
+    protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+      Short id = REGISTERED_CLASS_IDS.get(desc.getName());
+      if (id != null) {
+        writeByte(REGISTERED_CLASS);
+        writeShort(id);
+        writeLong(desc.getSerialVersionUID());
+      } else {
+        writeByte(FULL_CLASS_DESCRIPTOR);
+        super.writeClassDescriptor(desc);
+      }
+    }
+  }
+
+  private static class CompactObjectInputStream extends ObjectInputStream {
+
+    private final ClassLoader classLoader;
+
+    private CompactObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+      super(in);
+      this.classLoader = classLoader;
+    }
+
+    @Override
+    protected void readStreamHeader() throws IOException {
+      // no header is written
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+      if (readByte() != REGISTERED_CLASS) {
+        return super.readClassDescriptor();
+      }
+
+      ObjectStreamClass desc = ObjectStreamClass.lookupAny(Class.forName(REGISTERED_CLASSES[readShort()], false, classLoader));
+      long serialVersionUID = readLong();
+      if (serialVersionUID != desc.getSerialVersionUID()) {
+        throw new InvalidClassException(desc.getName(), "local class incompatible: stream classdesc serialVersionUID = "
+            + serialVersionUID + ", local class serialVersionUID = " + desc.getSerialVersionUID());
+      }
+      return desc;
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws ClassNotFoundException {
+      return Class.forName(desc.getName(), false, classLoader);
+    }
+
+    @Override
+    protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+      Class<?>[] interfaceClasses = new Class<?>[interfaces.length];
+      for (int i = 0; i < interfaces.length; i++) {
+        interfaceClasses[i] = Class.forName(interfaces[i], false, classLoader);
+      }
+      return Proxy.getProxyClass(classLoader, interfaceClasses);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Implementation of {@link Producer} which reads ahead the pages of another {@link Producer}, so that the next pages are
+ * already available by the time they are requested.
+ * <p>
+ * Pages are obtained from the delegate one at a time in the given {@link Executor}, keeping up to {@code maxPrefetchedPages}
+ * pages which have not been requested yet. Since the delegate is never accessed concurrently, it doesn't need to be thread-safe.
+ * <p>
+ * The delegate is considered exhausted once it returns a {@code null} or empty page. An exception thrown by the delegate while
+ * reading ahead is thrown when the page it was trying to obtain is requested.
+ *
+ * @param <T> the type of the elements in the pages
+ * @since 4.0
+ */
+public class PrefetchingProducer<T> implements Producer<List<T>> {
+
+  private final Producer<List<T>> delegate;
+  private final int maxPrefetchedPages;
+  private final Executor executor;
+
+  private final Object delegateLock = new Object();
+  private final Object pagesLock = new Object();
+  private final Deque<List<T>> pages = new ArrayDeque<>();
+  private boolean fetching = false;
+  private boolean exhausted = false;
+  private volatile boolean closed = false;
+  private RuntimeException failure;
+
+  /**
+   * @param delegate the {@link Producer} to read ahead from
+   * @param maxPrefetchedPages the maximum amount of pages read ahead which have not been requested yet
+   * @param executor the {@link Executor} in which the pages are read ahead
+   */
+  public PrefetchingProducer(Producer<List<T>> delegate, int maxPrefetchedPages, Executor executor) {
+    checkArgument(maxPrefetchedPages > 0, "maxPrefetchedPages must be greater than zero");
+    this.delegate = delegate;
+    this.maxPrefetchedPages = maxPrefetchedPages;
+    this.executor = executor;
+  }
+
+  /**
+   * {@inheritDoc} Returns the next page already read ahead, waiting for it if it is still being obtained, and triggers the
+   * reading of further pages.
+   *
+   * @return the next page, or {@code null} if the delegate is exhausted or this producer was closed
+   */
+  @Override
+  public List<T> produce() {
+    synchronized (pagesLock) {
+      while (pages.isEmpty() && !exhausted && failure == null && !closed) {
+        fetchIfNeeded();
+        // the executor may have run the fetch already or rejected it, in which case nothing is left to wait for
+        if (fetching) {
+          try {
+            pagesLock.wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MuleRuntimeException(createStaticMessage("Interrupted while waiting for the next page"), e);
+          }
+        }
+      }
+
+      if (!pages.isEmpty()) {
+        List<T> page = pages.poll();
+        fetchIfNeeded();
+        return page;
+      }
+
+      if (failure != null) {
+        RuntimeException e = failure;
+        failure = null;
+        exhausted = true;
+        throw e;
+      }
+
+      return null;
+    }
+  }
+
+  private void fetchIfNeeded() {
+    if (!fetching && !exhausted && !closed && failure == null && pages.size() < maxPrefetchedPages) {
+      fetching = true;
+      try {
+        executor.execute(this::fetch);
+      } catch (RejectedExecutionException e) {
+        fetching = false;
+        failure = e;
+      }
+    }
+  }
+
+  private void fetch() {
+    List<T> page = null;
+    RuntimeException error = null;
+    try {
+      synchronized (delegateLock) {
+        if (!closed) {
+          page = delegate.produce();
+        }
+      }
+    } catch (RuntimeException e) {
+      error = e;
+    } catch (Throwable t) {
+      error = new MuleRuntimeException(createStaticMessage("Could not obtain the next page"), t);
+    }
+
+    synchronized (pagesLock) {
+      fetching = false;
+      if (!closed) {
+        if (error != null) {
+          failure = error;
+        } else if (page == null || page.isEmpty()) {
+          exhausted = true;
+        } else {
+          pages.add(page);
+          fetchIfNeeded();
+        }
+      }
+      pagesLock.notifyAll();
+    }
+  }
+
+  /**
+   * {@inheritDoc} Waits for any page being read ahead to be obtained before asking the delegate.
+   */
+  @Override
+  public int size() {
+    synchronized (delegateLock) {
+      return delegate.size();
+    }
+  }
+
+  /**
+   * Discards the pages read ahead and closes the delegate once it is no longer being read.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (pagesLock) {
+      closed = true;
+      pages.clear();
+      pagesLock.notifyAll();
+    }
+
+    synchronized (delegateLock) {
+      delegate.close();
+    }
+  }
+}
@@ -6,15 +6,22 @@
  */
 package org.mule.runtime.core.util;
 
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.agent.Agent;
 import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.management.stats.LifecycleStatistics;
+import org.mule.runtime.core.management.stats.LifecycleStatistics.LifecycleTime;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.StringTokenizer;
 
 public class ApplicationStartupSplashScreen extends SplashScreen {
 
+  private static final int SLOWEST_LIFECYCLE_TIMES = 5;
+
   @Override
   protected void doHeader(MuleContext context) {
     header.add("Application: " + context.getConfiguration().getId());
@@ -48,5 +55,21 @@ public class ApplicationStartupSplashScreen extends SplashScreen {
         }
       }
     }
+
+    // List the objects which took the longest to initialise and start
+    if (context.getStatistics() != null) {
+      LifecycleStatistics lifecycleStatistics = context.getStatistics().getLifecycleStatistics();
+      listLifecycleTimes(lifecycleStatistics.getSlowest(Initialisable.PHASE_NAME, SLOWEST_LIFECYCLE_TIMES), "initialise");
+      listLifecycleTimes(lifecycleStatistics.getSlowest(Startable.PHASE_NAME, SLOWEST_LIFECYCLE_TIMES), "start");
+    }
+  }
+
+  private void listLifecycleTimes(List<LifecycleTime> lifecycleTimes, String phaseDescription) {
+    if (!lifecycleTimes.isEmpty()) {
+      footer.add(String.format("Slowest to %s:", phaseDescription));
+      for (LifecycleTime lifecycleTime : lifecycleTimes) {
+        footer.add(String.format("  %s: %d ms", lifecycleTime.getObjectName(), lifecycleTime.getTimeMillis()));
+      }
+    }
   }
 }
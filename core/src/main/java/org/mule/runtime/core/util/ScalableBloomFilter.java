@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util;
+
+import static com.google.common.hash.Funnels.stringFunnel;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import com.google.common.hash.BloomFilter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A Bloom filter of strings which grows as elements are added to it, so that the number of elements doesn't need to be known
+ * beforehand.
+ * <p>
+ * Elements are added to a {@link BloomFilter} until it reaches its capacity, after which a new one with twice the capacity and
+ * half the false positive probability is created. This keeps the overall false positive probability under the configured one,
+ * no matter how many elements are added.
+ * <p>
+ * Like any Bloom filter, {@link #mightContain(String)} never returns {@code false} for an element which was added from the same
+ * thread, but may return {@code true} for an element which wasn't. Elements are added under a lock but checked without one, so an
+ * element being added concurrently may not be seen yet by other threads.
+ *
+ * @since 4.0
+ */
+public class ScalableBloomFilter {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16 * 1024;
+
+  private final List<BloomFilter<CharSequence>> filters = new CopyOnWriteArrayList<>();
+  private final double falsePositiveProbability;
+
+  private BloomFilter<CharSequence> currentFilter;
+  private int currentCapacity;
+  private double currentFalsePositiveProbability;
+  private int currentCount;
+
+  /**
+   * Creates a filter with a default initial capacity.
+   *
+   * @param falsePositiveProbability the maximum probability of {@link #mightContain(String)} returning {@code true} for an element
+   *        which wasn't added
+   */
+  public ScalableBloomFilter(double falsePositiveProbability) {
+    this(falsePositiveProbability, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * @param falsePositiveProbability the maximum probability of {@link #mightContain(String)} returning {@code true} for an element
+   *        which wasn't added
+   * @param initialCapacity the number of elements which can be added before the filter has to grow
+   */
+  public ScalableBloomFilter(double falsePositiveProbability, int initialCapacity) {
+    checkArgument(falsePositiveProbability > 0 && falsePositiveProbability < 1,
+                  "falsePositiveProbability must be between 0 and 1");
+    checkArgument(initialCapacity > 0, "initialCapacity must be greater than zero");
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.currentCapacity = initialCapacity;
+    // the probabilities of the filters are halved on each growth, so their sum never exceeds twice the first one
+    this.currentFalsePositiveProbability = falsePositiveProbability / 2;
+    addFilter();
+  }
+
+  /**
+   * @param element the element to look for
+   * @return {@code false} if the element was definitely not added to this filter, {@code true} if it might have been
+   */
+  public boolean mightContain(String element) {
+    for (BloomFilter<CharSequence> filter : filters) {
+      if (filter.mightContain(element)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds an element to this filter, growing it if needed.
+   *
+   * @param element the element to add
+   */
+  public synchronized void put(String element) {
+    if (currentCount >= currentCapacity) {
+      currentCapacity *= 2;
+      currentFalsePositiveProbability /= 2;
+      addFilter();
+    }
+    if (currentFilter.put(element)) {
+      currentCount++;
+    }
+  }
+
+  /**
+   * @return the maximum probability of {@link #mightContain(String)} returning {@code true} for an element which wasn't added
+   */
+  public double getFalsePositiveProbability() {
+    return falsePositiveProbability;
+  }
+
+  private void addFilter() {
+    currentFilter = BloomFilter.create(stringFunnel(UTF_8), currentCapacity, currentFalsePositiveProbability);
+    currentCount = 0;
+    filters.add(currentFilter);
+  }
+}
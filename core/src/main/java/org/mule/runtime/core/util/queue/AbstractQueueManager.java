@@ -14,7 +14,10 @@ import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.core.config.i18n.CoreMessages;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
@@ -33,6 +36,7 @@ public abstract class AbstractQueueManager
   private final ReentrantLock queuesLock = new ReentrantLock();
   private final Map<String, CacheAwareQueueStore> queues = new HashMap<String, CacheAwareQueueStore>();
   private final Map<String, QueueConfiguration> queueConfigurations = new HashMap<String, QueueConfiguration>();
+  private final Map<String, List<QueueListener>> queueListeners = new ConcurrentHashMap<>();
   private QueueConfiguration defaultQueueConfiguration = new DefaultQueueConfiguration();
   private MuleContext muleContext;
 
@@ -73,7 +77,7 @@ public abstract class AbstractQueueManager
     try {
       queueStore = queues.get(name);
       if (queueStore == null) {
-        queueStore = new CacheAwareQueueStore(createQueueStore(name, config), this);
+        queueStore = new CacheAwareQueueStore(createQueueStore(name, config), this, this::notifyQueueListeners);
         queues.put(name, queueStore);
       }
 
@@ -83,6 +87,40 @@ public abstract class AbstractQueueManager
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean addQueueListener(String queueName, QueueListener listener) {
+    queueListeners.computeIfAbsent(queueName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void removeQueueListener(String queueName, QueueListener listener) {
+    List<QueueListener> listeners = queueListeners.get(queueName);
+    if (listeners != null) {
+      listeners.remove(listener);
+    }
+  }
+
+  private void notifyQueueListeners(String queueName) {
+    List<QueueListener> listeners = queueListeners.get(queueName);
+    if (listeners == null) {
+      return;
+    }
+    for (QueueListener listener : listeners) {
+      try {
+        listener.onItemsAvailable(queueName);
+      } catch (RuntimeException e) {
+        logger.warn(String.format("Queue listener %s failed for queue %s", listener, queueName), e);
+      }
+    }
+  }
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
@@ -10,16 +10,19 @@ import java.io.Serializable;
 
 /**
  * Wrapper for QueueStore so the cache in {@link org.mule.runtime.core.util.queue.AbstractQueueManager} gets cleaned up when a
- * queue is not longer used.
+ * queue is not longer used, and its {@link QueueListener}s get signalled when items are made available in the queue.
  */
 class CacheAwareQueueStore implements QueueStore {
 
   private final QueueStoreCacheListener queueStoreCacheListener;
+  private final QueueListener queueListener;
   private final QueueStore queueStore;
 
-  public CacheAwareQueueStore(QueueStore queueStore, QueueStoreCacheListener queueStoreCacheListener) {
+  public CacheAwareQueueStore(QueueStore queueStore, QueueStoreCacheListener queueStoreCacheListener,
+                              QueueListener queueListener) {
     this.queueStore = queueStore;
     this.queueStoreCacheListener = queueStoreCacheListener;
+    this.queueListener = queueListener;
   }
 
   @Override
@@ -30,11 +33,17 @@ class CacheAwareQueueStore implements QueueStore {
   @Override
   public void putNow(Serializable o) throws InterruptedException {
     queueStore.putNow(o);
+    queueListener.onItemsAvailable(getName());
   }
 
   @Override
   public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
-    return queueStore.offer(o, room, timeout);
+    boolean offered = queueStore.offer(o, room, timeout);
+    // transactions offer null to reserve room for the items they will put on commit
+    if (offered && o != null) {
+      queueListener.onItemsAvailable(getName());
+    }
+    return offered;
   }
 
   @Override
@@ -50,6 +59,7 @@ class CacheAwareQueueStore implements QueueStore {
   @Override
   public void untake(Serializable item) throws InterruptedException {
     queueStore.untake(item);
+    queueListener.onItemsAvailable(getName());
   }
 
   @Override
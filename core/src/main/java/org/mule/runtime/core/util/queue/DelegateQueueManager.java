@@ -54,6 +54,16 @@ public class DelegateQueueManager implements QueueManager, Lifecycle, MuleContex
     delegate.setQueueConfiguration(queueName, config);
   }
 
+  @Override
+  public boolean addQueueListener(String queueName, QueueListener listener) {
+    return delegate.addQueueListener(queueName, listener);
+  }
+
+  @Override
+  public void removeQueueListener(String queueName, QueueListener listener) {
+    delegate.removeQueueListener(queueName, listener);
+  }
+
   @Override
   public void start() throws MuleException {
     this.delegate.start();
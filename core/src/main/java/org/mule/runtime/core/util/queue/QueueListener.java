@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+/**
+ * Signalled by a {@link QueueManager} whenever items become available in a queue, so consumers can take them right away instead
+ * of polling the queue periodically.
+ * <p>
+ * Items offered within a transaction become available, and so are signalled, only once the transaction is committed. Listeners
+ * are called on the thread that made the items available, so they must return quickly and take the items on their own thread.
+ *
+ * @since 4.0
+ */
+public interface QueueListener {
+
+  /**
+   * Called after one or more items have been made available in the queue.
+   *
+   * @param queueName the name of the queue where the items are available
+   */
+  void onItemsAvailable(String queueName);
+}
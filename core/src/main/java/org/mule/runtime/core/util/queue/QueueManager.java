@@ -38,4 +38,28 @@ public interface QueueManager extends Startable, Stoppable {
    * @param config an instance of {@link org.mule.runtime.core.util.queue.QueueConfiguration}
    */
   void setQueueConfiguration(String queueName, QueueConfiguration config);
+
+  /**
+   * Registers a {@link QueueListener} to be signalled whenever items become available in the queue which name matches
+   * queueName.
+   * <p>
+   * Implementations not able to signal their queues return {@code false}, in which case consumers have to keep polling them.
+   *
+   * @param queueName the name of a {@link Queue}
+   * @param listener the listener to signal
+   * @return whether the listener was registered
+   */
+  default boolean addQueueListener(String queueName, QueueListener listener) {
+    return false;
+  }
+
+  /**
+   * Unregisters a {@link QueueListener} previously registered through {@link #addQueueListener(String, QueueListener)}.
+   *
+   * @param queueName the name of a {@link Queue}
+   * @param listener the listener to unregister
+   */
+  default void removeQueueListener(String queueName, QueueListener listener) {
+    // nothing to do by default
+  }
 }
@@ -31,12 +31,23 @@ import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.MessagingException;
+import javax.mail.UIDFolder;
 
 
 /**
  * {@link PagingProvider} implementation for list emails operation.
+ * <p>
+ * The attributes of all the emails in a page are retrieved in bulk using the {@link FetchProfile} provided by the
+ * {@link MailboxAccessConfiguration}, while the content is only downloaded for those emails which match the
+ * {@link BaseEmailPredicateBuilder} matcher. The mailbox folder is opened from the connection received on each
+ * {@link #getPage(MailboxConnection)} invocation and closed before returning, since that connection is released once the page
+ * is retrieved and may be used by other operations before the next one is requested.
+ * <p>
+ * If a {@code fromUid} is provided and the folder supports UIDs, only the emails which UID is greater or equal to it are
+ * listed, which allows to incrementally poll a folder without going through the emails which were already processed.
  *
  * @since 4.0
  */
@@ -53,6 +64,9 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
   private final boolean deleteAfterRetrieve;
   private final Consumer<BaseEmailAttributes> deleteAfterReadCallback;
   private final ExpungeCommand expungeCommand = new ExpungeCommand();
+  private final FetchProfile fetchProfile;
+  private final long fromUid;
+  private boolean initialized = false;
 
   /**
    * @param configuration The {@link MailboxAccessConfiguration} associated to this operation.
@@ -69,6 +83,23 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
                                      BaseEmailPredicateBuilder matcherBuilder,
                                      int pageSize,
                                      boolean deleteAfterRetrieve, Consumer<BaseEmailAttributes> deleteAfterReadCallback) {
+    this(configuration, folderName, matcherBuilder, pageSize, 0, deleteAfterRetrieve, deleteAfterReadCallback);
+  }
+
+  /**
+   * @param configuration The {@link MailboxAccessConfiguration} associated to this operation.
+   * @param folderName the name of the folder where the emails are stored.
+   * @param matcherBuilder a {@link Predicate} of {@link BaseEmailAttributes} used to filter the output list.
+   * @param pageSize size of the block that would be retrieved from the email server.
+   * @param fromUid the lowest UID of the emails to be listed. Values lower than 1 or folders that do not support UIDs makes all
+   *        the emails to be listed.
+   * @param deleteAfterRetrieve whether the emails should be deleted after retrieval
+   * @param deleteAfterReadCallback callback for deleting each email
+   */
+  public PagingProviderEmailDelegate(MailboxAccessConfiguration configuration, String folderName,
+                                     BaseEmailPredicateBuilder matcherBuilder,
+                                     int pageSize, long fromUid,
+                                     boolean deleteAfterRetrieve, Consumer<BaseEmailAttributes> deleteAfterReadCallback) {
     this.configuration = configuration;
     this.folderName = folderName;
     this.matcherBuilder = matcherBuilder;
@@ -76,13 +107,16 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
     this.endIndex = pageSize;
     this.deleteAfterRetrieve = deleteAfterRetrieve;
     this.deleteAfterReadCallback = deleteAfterReadCallback;
+    this.fromUid = fromUid;
+    this.fetchProfile = configuration.getFetchProfile();
   }
 
   /**
    * Retrieves emails numbered from {@code startIndex} up to {@code endIndex} in the specified {@code folderName}.
    * <p>
    * A new {@link Result} is created for each fetched email from the folder, where the payload is the text body of the email and
-   * the other metadata is carried by an {@link BaseEmailAttributes} instance.
+   * the other metadata is carried by an {@link BaseEmailAttributes} instance. The metadata of all the emails in the range is
+   * fetched in a single request to the server.
    * <p>
    * For folder implementations (like IMAP) that support fetching without reading the content, if the content should NOT be read
    * ({@code shouldReadContent} = false) the SEEN flag is not going to be set. If {@code deleteAfterRead} flag is set to true, the
@@ -92,7 +126,9 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
     Predicate<BaseEmailAttributes> matcher = matcherBuilder != null ? matcherBuilder.build() : e -> true;
     try {
       List<Result<Object, T>> retrievedEmails = new LinkedList<>();
-      for (javax.mail.Message m : folder.getMessages(startIndex, endIndex)) {
+      javax.mail.Message[] messages = folder.getMessages(startIndex, endIndex);
+      folder.fetch(messages, fetchProfile);
+      for (javax.mail.Message m : messages) {
         Object emailContent = EMPTY;
         T attributes = configuration.parseAttributesFromMessage(m, folder);
         if (matcher.test(attributes)) {
@@ -142,16 +178,25 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
     boolean shouldExpunge = false;
     try {
       folder = connection.getFolder(folderName, deleteAfterRetrieve ? READ_WRITE : READ_ONLY);
-      if (folder.getMessageCount() == 0) {
+      int messageCount = folder.getMessageCount();
+      if (messageCount == 0) {
         return emptyList();
       }
 
-      endIndex = min(endIndex, folder.getMessageCount());
+      if (!initialized) {
+        initialized = true;
+        if (fromUid > 1 && folder instanceof UIDFolder) {
+          startIndex = firstMessageNumberFromUid((UIDFolder) folder, messageCount);
+          endIndex = startIndex + pageSize - 1;
+        }
+      }
+
+      endIndex = min(endIndex, messageCount);
 
       while (startIndex <= endIndex) {
         List<Result<Object, T>> emails = list(startIndex, endIndex);
         startIndex += pageSize;
-        endIndex = min(endIndex + pageSize, folder.getMessageCount());
+        endIndex = min(endIndex + pageSize, messageCount);
 
         if (!emails.isEmpty()) {
           shouldExpunge = true;
@@ -166,11 +211,34 @@ public final class PagingProviderEmailDelegate<T extends BaseEmailAttributes>
       } else {
         connection.closeFolder(false);
       }
+      folder = null;
     }
 
     return emptyList();
   }
 
+  /**
+   * Message numbers and UIDs both grow in the order in which the emails were added to the folder, so the number of the first
+   * email with a UID greater or equal than {@link #fromUid} is found through a binary search, which only requires a logarithmic
+   * amount of requests to the server regardless of the size of the folder.
+   *
+   * @return the number of the first email to be listed, or {@code messageCount + 1} if there is none
+   */
+  private int firstMessageNumberFromUid(UIDFolder uidFolder, int messageCount) throws MessagingException {
+    int low = 1;
+    int high = messageCount + 1;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (uidFolder.getUID(folder.getMessage(middle)) < fromUid) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
   /**
    * @param connection The connection to be used to do the query.
    * @return {@link Optional#empty()} because a priori there is no way for knowing how many emails are going to be tested
@@ -8,6 +8,7 @@ package org.mule.extension.email.internal.mailbox;
 
 import org.mule.extension.email.api.attributes.BaseEmailAttributes;
 
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.Message;
 
@@ -32,4 +33,10 @@ public interface MailboxAccessConfiguration {
    */
   <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder);
 
+  /**
+   * @return the {@link FetchProfile} describing the items that are prefetched in bulk for each page of retrieved emails. It should
+   *         include everything needed by {@link #parseAttributesFromMessage(Message, Folder)} but not the emails content.
+   */
+  FetchProfile getFetchProfile();
+
 }
@@ -18,8 +18,10 @@ import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 
 import com.sun.mail.imap.IMAPFolder;
 
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.Message;
+import javax.mail.UIDFolder;
 
 /**
  * Configuration for operations that are performed through the IMAP (Internet Message Access Protocol) protocol.
@@ -51,4 +53,21 @@ public class IMAPConfiguration implements MailboxAccessConfiguration {
   public <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder) {
     return (T) new IMAPEmailAttributes(message, (IMAPFolder) folder);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Besides the envelope and flags, the UID and all the headers are prefetched. Headers are fetched using {@code BODY.PEEK} so
+   * the emails are not marked as SEEN.
+   */
+  @Override
+  public FetchProfile getFetchProfile() {
+    FetchProfile fetchProfile = new FetchProfile();
+    fetchProfile.add(FetchProfile.Item.ENVELOPE);
+    fetchProfile.add(FetchProfile.Item.FLAGS);
+    fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+    fetchProfile.add(IMAPFolder.FetchProfileItem.HEADERS);
+    fetchProfile.add(IMAPFolder.FetchProfileItem.SIZE);
+    return fetchProfile;
+  }
 }
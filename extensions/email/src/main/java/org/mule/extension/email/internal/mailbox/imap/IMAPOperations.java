@@ -61,6 +61,8 @@ public class IMAPOperations {
    * @param mailboxFolder Mailbox folder where the emails are going to be fetched
    * @param imapMatcher Email Matcher which gives the capability of filter the retrieved emails
    * @param deleteAfterRetrieve Specifies if the returned emails must be deleted after being retrieved or not.
+   * @param fromUid Only emails with an UID greater or equal to this one are listed. Allows to incrementally poll the folder by
+   *        providing the highest UID already processed plus one.
    * @return an {@link PagingProvider} composed with an {@link Result} with a {@link List} carrying all the emails content and
    *         it's corresponding {@link IMAPEmailAttributes}.
    */
@@ -77,9 +79,12 @@ public class IMAPOperations {
                                                                                              defaultValue = "ANY") @Placement(
                                                                                                  tab = ADVANCED) EmailMetadataKey outputType,
                                                                                          @Optional(
-                                                                                             defaultValue = DEFAULT_PAGE_SIZE) int pageSize) {
+                                                                                             defaultValue = DEFAULT_PAGE_SIZE) int pageSize,
+                                                                                         @Optional(
+                                                                                             defaultValue = "0") @Placement(
+                                                                                                 tab = ADVANCED) @Summary("Only emails with an UID greater or equal to this one are listed") long fromUid) {
     checkArgument(pageSize > 0, format(PAGE_SIZE_ERROR_MESSAGE, pageSize));
-    return new PagingProviderEmailDelegate<>(config, mailboxFolder, imapMatcher, pageSize, deleteAfterRetrieve,
+    return new PagingProviderEmailDelegate<>(config, mailboxFolder, imapMatcher, pageSize, fromUid, deleteAfterRetrieve,
                                              attributes -> setFlagCommand.setByUID(connection, mailboxFolder, DELETED,
                                                                                    attributes.getId()));
   }
@@ -16,8 +16,10 @@ import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
 
 import com.sun.mail.pop3.POP3Folder;
 
+import javax.mail.FetchProfile;
 import javax.mail.Folder;
 import javax.mail.Message;
+import javax.mail.UIDFolder;
 
 /**
  * Configuration for operations that are performed through the POP3 (Post Office Protocol 3) protocol.
@@ -46,4 +48,17 @@ public class POP3Configuration implements MailboxAccessConfiguration {
   public <T extends BaseEmailAttributes> T parseAttributesFromMessage(Message message, Folder folder) {
     return (T) new POP3EmailAttributes(message, (POP3Folder) folder);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Prefetches the headers and the UID of the emails.
+   */
+  @Override
+  public FetchProfile getFetchProfile() {
+    FetchProfile fetchProfile = new FetchProfile();
+    fetchProfile.add(FetchProfile.Item.ENVELOPE);
+    fetchProfile.add(UIDFolder.FetchProfileItem.UID);
+    return fetchProfile;
+  }
 }
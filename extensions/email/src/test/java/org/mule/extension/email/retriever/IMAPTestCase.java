@@ -15,6 +15,7 @@ import static javax.mail.Flags.Flag.RECENT;
 import static javax.mail.Flags.Flag.SEEN;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
@@ -54,6 +55,7 @@ public class IMAPTestCase extends AbstractEmailRetrieverTestCase {
   private static final String RETRIEVE_MATCH_RECENT = "retrieveOnlyRecentEmails";
   private static final String FAIL_MARKING_FLAG = "failMarkingEmail";
   private static final String RETRIEVE_DELETE_SELECTED = "retrieveAndDeleteSelected";
+  private static final String RETRIEVE_FROM_UID = "retrieveFromUid";
 
   @Parameterized.Parameter
   public String protocol;
@@ -176,6 +178,19 @@ public class IMAPTestCase extends AbstractEmailRetrieverTestCase {
     assertThat(server.getReceivedMessages(), arrayWithSize(5));
   }
 
+  @Test
+  public void retrieveFromUid() throws Exception {
+    ConsumerIterator<Result> messages =
+        (ConsumerIterator<Result>) flowRunner(RETRIEVE_FROM_UID).withVariable("fromUid", 6L).run().getMessage().getPayload()
+            .getValue();
+    int count = 0;
+    while (messages.hasNext()) {
+      assertThat(((IMAPEmailAttributes) messages.next().getAttributes().get()).getId(), greaterThanOrEqualTo(6L));
+      count++;
+    }
+    assertThat(count, is(5));
+  }
+
   private void testMatcherFlag(String flowName, Flag flag, boolean flagState) throws Exception {
     for (int i = 0; i < 3; i++) {
       MimeMessage message = server.getReceivedMessages()[i];
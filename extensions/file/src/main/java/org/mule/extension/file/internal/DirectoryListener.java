@@ -6,19 +6,15 @@
  */
 package org.mule.extension.file.internal;
 
-import static com.sun.nio.file.SensitivityWatchEventModifier.HIGH;
 import static java.lang.String.format;
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.Files.walkFileTree;
-import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.stream.Collectors.toSet;
 import static org.mule.extension.file.api.FileEventType.CREATE;
 import static org.mule.extension.file.api.FileEventType.DELETE;
 import static org.mule.extension.file.api.FileEventType.UPDATE;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import static org.mule.extension.file.common.api.FileDisplayConstants.MATCHER;
 import static org.mule.extension.file.common.api.FileDisplayConstants.MATCH_WITH;
 
@@ -58,20 +54,8 @@ import com.google.common.collect.ImmutableSet;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.ClosedWatchServiceException;
-import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.WatchEvent;
-import java.nio.file.WatchEvent.Kind;
-import java.nio.file.WatchKey;
-import java.nio.file.WatchService;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -128,6 +112,14 @@ import org.slf4j.LoggerFactory;
  * cases, the JRE decides to compensate by using a high frequency poll, in which case the listener becomes pretty much the same as
  * using a poll element</li>
  * </ul>
+ * <p>
+ * <b>Event coalescing</b>
+ * <p>
+ * All the listeners which share the same config are served by one single {@link DirectoryWatcher}. Events received on a given
+ * file are coalesced into one single notification, which is only dispatched once the file has gone without changes for the
+ * configured {@link #quietPeriod}. If more than {@link #maxPendingEvents} files are pending notification, or if the operating
+ * system reports an overflow, the watched directory is rescanned once the flow catches up, so that created and modified files
+ * are still notified.
  *
  * @since 4.0
  */
@@ -190,6 +182,28 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
   @DisplayName(MATCH_WITH)
   private FilePredicateBuilder<FilePredicateBuilder, FileAttributes> predicateBuilder;
 
+  /**
+   * How many milliseconds a file needs to go without new events before they're notified. All the events received on a file
+   * during that period are coalesced into one single notification, which prevents the flow from being triggered many times
+   * while a file is still being written. Defaults to 0, which means that events are notified as soon as possible, although
+   * they're still coalesced if they arrive faster than the flow can process them.
+   */
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Placement(group = ADVANCED)
+  @Summary("How many milliseconds a file needs to go without new events before they're notified")
+  private long quietPeriod = 0;
+
+  /**
+   * The maximum amount of files with pending notifications. If exceeded, new events are discarded and the directory is rescanned
+   * once the flow catches up with the pending ones. Defaults to 10000.
+   */
+  @Parameter
+  @Optional(defaultValue = "10000")
+  @Placement(group = ADVANCED)
+  @Summary("The maximum amount of files with pending notifications")
+  private int maxPendingEvents = 10000;
+
   @Inject
   private MuleContext muleContext;
 
@@ -197,13 +211,12 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
   private FileSystem fileSystem;
 
   private FlowConstruct flowConstruct;
-  private WatchService watcher;
+  private DirectoryWatcher.Registration registration;
   private Predicate<FileAttributes> matcher;
   private Set<FileEventType> enabledEventTypes = new HashSet<>();
   private ExecutorService executorService;
   private PrimaryNodeLifecycleNotificationListener clusterListener;
 
-  private final Map<WatchKey, Path> keyPaths = new HashMap<>();
   private final AtomicBoolean stopRequested = new AtomicBoolean(false);
   private boolean started = false;
 
@@ -217,7 +230,7 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
 
     calculateEnabledEventTypes();
-    createWatcherService();
+    registerOnWatcher();
 
     matcher = predicateBuilder != null ? predicateBuilder.build() : new NullFilePayloadPredicate();
     executorService =
@@ -249,54 +262,35 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
           return;
         }
 
-        WatchKey key;
+        DirectoryWatcher.PathEvent event;
         try {
-          key = watcher.take();
-        } catch (InterruptedException | ClosedWatchServiceException e) {
+          event = registration.take();
+        } catch (InterruptedException e) {
           return;
         }
 
-        try {
-          key.pollEvents().forEach(event -> processEvent(event, key, sourceCallback));
-        } finally {
-          resetWatchKey(key);
+        if (event == null) {
+          return;
         }
+
+        // the flow is only handed one event at a time, the rest are kept (and coalesced) by the watcher in the meantime
+        processEvent(event, sourceCallback);
       }
     } catch (Exception e) {
       sourceCallback.onSourceException(e);
     }
   }
 
-  private void processEvent(WatchEvent<?> watchEvent, WatchKey key,
-                            SourceCallback<InputStream, ListenerFileAttributes> sourceCallback) {
-    WatchEvent<Path> event = (WatchEvent<Path>) watchEvent;
-
-    Path watchPath = keyPaths.get(key);
+  private void processEvent(DirectoryWatcher.PathEvent event, SourceCallback<InputStream, ListenerFileAttributes> sourceCallback) {
+    final Path path = event.getPath();
+    final FileEventType eventType = event.getEventType();
 
-    if (watchPath == null) {
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(format("Got an unregistered path for key %s. Event context was: ", key, event.context()));
-      }
-
-      return;
-    }
-
-    final Path path = watchPath.resolve(event.context()).toAbsolutePath();
-    final Kind<?> kind = event.kind();
-
-    if (kind == OVERFLOW) {
-      if (LOGGER.isWarnEnabled()) {
-        LOGGER.warn(format("Too many changes occurred concurrently on file '%s'. Events might have been lost or discarded"));
-      }
-      return;
-    }
-
-    ListenerFileAttributes attributes = new ListenerFileAttributes(path, FileEventType.of(kind));
+    ListenerFileAttributes attributes = new ListenerFileAttributes(path, eventType);
     if (!matcher.test(attributes)) {
       if (LOGGER.isDebugEnabled()) {
         LOGGER
             .debug(format("Detected a '%s' event on path '%s' but it will be skipped because it does not meet the matcher's criteria",
-                          FileEventType.of(kind), path.toString()));
+                          eventType, path.toString()));
       }
       return;
     }
@@ -306,19 +300,6 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
 
     sourceCallback.handle(createResult(path, attributes));
-    createAdditionalWatchers(attributes);
-  }
-
-  private void createAdditionalWatchers(ListenerFileAttributes attributes) {
-    if (recursive && attributes.getEventType().equals(FileEventType.CREATE.name()) && attributes.isDirectory()) {
-      try {
-        registerPath(Paths.get(attributes.getPath()));
-      } catch (Exception e) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug(format("Directory '%s' was created but failed to place a new listener on it", attributes.getPath()), e);
-        }
-      }
-    }
   }
 
   private boolean isRequestedToStop() {
@@ -347,7 +328,7 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     stopRequested.set(true);
     started = false;
 
-    closeWatcherService();
+    unregisterFromWatcher();
     shutdownExecutor();
   }
 
@@ -371,75 +352,24 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
   }
 
-  private void closeWatcherService() {
-    if (watcher == null) {
-      return;
-    }
-
-    try {
-      watcher.close();
-    } catch (IOException e) {
-      if (LOGGER.isWarnEnabled()) {
-        LOGGER.warn("Found exception trying to close watcher service for directory listener on flow " + flowConstruct.getName(),
-                    e);
-      }
-    }
-
-    keyPaths.clear();
-  }
-
-  private void resetWatchKey(WatchKey key) {
-    if (key.reset()) {
+  private void unregisterFromWatcher() {
+    if (registration == null) {
       return;
     }
 
-    Path path = keyPaths.remove(key);
-    if (path != null) {
-      try {
-        registerPath(path);
-      } catch (IOException e) {
-        if (LOGGER.isWarnEnabled()) {
-          LOGGER.warn(format("Directory '%s' became unavailable and a new listener could not be established on it",
-                             path.toString()));
-        }
-      }
-    }
+    config.getDirectoryWatcher().unregister(registration);
+    registration = null;
   }
 
-  private void createWatcherService() throws MuleException {
-    try {
-      watcher = FileSystems.getDefault().newWatchService();
-    } catch (Exception e) {
-      throw new MuleRuntimeException(createStaticMessage("Could not create watcher service"), e);
-    }
-
-    final Path rootPath = resolveRootPath();
-
+  private void registerOnWatcher() throws MuleException {
     try {
-      registerPath(rootPath);
-
-      if (recursive) {
-        walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
-
-          @Override
-          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-            if (!dir.equals(rootPath)) {
-              registerPath(dir);
-            }
-            return CONTINUE;
-          }
-        });
-      }
+      registration = config.getDirectoryWatcher().register(resolveRootPath(), recursive, enabledEventTypes, quietPeriod,
+                                                           maxPendingEvents);
     } catch (IOException e) {
       throw new DefaultMuleException(e);
     }
   }
 
-  private void registerPath(Path path) throws IOException {
-    WatchKey key = path.register(watcher, getEnabledEventKinds(), HIGH);
-    keyPaths.put(key, path);
-  }
-
   private Path resolveRootPath() {
     return new DirectoryListenerCommand((LocalFileSystem) fileSystem).resolveRootPath(directory);
   }
@@ -458,12 +388,6 @@ public class DirectoryListener extends Source<InputStream, ListenerFileAttribute
     }
   }
 
-  private Kind<?>[] getEnabledEventKinds() {
-    Set<Kind> kindSet = enabledEventTypes.stream().map(FileEventType::asEventKind).collect(toSet());
-    Kind[] kinds = new Kind[kindSet.size()];
-    return kindSet.toArray(kinds);
-  }
-
   private void addEventType(ImmutableSet.Builder<FileEventType> types, boolean condition, Supplier<FileEventType> supplier) {
     if (condition) {
       types.add(supplier.get());
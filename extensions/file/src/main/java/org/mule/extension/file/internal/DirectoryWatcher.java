@@ -0,0 +1,554 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal;
+
+import static com.sun.nio.file.SensitivityWatchEventModifier.HIGH;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.walkFileTree;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.extension.file.api.FileEventType.CREATE;
+import static org.mule.extension.file.api.FileEventType.DELETE;
+import static org.mule.extension.file.api.FileEventType.UPDATE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.extension.file.api.FileEventType;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches directories on behalf of many {@link DirectoryListener}s, using one single {@link WatchService} and one single thread
+ * regardless of the amount of listeners or watched directories.
+ * <p>
+ * Each listener obtains a {@link Registration} through {@link #register(Path, boolean, Set, long, int)}. Events which happen on
+ * directories covered by that registration are not handed to the listener right away. Instead, they are coalesced per path, so
+ * that many events on the same file result in only one notification. A notification is only made available through
+ * {@link Registration#take()} once no new events have been received for that path during the registration's quiet period.
+ * <p>
+ * When the operating system reports an {@link java.nio.file.StandardWatchEventKinds#OVERFLOW}, or when a registration
+ * accumulates more pending notifications than it can hold, events are discarded and the affected directories are rescanned
+ * once the registration catches up. The rescan generates notifications for the files which were created or modified since the
+ * events started being discarded. Deletions which happen during that period cannot be recovered, and files which were
+ * notified right before the events started being discarded might be notified again.
+ * <p>
+ * Instances are thread-safe. The watching thread is started on the first registration and stopped once no registrations are
+ * left.
+ *
+ * @since 4.0
+ */
+public final class DirectoryWatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryWatcher.class);
+  private static final WatchEvent.Kind<?>[] WATCHED_KINDS = new WatchEvent.Kind<?>[] {ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE};
+
+  private final String threadName;
+  private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+  private final Map<WatchKey, Path> keyPaths = new ConcurrentHashMap<>();
+
+  private volatile WatchService watchService;
+  private ExecutorService executorService;
+
+  /**
+   * Creates a new instance
+   *
+   * @param threadName the name of the thread which listens for the operating system events
+   */
+  public DirectoryWatcher(String threadName) {
+    this.threadName = threadName;
+  }
+
+  /**
+   * Starts watching the {@code rootPath} directory on behalf of a new {@link Registration}
+   *
+   * @param rootPath the directory to be watched
+   * @param recursive whether to also watch the sub directories of {@code rootPath}
+   * @param eventTypes the {@link FileEventType}s which the registration is interested in
+   * @param quietPeriod how many milliseconds a path needs to go without events before it's notified
+   * @param maxPendingEvents the maximum amount of paths with pending notifications the registration will hold
+   * @return a new {@link Registration}
+   * @throws IOException if the directory could not be watched
+   */
+  public synchronized Registration register(Path rootPath, boolean recursive, Set<FileEventType> eventTypes, long quietPeriod,
+                                            int maxPendingEvents)
+      throws IOException {
+    if (watchService == null) {
+      start();
+    }
+
+    Registration registration = new Registration(rootPath, recursive, eventTypes, quietPeriod, maxPendingEvents);
+    registrations.add(registration);
+    try {
+      watchTree(rootPath, recursive);
+    } catch (IOException e) {
+      unregister(registration);
+      throw e;
+    }
+
+    return registration;
+  }
+
+  /**
+   * Stops the given {@code registration}. Directories which are no longer covered by any registration stop being watched
+   *
+   * @param registration a {@link Registration} obtained through {@link #register(Path, boolean, Set, long, int)}
+   */
+  public synchronized void unregister(Registration registration) {
+    registration.stop();
+    registrations.remove(registration);
+
+    for (Iterator<Map.Entry<WatchKey, Path>> it = keyPaths.entrySet().iterator(); it.hasNext();) {
+      Map.Entry<WatchKey, Path> entry = it.next();
+      if (registrations.stream().noneMatch(r -> r.covers(entry.getValue()))) {
+        entry.getKey().cancel();
+        it.remove();
+      }
+    }
+
+    if (registrations.isEmpty()) {
+      stop();
+    }
+  }
+
+  private void start() {
+    try {
+      watchService = FileSystems.getDefault().newWatchService();
+    } catch (Exception e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not create watcher service"), e);
+    }
+
+    final WatchService service = watchService;
+    executorService = newSingleThreadExecutor(r -> new Thread(r, threadName));
+    executorService.execute(() -> listen(service));
+  }
+
+  private void stop() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn("Found exception trying to close watcher service " + threadName, e);
+      }
+    }
+
+    executorService.shutdownNow();
+    keyPaths.clear();
+    watchService = null;
+    executorService = null;
+  }
+
+  private void listen(WatchService service) {
+    for (;;) {
+      WatchKey key;
+      try {
+        key = service.take();
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+
+      Path directory = keyPaths.get(key);
+      try {
+        if (directory != null) {
+          key.pollEvents().forEach(event -> route(directory, event));
+        } else if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Got events for unregistered watch key {}", key);
+        }
+      } catch (Exception e) {
+        LOGGER.error(format("Found exception processing events on directory '%s'", directory), e);
+      } finally {
+        resetWatchKey(key);
+      }
+    }
+  }
+
+  private void route(Path directory, WatchEvent<?> event) {
+    if (event.kind() == OVERFLOW) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn(format("Too many changes occurred concurrently on directory '%s'. It will be rescanned", directory));
+      }
+      registrations.stream().filter(r -> r.covers(directory)).forEach(r -> r.overflow(directory));
+      return;
+    }
+
+    final Path path = directory.resolve((Path) event.context()).toAbsolutePath();
+    final FileEventType eventType = FileEventType.of(event.kind());
+
+    boolean watchCreatedDirectory = false;
+    for (Registration registration : registrations) {
+      if (registration.covers(directory)) {
+        registration.offer(path, eventType);
+        watchCreatedDirectory |= registration.recursive;
+      }
+    }
+
+    if (watchCreatedDirectory && eventType == CREATE && isDirectory(path)) {
+      try {
+        watchTree(path, true);
+      } catch (Exception e) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(format("Directory '%s' was created but failed to place a new listener on it", path), e);
+        }
+      }
+    }
+  }
+
+  private void resetWatchKey(WatchKey key) {
+    if (key.reset()) {
+      return;
+    }
+
+    Path path = keyPaths.remove(key);
+    if (path != null && isDirectory(path)) {
+      try {
+        watch(path);
+      } catch (IOException e) {
+        if (LOGGER.isWarnEnabled()) {
+          LOGGER.warn(format("Directory '%s' became unavailable and a new listener could not be established on it", path));
+        }
+      }
+    }
+  }
+
+  private void watchTree(Path rootPath, boolean recursive) throws IOException {
+    if (!recursive) {
+      watch(rootPath);
+      return;
+    }
+
+    walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        watch(dir);
+        return CONTINUE;
+      }
+    });
+  }
+
+  private void watch(Path directory) throws IOException {
+    WatchService service = watchService;
+    if (service != null) {
+      keyPaths.put(directory.register(service, WATCHED_KINDS, HIGH), directory);
+    }
+  }
+
+  /**
+   * The pending notifications of one {@link DirectoryListener}
+   */
+  public static final class Registration {
+
+    private final Path rootPath;
+    private final boolean recursive;
+    private final Set<FileEventType> eventTypes;
+    private final long quietPeriod;
+    private final int maxPendingEvents;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition eventsAvailable = lock.newCondition();
+    private final LinkedHashMap<Path, PendingEvent> pendingEvents = new LinkedHashMap<>();
+    private final Map<Path, Long> overflownDirectories = new LinkedHashMap<>();
+    private boolean stopped = false;
+
+    private Registration(Path rootPath, boolean recursive, Set<FileEventType> eventTypes, long quietPeriod,
+                         int maxPendingEvents) {
+      this.rootPath = rootPath;
+      this.recursive = recursive;
+      this.eventTypes = eventTypes;
+      this.quietPeriod = quietPeriod;
+      this.maxPendingEvents = maxPendingEvents;
+    }
+
+    /**
+     * Blocks until a path has been quiet for the configured period and returns its coalesced notification.
+     *
+     * @return a {@link PathEvent} or {@code null} if {@code this} registration was stopped
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public PathEvent take() throws InterruptedException {
+      lock.lock();
+      try {
+        for (;;) {
+          if (stopped) {
+            return null;
+          }
+
+          if (pendingEvents.isEmpty()) {
+            if (!overflownDirectories.isEmpty()) {
+              Iterator<Map.Entry<Path, Long>> it = overflownDirectories.entrySet().iterator();
+              Map.Entry<Path, Long> overflown = it.next();
+              it.remove();
+
+              Map<Path, FileEventType> changes;
+              lock.unlock();
+              try {
+                changes = rescan(overflown.getKey(), overflown.getValue());
+              } finally {
+                lock.lock();
+              }
+
+              long now = currentTimeMillis();
+              changes.forEach((path, eventType) -> {
+                if (!pendingEvents.containsKey(path)) {
+                  PendingEvent pending = new PendingEvent(eventType);
+                  pending.lastSeen = now;
+                  pendingEvents.put(path, pending);
+                }
+              });
+              continue;
+            }
+            eventsAvailable.await();
+            continue;
+          }
+
+          Map.Entry<Path, PendingEvent> head = pendingEvents.entrySet().iterator().next();
+          long wait = head.getValue().lastSeen + quietPeriod - currentTimeMillis();
+          if (wait > 0) {
+            eventsAvailable.await(wait, MILLISECONDS);
+            continue;
+          }
+
+          pendingEvents.remove(head.getKey());
+          FileEventType eventType = head.getValue().resolveEventType(eventTypes);
+          if (eventType != null) {
+            return new PathEvent(head.getKey(), eventType);
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * @return the amount of paths with pending notifications
+     */
+    public int getPendingEventsCount() {
+      lock.lock();
+      try {
+        return pendingEvents.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private boolean covers(Path directory) {
+      return directory.equals(rootPath) || (recursive && directory.startsWith(rootPath));
+    }
+
+    private void offer(Path path, FileEventType eventType) {
+      lock.lock();
+      try {
+        if (stopped) {
+          return;
+        }
+
+        Path directory = path.getParent();
+        if (isOverflown(directory)) {
+          return;
+        }
+
+        PendingEvent pending = pendingEvents.remove(path);
+        if (pending == null) {
+          if (pendingEvents.size() >= maxPendingEvents) {
+            doOverflow(directory);
+            return;
+          }
+          pending = new PendingEvent(eventType);
+        } else if (!pending.merge(eventType)) {
+          return;
+        }
+
+        // re-inserting keeps the entries sorted by the last time an event was seen on them
+        pending.lastSeen = currentTimeMillis();
+        pendingEvents.put(path, pending);
+        eventsAvailable.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void overflow(Path directory) {
+      lock.lock();
+      try {
+        doOverflow(directory);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void doOverflow(Path directory) {
+      if (!isOverflown(directory)) {
+        overflownDirectories.put(directory, currentTimeMillis());
+        eventsAvailable.signal();
+      }
+    }
+
+    private boolean isOverflown(Path directory) {
+      return overflownDirectories.keySet().stream().anyMatch(overflown -> directory.startsWith(overflown));
+    }
+
+    private Map<Path, FileEventType> rescan(Path directory, long overflowTime) {
+      // the resolution of the file system timestamps might be coarser than the system clock
+      final long since = overflowTime - 1000;
+      final Map<Path, FileEventType> changes = new LinkedHashMap<>();
+
+      try {
+        walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (dir.equals(directory)) {
+              return CONTINUE;
+            }
+
+            visit(dir, attrs);
+            return recursive ? CONTINUE : SKIP_SUBTREE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            visit(file, attrs);
+            return CONTINUE;
+          }
+
+          private void visit(Path path, BasicFileAttributes attrs) {
+            if (attrs.lastModifiedTime().toMillis() >= since) {
+              changes.put(path, attrs.creationTime().toMillis() >= since ? CREATE : UPDATE);
+            }
+          }
+        });
+      } catch (IOException e) {
+        if (LOGGER.isWarnEnabled()) {
+          LOGGER.warn(format("Could not rescan directory '%s'. Some events might have been lost", directory), e);
+        }
+      }
+
+      return changes;
+    }
+
+    private void stop() {
+      lock.lock();
+      try {
+        stopped = true;
+        pendingEvents.clear();
+        overflownDirectories.clear();
+        eventsAvailable.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * The coalesced state of all the events received on a path which haven't been notified yet
+   */
+  private static class PendingEvent {
+
+    private FileEventType eventType;
+    private boolean updated;
+    private long lastSeen;
+
+    private PendingEvent(FileEventType eventType) {
+      this.eventType = eventType;
+      updated = eventType == UPDATE;
+    }
+
+    /**
+     * @return {@code false} if the events cancel each other out and the path is not to be notified at all
+     */
+    private boolean merge(FileEventType newEventType) {
+      if (newEventType == DELETE) {
+        if (eventType == CREATE) {
+          // the file was created and deleted before being notified
+          return false;
+        }
+        eventType = DELETE;
+        updated = false;
+      } else if (newEventType == CREATE) {
+        // the file was deleted and then created again, which means that it was replaced
+        eventType = eventType == DELETE ? UPDATE : CREATE;
+        updated = eventType == UPDATE;
+      } else {
+        updated = true;
+        if (eventType == DELETE) {
+          eventType = UPDATE;
+        }
+      }
+
+      return true;
+    }
+
+    private FileEventType resolveEventType(Set<FileEventType> enabledTypes) {
+      if (enabledTypes.contains(eventType)) {
+        return eventType;
+      }
+
+      if (updated && enabledTypes.contains(UPDATE)) {
+        return UPDATE;
+      }
+
+      return null;
+    }
+  }
+
+  /**
+   * A coalesced notification about a path
+   */
+  public static final class PathEvent {
+
+    private final Path path;
+    private final FileEventType eventType;
+
+    private PathEvent(Path path, FileEventType eventType) {
+      this.path = path;
+      this.eventType = eventType;
+    }
+
+    /**
+     * @return the absolute path of the file the event refers to
+     */
+    public Path getPath() {
+      return path;
+    }
+
+    /**
+     * @return the type of the event
+     */
+    public FileEventType getEventType() {
+      return eventType;
+    }
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.extension.file.internal;
 
+import static java.lang.String.format;
+import static org.mule.runtime.core.util.concurrent.ThreadNameHelper.getPrefix;
 import org.mule.extension.file.api.DeletedFileAttributes;
 import org.mule.extension.file.api.EventedFileAttributes;
 import org.mule.extension.file.api.FileEventType;
@@ -39,4 +41,16 @@ import org.mule.runtime.extension.api.annotation.connectivity.ConnectionProvider
     DeletedFileAttributes.class})
 public class FileConnector extends FileConnectorConfig {
 
+  private DirectoryWatcher directoryWatcher;
+
+  /**
+   * @return the {@link DirectoryWatcher} shared by all the {@link DirectoryListener}s which use {@code this} config
+   */
+  synchronized DirectoryWatcher getDirectoryWatcher() {
+    if (directoryWatcher == null) {
+      directoryWatcher = new DirectoryWatcher(format("%s%s.file.watcher", getPrefix(muleContext), getConfigName()));
+    }
+
+    return directoryWatcher;
+  }
 }
@@ -9,6 +9,7 @@ package org.mule.extension.file.internal;
 import static java.lang.String.format;
 import static java.nio.file.Files.isDirectory;
 import static java.nio.file.Files.notExists;
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.extension.file.common.api.FileSystemProvider;
 import org.mule.extension.file.common.api.FileSystem;
@@ -20,6 +21,7 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
 
 import java.nio.file.Path;
@@ -54,6 +56,16 @@ public final class LocalFileConnectionProvider extends FileSystemProvider<FileSy
   @Summary("Directory to be considered as the root of every relative path used with this connector")
   private String workingDir;
 
+  /**
+   * Whether to read files by memory mapping them instead of going through buffered streams. This avoids copying the file's
+   * content through user space buffers, which is useful when reading large files. Defaults to false.
+   */
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Placement(group = ADVANCED)
+  @Summary("Whether to read files by memory mapping them")
+  private boolean memoryMappedReads;
+
   /**
    * Creates and returns a new instance of {@link LocalFileSystem}
    *
@@ -62,7 +74,7 @@ public final class LocalFileConnectionProvider extends FileSystemProvider<FileSy
   @Override
   public FileSystem connect() throws ConnectionException {
     validateWorkingDir();
-    return new LocalFileSystem(workingDir, muleContext);
+    return new LocalFileSystem(workingDir, memoryMappedReads, muleContext);
   }
 
   /**
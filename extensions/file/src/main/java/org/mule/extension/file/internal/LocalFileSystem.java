@@ -55,17 +55,30 @@ public final class LocalFileSystem extends AbstractFileSystem {
   private final ReadCommand readCommand;
   private final RenameCommand renameCommand;
   private final WriteCommand writeCommand;
+  private final boolean memoryMappedReads;
 
   /**
    * Creates a new instance
    */
   public LocalFileSystem(String basePath, MuleContext muleContext) {
+    this(basePath, false, muleContext);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param basePath the path to be considered as the root of every relative path
+   * @param memoryMappedReads whether files are to be read through a {@link MappedFileInputStream}
+   * @param muleContext the current {@link MuleContext}
+   */
+  public LocalFileSystem(String basePath, boolean memoryMappedReads, MuleContext muleContext) {
     super(basePath);
+    this.memoryMappedReads = memoryMappedReads;
 
     copyCommand = new LocalCopyCommand(this);
     createDirectoryCommand = new LocalCreateDirectoryCommand(this);
     deleteCommand = new LocalDeleteCommand(this);
-    listCommand = new LocalListCommand(this);
+    listCommand = new LocalListCommand(this, muleContext);
     moveCommand = new LocalMoveCommand(this);
     readCommand = new LocalReadCommand(this);
     renameCommand = new LocalRenameCommand(this);
@@ -117,6 +130,14 @@ public final class LocalFileSystem extends AbstractFileSystem {
     return new LocalPathLock(path, ArrayUtils.isEmpty(params) ? new OpenOption[] {WRITE} : (OpenOption[]) params);
   }
 
+  /**
+   * @return whether file contents are to be read by memory mapping them, through a {@link MappedFileInputStream}, instead of
+   *         using a {@link FileInputStream}
+   */
+  public boolean isMemoryMappedReads() {
+    return memoryMappedReads;
+  }
+
   /**
    * No-op implementation.
    */
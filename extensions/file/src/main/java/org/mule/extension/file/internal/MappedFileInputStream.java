@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file.internal;
+
+import static java.lang.Math.min;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import org.mule.extension.file.common.api.lock.PathLock;
+import org.mule.extension.file.common.api.stream.AbstractFileInputStream;
+import org.mule.extension.file.common.api.stream.LazyStreamSupplier;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AbstractFileInputStream} implementation which obtains a file's content by memory mapping it through a
+ * {@link FileChannel}.
+ * <p>
+ * The file is mapped in regions of up to {@link #DEFAULT_REGION_SIZE} bytes, which are sequentially mapped as the stream is
+ * consumed. This allows files bigger than {@link Integer#MAX_VALUE} bytes to be read while only keeping one region mapped at a
+ * time, and lets the operating system page the content in without copying it through user space buffers. Each region is
+ * explicitly unmapped as soon as the next one is mapped or the stream is closed, instead of waiting for the garbage collector to
+ * release it.
+ * <p>
+ * Just like {@link FileInputStream}, the channel is lazily opened and the stream will automatically close itself once fully
+ * consumed.
+ *
+ * @since 4.0
+ */
+public final class MappedFileInputStream extends AbstractFileInputStream {
+
+  /**
+   * The max amount of bytes mapped at any given time
+   */
+  public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MappedFileInputStream.class);
+
+  private static final Method CLEANER_METHOD;
+  private static final Method CLEAN_METHOD;
+
+  static {
+    Method cleanerMethod = null;
+    Method cleanMethod = null;
+    try {
+      cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+    } catch (Exception e) {
+      cleanerMethod = null;
+      LOGGER.debug("Mapped regions cannot be explicitly unmapped, they will be unmapped once garbage collected", e);
+    }
+    CLEANER_METHOD = cleanerMethod;
+    CLEAN_METHOD = cleanMethod;
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param path the path to the file to be read
+   * @param lock a {@link PathLock}
+   */
+  public MappedFileInputStream(Path path, PathLock lock) {
+    super(new LazyStreamSupplier(() -> {
+      try {
+        return new MappedRegionsInputStream(FileChannel.open(path, READ), DEFAULT_REGION_SIZE);
+      } catch (Exception e) {
+        throw new MuleRuntimeException(e);
+      }
+    }), lock);
+  }
+
+  /**
+   * An {@link InputStream} which reads a {@link FileChannel} through a sequence of {@link MappedByteBuffer}s
+   */
+  private static class MappedRegionsInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final long size;
+    private final int regionSize;
+    private long regionOffset = 0;
+    private MappedByteBuffer region;
+
+    private MappedRegionsInputStream(FileChannel channel, int regionSize) throws IOException {
+      this.channel = channel;
+      this.size = channel.size();
+      this.regionSize = regionSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!ensureRegion()) {
+        return -1;
+      }
+
+      return region.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+
+      if (!ensureRegion()) {
+        return -1;
+      }
+
+      int count = min(len, region.remaining());
+      region.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0) {
+        return 0;
+      }
+
+      long position = currentPosition();
+      long skipped = min(n, size - position);
+      long target = position + skipped;
+
+      if (region != null && target < regionOffset + region.limit()) {
+        region.position((int) (target - regionOffset));
+      } else {
+        releaseRegion();
+        regionOffset = target;
+      }
+
+      return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return (int) min(Integer.MAX_VALUE, size - currentPosition());
+    }
+
+    @Override
+    public void close() throws IOException {
+      releaseRegion();
+      channel.close();
+    }
+
+    private long currentPosition() {
+      return region != null ? regionOffset + region.position() : regionOffset;
+    }
+
+    private boolean ensureRegion() throws IOException {
+      if (region != null && region.hasRemaining()) {
+        return true;
+      }
+
+      if (region != null) {
+        regionOffset += region.limit();
+      }
+
+      releaseRegion();
+      if (regionOffset >= size) {
+        return false;
+      }
+
+      region = channel.map(READ_ONLY, regionOffset, min(regionSize, size - regionOffset));
+      return true;
+    }
+
+    private void releaseRegion() {
+      if (region != null) {
+        MappedByteBuffer released = region;
+        // the region must never be accessed once unmapped
+        region = null;
+        unmap(released);
+      }
+    }
+  }
+
+  private static void unmap(MappedByteBuffer buffer) {
+    if (CLEANER_METHOD == null) {
+      return;
+    }
+
+    try {
+      Object cleaner = CLEANER_METHOD.invoke(buffer);
+      if (cleaner != null) {
+        CLEAN_METHOD.invoke(cleaner);
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Could not unmap region, it will be unmapped once garbage collected", e);
+    }
+  }
+}
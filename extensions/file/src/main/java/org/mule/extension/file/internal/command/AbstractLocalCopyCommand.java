@@ -7,16 +7,36 @@
 package org.mule.extension.file.internal.command;
 
 import static java.lang.String.format;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.asList;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.api.message.MuleEvent;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.FileSystem;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.CopyOption;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
 
 /**
  * Base class for commands that generates copies of a local file, either by copying or moving them.
@@ -87,6 +107,83 @@ abstract class AbstractLocalCopyCommand extends LocalFileCommand {
     }
   }
 
+  /**
+   * Copies the {@code source} file into {@code target} using {@link FileChannel#transferTo(long, long, WritableByteChannel)},
+   * which allows the operating system to move the bytes without copying them through user space buffers.
+   * <p>
+   * The {@code options} are honoured as in {@link Files#copy(Path, Path, CopyOption...)}: unless they contain
+   * {@link StandardCopyOption#REPLACE_EXISTING}, a {@link FileAlreadyExistsException} will be thrown if the {@code target}
+   * already exists; {@link StandardCopyOption#COPY_ATTRIBUTES} copies the file times into the {@code target} and, when
+   * {@link LinkOption#NOFOLLOW_LINKS} is present and {@code source} is a symbolic link, the link itself is copied. Any other
+   * option is not supported.
+   *
+   * @param source the file to be copied
+   * @param target the path of the file to be created
+   * @param options an array of {@link CopyOption} which configure the copying operation
+   * @throws IOException if the file could not be copied
+   * @throws UnsupportedOperationException if {@code options} contains an option which is not supported
+   */
+  protected void transferFile(Path source, Path target, CopyOption[] options) throws IOException {
+    List<CopyOption> optionList = asList(options);
+    for (CopyOption option : optionList) {
+      if (option != REPLACE_EXISTING && option != COPY_ATTRIBUTES && option != NOFOLLOW_LINKS) {
+        throw new UnsupportedOperationException(format("Unsupported copy option '%s'", option));
+      }
+    }
+
+    if (optionList.contains(NOFOLLOW_LINKS) && Files.isSymbolicLink(source)) {
+      Files.copy(source, target, options);
+      return;
+    }
+
+    OpenOption[] openOptions = optionList.contains(REPLACE_EXISTING)
+        ? new OpenOption[] {WRITE, CREATE, TRUNCATE_EXISTING}
+        : new OpenOption[] {WRITE, CREATE_NEW};
+
+    try (FileChannel in = FileChannel.open(source, READ); FileChannel out = FileChannel.open(target, openOptions)) {
+      long size = in.size();
+      long position = 0;
+      while (position < size) {
+        position += in.transferTo(position, size - position, out);
+      }
+    }
+
+    if (optionList.contains(COPY_ATTRIBUTES)) {
+      BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+      Files.getFileAttributeView(target, BasicFileAttributeView.class)
+          .setTimes(attributes.lastModifiedTime(), attributes.lastAccessTime(), attributes.creationTime());
+    }
+  }
+
+  /**
+   * Recursively copies the {@code source} directory into {@code target}, using {@link #transferFile(Path, Path, CopyOption[])}
+   * for each of the files in it
+   *
+   * @param source the directory to be copied
+   * @param target the path of the directory to be created
+   * @param options an array of {@link CopyOption} which configure the copying operation
+   * @throws IOException if the directory could not be copied
+   */
+  protected void transferDirectory(Path source, Path target, CopyOption[] options) throws IOException {
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        Path targetDir = target.resolve(source.relativize(dir));
+        if (!Files.isDirectory(targetDir)) {
+          Files.createDirectories(targetDir);
+        }
+        return CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        transferFile(file, target.resolve(source.relativize(file)), options);
+        return CONTINUE;
+      }
+    });
+  }
+
   /**
    * Implement this method with the corresponding copying logic
    *
@@ -6,9 +6,10 @@
  */
 package org.mule.extension.file.internal.command;
 
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.api.message.MuleEvent;
-import org.mule.runtime.core.util.FileUtils;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.command.CopyCommand;
 
@@ -40,7 +41,8 @@ public final class LocalCopyCommand extends AbstractLocalCopyCommand implements
   }
 
   /**
-   * Implements recursive copy
+   * Implements recursive copy. Files are copied through {@link #transferFile(Path, Path, CopyOption[])} so that the content
+   * is transferred by the operating system without going through user space buffers
    *
    * @param source the path to be copied
    * @param targetPath the path to the target destination
@@ -49,9 +51,9 @@ public final class LocalCopyCommand extends AbstractLocalCopyCommand implements
    */
   protected void doExecute(Path source, Path targetPath, boolean overwrite, CopyOption[] options) throws Exception {
     if (Files.isDirectory(source)) {
-      FileUtils.copyDirectory(source.toFile(), targetPath.toFile());
+      transferDirectory(source, targetPath, new CopyOption[] {REPLACE_EXISTING, COPY_ATTRIBUTES});
     } else {
-      Files.copy(source, targetPath, options);
+      transferFile(source, targetPath, options);
     }
   }
 
@@ -7,31 +7,54 @@
 package org.mule.extension.file.internal.command;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import org.mule.extension.file.api.LocalFileAttributes;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.scheduler.Scheduler;
+import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.extension.file.common.api.FileAttributes;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.TreeNode;
 import org.mule.extension.file.common.api.command.ListCommand;
+import org.mule.extension.file.common.api.lock.NullPathLock;
+import org.mule.extension.file.common.api.stream.AbstractFileInputStream;
+import org.mule.extension.file.common.api.stream.LazyStreamSupplier;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * A {@link LocalFileCommand} which implements the {@link ListCommand}
+ * <p>
+ * Directories are read through {@link Files#newDirectoryStream(Path)} so that entries are consumed one at a time and the
+ * matcher is applied during the walk. When listing recursively, each sub directory is listed on its own task of an IO
+ * {@link Scheduler}, so that large trees are walked in parallel without blocking the threads of the common pool.
+ * <p>
+ * The listed files are not read until their content is consumed.
  *
  * @since 4.0
  */
 public final class LocalListCommand extends LocalFileCommand implements ListCommand {
 
+  private final MuleContext muleContext;
+
   /**
    * {@inheritDoc}
    */
-  public LocalListCommand(LocalFileSystem fileSystem) {
+  public LocalListCommand(LocalFileSystem fileSystem, MuleContext muleContext) {
     super(fileSystem);
+    this.muleContext = muleContext;
   }
 
   /**
@@ -46,35 +69,136 @@ public final class LocalListCommand extends LocalFileCommand implements ListComm
     }
 
     TreeNode.Builder treeNodeBuilder = TreeNode.Builder.forDirectory(new LocalFileAttributes(path));
-    doList(config, path.toFile(), treeNodeBuilder, recursive, message, matcher);
+    if (recursive) {
+      Scheduler scheduler = muleContext.getSchedulerService().ioScheduler();
+      try {
+        RecursiveListing listing = new RecursiveListing(scheduler, config, message, matcher);
+        listing.submit(path, treeNodeBuilder);
+        listing.await();
+      } finally {
+        scheduler.stop(0, MILLISECONDS);
+      }
+    } else {
+      doList(config, path, treeNodeBuilder, null, message, matcher);
+    }
 
     return treeNodeBuilder.build();
   }
 
-  private void doList(FileConnectorConfig config, File parent, TreeNode.Builder treeNodeBuilder, boolean recursive,
+  private void doList(FileConnectorConfig config, Path parent, TreeNode.Builder treeNodeBuilder, RecursiveListing listing,
                       Message message, Predicate<FileAttributes> matcher) {
-    if (!parent.canRead()) {
+    if (!Files.isReadable(parent)) {
       throw exception(format("Could not list files from directory '%s' because access was denied by the operating system",
-                             parent.getAbsolutePath()));
+                             parent.toAbsolutePath()));
+    }
+
+    try (DirectoryStream<Path> children = Files.newDirectoryStream(parent)) {
+      for (Path child : children) {
+        FileAttributes attributes = new LocalFileAttributes(child);
+        if (!matcher.test(attributes)) {
+          continue;
+        }
+
+        if (attributes.isDirectory()) {
+          TreeNode.Builder childNodeBuilder = TreeNode.Builder.forDirectory(attributes);
+          treeNodeBuilder.addChild(childNodeBuilder);
+
+          if (listing != null) {
+            listing.submit(child, childNodeBuilder);
+          }
+        } else {
+          treeNodeBuilder.addChild(TreeNode.Builder.forFile(readLazily(config, message, child, attributes)));
+        }
+      }
+    } catch (IOException e) {
+      throw exception(format("Found exception listing files from directory '%s': %s", parent.toAbsolutePath(),
+                             e.getMessage()),
+                      e);
+    }
+  }
+
+  /**
+   * @return a {@link Result} with the already read {@code attributes} of the file, which content is only read through the
+   *         {@link LocalFileSystem} once it is consumed
+   */
+  private Result<InputStream, FileAttributes> readLazily(FileConnectorConfig config, Message message, Path file,
+                                                          FileAttributes attributes) {
+    InputStream content = new LazyContentInputStream(() -> fileSystem.read(config, message, file.toString(), false).getOutput());
+    return Result.<InputStream, FileAttributes>builder().output(content)
+        .mediaType(fileSystem.getFileMessageMediaType(message.getPayload().getDataType().getMediaType(), attributes))
+        .attributes(attributes).build();
+  }
+
+  /**
+   * Lists each sub directory on its own task of a {@link Scheduler}, into its own {@link TreeNode.Builder}, so that sibling
+   * directories are walked concurrently. Each task only mutates the builder it owns, and tasks never wait for each other, so no
+   * thread of the {@link Scheduler} is blocked until the whole tree is listed.
+   */
+  private class RecursiveListing {
+
+    private final Scheduler scheduler;
+    private final FileConnectorConfig config;
+    private final Message message;
+    private final Predicate<FileAttributes> matcher;
+    private final AtomicInteger pendingDirectories = new AtomicInteger();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private RecursiveListing(Scheduler scheduler, FileConnectorConfig config, Message message,
+                             Predicate<FileAttributes> matcher) {
+      this.scheduler = scheduler;
+      this.config = config;
+      this.message = message;
+      this.matcher = matcher;
     }
 
-    for (File child : parent.listFiles()) {
-      Path path = child.toPath();
-      FileAttributes attributes = new LocalFileAttributes(path);
-      if (!matcher.test(attributes)) {
-        continue;
+    private void submit(Path directory, TreeNode.Builder treeNodeBuilder) {
+      // sub directories are submitted before their parent is completed, so this only reaches zero once the whole tree is listed
+      pendingDirectories.incrementAndGet();
+      try {
+        scheduler.execute(() -> {
+          try {
+            if (!completion.isDone()) {
+              doList(config, directory, treeNodeBuilder, this, message, matcher);
+            }
+          } catch (RuntimeException e) {
+            completion.completeExceptionally(e);
+          } finally {
+            directoryCompleted();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        completion.completeExceptionally(exception(format("Could not list files from directory '%s'",
+                                                          directory.toAbsolutePath()),
+                                                   e));
+        directoryCompleted();
       }
+    }
 
-      if (child.isDirectory()) {
-        TreeNode.Builder childNodeBuilder = TreeNode.Builder.forDirectory(attributes);
-        treeNodeBuilder.addChild(childNodeBuilder);
+    private void directoryCompleted() {
+      if (pendingDirectories.decrementAndGet() == 0) {
+        completion.complete(null);
+      }
+    }
 
-        if (recursive) {
-          doList(config, child, childNodeBuilder, recursive, message, matcher);
+    private void await() {
+      try {
+        completion.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
         }
-      } else {
-        treeNodeBuilder.addChild(TreeNode.Builder.forFile(fileSystem.read(config, message, child.getAbsolutePath(), false)));
+        throw e;
       }
     }
   }
+
+  /**
+   * An {@link AbstractFileInputStream} which only reads the file once its content is consumed.
+   */
+  private static final class LazyContentInputStream extends AbstractFileInputStream {
+
+    private LazyContentInputStream(Supplier<InputStream> content) {
+      super(new LazyStreamSupplier(content), new NullPathLock());
+    }
+  }
 }
@@ -6,12 +6,19 @@
  */
 package org.mule.extension.file.internal.command;
 
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import org.mule.extension.file.internal.LocalFileSystem;
 import org.mule.runtime.core.util.FileUtils;
 import org.mule.extension.file.common.api.FileConnectorConfig;
 import org.mule.extension.file.common.api.command.MoveCommand;
 
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.CopyOption;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -39,7 +46,11 @@ public final class LocalMoveCommand extends AbstractLocalCopyCommand implements
   }
 
   /**
-   * Implements recursive moving
+   * Implements recursive moving.
+   * <p>
+   * Whenever source and target are on the same file system, directories are moved through a rename, without copying any
+   * content. Otherwise, they are copied file by file through {@link #transferDirectory(Path, Path, CopyOption[])} and then
+   * deleted. Files are moved through {@link Files#move(Path, Path, CopyOption...)}, which already renames them when possible.
    *
    * @param source the path to be copied
    * @param targetPath the path to the target destination
@@ -56,12 +67,48 @@ public final class LocalMoveCommand extends AbstractLocalCopyCommand implements
           alreadyExistsException(targetPath);
         }
       }
-      FileUtils.moveDirectory(source.toFile(), targetPath.toFile());
+      if (!tryRename(source, targetPath)) {
+        transferDirectory(source, targetPath, new CopyOption[] {REPLACE_EXISTING, COPY_ATTRIBUTES, NOFOLLOW_LINKS});
+        FileUtils.deleteTree(source.toFile());
+      }
     } else {
       Files.move(source, targetPath, options);
     }
   }
 
+  /**
+   * Tries to move the {@code source} directory through a rename.
+   *
+   * @return {@code true} if the directory was renamed, {@code false} if it needs to be copied because the rename is not
+   *         possible across file stores
+   * @throws IOException if the rename failed for any other reason
+   */
+  private boolean tryRename(Path source, Path targetPath) throws IOException {
+    try {
+      Files.move(source, targetPath);
+      return true;
+    } catch (AtomicMoveNotSupportedException | DirectoryNotEmptyException e) {
+      // source and target are not on the same file store, the content needs to be copied
+      return false;
+    } catch (FileAlreadyExistsException e) {
+      throw e;
+    } catch (IOException e) {
+      if (isCrossFileStoreMove(source, targetPath)) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  private boolean isCrossFileStoreMove(Path source, Path targetPath) {
+    Path targetParent = targetPath.toAbsolutePath().getParent();
+    try {
+      return targetParent != null && !Files.getFileStore(source).equals(Files.getFileStore(targetParent));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -9,6 +9,7 @@ package org.mule.extension.file.internal.command;
 import org.mule.extension.file.api.LocalFileAttributes;
 import org.mule.extension.file.internal.FileInputStream;
 import org.mule.extension.file.internal.LocalFileSystem;
+import org.mule.extension.file.internal.MappedFileInputStream;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.MediaType;
 import org.mule.runtime.extension.api.runtime.operation.Result;
@@ -55,7 +56,8 @@ public final class LocalReadCommand extends LocalFileCommand implements ReadComm
       pathLock = new NullPathLock();
     }
 
-    InputStream payload = new FileInputStream(path, pathLock);
+    InputStream payload = fileSystem.isMemoryMappedReads() ? new MappedFileInputStream(path, pathLock)
+        : new FileInputStream(path, pathLock);
     FileAttributes fileAttributes = new LocalFileAttributes(path);
     MediaType fileMediaType =
         fileSystem.getFileMessageMediaType(message.getPayload().getDataType().getMediaType(), fileAttributes);
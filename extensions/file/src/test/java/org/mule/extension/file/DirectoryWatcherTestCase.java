@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.file;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.FileUtils.write;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.extension.file.api.FileEventType.CREATE;
+import static org.mule.extension.file.api.FileEventType.DELETE;
+import static org.mule.extension.file.api.FileEventType.UPDATE;
+import org.mule.extension.file.api.FileEventType;
+import org.mule.extension.file.internal.DirectoryWatcher;
+import org.mule.extension.file.internal.DirectoryWatcher.PathEvent;
+import org.mule.extension.file.internal.DirectoryWatcher.Registration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DirectoryWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final Set<FileEventType> ALL_EVENTS = ImmutableSet.of(CREATE, UPDATE, DELETE);
+  private static final long QUIET_PERIOD = 500;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private DirectoryWatcher watcher;
+  private ExecutorService executor;
+
+  @Before
+  public void before() {
+    watcher = new DirectoryWatcher("test.file.watcher");
+    executor = newSingleThreadExecutor();
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void coalesceEventsOnSameFile() throws Exception {
+    Registration registration = watcher.register(temporaryFolder.getRoot().toPath(), false, ALL_EVENTS, QUIET_PERIOD, 100);
+    try {
+      File file = new File(temporaryFolder.getRoot(), "file.txt");
+      for (int i = 0; i < 5; i++) {
+        write(file, "line " + i + "\n", true);
+      }
+
+      PathEvent event = take(registration);
+      assertThat(event.getPath(), equalTo(file.toPath().toAbsolutePath()));
+      assertThat(event.getEventType(), is(CREATE));
+      assertThat(registration.getPendingEventsCount(), is(0));
+    } finally {
+      watcher.unregister(registration);
+    }
+  }
+
+  @Test
+  public void createdAndDeletedFileIsNotNotified() throws Exception {
+    Registration registration = watcher.register(temporaryFolder.getRoot().toPath(), false, ALL_EVENTS, QUIET_PERIOD, 100);
+    try {
+      File transientFile = new File(temporaryFolder.getRoot(), "transient.txt");
+      write(transientFile, "bye");
+      transientFile.delete();
+
+      File file = new File(temporaryFolder.getRoot(), "file.txt");
+      write(file, "hello");
+
+      assertThat(take(registration).getPath(), equalTo(file.toPath().toAbsolutePath()));
+    } finally {
+      watcher.unregister(registration);
+    }
+  }
+
+  @Test
+  public void stoppedRegistrationReturnsNull() throws Exception {
+    Registration registration = watcher.register(temporaryFolder.getRoot().toPath(), false, ALL_EVENTS, QUIET_PERIOD, 100);
+    Future<PathEvent> event = executor.submit(registration::take);
+    watcher.unregister(registration);
+
+    assertThat(event.get(5, SECONDS), is(nullValue()));
+  }
+
+  private PathEvent take(Registration registration) throws Exception {
+    return executor.submit(registration::take).get(QUIET_PERIOD + 10000, MILLISECONDS);
+  }
+}
@@ -16,6 +16,7 @@ import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.PoolingConnectionProvider;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.connector.IdleConnectionValidating;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
@@ -29,12 +30,15 @@ import javax.inject.Inject;
 /**
  * Base class for {@link ConnectionProvider} implementations which take a {@link FtpConnector} as a config and provides a
  * {@link FtpFileSystem}
+ * <p>
+ * Because servers usually drop connections which have been idle for a while, pooled connections are also validated while idle,
+ * so that broken ones are evicted before they are borrowed.
  *
  * @param <C> the generic type of the connection object
  * @since 4.0
  */
 public abstract class AbstractFtpConnectionProvider<C extends FtpFileSystem>
-    extends FileSystemProvider<C> implements PoolingConnectionProvider<C> {
+    extends FileSystemProvider<C> implements PoolingConnectionProvider<C>, IdleConnectionValidating {
 
   private static final String TIMEOUT_CONFIGURATION = "Timeout Configuration";
 
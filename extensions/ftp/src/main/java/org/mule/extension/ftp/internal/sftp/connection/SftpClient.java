@@ -56,6 +56,7 @@ public class SftpClient {
   private String knownHostsFile;
   private String preferredAuthenticationMethods;
   private long connectionTimeoutMillis = 0; // No timeout by default
+  private SftpSessionPool sessionPool;
 
   /**
    * Creates a new instance which connects to a server on a given {@code host} and {@code port}
@@ -122,21 +123,33 @@ public class SftpClient {
    */
   public void login(String user) throws IOException {
     try {
-      configureSession(user);
-      if (!StringUtils.isEmpty(password)) {
-        session.setPassword(password);
+      if (sessionPool != null) {
+        session = sessionPool.acquire(() -> createSession(user));
+      } else {
+        session = createSession(user);
       }
 
-      if (!StringUtils.isEmpty(identityFile)) {
-        setupIdentity();
-      }
-
-      connect();
+      openChannel();
     } catch (Exception e) {
+      disconnect();
       throw loginException(user, e);
     }
   }
 
+  private Session createSession(String user) throws JSchException {
+    configureSession(user);
+    if (!StringUtils.isEmpty(password)) {
+      session.setPassword(password);
+    }
+
+    if (!StringUtils.isEmpty(identityFile)) {
+      setupIdentity();
+    }
+
+    session.connect();
+    return session;
+  }
+
   private void setupIdentity() throws JSchException {
     if (passphrase == null || "".equals(passphrase)) {
       jsch.addIdentity(identityFile);
@@ -151,8 +164,7 @@ public class SftpClient {
     }
   }
 
-  private void connect() throws JSchException {
-    session.connect();
+  private void openChannel() throws JSchException {
     Channel channel = session.openChannel(CHANNEL_SFTP);
     channel.connect();
 
@@ -211,7 +223,8 @@ public class SftpClient {
   }
 
   /**
-   * Closes the active session and severs the connection (if any of those were active)
+   * Closes the active channel and severs the connection (if any of those were active). If the session is shared through a
+   * {@link SftpSessionPool}, it is only disconnected once no other client is using it
    */
   public void disconnect() {
     if (sftp != null && sftp.isConnected()) {
@@ -219,8 +232,13 @@ public class SftpClient {
       sftp.disconnect();
     }
 
-    if (session != null && session.isConnected()) {
-      session.disconnect();
+    if (session != null) {
+      if (sessionPool != null) {
+        sessionPool.release(session);
+      } else if (session.isConnected()) {
+        session.disconnect();
+      }
+      session = null;
     }
   }
 
@@ -358,6 +376,16 @@ public class SftpClient {
     this.passphrase = passphrase;
   }
 
+  /**
+   * Sets a {@link SftpSessionPool} from which the SSH session is to be obtained, so that it can be shared with other clients.
+   * If not set, {@code this} client will establish its own session.
+   *
+   * @param sessionPool a {@link SftpSessionPool}
+   */
+  public void setSessionPool(SftpSessionPool sessionPool) {
+    this.sessionPool = sessionPool;
+  }
+
   public int getPort() {
     return port;
   }
@@ -6,6 +6,7 @@
  */
 package org.mule.extension.ftp.internal.sftp.connection;
 
+import static org.mule.runtime.extension.api.annotation.param.display.Placement.ADVANCED;
 import static org.mule.runtime.extension.api.annotation.param.display.Placement.CONNECTION;
 import org.mule.extension.ftp.api.sftp.SftpAuthenticationMethod;
 import org.mule.extension.ftp.internal.AbstractFtpConnectionProvider;
@@ -94,7 +95,20 @@ public class SftpConnectionProvider extends AbstractFtpConnectionProvider<SftpFi
   @Optional
   private String knownHostsFile;
 
+  /**
+   * The maximum amount of connections which can share the same SSH session, each one on its own SFTP channel. Reusing sessions
+   * avoids performing a full key exchange and authentication for each new connection. Notice that servers usually limit the
+   * amount of channels per session (for example, through the {@code MaxSessions} setting in OpenSSH). Defaults to 1, which means
+   * that each connection establishes its own session.
+   */
+  @Parameter
+  @Optional(defaultValue = "1")
+  @Placement(tab = ADVANCED)
+  @Summary("The maximum amount of connections which can share the same SSH session")
+  private int maxChannelsPerSession = 1;
+
   private SftpClientFactory clientFactory = new SftpClientFactory();
+  private SftpSessionPool sessionPool;
 
   @Override
   public SftpFileSystem connect() throws ConnectionException {
@@ -106,6 +120,9 @@ public class SftpConnectionProvider extends AbstractFtpConnectionProvider<SftpFi
       client.setPreferredAuthenticationMethods(Joiner.on(",").join(preferredAuthenticationMethods));
     }
     client.setKnownHostsFile(knownHostsFile);
+    if (maxChannelsPerSession > 1) {
+      client.setSessionPool(getSessionPool());
+    }
     try {
       client.login(username);
     } catch (Exception e) {
@@ -115,6 +132,13 @@ public class SftpConnectionProvider extends AbstractFtpConnectionProvider<SftpFi
     return new SftpFileSystem(client, getWorkingDir(), muleContext);
   }
 
+  private synchronized SftpSessionPool getSessionPool() {
+    if (sessionPool == null) {
+      sessionPool = new SftpSessionPool(maxChannelsPerSession);
+    }
+
+    return sessionPool;
+  }
 
   void setPort(int port) {
     this.port = port;
@@ -144,6 +168,10 @@ public class SftpConnectionProvider extends AbstractFtpConnectionProvider<SftpFi
     this.knownHostsFile = knownHostsFile;
   }
 
+  void setMaxChannelsPerSession(int maxChannelsPerSession) {
+    this.maxChannelsPerSession = maxChannelsPerSession;
+  }
+
   void setClientFactory(SftpClientFactory clientFactory) {
     this.clientFactory = clientFactory;
   }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.extension.ftp.internal.sftp.connection;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.Session;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multiplexes many {@link SftpClient}s over a reduced number of SSH {@link Session}s.
+ * <p>
+ * The SSH protocol allows many channels to be opened over a single session. Because establishing a session requires a full key
+ * exchange and authentication round trip, sharing them between connections makes obtaining new ones much cheaper.
+ * <p>
+ * Each session is shared by up to {@link #maxChannelsPerSession} clients. Sessions are created on demand and disconnected once
+ * their last client is released. Sessions which are found to be disconnected are discarded instead of being shared.
+ * <p>
+ * Instances are thread-safe and are meant to be shared by all the {@link SftpClient}s which are created from the same connection
+ * parameters.
+ *
+ * @since 4.0
+ */
+public class SftpSessionPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SftpSessionPool.class);
+
+  private final int maxChannelsPerSession;
+  private final List<SharedSession> sessions = new LinkedList<>();
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxChannelsPerSession the maximum amount of clients which can share one {@link Session}
+   */
+  public SftpSessionPool(int maxChannelsPerSession) {
+    checkArgument(maxChannelsPerSession > 0, "maxChannelsPerSession has to be greater than zero");
+    this.maxChannelsPerSession = maxChannelsPerSession;
+  }
+
+  /**
+   * Returns a connected {@link Session} which can still accept new channels, creating one through the given
+   * {@code sessionFactory} if none is available.
+   * <p>
+   * New sessions are established without holding {@code this} pool's lock, so that a slow handshake does not prevent other
+   * clients from acquiring or releasing the already established ones.
+   * <p>
+   * Each invocation to this method needs to be matched with one to {@link #release(Session)}
+   *
+   * @param sessionFactory a {@link SessionFactory} which creates and connects a new {@link Session}
+   * @return a connected {@link Session}
+   * @throws JSchException if a new session could not be established
+   */
+  public Session acquire(SessionFactory sessionFactory) throws JSchException {
+    synchronized (this) {
+      for (SharedSession shared : sessions) {
+        if (shared.channels < maxChannelsPerSession && shared.session.isConnected()) {
+          shared.channels++;
+          return shared.session;
+        }
+      }
+    }
+
+    Session session = sessionFactory.create();
+    synchronized (this) {
+      sessions.add(new SharedSession(session));
+    }
+    return session;
+  }
+
+  /**
+   * Releases a {@link Session} obtained through {@link #acquire(SessionFactory)}. If no other client is using it, the session is
+   * disconnected.
+   *
+   * @param session the {@link Session} to be released
+   */
+  public synchronized void release(Session session) {
+    for (SharedSession shared : sessions) {
+      if (shared.session == session) {
+        if (--shared.channels == 0) {
+          sessions.remove(shared);
+          disconnect(session);
+        }
+        return;
+      }
+    }
+
+    disconnect(session);
+  }
+
+  /**
+   * @return the amount of SSH sessions currently established
+   */
+  public synchronized int getSessionsCount() {
+    return sessions.size();
+  }
+
+  private void disconnect(Session session) {
+    try {
+      if (session.isConnected()) {
+        session.disconnect();
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Found exception disconnecting SSH session", e);
+    }
+  }
+
+  /**
+   * Creates and connects new {@link Session}s
+   */
+  @FunctionalInterface
+  public interface SessionFactory {
+
+    /**
+     * @return a new connected {@link Session}
+     * @throws JSchException if the session could not be established
+     */
+    Session create() throws JSchException;
+  }
+
+  private static class SharedSession {
+
+    private final Session session;
+    private int channels = 1;
+
+    private SharedSession(Session session) {
+      this.session = session;
+    }
+  }
+}
@@ -11,6 +11,8 @@ import static org.apache.commons.io.FileUtils.write;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.extension.ftp.api.sftp.SftpAuthenticationMethod.GSSAPI_WITH_MIC;
@@ -147,6 +149,25 @@ public class SftpConnectionProviderTestCase extends AbstractMuleTestCase {
     assertThat(properties.getProperty(STRICT_HOST_KEY_CHECKING), equalTo("no"));
   }
 
+  @Test
+  public void channelsShareSession() throws Exception {
+    provider.setMaxChannelsPerSession(2);
+    when(session.isConnected()).thenReturn(true);
+
+    SftpFileSystem first = provider.connect();
+    SftpFileSystem second = provider.connect();
+
+    verify(jsch).getSession(USERNAME, HOST);
+    verify(session).connect();
+    verify(channel, times(2)).connect();
+
+    first.disconnect();
+    verify(session, never()).disconnect();
+
+    second.disconnect();
+    verify(session).disconnect();
+  }
+
   private void assertPassword() {
     verify(session).setPassword(PASSWORD);
   }
@@ -6,26 +6,37 @@
  */
 package org.mule.runtime.module.deployment.impl.internal.application;
 
+import static java.util.Optional.ofNullable;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor.PLUGIN_PROPERTIES;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.EXTENSION_MANIFEST_FILE_NAME;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.config.ConfigurationBuilder;
 import org.mule.runtime.core.config.builders.AbstractConfigurationBuilder;
 import org.mule.runtime.deployment.model.api.plugin.ArtifactPlugin;
+import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
 import org.mule.runtime.extension.api.ExtensionManager;
 import org.mule.runtime.extension.api.manifest.ExtensionManifest;
+import org.mule.runtime.module.artifact.descriptor.BundleDescriptor;
 import org.mule.runtime.module.extension.internal.manager.DefaultExtensionManagerAdapterFactory;
 import org.mule.runtime.module.extension.internal.manager.ExtensionManagerAdapter;
 import org.mule.runtime.module.extension.internal.manager.ExtensionManagerAdapterFactory;
+import org.mule.runtime.module.extension.internal.manager.ExtensionModelCache;
 
+import java.io.File;
 import java.net.URL;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of {@link ConfigurationBuilder} that registers a {@link ExtensionManager}
+ * <p>
+ * Unless another {@link ExtensionManagerAdapterFactory} is given, the created managers share an {@link ExtensionModelCache}
+ * with every other artifact in the container, which is persisted in the {@link #EXTENSION_MODELS_FOLDER} of the execution folder.
  *
  * @since 4.0
  */
@@ -33,11 +44,13 @@ public class ApplicationExtensionsManagerConfigurationBuilder extends AbstractCo
 
   private static Logger LOGGER = LoggerFactory.getLogger(ApplicationExtensionsManagerConfigurationBuilder.class);
 
+  public static final String EXTENSION_MODELS_FOLDER = "extension-models";
+
   private final ExtensionManagerAdapterFactory extensionManagerAdapterFactory;
   private final List<ArtifactPlugin> artifactPlugins;
 
   public ApplicationExtensionsManagerConfigurationBuilder(List<ArtifactPlugin> artifactPlugins) {
-    this(artifactPlugins, new DefaultExtensionManagerAdapterFactory());
+    this(artifactPlugins, new DefaultExtensionManagerAdapterFactory(SharedExtensionModelCacheHolder.INSTANCE));
   }
 
   public ApplicationExtensionsManagerConfigurationBuilder(List<ArtifactPlugin> artifactPlugins,
@@ -61,10 +74,32 @@ public class ApplicationExtensionsManagerConfigurationBuilder extends AbstractCo
         LOGGER.debug("Discovered extension " + artifactPlugin.getArtifactName());
       }
       ExtensionManifest extensionManifest = extensionManager.parseExtensionManifestXml(manifestUrl);
-      extensionManager.registerExtension(extensionManifest, artifactPlugin.getArtifactClassLoader().getClassLoader());
+      ClassLoader pluginClassLoader = artifactPlugin.getArtifactClassLoader().getClassLoader();
+      ArtifactPluginDescriptor pluginDescriptor = artifactPlugin.getDescriptor();
+      if (pluginDescriptor != null && pluginDescriptor.getBundleDescriptor() != null) {
+        extensionManager.registerExtension(extensionManifest, pluginClassLoader,
+                                           getCoordinates(pluginDescriptor.getBundleDescriptor()),
+                                           getPluginPropertiesFile(pluginDescriptor));
+      } else {
+        extensionManager.registerExtension(extensionManifest, pluginClassLoader);
+      }
     }
   }
 
+  private String getCoordinates(BundleDescriptor bundleDescriptor) {
+    StringBuilder coordinates = new StringBuilder()
+        .append(bundleDescriptor.getGroupId()).append(':')
+        .append(bundleDescriptor.getArtifactId()).append(':')
+        .append(bundleDescriptor.getVersion()).append(':')
+        .append(bundleDescriptor.getType());
+    bundleDescriptor.getClassifier().ifPresent(classifier -> coordinates.append(':').append(classifier));
+    return coordinates.toString();
+  }
+
+  private Optional<File> getPluginPropertiesFile(ArtifactPluginDescriptor pluginDescriptor) {
+    return ofNullable(pluginDescriptor.getRootFolder()).map(rootFolder -> new File(rootFolder, PLUGIN_PROPERTIES));
+  }
+
   private ExtensionManagerAdapter createExtensionManager(MuleContext muleContext) throws InitialisationException {
     try {
       return extensionManagerAdapterFactory.createExtensionManager(muleContext);
@@ -72,4 +107,13 @@ public class ApplicationExtensionsManagerConfigurationBuilder extends AbstractCo
       throw new InitialisationException(e, muleContext);
     }
   }
+
+  /**
+   * Lazily creates the {@link ExtensionModelCache} shared by all the artifacts, once the container folders are set.
+   */
+  private static class SharedExtensionModelCacheHolder {
+
+    private static final ExtensionModelCache INSTANCE =
+        new ExtensionModelCache(new File(getExecutionFolder(), EXTENSION_MODELS_FOLDER));
+  }
 }
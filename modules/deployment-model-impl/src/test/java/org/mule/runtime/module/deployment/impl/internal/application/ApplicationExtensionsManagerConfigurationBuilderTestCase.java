@@ -7,25 +7,30 @@
 package org.mule.runtime.module.deployment.impl.internal.application;
 
 import static java.util.Arrays.asList;
+import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor.PLUGIN_PROPERTIES;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.EXTENSION_MANIFEST_FILE_NAME;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.deployment.model.api.plugin.ArtifactPlugin;
 import org.mule.runtime.extension.api.manifest.ExtensionManifest;
+import org.mule.runtime.module.artifact.descriptor.BundleDescriptor;
 import org.mule.runtime.module.deployment.impl.internal.application.ApplicationExtensionsManagerConfigurationBuilder;
 import org.mule.runtime.module.extension.internal.manager.ExtensionManagerAdapter;
 import org.mule.runtime.module.extension.internal.manager.ExtensionManagerAdapterFactory;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.io.File;
 import java.net.URL;
 
 import org.junit.Before;
@@ -40,6 +45,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 public class ApplicationExtensionsManagerConfigurationBuilderTestCase extends AbstractMuleTestCase {
 
   private static final String MANIFEST_RESOURCE = "META-INF/" + EXTENSION_MANIFEST_FILE_NAME;
+  private static final File PLUGIN_FOLDER = new File("plugin");
 
   @Mock(answer = RETURNS_DEEP_STUBS)
   private MuleContext muleContext;
@@ -68,6 +74,10 @@ public class ApplicationExtensionsManagerConfigurationBuilderTestCase extends Ab
   public void before() throws Exception {
     when(extensionPlugin.getArtifactClassLoader().findResource(MANIFEST_RESOURCE)).thenReturn(new URL("file:/blah"));
     when(extensionPlugin.getArtifactClassLoader().getClassLoader()).thenReturn(pluginClassLoader);
+    when(extensionPlugin.getDescriptor().getBundleDescriptor())
+        .thenReturn(new BundleDescriptor.Builder().setGroupId("org.mule.tests").setArtifactId("test-plugin").setVersion("1.0")
+            .setClassifier("mule-plugin").build());
+    when(extensionPlugin.getDescriptor().getRootFolder()).thenReturn(PLUGIN_FOLDER);
     when(notExtensionPlugin.getArtifactClassLoader().findResource(MANIFEST_RESOURCE)).thenReturn(null);
 
     when(extensionManagerAdapterFactory.createExtensionManager(muleContext)).thenReturn(extensionManager);
@@ -82,8 +92,18 @@ public class ApplicationExtensionsManagerConfigurationBuilderTestCase extends Ab
     builder.doConfigure(muleContext);
     ArgumentCaptor<ExtensionManifest> manifestCaptor = forClass(ExtensionManifest.class);
 
-    verify(extensionManager).registerExtension(manifestCaptor.capture(), same(pluginClassLoader));
+    verify(extensionManager).registerExtension(manifestCaptor.capture(), same(pluginClassLoader),
+                                               eq("org.mule.tests:test-plugin:1.0:jar:mule-plugin"),
+                                               eq(of(new File(PLUGIN_FOLDER, PLUGIN_PROPERTIES))));
     ExtensionManifest manifest = manifestCaptor.getValue();
     assertThat(manifest, is(sameInstance(manifest)));
   }
+
+  @Test
+  public void registerWithoutBundleDescriptor() throws Exception {
+    when(extensionPlugin.getDescriptor().getBundleDescriptor()).thenReturn(null);
+    builder.doConfigure(muleContext);
+
+    verify(extensionManager).registerExtension(same(manifest), same(pluginClassLoader));
+  }
 }
@@ -120,9 +120,24 @@ public final class DefaultExtensionFactory implements ExtensionFactory {
    */
   @Override
   public ExtensionModel createFrom(ExtensionDeclarer declarer, DescribingContext describingContext) {
+    return createFrom(declarer, describingContext, true);
+  }
+
+  /**
+   * Same as {@link #createFrom(ExtensionDeclarer, DescribingContext)}, but allows to skip the {@link ModelValidator}s when the
+   * produced model is already known to be valid, such as when a model of the same extension was already validated.
+   *
+   * @param declarer an {@link ExtensionDeclarer}
+   * @param describingContext a {@link DescribingContext}
+   * @param validate whether the produced model has to be validated
+   * @return an {@link ExtensionModel}
+   */
+  public ExtensionModel createFrom(ExtensionDeclarer declarer, DescribingContext describingContext, boolean validate) {
     enrichModel(describingContext);
     ExtensionModel extensionModel = new FactoryDelegate().toExtension(declarer.getDeclaration());
-    modelValidators.forEach(v -> v.validate(extensionModel));
+    if (validate) {
+      modelValidators.forEach(v -> v.validate(extensionModel));
+    }
 
     return extensionModel;
   }
@@ -28,7 +28,6 @@ import org.mule.runtime.core.api.registry.ServiceRegistry;
 import org.mule.runtime.core.registry.SpiServiceRegistry;
 import org.mule.runtime.core.time.Time;
 import org.mule.runtime.core.util.StringUtils;
-import org.mule.runtime.extension.api.runtime.ExtensionFactory;
 import org.mule.runtime.extension.api.declaration.spi.Describer;
 import org.mule.runtime.extension.api.manifest.ExtensionManifest;
 import org.mule.runtime.extension.api.persistence.manifest.ExtensionManifestXmlSerializer;
@@ -41,6 +40,7 @@ import org.mule.runtime.module.extension.internal.runtime.config.DefaultImplicit
 import org.mule.runtime.module.extension.internal.runtime.config.ImplicitConfigurationProviderFactory;
 import org.mule.runtime.module.extension.internal.runtime.exception.TooManyConfigsException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -72,12 +72,27 @@ public final class DefaultExtensionManager
   private final ImplicitConfigurationProviderFactory implicitConfigurationProviderFactory =
       new DefaultImplicitConfigurationProviderFactory();
   private final DescriberResolver describerResolver = new DescriberResolver();
+  private final ExtensionModelCache extensionModelCache;
 
   private MuleContext muleContext;
   private ExtensionRegistry extensionRegistry;
-  private ExtensionFactory extensionFactory;
+  private DefaultExtensionFactory extensionFactory;
   private ConfigurationExpirationMonitor configurationExpirationMonitor;
 
+  /**
+   * Creates a new instance which doesn't share its {@link ExtensionModelCache}.
+   */
+  public DefaultExtensionManager() {
+    this(new ExtensionModelCache());
+  }
+
+  /**
+   * @param extensionModelCache the {@link ExtensionModelCache} shared with the other artifacts
+   */
+  public DefaultExtensionManager(ExtensionModelCache extensionModelCache) {
+    this.extensionModelCache = extensionModelCache;
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     extensionRegistry = new ExtensionRegistry(muleContext.getRegistry());
@@ -131,10 +146,28 @@ public final class DefaultExtensionManager
    */
   @Override
   public void registerExtension(ExtensionManifest manifest, ClassLoader classLoader) {
+    registerExtension(manifest, classLoader, Optional.empty());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void registerExtension(ExtensionManifest manifest, ClassLoader classLoader, String pluginCoordinates,
+                                Optional<File> pluginDescriptor) {
+    // the models of the same plugin are equally valid for every artifact, so they are only validated once
+    registerExtension(manifest, classLoader, extensionModelCache.getExtensionKey(manifest, pluginCoordinates, pluginDescriptor));
+  }
+
+  private void registerExtension(ExtensionManifest manifest, ClassLoader classLoader, Optional<String> extensionKey) {
     Describer describer = describerResolver.resolve(manifest, classLoader);
     final DefaultDescribingContext context = new DefaultDescribingContext(classLoader);
+    final boolean validate = !extensionKey.map(extensionModelCache::isValidated).orElse(false);
     withContextClassLoader(classLoader, () -> {
-      ExtensionModel extensionModel = extensionFactory.createFrom(describer.describe(context), context);
+      ExtensionModel extensionModel = extensionFactory.createFrom(describer.describe(context), context, validate);
+      if (validate) {
+        extensionKey.ifPresent(extensionModelCache::setValidated);
+      }
       registerExtension(extensionModel);
     });
   }
@@ -238,7 +271,8 @@ public final class DefaultExtensionManager
   @Override
   public ExtensionManifest parseExtensionManifestXml(URL manifestUrl) {
     try (InputStream manifestStream = manifestUrl.openStream()) {
-      return new ExtensionManifestXmlSerializer().deserialize(IOUtils.toString(manifestStream));
+      return extensionModelCache.getManifest(IOUtils.toString(manifestStream),
+                                             manifestXml -> new ExtensionManifestXmlSerializer().deserialize(manifestXml));
     } catch (IOException e) {
       throw new MuleRuntimeException(createStaticMessage("Could not read extension manifest on plugin " + manifestUrl.toString()),
                                      e);
@@ -21,12 +21,28 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
  */
 public class DefaultExtensionManagerAdapterFactory implements ExtensionManagerAdapterFactory {
 
+  private final ExtensionModelCache extensionModelCache;
+
+  /**
+   * Creates a new instance which shares an {@link ExtensionModelCache} only among the managers it creates.
+   */
+  public DefaultExtensionManagerAdapterFactory() {
+    this(new ExtensionModelCache());
+  }
+
+  /**
+   * @param extensionModelCache the {@link ExtensionModelCache} to be shared by the created managers
+   */
+  public DefaultExtensionManagerAdapterFactory(ExtensionModelCache extensionModelCache) {
+    this.extensionModelCache = extensionModelCache;
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public ExtensionManagerAdapter createExtensionManager(MuleContext muleContext) {
-    ExtensionManagerAdapter extensionManager = new DefaultExtensionManager();
+    ExtensionManagerAdapter extensionManager = new DefaultExtensionManager(extensionModelCache);
     ((DefaultMuleContext) muleContext).setExtensionManager(extensionManager);
     try {
       initialiseIfNeeded(extensionManager, muleContext);
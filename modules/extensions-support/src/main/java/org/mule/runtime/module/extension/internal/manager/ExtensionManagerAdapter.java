@@ -12,6 +12,7 @@ import org.mule.runtime.extension.api.ExtensionManager;
 import org.mule.runtime.extension.api.manifest.ExtensionManifest;
 import org.mule.runtime.extension.api.runtime.ConfigurationProvider;
 
+import java.io.File;
 import java.net.URL;
 import java.util.Optional;
 
@@ -51,6 +52,19 @@ public interface ExtensionManagerAdapter extends ExtensionManager {
    */
   void registerExtension(ExtensionModel extensionModel);
 
+  /**
+   * Registers the extension described by the given {@link ExtensionManifest}, as {@link #registerExtension(ExtensionManifest,
+   * ClassLoader)} does, for an extension which plugin is identified by the given coordinates and descriptor. The model of the
+   * extension is only validated once for every artifact that uses the same plugin.
+   *
+   * @param manifest the {@link ExtensionManifest} of the extension
+   * @param classLoader the plugin {@link ClassLoader} of the extension
+   * @param pluginCoordinates the coordinates of the plugin of the extension
+   * @param pluginDescriptor the descriptor of the plugin of the extension, if it has one
+   */
+  void registerExtension(ExtensionManifest manifest, ClassLoader classLoader, String pluginCoordinates,
+                         Optional<File> pluginDescriptor);
+
   /**
    * Registered the given {@link ConfigurationProvider} which should be later be used to serve invocations to
    * {@link #getConfigurationProvider(ExtensionModel)} and {@link #getConfiguration(String, MuleEvent)}
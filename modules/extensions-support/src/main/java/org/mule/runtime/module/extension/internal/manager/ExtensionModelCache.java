@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.manager;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.core.config.MuleManifest;
+import org.mule.runtime.extension.api.manifest.ExtensionManifest;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the results of registering extensions from their {@link ExtensionManifest} which can be shared by all the artifacts that
+ * use the same extension plugins.
+ * <p>
+ * An {@link ExtensionModel} references the classes of its extension, which are loaded by the plugin {@link ClassLoader} of each
+ * artifact, so each artifact still describes its own models. What only depends on the contents of the plugins is shared:
+ * <ul>
+ * <li>The parsed {@link ExtensionManifest}s, keyed by their content. Only the most recently used ones are kept.</li>
+ * <li>Which extensions already passed the model validations, keyed by the manifest of the extension, the coordinates and
+ * descriptor of its plugin and the version of the runtime. If a folder is given, these are also persisted there so they survive
+ * restarts. Since the contents of a SNAPSHOT plugin may change without its coordinates nor descriptor changing, extensions of
+ * SNAPSHOT plugins are always validated.</li>
+ * </ul>
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 4.0
+ */
+public final class ExtensionModelCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExtensionModelCache.class);
+
+  private static final int MAX_MANIFESTS = 1000;
+  private static final String SNAPSHOT = "SNAPSHOT";
+
+  private final Optional<File> validatedExtensionsFolder;
+  private final Cache<String, ExtensionManifest> manifests = CacheBuilder.newBuilder().maximumSize(MAX_MANIFESTS).build();
+  private final Set<String> validatedExtensions = newKeySet();
+
+  /**
+   * Creates a cache which is only kept in memory.
+   */
+  public ExtensionModelCache() {
+    this.validatedExtensionsFolder = empty();
+  }
+
+  /**
+   * Creates a cache which persists the validated extensions in the given folder.
+   *
+   * @param validatedExtensionsFolder the folder in which the validated extensions are persisted. It is created if needed.
+   */
+  public ExtensionModelCache(File validatedExtensionsFolder) {
+    this.validatedExtensionsFolder = Optional.of(validatedExtensionsFolder);
+  }
+
+  /**
+   * Returns the {@link ExtensionManifest} for the given content, parsing it only if the same content wasn't parsed before.
+   *
+   * @param manifestXml the content of the manifest
+   * @param parser the function which parses the content into an {@link ExtensionManifest}
+   * @return the {@link ExtensionManifest} of the given content
+   */
+  public ExtensionManifest getManifest(String manifestXml, Function<String, ExtensionManifest> parser) {
+    try {
+      return manifests.get(Hashing.sha256().hashString(manifestXml, UTF_8).toString(), () -> parser.apply(manifestXml));
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    } catch (ExecutionException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  /**
+   * Generates a key which identifies the extension of the given {@code manifest} when loaded from the plugin of the given
+   * coordinates and descriptor, no matter which artifact it belongs to.
+   * <p>
+   * The contents of the plugin are not read, since every artifact has its own copy of it. Instead, the plugin is identified by its
+   * coordinates and a checksum of its descriptor, which is small enough to be read for every artifact. That does not identify a
+   * SNAPSHOT plugin, which may be rebuilt with different contents, so no key is generated for it.
+   *
+   * @param manifest the {@link ExtensionManifest} of the extension
+   * @param pluginCoordinates the coordinates of the plugin of the extension
+   * @param pluginDescriptor the descriptor of the plugin of the extension, if it has one
+   * @return the key of the extension, or {@link Optional#empty()} if the plugin is a SNAPSHOT or its descriptor can't be read
+   */
+  public Optional<String> getExtensionKey(ExtensionManifest manifest, String pluginCoordinates,
+                                          Optional<File> pluginDescriptor) {
+    if (pluginCoordinates.contains(SNAPSHOT) || manifest.getVersion().endsWith(SNAPSHOT)) {
+      return empty();
+    }
+
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putString(MuleManifest.getProductVersion(), UTF_8)
+        .putString(pluginCoordinates, UTF_8)
+        .putString(manifest.getName(), UTF_8)
+        .putString(manifest.getVersion(), UTF_8)
+        .putString(manifest.getDescriberManifest().getId(), UTF_8);
+    for (Entry<String, String> property : new TreeMap<>(manifest.getDescriberManifest().getProperties()).entrySet()) {
+      hasher.putString(property.getKey(), UTF_8).putString(property.getValue(), UTF_8);
+    }
+
+    Optional<File> descriptorFile = pluginDescriptor.filter(File::isFile);
+    if (descriptorFile.isPresent()) {
+      try {
+        hasher.putBytes(Files.asByteSource(descriptorFile.get()).hash(Hashing.sha256()).asBytes());
+      } catch (IOException e) {
+        LOGGER.warn(format("Could not read the descriptor of the plugin of extension '%s'", manifest.getName()), e);
+        return empty();
+      }
+    }
+
+    return Optional.of(hasher.hash().toString());
+  }
+
+  /**
+   * @param extensionKey a key generated by {@link #getExtensionKey(ExtensionManifest, String, Optional)}
+   * @return whether the model of the extension of the given key already passed the model validations
+   */
+  public boolean isValidated(String extensionKey) {
+    if (validatedExtensions.contains(extensionKey)) {
+      return true;
+    }
+
+    if (validatedExtensionsFolder.isPresent() && new File(validatedExtensionsFolder.get(), extensionKey).exists()) {
+      validatedExtensions.add(extensionKey);
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Records that the model of the extension of the given key passed the model validations.
+   *
+   * @param extensionKey a key generated by {@link #getExtensionKey(ExtensionManifest, String, Optional)}
+   */
+  public void setValidated(String extensionKey) {
+    validatedExtensions.add(extensionKey);
+
+    validatedExtensionsFolder.ifPresent(folder -> {
+      try {
+        folder.mkdirs();
+        new File(folder, extensionKey).createNewFile();
+      } catch (IOException e) {
+        LOGGER.warn(format("Could not persist validated extension '%s' in folder '%s'", extensionKey, folder), e);
+      }
+    });
+  }
+}
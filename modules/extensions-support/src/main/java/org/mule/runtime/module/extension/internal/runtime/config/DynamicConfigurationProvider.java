@@ -40,10 +40,10 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * A {@link ConfigurationProvider} which continuously evaluates the same {@link ResolverSet} and then uses the resulting
  * {@link ResolverSetResult} to build an instance of type {@code T}
  * <p>
- * Although each invocation to {@link #get(Object)} is guaranteed to end up in an invocation to
- * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance.
- * This is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
- * {@code resolverSet} return the same instance.
+ * Each invocation to {@link #get(Object)} only evaluates the dynamic resolvers of the {@link #resolverSet} through
+ * {@link ResolverSet#resolveDynamicValues(Event)}. Those values are used as the key of a cache which guarantees that equivalent
+ * evaluations of the {@code resolverSet} return the same instance, so the complete {@link ResolverSetResult} is only built
+ * when a new instance has to be generated.
  *
  * @since 4.0.0
  */
@@ -55,7 +55,7 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private final ValueResolver<ConnectionProvider> connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<ResolverSetResult, ConfigurationInstance> cache = new ConcurrentHashMap<>();
+  private final Map<List<Object>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
   private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
   private final Lock cacheReadLock = cacheLock.readLock();
   private final Lock cacheWriteLock = cacheLock.writeLock();
@@ -84,8 +84,8 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   }
 
   /**
-   * Evaluates {@link #resolverSet} using the given {@code event} and returns an instance produced with the result. For
-   * equivalent {@link ResolverSetResult}s it will return the same instance.
+   * Evaluates the dynamic resolvers of the {@link #resolverSet} using the given {@code event} and returns an instance produced
+   * with the result. For equivalent dynamic values it will return the same instance.
    *
    * @param event the current {@code event}
    * @return the resolved {@link ConfigurationInstance}
@@ -93,16 +93,16 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   @Override
   public ConfigurationInstance get(Object event) {
     return withContextClassLoader(getExtensionClassLoader(), () -> {
-      ResolverSetResult result = resolverSet.resolve((Event) event);
-      return getConfiguration(result, (Event) event);
+      List<Object> dynamicValues = resolverSet.resolveDynamicValues((Event) event);
+      return getConfiguration(dynamicValues, (Event) event);
     });
   }
 
-  private ConfigurationInstance getConfiguration(ResolverSetResult resolverSetResult, Event event) throws Exception {
+  private ConfigurationInstance getConfiguration(List<Object> dynamicValues, Event event) throws Exception {
     ConfigurationInstance configuration;
     cacheReadLock.lock();
     try {
-      configuration = cache.get(resolverSetResult);
+      configuration = cache.get(dynamicValues);
       if (configuration != null) {
         // important to account between the boundaries of the lock to prevent race condition
         updateUsageStatistic(configuration);
@@ -115,10 +115,10 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     cacheWriteLock.lock();
     try {
       // re-check in case some other thread beat us to it...
-      configuration = cache.get(resolverSetResult);
+      configuration = cache.get(dynamicValues);
       if (configuration == null) {
-        configuration = createConfiguration(resolverSetResult, event);
-        cache.put(resolverSetResult, configuration);
+        configuration = createConfiguration(resolverSet.resolve(event, dynamicValues), event);
+        cache.put(dynamicValues, configuration);
       }
 
       // accounting here for the same reasons as above
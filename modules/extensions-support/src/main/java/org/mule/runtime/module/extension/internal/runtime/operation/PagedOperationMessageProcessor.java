@@ -6,14 +6,21 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.operation;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.transaction.TransactionCoordination.isTransactionActive;
+import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
+
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.processor.InterceptingMessageProcessor;
+import org.mule.runtime.core.api.scheduler.Scheduler;
 import org.mule.runtime.core.streaming.Consumer;
 import org.mule.runtime.core.streaming.ConsumerIterator;
 import org.mule.runtime.core.streaming.ListConsumer;
+import org.mule.runtime.core.streaming.PrefetchingProducer;
 import org.mule.runtime.core.streaming.Producer;
 import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
 import org.mule.runtime.extension.api.runtime.ConfigurationInstance;
@@ -25,11 +32,20 @@ import org.mule.runtime.module.extension.internal.runtime.streaming.PagingProvid
 
 /**
  * A specialization of {@link OperationMessageProcessor} which also implements {@link InterceptingMessageProcessor}.
+ * <p>
+ * If the {@link #PREFETCH_PAGES_PROPERTY} system property is set to a value greater than zero, up to that amount of pages are
+ * read ahead in the IO scheduler while the current one is being consumed. Pages are never read ahead for operations executed
+ * within a transaction, since the connection of the transaction is bound to the thread which executes the operation.
  *
  * @since 4.0
  */
 public class PagedOperationMessageProcessor extends OperationMessageProcessor {
 
+  public static final String PREFETCH_PAGES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensions.paging.prefetchPages";
+
+  private final int prefetchPages = Integer.getInteger(PREFETCH_PAGES_PROPERTY, 0);
+  private Scheduler prefetchScheduler;
+
   public PagedOperationMessageProcessor(ExtensionModel extensionModel,
                                         OperationModel operationModel,
                                         ConfigurationProvider configurationProvider,
@@ -53,9 +69,35 @@ public class PagedOperationMessageProcessor extends OperationMessageProcessor {
     Producer<?> producer =
         new PagingProviderProducer(pagingProvider, (ConfigurationInstance) operationContext.getConfiguration().get(),
                                    connectionManager);
+    final Scheduler scheduler = prefetchScheduler;
+    if (scheduler != null && !isTransactionActive()) {
+      producer = new PrefetchingProducer(producer, prefetchPages,
+                                         command -> scheduler
+                                             .execute(() -> withContextClassLoader(getExtensionClassLoader(), command)));
+    }
     Consumer<?> consumer = new ListConsumer(producer);
 
     return returnDelegate.asReturnValue(new ConsumerIterator<>(consumer), operationContext);
   }
 
+  @Override
+  public void doStart() throws MuleException {
+    super.doStart();
+    if (prefetchPages > 0 && prefetchScheduler == null) {
+      prefetchScheduler = muleContext.getSchedulerService().ioScheduler();
+    }
+  }
+
+  @Override
+  public void doStop() throws MuleException {
+    try {
+      super.doStop();
+    } finally {
+      if (prefetchScheduler != null) {
+        prefetchScheduler.stop(muleContext.getConfiguration().getShutdownTimeout(), MILLISECONDS);
+        prefetchScheduler = null;
+      }
+    }
+  }
+
 }
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.resolver;
 
+import static java.util.Arrays.asList;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.api.exception.MuleException;
@@ -15,6 +16,7 @@ import org.mule.runtime.module.extension.internal.runtime.objectbuilder.ObjectBu
 import com.google.common.collect.ImmutableMap;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,14 +28,22 @@ import java.util.Map;
  * {@link ValueResolver}s but evaluated many times. With this goal in mind is that the return value of this resolver will always
  * be a {@link ResolverSetResult} which then can be used by a {@link ObjectBuilder} to generate an actual object.
  * <p/>
- * Instances of this class are to be considered thread safe and reusable
+ * The resolvers are partitioned as they are added. When all of them are {@link StaticValueResolver}s the
+ * {@link ResolverSetResult} is built only once and reused for every {@link Event}. The values of the dynamic resolvers can
+ * also be resolved on their own through {@link #resolveDynamicValues(Event)}, which is a cheaper way of telling whether two
+ * evaluations are equivalent than comparing complete {@link ResolverSetResult}s.
+ * <p/>
+ * Instances of this class are to be considered thread safe and reusable once all the resolvers were added
  *
  * @since 3.7.0
  */
 public class ResolverSet implements ValueResolver<ResolverSetResult> {
 
   private Map<String, ValueResolver> resolvers = new LinkedHashMap<>();
+  private Map<String, ValueResolver> dynamicResolvers = new LinkedHashMap<>();
   private boolean dynamic = false;
+  private boolean constant = true;
+  private volatile ResolverSetResult constantResult;
 
   /**
    * Links the given {@link ValueResolver} to the given {@link ParameterModel}. If such {@code parameter} was already added, then
@@ -54,7 +64,12 @@ public class ResolverSet implements ValueResolver<ResolverSetResult> {
 
     if (resolver.isDynamic()) {
       dynamic = true;
+      dynamicResolvers.put(key, resolver);
+    }
+    if (!isConstant(resolver)) {
+      constant = false;
     }
+    constantResult = null;
     return this;
   }
 
@@ -69,7 +84,8 @@ public class ResolverSet implements ValueResolver<ResolverSetResult> {
   }
 
   /**
-   * Evaluates all the added {@link ValueResolver}s and returns the results into a {@link ResolverSetResult}
+   * Evaluates all the added {@link ValueResolver}s and returns the results into a {@link ResolverSetResult}. If all the
+   * resolvers are constant, the same {@link ResolverSetResult} is returned for every {@code event}
    *
    * @param event a not {@code null} {@link Event}
    * @return a {@link ResolverSetResult}
@@ -77,14 +93,78 @@ public class ResolverSet implements ValueResolver<ResolverSetResult> {
    */
   @Override
   public ResolverSetResult resolve(Event event) throws MuleException {
+    ResolverSetResult result = constantResult;
+    if (result != null) {
+      return result;
+    }
+
     ResolverSetResult.Builder builder = ResolverSetResult.newBuilder();
     for (Map.Entry<String, ValueResolver> entry : resolvers.entrySet()) {
       builder.add(entry.getKey(), resolveValue(entry.getValue(), event));
     }
 
+    result = builder.build();
+    if (constant) {
+      constantResult = result;
+    }
+    return result;
+  }
+
+  /**
+   * Evaluates only the dynamic {@link ValueResolver}s, in the same order in which they were added. Since the rest of the
+   * resolvers are not expected to change their outcome, two evaluations with equal dynamic values are equivalent.
+   *
+   * @param event a not {@code null} {@link Event}
+   * @return an immutable {@link List} with the values of the dynamic resolvers, which is suitable to be used as a key
+   * @throws MuleException
+   */
+  public List<Object> resolveDynamicValues(Event event) throws MuleException {
+    Object[] values = new Object[dynamicResolvers.size()];
+    int i = 0;
+    for (ValueResolver resolver : dynamicResolvers.values()) {
+      values[i++] = resolveValue(resolver, event);
+    }
+
+    return asList(values);
+  }
+
+  /**
+   * Evaluates the non dynamic {@link ValueResolver}s and combines their values with the {@code dynamicValues} previously
+   * obtained through {@link #resolveDynamicValues(Event)}, so that the expressions are not evaluated again.
+   *
+   * @param event a not {@code null} {@link Event}
+   * @param dynamicValues the values returned by {@link #resolveDynamicValues(Event)} for the same {@code event}
+   * @return a {@link ResolverSetResult}
+   * @throws MuleException
+   */
+  public ResolverSetResult resolve(Event event, List<Object> dynamicValues) throws MuleException {
+    checkArgument(dynamicValues.size() == dynamicResolvers.size(), "a value is required for each dynamic resolver");
+
+    ResolverSetResult.Builder builder = ResolverSetResult.newBuilder();
+    int i = 0;
+    for (Map.Entry<String, ValueResolver> entry : resolvers.entrySet()) {
+      Object value = dynamicResolvers.containsKey(entry.getKey())
+          ? dynamicValues.get(i++)
+          : resolveValue(entry.getValue(), event);
+      builder.add(entry.getKey(), value);
+    }
+
     return builder.build();
   }
 
+  private boolean isConstant(ValueResolver<?> resolver) {
+    if (!(resolver instanceof StaticValueResolver)) {
+      return false;
+    }
+
+    try {
+      // a static value which is itself a resolver still needs to be resolved per event
+      return !(resolver.resolve(null) instanceof ValueResolver);
+    } catch (MuleException e) {
+      return false;
+    }
+  }
+
   private Object resolveValue(ValueResolver<?> resolver, Event event) throws MuleException {
     Object value = resolver.resolve(event);
     if (value instanceof ValueResolver) {
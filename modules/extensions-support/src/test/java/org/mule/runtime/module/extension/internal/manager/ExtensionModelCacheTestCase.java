@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.manager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.extension.internal.introspection.describer.AnnotationsBasedDescriber.DESCRIBER_ID;
+import static org.mule.runtime.module.extension.internal.introspection.describer.AnnotationsBasedDescriber.TYPE_PROPERTY_NAME;
+import static org.mule.test.heisenberg.extension.HeisenbergExtension.HEISENBERG;
+import org.mule.runtime.extension.api.manifest.ExtensionManifest;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+import org.mule.test.heisenberg.extension.HeisenbergExtension;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class ExtensionModelCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String PLUGIN_COORDINATES = "org.mule.tests:heisenberg:4.0.0";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Mock(answer = RETURNS_DEEP_STUBS)
+  private ExtensionManifest manifest;
+
+  private File validatedExtensionsFolder;
+  private ExtensionModelCache cache;
+
+  @Before
+  public void before() throws Exception {
+    when(manifest.getName()).thenReturn(HEISENBERG);
+    when(manifest.getVersion()).thenReturn("4.0.0");
+    when(manifest.getDescriberManifest().getId()).thenReturn(DESCRIBER_ID);
+    when(manifest.getDescriberManifest().getProperties())
+        .thenReturn(ImmutableMap.of(TYPE_PROPERTY_NAME, HeisenbergExtension.class.getName()));
+
+    validatedExtensionsFolder = temporaryFolder.newFolder("validated");
+    cache = new ExtensionModelCache(validatedExtensionsFolder);
+  }
+
+  @Test
+  public void manifestParsedOnce() {
+    AtomicInteger parsed = new AtomicInteger();
+    ExtensionManifest parsedManifest = cache.getManifest("<manifest/>", xml -> {
+      parsed.incrementAndGet();
+      return manifest;
+    });
+
+    assertThat(cache.getManifest("<manifest/>", xml -> mock(ExtensionManifest.class)), is(sameInstance(parsedManifest)));
+    assertThat(parsed.get(), is(1));
+  }
+
+  @Test
+  public void sameKeyForCopiesOfSamePlugin() throws Exception {
+    Optional<File> descriptor = createPluginDescriptor("app1", "content");
+    Optional<File> otherDescriptor = createPluginDescriptor("app2", "content");
+
+    assertThat(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, descriptor).get(),
+               equalTo(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, otherDescriptor).get()));
+  }
+
+  @Test
+  public void differentKeyForDifferentPluginDescriptor() throws Exception {
+    Optional<File> descriptor = createPluginDescriptor("app1", "content");
+    Optional<File> otherDescriptor = createPluginDescriptor("app2", "other content");
+
+    assertThat(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, descriptor).get(),
+               not(equalTo(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, otherDescriptor).get())));
+  }
+
+  @Test
+  public void differentKeyForDifferentPluginCoordinates() throws Exception {
+    Optional<File> descriptor = createPluginDescriptor("app1", "content");
+
+    assertThat(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, descriptor).get(),
+               not(equalTo(cache.getExtensionKey(manifest, "org.mule.tests:heisenberg:4.0.1", descriptor).get())));
+  }
+
+  @Test
+  public void keyWithoutPluginDescriptor() {
+    assertThat(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, empty()).get(),
+               equalTo(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, of(new File("missing"))).get()));
+  }
+
+  @Test
+  public void noKeyForSnapshotPlugin() throws Exception {
+    Optional<File> descriptor = createPluginDescriptor("app1", "content");
+
+    assertThat(cache.getExtensionKey(manifest, "org.mule.tests:heisenberg:4.0.0-SNAPSHOT", descriptor).isPresent(), is(false));
+    when(manifest.getVersion()).thenReturn("4.0.0-SNAPSHOT");
+    assertThat(cache.getExtensionKey(manifest, PLUGIN_COORDINATES, descriptor).isPresent(), is(false));
+  }
+
+  @Test
+  public void validatedExtensionPersisted() throws Exception {
+    String key = cache.getExtensionKey(manifest, PLUGIN_COORDINATES, createPluginDescriptor("app1", "content")).get();
+    assertThat(cache.isValidated(key), is(false));
+
+    cache.setValidated(key);
+
+    assertThat(cache.isValidated(key), is(true));
+    assertThat(new ExtensionModelCache(validatedExtensionsFolder).isValidated(key), is(true));
+    assertThat(new ExtensionModelCache().isValidated(key), is(false));
+  }
+
+  private Optional<File> createPluginDescriptor(String artifactName, String content) throws Exception {
+    File descriptor = new File(temporaryFolder.newFolder(artifactName, "plugin"), "plugin.properties");
+    Files.write(descriptor.toPath(), content.getBytes(UTF_8));
+    return of(descriptor);
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.util.Arrays.asList;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
@@ -13,6 +14,8 @@ import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -46,6 +49,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 public class DynamicConfigurationProviderTestCase extends AbstractConfigurationProviderTestCase<HeisenbergExtension> {
 
   private static final Class MODULE_CLASS = HeisenbergExtension.class;
+  private static final List<Object> DYNAMIC_VALUES = asList("Heisenberg");
 
   @Mock
   private ResolverSet resolverSet;
@@ -66,8 +70,8 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     when(extensionModel.getSourceModels()).thenReturn(ImmutableList.of());
     when(extensionModel.getOperationModels()).thenReturn(ImmutableList.of());
 
-    when(resolverSet.resolve(event)).thenReturn(resolverSetResult);
-
+    when(resolverSet.resolveDynamicValues(event)).thenReturn(DYNAMIC_VALUES);
+    when(resolverSet.resolve(same(event), anyListOf(Object.class))).thenReturn(resolverSetResult);
 
     expirationPolicy = new ImmutableExpirationPolicy(5, MINUTES, timeSupplier);
 
@@ -88,7 +92,16 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
       assertThat(provider.get(event).getValue(), is(sameInstance(config)));
     }
 
-    verify(resolverSet, times(count)).resolve(event);
+    verify(resolverSet, times(count)).resolveDynamicValues(event);
+    verify(resolverSet, times(1)).resolve(event, DYNAMIC_VALUES);
+  }
+
+  @Test
+  public void resolveCachedWithEquivalentDynamicValues() throws Exception {
+    Object config = provider.get(event);
+
+    when(resolverSet.resolveDynamicValues(event)).thenReturn(asList("Heisenberg"));
+    assertThat(provider.get(event), is(sameInstance(config)));
   }
 
   @Test
@@ -122,7 +135,8 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     mockConfigurationInstance(configurationModel, MODULE_CLASS.newInstance());
-    when(resolverSet.resolve(event)).thenReturn(alternateResult);
+    when(resolverSet.resolveDynamicValues(event)).thenReturn(asList("Walter White"));
+    when(resolverSet.resolve(same(event), anyListOf(Object.class))).thenReturn(alternateResult);
 
     return (HeisenbergExtension) provider.get(event).getValue();
   }
@@ -136,7 +150,8 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
   public void resolveDynamicConfigWithDifferentEvent() throws Exception {
     Object config1 = provider.get(event);
 
-    when(resolverSet.resolve(event)).thenReturn(mock(ResolverSetResult.class));
+    when(resolverSet.resolveDynamicValues(event)).thenReturn(asList("Walter White"));
+    when(resolverSet.resolve(same(event), anyListOf(Object.class))).thenReturn(mock(ResolverSetResult.class));
     Object config2 = provider.get(event);
 
     assertThat(config1, is(not(sameInstance(config2))));
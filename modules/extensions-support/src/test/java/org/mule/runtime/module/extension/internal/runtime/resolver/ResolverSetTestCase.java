@@ -6,9 +6,14 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.resolver;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.getParameter;
 import org.mule.runtime.core.api.MuleContext;
@@ -93,6 +98,56 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     assertThat(set.isDynamic(), is(true));
   }
 
+  @Test
+  public void constantResultBuiltOnce() throws Exception {
+    ResolverSet constantSet = new ResolverSet();
+    constantSet.add("myName", new StaticValueResolver<>(NAME));
+    constantSet.add("age", new StaticValueResolver<>(AGE));
+
+    ResolverSetResult result = constantSet.resolve(event);
+    assertThat(result.get("myName"), is(NAME));
+    assertThat(result.get("age"), is(AGE));
+    assertThat(constantSet.resolve(event), is(sameInstance(result)));
+  }
+
+  @Test
+  public void nonConstantResultBuiltPerEvent() throws Exception {
+    assertThat(set.resolve(event), is(not(sameInstance(set.resolve(event)))));
+  }
+
+  @Test
+  public void resolveDynamicValuesOnly() throws Exception {
+    ValueResolver dynamicResolver = getResolver("Heisenberg");
+    when(dynamicResolver.isDynamic()).thenReturn(true);
+    set.add("alias", dynamicResolver);
+
+    assertThat(set.resolveDynamicValues(event), is(asList("Heisenberg")));
+    for (ValueResolver resolver : mapping.values()) {
+      verify(resolver, never()).resolve(event);
+    }
+  }
+
+  @Test
+  public void resolveWithDynamicValues() throws Exception {
+    ValueResolver dynamicResolver = getResolver("Heisenberg");
+    when(dynamicResolver.isDynamic()).thenReturn(true);
+    set.add("alias", dynamicResolver);
+
+    ResolverSetResult result = set.resolve(event, asList("Walter White"));
+    assertResult(result, mapping);
+    assertThat(result.get("alias"), is("Walter White"));
+    verify(dynamicResolver, never()).resolve(event);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void resolveWithMissingDynamicValues() throws Exception {
+    ValueResolver dynamicResolver = getResolver("Heisenberg");
+    when(dynamicResolver.isDynamic()).thenReturn(true);
+    set.add("alias", dynamicResolver);
+
+    set.resolve(event, asList());
+  }
+
   private void assertResult(ResolverSetResult result, Map<ParameterModel, ValueResolver> mapping) throws Exception {
     assertThat(result, is(notNullValue()));
     for (Map.Entry<ParameterModel, ValueResolver> entry : mapping.entrySet()) {
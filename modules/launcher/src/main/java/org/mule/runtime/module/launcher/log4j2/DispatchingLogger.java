@@ -11,10 +11,15 @@ import static org.reflections.ReflectionUtils.getAllMethods;
 import static org.reflections.ReflectionUtils.withName;
 import static org.reflections.ReflectionUtils.withParameters;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
@@ -41,15 +46,26 @@ import org.apache.logging.log4j.spi.ExtendedLogger;
  * Because this class is a fix for issues in static loggers, it must not hold any reference to any {@link java.lang.ClassLoader}
  * since otherwise that class loader would be GC unreachable. For that reason, it uses {@link #ownerClassLoaderHash} instead of
  * the real reference
+ * <p/>
+ * Since this wrapper is in the path of every log event, the logger resolved for each context class loader is cached, so that
+ * logging again from any of those class loaders doesn't need to go through the {@link #contextSelector} and doesn't create any
+ * garbage, even when threads of different applications use the same logger. Both the class loaders and the resolved loggers are
+ * weakly referenced in the cache, and the cached entries of all the instances are discarded through
+ * {@link #invalidateResolvedLoggers()} whenever a {@link LoggerContext} is disposed.
  *
  * @since 3.6.0
  */
 abstract class DispatchingLogger extends Logger {
 
+  private static final AtomicInteger resolvedLoggersGeneration = new AtomicInteger();
+
   private final Logger originalLogger;
   private Method updateConfigurationMethod = null;
   private final ContextSelector contextSelector;
   private final int ownerClassLoaderHash;
+  // a single segment is enough since entries are only added when a class loader is first seen, and keeps each instance small
+  private final Cache<ClassLoader, ResolvedLogger> resolvedLoggers =
+      CacheBuilder.newBuilder().weakKeys().concurrencyLevel(1).build();
 
   DispatchingLogger(Logger originalLogger, int ownerClassLoaderHash, LoggerContext loggerContext, ContextSelector contextSelector,
                     MessageFactory messageFactory) {
@@ -60,8 +76,33 @@ abstract class DispatchingLogger extends Logger {
   }
 
 
+  /**
+   * Discards the loggers cached by all the instances of this class, so that they are resolved again the next time they are used.
+   * Must be invoked whenever a {@link LoggerContext} is disposed.
+   */
+  static void invalidateResolvedLoggers() {
+    resolvedLoggersGeneration.incrementAndGet();
+  }
+
   private Logger getLogger() {
-    final ClassLoader currentClassLoader = resolveLoggerContextClassLoader(Thread.currentThread().getContextClassLoader());
+    final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    final int generation = resolvedLoggersGeneration.get();
+
+    ResolvedLogger resolved = resolvedLoggers.getIfPresent(contextClassLoader);
+    if (resolved != null) {
+      Logger logger = resolved.getLogger(generation);
+      if (logger != null) {
+        return logger;
+      }
+    }
+
+    Logger logger = resolveLogger(contextClassLoader);
+    resolvedLoggers.put(contextClassLoader, new ResolvedLogger(logger, generation));
+    return logger;
+  }
+
+  private Logger resolveLogger(ClassLoader contextClassLoader) {
+    final ClassLoader currentClassLoader = resolveLoggerContextClassLoader(contextClassLoader);
     if (useThisLoggerContextClassLoader(currentClassLoader)) {
       return originalLogger;
     }
@@ -856,4 +897,28 @@ abstract class DispatchingLogger extends Logger {
   public void warn(String message, Throwable t) {
     getLogger().warn(message, t);
   }
+
+  /**
+   * The {@link Logger} resolved for a given context class loader, none of which are kept from being garbage collected.
+   */
+  private static final class ResolvedLogger {
+
+    private final WeakReference<Logger> logger;
+    private final int generation;
+
+    private ResolvedLogger(Logger logger, int generation) {
+      this.logger = new WeakReference<>(logger);
+      this.generation = generation;
+    }
+
+    /**
+     * @return the resolved {@link Logger} if it is still valid, {@code null} otherwise
+     */
+    private Logger getLogger(int currentGeneration) {
+      if (generation != currentGeneration) {
+        return null;
+      }
+      return logger.get();
+    }
+  }
 }
@@ -8,6 +8,7 @@ package org.mule.runtime.module.launcher.log4j2;
 
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.module.launcher.log4j2.DispatchingLogger.invalidateResolvedLoggers;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.core.api.config.MuleProperties;
@@ -183,6 +184,7 @@ final class LoggerContextCache implements Disposable {
     }
 
     disposedContexts.put(key, loggerContext);
+    invalidateResolvedLoggers();
     synchronized (executorService) {
       if (!executorService.isShutdown()) {
         executorService.schedule(new Runnable() {
@@ -219,5 +221,6 @@ final class LoggerContextCache implements Disposable {
     builtContexts.clear();
     disposedContexts.invalidateAll();
     disposedContexts.cleanUp();
+    invalidateResolvedLoggers();
   }
 }
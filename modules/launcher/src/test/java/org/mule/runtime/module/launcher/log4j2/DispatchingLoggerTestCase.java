@@ -7,9 +7,12 @@
 package org.mule.runtime.module.launcher.log4j2;
 
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
+import static org.mule.runtime.module.launcher.log4j2.DispatchingLogger.invalidateResolvedLoggers;
+
 import org.mule.runtime.module.artifact.classloader.ArtifactClassLoader;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
@@ -92,4 +95,33 @@ public class DispatchingLoggerTestCase extends AbstractMuleTestCase {
     });
   }
 
+  @Test
+  public void resolvedLoggerIsReused() {
+    withContextClassLoader(artifactClassLoader, () -> {
+      logger.info(MESSAGE);
+      logger.info(MESSAGE);
+      verify(contextSelector, times(1)).getContext(LOGGER_NAME, artifactClassLoader, true);
+    });
+  }
+
+  @Test
+  public void resolvedLoggersAreKeptForEachClassLoader() {
+    withContextClassLoader(artifactClassLoader, () -> logger.info(MESSAGE));
+    logger.info(MESSAGE);
+    withContextClassLoader(artifactClassLoader, () -> logger.info(MESSAGE));
+
+    verify(originalLogger).info(MESSAGE);
+    verify(contextSelector, times(1)).getContext(LOGGER_NAME, artifactClassLoader, true);
+  }
+
+  @Test
+  public void resolvedLoggerIsDiscardedWhenInvalidated() {
+    withContextClassLoader(artifactClassLoader, () -> {
+      logger.info(MESSAGE);
+      invalidateResolvedLoggers();
+      logger.info(MESSAGE);
+      verify(contextSelector, times(2)).getContext(LOGGER_NAME, artifactClassLoader, true);
+    });
+  }
+
 }
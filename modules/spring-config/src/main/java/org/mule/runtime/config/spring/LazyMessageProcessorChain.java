@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.util.Collections.emptyList;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.util.ClassUtils.withContextClassLoader;
+import static org.mule.runtime.core.util.NotificationUtils.buildPathResolver;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.just;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.DefaultMuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.exception.MessagingExceptionHandler;
+import org.mule.runtime.core.api.processor.DefaultMessageProcessorPathElement;
+import org.mule.runtime.core.api.processor.MessageProcessorChain;
+import org.mule.runtime.core.api.processor.MessageProcessorPathElement;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.processor.chain.DefaultMessageProcessorChainBuilder;
+import org.mule.runtime.core.processor.chain.DynamicMessageProcessorContainer;
+import org.mule.runtime.core.util.NotificationUtils.FlowMap;
+
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+
+/**
+ * A {@link MessageProcessorChain} which only creates the {@link Processor}s of a flow when it processes its first {@link Event}.
+ * <p>
+ * The {@link Processor}s are obtained from a prototype bean of the {@link BeanFactory}, so neither them nor their inner beans are
+ * created until then. The lifecycle this chain went through up to that moment is then applied on them. Meanwhile, the rest of
+ * the flow, including its message source, is created and started as usual.
+ * <p>
+ * Since the paths of the flow are resolved before its {@link Processor}s exist, this chain registers itself as a
+ * {@link DynamicMessageProcessorContainer} so that, once created, they get the same paths as if they had been created eagerly.
+ *
+ * @since 4.0
+ */
+public class LazyMessageProcessorChain implements MessageProcessorChain, DynamicMessageProcessorContainer, BeanFactoryAware {
+
+  /**
+   * System property to create the {@link Processor}s of the flows of an artifact only when each flow receives its first message.
+   */
+  public static final String LAZY_FLOW_PROCESSORS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.lazyFlowProcessors";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LazyMessageProcessorChain.class);
+
+  private final String processorsBeanName;
+
+  private BeanFactory beanFactory;
+  private MuleContext muleContext;
+  private FlowConstruct flowConstruct;
+  private MessagingExceptionHandler messagingExceptionHandler;
+  private MessageProcessorPathElement pathElement;
+  private boolean started = false;
+
+  private volatile MessageProcessorChain chain;
+
+  /**
+   * @param processorsBeanName the name of the prototype bean which provides the {@link List} of {@link Processor}s of the chain
+   */
+  public LazyMessageProcessorChain(String processorsBeanName) {
+    this.processorsBeanName = processorsBeanName;
+  }
+
+  @Override
+  public Event process(Event event) throws MuleException {
+    return getChain().process(event);
+  }
+
+  @Override
+  public Publisher<Event> apply(Publisher<Event> publisher) {
+    return from(publisher).concatMap(event -> {
+      try {
+        return just(event).transform(getChain());
+      } catch (MuleException e) {
+        throw propagate(e);
+      }
+    });
+  }
+
+  private MessageProcessorChain getChain() throws MuleException {
+    MessageProcessorChain currentChain = chain;
+    if (currentChain == null) {
+      synchronized (this) {
+        currentChain = chain;
+        if (currentChain == null) {
+          currentChain = createChain();
+          chain = currentChain;
+        }
+      }
+    }
+    return currentChain;
+  }
+
+  private MessageProcessorChain createChain() throws MuleException {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Creating the processors of flow '{}'", flowConstruct != null ? flowConstruct.getName() : processorsBeanName);
+    }
+
+    List<Processor> processors;
+    try {
+      processors = withContextClassLoader(muleContext.getExecutionClassLoader(),
+                                          () -> (List<Processor>) beanFactory.getBean(processorsBeanName));
+    } catch (BeansException e) {
+      throw new DefaultMuleException("Could not create the processors of '" + processorsBeanName + "'", e);
+    }
+
+    MessageProcessorChain newChain = new DefaultMessageProcessorChainBuilder().chain(processors).build();
+    newChain.setMuleContext(muleContext);
+    newChain.setFlowConstruct(flowConstruct);
+    if (messagingExceptionHandler != null) {
+      newChain.setMessagingExceptionHandler(messagingExceptionHandler);
+    }
+    if (pathElement != null) {
+      newChain.addMessageProcessorPathElements(pathElement);
+    }
+
+    initialiseIfNeeded(newChain, muleContext);
+    if (started) {
+      startIfNeeded(newChain);
+    }
+    return newChain;
+  }
+
+  /**
+   * @return whether the {@link Processor}s of this chain were already created
+   */
+  public boolean isCreated() {
+    return chain != null;
+  }
+
+  @Override
+  public List<Processor> getMessageProcessors() {
+    MessageProcessorChain currentChain = chain;
+    return currentChain != null ? currentChain.getMessageProcessors() : emptyList();
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    // the processors are initialised once they are created
+  }
+
+  @Override
+  public synchronized void start() throws MuleException {
+    started = true;
+    if (chain != null) {
+      startIfNeeded(chain);
+    }
+  }
+
+  @Override
+  public synchronized void stop() throws MuleException {
+    started = false;
+    if (chain != null) {
+      stopIfNeeded(chain);
+    }
+  }
+
+  @Override
+  public synchronized void dispose() {
+    if (chain != null) {
+      disposeIfNeeded(chain, LOGGER);
+    }
+  }
+
+  @Override
+  public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+    this.beanFactory = beanFactory;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext muleContext) {
+    this.muleContext = muleContext;
+  }
+
+  @Override
+  public void setFlowConstruct(FlowConstruct flowConstruct) {
+    this.flowConstruct = flowConstruct;
+  }
+
+  @Override
+  public void setMessagingExceptionHandler(MessagingExceptionHandler messagingExceptionHandler) {
+    this.messagingExceptionHandler = messagingExceptionHandler;
+  }
+
+  @Override
+  public void addMessageProcessorPathElements(MessageProcessorPathElement pathElement) {
+    // the path elements of the processors are added once they are created
+    this.pathElement = pathElement;
+    if (pathElement.getParent() instanceof DefaultMessageProcessorPathElement) {
+      // the flow only looks for dynamic containers among the processors in its paths
+      ((DefaultMessageProcessorPathElement) pathElement.getParent())
+          .addChild(new DefaultMessageProcessorPathElement(this, pathElement.getName()));
+    }
+  }
+
+  @Override
+  public FlowMap buildInnerPaths() {
+    return chain != null && pathElement != null ? buildPathResolver(pathElement) : null;
+  }
+}
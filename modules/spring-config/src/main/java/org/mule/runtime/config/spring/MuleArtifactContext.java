@@ -6,12 +6,16 @@
  */
 package org.mule.runtime.config.spring;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang.StringUtils.join;
 import static org.apache.commons.lang3.ArrayUtils.addAll;
+import static org.mule.runtime.config.spring.LazyMessageProcessorChain.LAZY_FLOW_PROCESSORS_PROPERTY;
+import static org.mule.runtime.config.spring.XmlConfigurationDocumentCache.DOCUMENT_CACHE_ENABLED_PROPERTY;
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.CONFIGURATION_IDENTIFIER;
+import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.FLOW_IDENTIFIER;
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.MULE_IDENTIFIER;
 import static org.mule.runtime.config.spring.dsl.spring.BeanDefinitionFactory.SPRING_SINGLETON_OBJECT;
 import static org.mule.runtime.config.spring.parsers.generic.AutoIdUtils.uniqueValue;
@@ -22,12 +26,14 @@ import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEX
 import static org.mule.runtime.core.exception.ErrorTypeLocatorFactory.createDefaultErrorTypeLocator;
 import static org.mule.runtime.core.exception.ErrorTypeRepositoryFactory.createDefaultErrorTypeRepository;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
 import static org.springframework.context.annotation.AnnotationConfigUtils.AUTOWIRED_ANNOTATION_PROCESSOR_BEAN_NAME;
 import static org.springframework.context.annotation.AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME;
 import static org.springframework.context.annotation.AnnotationConfigUtils.REQUIRED_ANNOTATION_PROCESSOR_BEAN_NAME;
 import org.mule.runtime.api.meta.model.XmlDslModel;
 import org.mule.runtime.api.metadata.MetadataService;
+import org.mule.runtime.config.spring.XmlConfigurationDocumentLoader.MuleLoggerErrorHandler;
 import org.mule.runtime.config.spring.dsl.api.xml.StaticXmlNamespaceInfo;
 import org.mule.runtime.config.spring.dsl.api.xml.StaticXmlNamespaceInfoProvider;
 import org.mule.runtime.config.spring.dsl.model.ApplicationModel;
@@ -73,25 +79,33 @@ import org.mule.runtime.extension.api.ExtensionManager;
 
 import com.google.common.collect.ImmutableList;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.factory.annotation.RequiredAnnotationBeanPostProcessor;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ListFactoryBean;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionReader;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.CglibSubclassingInstantiationStrategy;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.ManagedList;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionStoreException;
 import org.springframework.context.annotation.ConfigurationClassPostProcessor;
 import org.springframework.context.annotation.ContextAnnotationAutowireCandidateResolver;
 import org.springframework.context.support.AbstractXmlApplicationContext;
@@ -99,6 +113,8 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 
 /**
  * <code>MuleArtifactContext</code> is a simple extension application context that allows resources to be loaded from the
@@ -108,6 +124,8 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
 
   private static final ThreadLocal<MuleContext> currentMuleContext = new ThreadLocal<>();
   public static final String INNER_BEAN_PREFIX = "(inner bean)";
+  private static final String FLOW_PROCESSORS_PROPERTY = "messageProcessors";
+  private static final String LAZY_FLOW_PROCESSORS_BEAN_SUFFIX = ".lazyProcessors";
 
   protected final ComponentBuildingDefinitionRegistry componentBuildingDefinitionRegistry =
       new ComponentBuildingDefinitionRegistry();
@@ -115,6 +133,8 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
   private final Map<String, String> artifactProperties;
   private final ArtifactConfiguration artifactConfiguration;
   private final XmlConfigurationDocumentLoader xmlConfigurationDocumentLoader = new XmlConfigurationDocumentLoader();
+  private final Map<Resource, Document> artifactConfigDocuments = new HashMap<>();
+  private final Map<Resource, SAXParseException> artifactConfigValidationErrors = new HashMap<>();
   protected ApplicationModel applicationModel;
   protected MuleContext muleContext;
   private Resource[] artifactConfigResources;
@@ -204,9 +224,11 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
       applicationConfigBuilder.setApplicationProperties(this.artifactProperties);
       //looks for every module in the current classpath ONCE per app, and caches them in the moduleExtensionStore object
       ModuleExtensionStore moduleExtensionStore = new ModuleExtensionStore();
+      XmlConfigurationDocumentCache documentCache = getBoolean(DOCUMENT_CACHE_ENABLED_PROPERTY)
+          ? new XmlConfigurationDocumentCache(new File(muleContext.getConfiguration().getWorkingDirectory(), "config-cache"))
+          : null;
       for (Resource springResource : artifactConfigResources) {
-        Document document =
-            xmlConfigurationDocumentLoader.loadDocument(Optional.of(moduleExtensionStore), springResource.getInputStream());
+        Document document = loadConfigDocument(springResource, moduleExtensionStore, documentCache);
         ConfigLine mainConfigLine = xmlApplicationParser.parse(document.getDocumentElement()).get();
         applicationConfigBuilder.addConfigFile(new ConfigFile(getFilename(springResource), asList(mainConfigLine)));
       }
@@ -219,6 +241,36 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
     }
   }
 
+  /**
+   * Loads the {@link Document} of a configuration resource, which is kept so that the old parsing mechanism doesn't have to parse
+   * and validate it again.
+   */
+  private Document loadConfigDocument(Resource resource, ModuleExtensionStore moduleExtensionStore,
+                                      XmlConfigurationDocumentCache documentCache)
+      throws IOException {
+    byte[] content;
+    try (InputStream inputStream = resource.getInputStream()) {
+      content = IOUtils.toByteArray(inputStream);
+    }
+
+    Optional<Document> cachedDocument = documentCache != null ? documentCache.get(content) : Optional.empty();
+    Document document;
+    if (cachedDocument.isPresent()) {
+      document = cachedDocument.get();
+    } else {
+      ValidationErrorCollector errorCollector = new ValidationErrorCollector();
+      document = xmlConfigurationDocumentLoader.loadDocument(Optional.of(moduleExtensionStore), new ByteArrayInputStream(content),
+                                                             errorCollector);
+      if (errorCollector.getFirstError() != null) {
+        artifactConfigValidationErrors.put(resource, errorCollector.getFirstError());
+      } else if (documentCache != null) {
+        documentCache.put(content, document);
+      }
+    }
+    artifactConfigDocuments.put(resource, document);
+    return document;
+  }
+
   private String getFilename(Resource resource) {
     if (resource instanceof ByteArrayResource) {
       return resource.getDescription();
@@ -299,15 +351,70 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
                                                     BeanDefinitionReader beanDefinitionReader) {
     if (useNewParsingMechanism) {
       createApplicationComponents(beanFactory, applicationModel, true);
+      if (getBoolean(LAZY_FLOW_PROCESSORS_PROPERTY)) {
+        makeFlowProcessorsLazy(beanFactory);
+      }
     } else {
       // TODO MULE-9638 - Remove log line
       logger
           .info("Using mixed mechanism to load configuration since there are some components that were not yet migrated to the new mechanism: "
               + getOldParsingMechanismComponentIdentifiers());
-      beanDefinitionReader.loadBeanDefinitions(getConfigResources());
+      if (beanDefinitionReader instanceof MuleXmlBeanDefinitionReader) {
+        loadBeanDefinitionsFromConfigDocuments((MuleXmlBeanDefinitionReader) beanDefinitionReader);
+      } else {
+        beanDefinitionReader.loadBeanDefinitions(getConfigResources());
+      }
+    }
+  }
+
+  /**
+   * Registers the bean definitions of the {@link Document}s already loaded to create the {@link ApplicationModel}, failing with
+   * the first validation error of a resource as it would happen when loading it from the {@link BeanDefinitionReader}.
+   */
+  private void loadBeanDefinitionsFromConfigDocuments(MuleXmlBeanDefinitionReader beanDefinitionReader) {
+    for (Resource resource : getConfigResources()) {
+      SAXParseException validationError = artifactConfigValidationErrors.get(resource);
+      if (validationError != null) {
+        throw new XmlBeanDefinitionStoreException(resource.getDescription(), "Line " + validationError.getLineNumber()
+            + " in XML document from " + resource + " is invalid", validationError);
+      }
+      beanDefinitionReader.loadBeanDefinitions(artifactConfigDocuments.get(resource), resource);
     }
   }
 
+  /**
+   * Moves the processors of each flow to a prototype bean and replaces them with a {@link LazyMessageProcessorChain}, so that they
+   * are only created once the flow processes its first message. Message sources are still created and started with the flow.
+   * <p>
+   * Sub-flows are not transformed since they are already prototypes, created for each {@code flow-ref} that points to them. Thus,
+   * the sub-flows referenced from a flow are created, initialised and started along with the processors of that flow.
+   */
+  private void makeFlowProcessorsLazy(DefaultListableBeanFactory beanFactory) {
+    applicationModel.executeOnEveryMuleComponentTree(componentModel -> {
+      String flowName = componentModel.getNameAttribute();
+      if (!componentModel.isRoot() || !FLOW_IDENTIFIER.equals(componentModel.getIdentifier()) || flowName == null
+          || !beanFactory.containsBeanDefinition(flowName)) {
+        return;
+      }
+
+      BeanDefinition flowDefinition = beanFactory.getBeanDefinition(flowName);
+      PropertyValue processors = flowDefinition.getPropertyValues().getPropertyValue(FLOW_PROCESSORS_PROPERTY);
+      if (processors == null) {
+        return;
+      }
+
+      String processorsBeanName = flowName + LAZY_FLOW_PROCESSORS_BEAN_SUFFIX;
+      BeanDefinition processorsDefinition = genericBeanDefinition(ListFactoryBean.class)
+          .addPropertyValue("sourceList", processors.getValue()).setScope(SCOPE_PROTOTYPE).getBeanDefinition();
+      beanFactory.registerBeanDefinition(processorsBeanName, processorsDefinition);
+
+      ManagedList<BeanDefinition> lazyProcessors = new ManagedList<>();
+      lazyProcessors.add(genericBeanDefinition(LazyMessageProcessorChain.class).addConstructorArgValue(processorsBeanName)
+          .getBeanDefinition());
+      flowDefinition.getPropertyValues().add(FLOW_PROCESSORS_PROPERTY, lazyProcessors);
+    });
+  }
+
   protected List<String> createApplicationComponents(DefaultListableBeanFactory beanFactory, ApplicationModel applicationModel,
                                                      boolean mustBeRoot) {
     List<String> createdComponentModels = new ArrayList<>();
@@ -536,4 +643,24 @@ public class MuleArtifactContext extends AbstractXmlApplicationContext {
       return providers;
     }
   }
+
+  /**
+   * Keeps the first validation error of a configuration document, besides logging all of them.
+   */
+  private static class ValidationErrorCollector extends MuleLoggerErrorHandler {
+
+    private SAXParseException firstError;
+
+    @Override
+    public void error(SAXParseException e) throws SAXException {
+      super.error(e);
+      if (firstError == null) {
+        firstError = e;
+      }
+    }
+
+    public SAXParseException getFirstError() {
+      return firstError;
+    }
+  }
 }
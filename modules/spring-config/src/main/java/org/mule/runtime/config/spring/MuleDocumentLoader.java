@@ -47,7 +47,7 @@ final public class MuleDocumentLoader implements DocumentLoader {
 
   private static final String DEFER_NODE_EXPANSION_FEATURE_KEY = "http://apache.org/xml/features/dom/defer-node-expansion";
 
-  private static final UserDataHandler COPY_METADATA_ANNOTATIONS_DATA_HANDLER = new UserDataHandler() {
+  static final UserDataHandler COPY_METADATA_ANNOTATIONS_DATA_HANDLER = new UserDataHandler() {
 
     @Override
     public void handle(short operation, String key, Object data, Node src, Node dst) {
@@ -14,6 +14,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.xml.BeanDefinitionDocumentReader;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.factory.xml.XmlReaderContext;
+import org.springframework.core.io.Resource;
 import org.w3c.dom.Document;
 
 /**
@@ -38,6 +39,26 @@ public class MuleXmlBeanDefinitionReader extends XmlBeanDefinitionReader impleme
     this.beanDefinitionDocumentReader = beanDefinitionDocumentReader;;
   }
 
+  /**
+   * Load bean definitions from an already loaded and validated {@link Document}, so that its resource doesn't have to be parsed
+   * again.
+   *
+   * @param document the document loaded from the resource
+   * @param resource the resource descriptor for the XML file
+   * @return the number of bean definitions found
+   * @throws BeanDefinitionStoreException in case of parsing errors
+   */
+  public int loadBeanDefinitions(Document document, Resource resource) throws BeanDefinitionStoreException {
+    try {
+      return registerBeanDefinitions(document, resource);
+    } catch (BeanDefinitionStoreException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new BeanDefinitionStoreException(resource.getDescription(), "Unexpected exception parsing XML document from "
+          + resource, e);
+    }
+  }
+
   @Override
   protected BeanDefinitionDocumentReader createBeanDefinitionDocumentReader() {
     return beanDefinitionDocumentReader;
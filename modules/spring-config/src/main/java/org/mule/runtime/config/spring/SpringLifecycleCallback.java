@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.spring;
 
+import static java.util.Collections.emptyList;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.core.lifecycle.LifecycleObject;
 import org.mule.runtime.core.lifecycle.RegistryLifecycleCallback;
@@ -15,6 +16,7 @@ import com.google.common.collect.TreeTraverser;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -26,12 +28,14 @@ import java.util.Set;
  * those dependencies first (recursively).
  * <p/>
  * This guarantees that if object A depends on object B and C, necessary lifecycle phases will have been applied on B and C before
- * it is applied to A
+ * it is applied to A, also when the phase is applied on several objects at the same time.
  *
  * @since 3.7.0
  */
 class SpringLifecycleCallback extends RegistryLifecycleCallback<SpringRegistry> {
 
+  private Map<Object, List<Object>> lifecycleDependencies = new IdentityHashMap<>();
+
   public SpringLifecycleCallback(RegistryLifecycleManager registryLifecycleManager) {
     super(registryLifecycleManager);
   }
@@ -39,6 +43,7 @@ class SpringLifecycleCallback extends RegistryLifecycleCallback<SpringRegistry>
   @Override
   protected Collection<?> lookupObjectsForLifecycle(LifecycleObject lo) {
     Map<String, Object> objects = getSpringRegistry().lookupEntriesForLifecycle(lo.getType());
+    lifecycleDependencies = new IdentityHashMap<>();
 
     final DependencyNode root = new DependencyNode(null);
 
@@ -66,6 +71,12 @@ class SpringLifecycleCallback extends RegistryLifecycleCallback<SpringRegistry>
     return orderedObjects;
   }
 
+  @Override
+  protected Collection<?> getLifecycleDependencies(Object target) {
+    List<Object> dependencies = lifecycleDependencies.get(target);
+    return dependencies != null ? dependencies : emptyList();
+  }
+
   private SpringRegistry getSpringRegistry() {
     return (SpringRegistry) registryLifecycleManager.getLifecycleObject();
   }
@@ -82,6 +93,7 @@ class SpringLifecycleCallback extends RegistryLifecycleCallback<SpringRegistry>
     if (!processedKeys.contains(key)) {
       processedKeys.add(key);
       for (Map.Entry<String, Object> dependency : getSpringRegistry().getDependencies(key).entrySet()) {
+        lifecycleDependencies.computeIfAbsent(object, o -> new LinkedList<>()).add(dependency.getValue());
         addDependency(node, dependency.getKey(), dependency.getValue(), processedKeys);
       }
     }
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.mule.runtime.config.spring.MuleDocumentLoader.COPY_METADATA_ANNOTATIONS_DATA_HANDLER;
+import static org.mule.runtime.config.spring.parsers.XmlMetadataAnnotations.METADATA_ANNOTATIONS_KEY;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import org.mule.runtime.config.spring.parsers.DefaultXmlMetadataAnnotations;
+import org.mule.runtime.config.spring.parsers.XmlMetadataAnnotations;
+import org.mule.runtime.core.config.MuleManifest;
+
+import com.google.common.hash.Hashing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.UserDataHandler;
+
+/**
+ * Keeps on disk a binary copy of the {@link Document}s loaded from mule configuration files, so that a configuration file which
+ * didn't change since it was last loaded doesn't have to be parsed and validated against its schemas again.
+ * <p>
+ * Documents are keyed by a hash of the content of the configuration file and the version of the runtime. The copy keeps the
+ * elements, attributes, text and {@link XmlMetadataAnnotations} of the document. Since the attributes which were added from the
+ * schema defaults can't be marked as not specified in a new {@link Document}, their names are kept in the
+ * {@link #DEFAULTED_ATTRIBUTES_KEY} user data of their element.
+ * <p>
+ * Only documents without validation errors should be cached, since the errors are not kept.
+ *
+ * @since 4.0
+ */
+public class XmlConfigurationDocumentCache {
+
+  /**
+   * System property to enable the cache of the configuration files of the artifacts.
+   */
+  public static final String DOCUMENT_CACHE_ENABLED_PROPERTY = SYSTEM_PROPERTY_PREFIX + "config.documentCache";
+
+  /**
+   * Key of the user data of an {@link Element} with the {@link Set} of names of the attributes which were not specified in the
+   * configuration file but were added from the schema defaults.
+   */
+  public static final String DEFAULTED_ATTRIBUTES_KEY = "defaultedAttributes";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(XmlConfigurationDocumentCache.class);
+
+  private static final int FORMAT_VERSION = 1;
+  private static final String CACHED_DOCUMENT_EXTENSION = ".document";
+
+  private static final byte ELEMENT = 0;
+  private static final byte TEXT = 1;
+  private static final byte CDATA = 2;
+  private static final byte COMMENT = 3;
+
+  private static final UserDataHandler COPY_DEFAULTED_ATTRIBUTES_DATA_HANDLER = (operation, key, data, src, dst) -> {
+    if (operation == UserDataHandler.NODE_IMPORTED || operation == UserDataHandler.NODE_CLONED) {
+      dst.setUserData(DEFAULTED_ATTRIBUTES_KEY, data, COPY_DEFAULTED_ATTRIBUTES_DATA_HANDLER);
+    }
+  };
+
+  private final File directory;
+  private final DocumentBuilderFactory documentBuilderFactory;
+
+  /**
+   * @param directory the directory where the documents are kept. It is created if it doesn't exist.
+   */
+  public XmlConfigurationDocumentCache(File directory) {
+    this.directory = directory;
+    this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
+    this.documentBuilderFactory.setNamespaceAware(true);
+  }
+
+  /**
+   * @param content the content of the configuration file
+   * @return the {@link Document} cached for the given content, or {@link Optional#empty()} if there's none
+   */
+  public Optional<Document> get(byte[] content) {
+    File file = getCachedDocumentFile(content);
+    if (!file.exists()) {
+      return Optional.empty();
+    }
+
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+      if (input.readInt() != FORMAT_VERSION) {
+        return Optional.empty();
+      }
+      Document document = documentBuilderFactory.newDocumentBuilder().newDocument();
+      document.appendChild(readNode(input, document));
+      return Optional.of(document);
+    } catch (Exception e) {
+      LOGGER.warn(format("Could not read cached configuration document '%s', it will be discarded", file), e);
+      file.delete();
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Caches a {@link Document} for the given content. Failing to cache it is logged, but doesn't cause an error.
+   *
+   * @param content the content of the configuration file
+   * @param document the {@link Document} loaded and validated from the given content
+   */
+  public void put(byte[] content, Document document) {
+    File file = getCachedDocumentFile(content);
+    try {
+      directory.mkdirs();
+      Path temporaryFile = Files.createTempFile(directory.toPath(), file.getName(), null);
+      try {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+          output.writeInt(FORMAT_VERSION);
+          writeNode(document.getDocumentElement(), output);
+        }
+        // other artifacts may be loading the same document, so it is only visible once complete
+        try {
+          Files.move(temporaryFile, file.toPath(), ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temporaryFile, file.toPath(), REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temporaryFile);
+      }
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not cache configuration document '%s'", file), e);
+    }
+  }
+
+  private File getCachedDocumentFile(byte[] content) {
+    String hash = Hashing.sha256().newHasher().putString(MuleManifest.getProductVersion(), UTF_8).putBytes(content).hash()
+        .toString();
+    return new File(directory, hash + CACHED_DOCUMENT_EXTENSION);
+  }
+
+  private void writeNode(Node node, DataOutputStream output) throws IOException {
+    switch (node.getNodeType()) {
+      case Node.ELEMENT_NODE:
+        output.writeByte(ELEMENT);
+        writeElement((Element) node, output);
+        break;
+      case Node.CDATA_SECTION_NODE:
+        output.writeByte(CDATA);
+        writeString(node.getNodeValue(), output);
+        break;
+      case Node.TEXT_NODE:
+        output.writeByte(TEXT);
+        writeString(node.getNodeValue(), output);
+        break;
+      case Node.COMMENT_NODE:
+        output.writeByte(COMMENT);
+        writeString(node.getNodeValue(), output);
+        break;
+      default:
+        throw new IOException(format("Unexpected node '%s' of type %d", node.getNodeName(), node.getNodeType()));
+    }
+  }
+
+  private void writeElement(Element element, DataOutputStream output) throws IOException {
+    writeString(element.getNamespaceURI(), output);
+    writeString(element.getNodeName(), output);
+
+    NamedNodeMap attributes = element.getAttributes();
+    output.writeInt(attributes.getLength());
+    for (int i = 0; i < attributes.getLength(); i++) {
+      Attr attribute = (Attr) attributes.item(i);
+      writeString(attribute.getNamespaceURI(), output);
+      writeString(attribute.getName(), output);
+      writeString(attribute.getValue(), output);
+      output.writeBoolean(attribute.getSpecified() && !isDefaultedAttribute(element, attribute));
+    }
+
+    XmlMetadataAnnotations metadataAnnotations = (XmlMetadataAnnotations) element.getUserData(METADATA_ANNOTATIONS_KEY);
+    output.writeBoolean(metadataAnnotations != null);
+    if (metadataAnnotations != null) {
+      output.writeInt(metadataAnnotations.getLineNumber());
+      writeString(metadataAnnotations.getElementString(), output);
+    }
+
+    NodeList children = element.getChildNodes();
+    output.writeInt(children.getLength());
+    for (int i = 0; i < children.getLength(); i++) {
+      writeNode(children.item(i), output);
+    }
+  }
+
+  private boolean isDefaultedAttribute(Element element, Attr attribute) {
+    Set<String> defaultedAttributes = (Set<String>) element.getUserData(DEFAULTED_ATTRIBUTES_KEY);
+    return defaultedAttributes != null && defaultedAttributes.contains(attribute.getName());
+  }
+
+  private Node readNode(DataInputStream input, Document document) throws IOException {
+    byte type = input.readByte();
+    switch (type) {
+      case ELEMENT:
+        return readElement(input, document);
+      case CDATA:
+        return document.createCDATASection(readString(input));
+      case TEXT:
+        return document.createTextNode(readString(input));
+      case COMMENT:
+        return document.createComment(readString(input));
+      default:
+        throw new IOException("Unknown node type " + type);
+    }
+  }
+
+  private Element readElement(DataInputStream input, Document document) throws IOException {
+    Element element = document.createElementNS(readString(input), readString(input));
+
+    Set<String> defaultedAttributes = new HashSet<>();
+    int attributesCount = input.readInt();
+    for (int i = 0; i < attributesCount; i++) {
+      String namespaceUri = readString(input);
+      String name = readString(input);
+      element.setAttributeNS(namespaceUri, name, readString(input));
+      if (!input.readBoolean()) {
+        defaultedAttributes.add(name);
+      }
+    }
+    if (!defaultedAttributes.isEmpty()) {
+      element.setUserData(DEFAULTED_ATTRIBUTES_KEY, defaultedAttributes, COPY_DEFAULTED_ATTRIBUTES_DATA_HANDLER);
+    }
+
+    if (input.readBoolean()) {
+      DefaultXmlMetadataAnnotations metadataAnnotations = new DefaultXmlMetadataAnnotations();
+      metadataAnnotations.setLineNumber(input.readInt());
+      metadataAnnotations.appendElementBody(readString(input));
+      element.setUserData(METADATA_ANNOTATIONS_KEY, metadataAnnotations, COPY_METADATA_ANNOTATIONS_DATA_HANDLER);
+    }
+
+    int childrenCount = input.readInt();
+    for (int i = 0; i < childrenCount; i++) {
+      element.appendChild(readNode(input, document));
+    }
+    return element;
+  }
+
+  private void writeString(String value, DataOutputStream output) throws IOException {
+    if (value == null) {
+      output.writeInt(-1);
+    } else {
+      // element strings and text contents may be longer than what writeUTF supports
+      byte[] bytes = value.getBytes(UTF_8);
+      output.writeInt(bytes.length);
+      output.write(bytes);
+    }
+  }
+
+  private String readString(DataInputStream input) throws IOException {
+    int length = input.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    input.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+}
@@ -17,6 +17,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
+import org.xml.sax.ErrorHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
@@ -48,10 +49,24 @@ public class XmlConfigurationDocumentLoader {
   }
 
   public Document loadDocument(Optional<ModuleExtensionStore> moduleExtensionStore, InputStream inputStream) {
+    return loadDocument(moduleExtensionStore, inputStream, new MuleLoggerErrorHandler());
+  }
+
+  /**
+   * Creates a {@link Document} from an {@link InputStream} with the required configuration of a mule configuration file
+   * parsing, reporting the problems found while validating it to the given {@link ErrorHandler}.
+   *
+   * @param moduleExtensionStore the store of the modules whose schemas may be referenced by the configuration.
+   * @param inputStream the input stream with the XML configuration content.
+   * @param errorHandler the handler to report the validation problems to.
+   * @return a new {@link Document} object with the provided content.
+   */
+  public Document loadDocument(Optional<ModuleExtensionStore> moduleExtensionStore, InputStream inputStream,
+                               ErrorHandler errorHandler) {
     try {
       Document document = new MuleDocumentLoader()
           .loadDocument(new InputSource(inputStream),
-                        new ModuleDelegatingEntityResolver(moduleExtensionStore), new MuleLoggerErrorHandler(),
+                        new ModuleDelegatingEntityResolver(moduleExtensionStore), errorHandler,
                         VALIDATION_XSD, true);
       return document;
     } catch (Exception e) {
@@ -62,7 +77,7 @@ public class XmlConfigurationDocumentLoader {
   /**
    * helper class to gather all errors while applying the found XSDs for the current input stream
    */
-  private static class MuleLoggerErrorHandler extends DefaultHandler {
+  static class MuleLoggerErrorHandler extends DefaultHandler {
 
     @Override
     public void error(SAXParseException e) throws SAXException {
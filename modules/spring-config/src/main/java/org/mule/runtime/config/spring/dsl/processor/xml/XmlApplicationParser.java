@@ -8,6 +8,7 @@
 package org.mule.runtime.config.spring.dsl.processor.xml;
 
 import static java.lang.Thread.currentThread;
+import static org.mule.runtime.config.spring.XmlConfigurationDocumentCache.DEFAULTED_ATTRIBUTES_KEY;
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.SPRING_CONTEXT_NAMESPACE;
 import static org.mule.runtime.config.spring.dsl.model.ApplicationModel.SPRING_NAMESPACE;
 import static org.mule.runtime.config.spring.dsl.processor.xml.XmlCustomAttributeHandler.to;
@@ -27,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.w3c.dom.Attr;
 import org.w3c.dom.Element;
@@ -111,10 +113,13 @@ public class XmlApplicationParser {
     Element element = (Element) node;
     NamedNodeMap attributes = element.getAttributes();
     if (element.hasAttributes()) {
+      // documents taken from the cache can't have unspecified attributes, so the ones from the schema are kept apart
+      Set<String> defaultedAttributes = (Set<String>) element.getUserData(DEFAULTED_ATTRIBUTES_KEY);
       for (int i = 0; i < attributes.getLength(); i++) {
         Node attribute = attributes.item(i);
         Attr attributeNode = element.getAttributeNode(attribute.getNodeName());
-        boolean isFromXsd = !attributeNode.getSpecified();
+        boolean isFromXsd = !attributeNode.getSpecified()
+            || (defaultedAttributes != null && defaultedAttributes.contains(attribute.getNodeName()));
         builder.addConfigAttribute(attribute.getNodeName(), attribute.getNodeValue(), isFromXsd);
       }
     }
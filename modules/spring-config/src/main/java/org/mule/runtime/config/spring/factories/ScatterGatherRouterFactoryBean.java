@@ -25,6 +25,8 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
 
   private boolean parallel = true;
   private long timeout = 0;
+  private long deadline = 0;
+  private int minSuccessfulRoutes = 0;
   private List<Processor> messageProcessors;
   private AggregationStrategy aggregationStrategy;
   private MuleContext muleContext;
@@ -35,6 +37,8 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
     ScatterGatherRouter sg = new ScatterGatherRouter();
     sg.setParallel(parallel);
     sg.setTimeout(timeout);
+    sg.setDeadline(deadline);
+    sg.setMinSuccessfulRoutes(minSuccessfulRoutes);
     sg.setMuleContext(muleContext);
     sg.setFlowConstruct(flowConstruct);
 
@@ -72,6 +76,14 @@ public class ScatterGatherRouterFactoryBean extends AbstractAnnotatedObject
     this.timeout = timeout;
   }
 
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  public void setMinSuccessfulRoutes(int minSuccessfulRoutes) {
+    this.minSuccessfulRoutes = minSuccessfulRoutes;
+  }
+
   public void setAggregationStrategy(AggregationStrategy aggregationStrategy) {
     this.aggregationStrategy = aggregationStrategy;
   }
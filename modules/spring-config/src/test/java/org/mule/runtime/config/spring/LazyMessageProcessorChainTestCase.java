@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.mule.tck.MuleTestUtils.getTestFlow;
+import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.BeanFactory;
+
+public class LazyMessageProcessorChainTestCase extends AbstractMuleContextTestCase {
+
+  private static final String PROCESSORS_BEAN_NAME = "flow.lazyProcessors";
+
+  private final BeanFactory beanFactory = mock(BeanFactory.class);
+  private final Processor processor = mock(Processor.class, withSettings().extraInterfaces(Lifecycle.class));
+
+  private LazyMessageProcessorChain chain;
+  private Event event;
+
+  @Before
+  public void before() throws Exception {
+    when(beanFactory.getBean(PROCESSORS_BEAN_NAME)).thenReturn(singletonList(processor));
+    event = eventBuilder().message(InternalMessage.of(TEST_PAYLOAD)).build();
+    when(processor.process(any(Event.class))).thenReturn(event);
+
+    chain = new LazyMessageProcessorChain(PROCESSORS_BEAN_NAME);
+    chain.setBeanFactory(beanFactory);
+    chain.setMuleContext(muleContext);
+    chain.setFlowConstruct(getTestFlow(muleContext));
+  }
+
+  @Test
+  public void processorsNotCreatedUntilFirstEvent() throws Exception {
+    chain.initialise();
+    chain.start();
+
+    assertThat(chain.isCreated(), is(false));
+    verify(beanFactory, never()).getBean(anyString());
+  }
+
+  @Test
+  public void processorsCreatedOnceWithCurrentLifecycle() throws Exception {
+    chain.initialise();
+    chain.start();
+
+    assertThat(chain.process(event), is(sameInstance(event)));
+    assertThat(chain.process(event), is(sameInstance(event)));
+
+    assertThat(chain.isCreated(), is(true));
+    assertThat(chain.getMessageProcessors(), is(singletonList(processor)));
+    verify(beanFactory, times(1)).getBean(PROCESSORS_BEAN_NAME);
+    verify((Lifecycle) processor).initialise();
+    verify((Lifecycle) processor).start();
+    verify(processor, times(2)).process(event);
+
+    chain.stop();
+    chain.dispose();
+    verify((Lifecycle) processor).stop();
+    verify((Lifecycle) processor).dispose();
+  }
+
+  @Test
+  public void processorsCreatedBeforeStartAreNotStarted() throws Exception {
+    chain.initialise();
+    chain.process(event);
+
+    verify((Lifecycle) processor).initialise();
+    verify((Lifecycle) processor, never()).start();
+
+    chain.start();
+    verify((Lifecycle) processor).start();
+  }
+}
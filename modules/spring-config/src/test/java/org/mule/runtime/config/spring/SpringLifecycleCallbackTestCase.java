@@ -6,19 +6,36 @@
  */
 package org.mule.runtime.config.spring;
 
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_LIFECYCLE_PARALLELISM;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
 import org.mule.tck.size.SmallTest;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
+import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
@@ -29,6 +46,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class SpringLifecycleCallbackTestCase extends AbstractMuleTestCase {
 
+  @Rule
+  public SystemProperty lifecycleParallelism = new SystemProperty(MULE_LIFECYCLE_PARALLELISM, "2");
+
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+
   private SpringRegistryLifecycleManager springRegistryLifecycleManager;
 
   @Mock
@@ -43,10 +65,16 @@ public class SpringLifecycleCallbackTestCase extends AbstractMuleTestCase {
   public void before() {
     springRegistryLifecycleManager = new SpringRegistryLifecycleManager("id", springRegistry, muleContext);
     springRegistryLifecycleManager.registerPhases();
+    when(muleContext.getSchedulerService()).thenReturn(schedulerService);
 
     callback = new SpringLifecycleCallback(springRegistryLifecycleManager);
   }
 
+  @After
+  public void after() throws Exception {
+    schedulerService.stop();
+  }
+
   @Test
   public void phaseAppliesInDependencyOrder() throws Exception {
     Map<String, Initialisable> objects = new LinkedHashMap<>();
@@ -73,6 +101,48 @@ public class SpringLifecycleCallbackTestCase extends AbstractMuleTestCase {
     verifyInitialisation(inOrder, objects, "2", "3", "1", "5", "4");
   }
 
+  @Test
+  public void independentFlowsInitialisedInParallelAfterDependencies() throws Exception {
+    List<String> initialised = synchronizedList(new ArrayList<>());
+    CountDownLatch flow3Initialised = new CountDownLatch(1);
+
+    Map<String, FlowConstruct> flows = new LinkedHashMap<>();
+    flows.put("1", newFlow("1", initialised, () -> {
+    }));
+    // flow 2 can only finish once flow 3 is being initialised at the same time
+    flows.put("2", newFlow("2", initialised, () -> assertThat(flow3Initialised.await(5, SECONDS), is(true))));
+    flows.put("3", newFlow("3", initialised, flow3Initialised::countDown));
+
+    Map<String, Object> dependenciesOf1 = new LinkedHashMap<>();
+    dependenciesOf1.put("2", flows.get("2"));
+    dependenciesOf1.put("3", flows.get("3"));
+
+    when(springRegistry.getDependencies("1")).thenReturn(dependenciesOf1);
+    when(springRegistry.lookupEntriesForLifecycle(FlowConstruct.class)).thenReturn(flows);
+
+    callback.onTransition(Initialisable.PHASE_NAME, springRegistry);
+
+    assertThat(initialised.subList(0, 2), containsInAnyOrder("2", "3"));
+    assertThat(initialised.subList(2, 3), contains("1"));
+  }
+
+  private FlowConstruct newFlow(String name, List<String> initialised, InitialiseAction action) throws Exception {
+    FlowConstruct flow = mock(FlowConstruct.class, withSettings().extraInterfaces(Initialisable.class));
+    when(flow.getName()).thenReturn(name);
+    doAnswer(invocation -> {
+      action.run();
+      initialised.add(name);
+      return null;
+    }).when((Initialisable) flow).initialise();
+    return flow;
+  }
+
+  @FunctionalInterface
+  private interface InitialiseAction {
+
+    void run() throws Exception;
+  }
+
   private void verifyInitialisation(InOrder inOrder, Map<String, Initialisable> objects, String... keys)
       throws InitialisationException {
     for (String key : keys) {
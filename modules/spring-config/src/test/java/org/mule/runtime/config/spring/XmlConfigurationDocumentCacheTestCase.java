@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.config.spring.XmlConfigurationDocumentCache.DEFAULTED_ATTRIBUTES_KEY;
+import static org.mule.runtime.config.spring.parsers.XmlMetadataAnnotations.METADATA_ANNOTATIONS_KEY;
+import org.mule.runtime.config.spring.parsers.DefaultXmlMetadataAnnotations;
+import org.mule.runtime.config.spring.parsers.XmlMetadataAnnotations;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+@SmallTest
+public class XmlConfigurationDocumentCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String NAMESPACE = "http://www.mulesoft.org/schema/mule/test";
+  private static final String CONFIG = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+      + "<!DOCTYPE mule [<!ATTLIST test:component defaulted CDATA \"defaultValue\">]>\n"
+      + "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\" xmlns:test=\"" + NAMESPACE + "\">\n"
+      + "  <test:component name=\"component\">\n"
+      + "    <![CDATA[some data]]>\n"
+      + "  </test:component>\n"
+      + "</mule>";
+
+  @Rule
+  public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+  private XmlConfigurationDocumentCache cache;
+  private byte[] content = CONFIG.getBytes(UTF_8);
+
+  @Before
+  public void before() {
+    cache = new XmlConfigurationDocumentCache(cacheFolder.getRoot());
+  }
+
+  @Test
+  public void noDocumentForUnknownContent() {
+    assertThat(cache.get(content).isPresent(), is(false));
+  }
+
+  @Test
+  public void cachedDocumentKeepsContent() throws Exception {
+    cache.put(content, loadDocument());
+    Optional<Document> cachedDocument = cache.get(content);
+
+    assertThat(cachedDocument.isPresent(), is(true));
+    Element component = (Element) cachedDocument.get().getElementsByTagNameNS(NAMESPACE, "component").item(0);
+    assertThat(component.getNodeName(), is("test:component"));
+    assertThat(component.getAttribute("name"), is("component"));
+    assertThat(component.getTextContent().trim(), is("some data"));
+    assertThat(component.getFirstChild().getNextSibling().getNodeType(), is(Node.CDATA_SECTION_NODE));
+
+    XmlMetadataAnnotations metadataAnnotations = (XmlMetadataAnnotations) component.getUserData(METADATA_ANNOTATIONS_KEY);
+    assertThat(metadataAnnotations, notNullValue());
+    assertThat(metadataAnnotations.getLineNumber(), is(4));
+  }
+
+  @Test
+  public void cachedDocumentKeepsDefaultedAttributes() throws Exception {
+    cache.put(content, loadDocument());
+    Document cachedDocument = cache.get(content).get();
+
+    Element mule = cachedDocument.getDocumentElement();
+    Element component = (Element) cachedDocument.getElementsByTagNameNS(NAMESPACE, "component").item(0);
+    assertThat(component.getAttribute("defaulted"), is("defaultValue"));
+    assertThat((Set<String>) component.getUserData(DEFAULTED_ATTRIBUTES_KEY), contains("defaulted"));
+    assertThat(mule.getUserData(DEFAULTED_ATTRIBUTES_KEY), is(nullValue()));
+  }
+
+  @Test
+  public void cachedDocumentCanBeCachedAgain() throws Exception {
+    byte[] otherContent = (CONFIG + "\n").getBytes(UTF_8);
+    cache.put(content, loadDocument());
+    cache.put(otherContent, cache.get(content).get());
+
+    Element component = (Element) cache.get(otherContent).get().getElementsByTagNameNS(NAMESPACE, "component").item(0);
+    assertThat((Set<String>) component.getUserData(DEFAULTED_ATTRIBUTES_KEY), contains("defaulted"));
+  }
+
+  @Test
+  public void corruptedDocumentIsDiscarded() throws Exception {
+    cache.put(content, loadDocument());
+    for (File file : cacheFolder.getRoot().listFiles()) {
+      Files.write(file.toPath(), new byte[] {0, 0, 0, 1, 9});
+    }
+
+    assertThat(cache.get(content).isPresent(), is(false));
+    assertThat(cacheFolder.getRoot().listFiles().length, is(0));
+  }
+
+  private Document loadDocument() throws Exception {
+    // the DTD adds a default attribute the same way a schema would, without needing to validate
+    DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+    documentBuilderFactory.setNamespaceAware(true);
+    Document document = documentBuilderFactory.newDocumentBuilder().parse(new InputSource(new ByteArrayInputStream(content)));
+
+    DefaultXmlMetadataAnnotations metadataAnnotations = new DefaultXmlMetadataAnnotations();
+    metadataAnnotations.setLineNumber(4);
+    document.getElementsByTagNameNS(NAMESPACE, "component").item(0).setUserData(METADATA_ANNOTATIONS_KEY, metadataAnnotations,
+                                                                                 null);
+    return document;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.construct;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.config.spring.LazyMessageProcessorChain.LAZY_FLOW_PROCESSORS_PROPERTY;
+import static org.mule.test.core.lifecycle.LifecycleTrackerProcessor.FLOW_CONSRUCT_PROPERTY;
+import static org.mule.test.core.lifecycle.LifecycleTrackerProcessor.LIFECYCLE_TRACKER_PROCESSOR_PROPERTY;
+import org.mule.runtime.config.spring.LazyMessageProcessorChain;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.construct.Flow;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.test.AbstractIntegrationTestCase;
+
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class LazyFlowProcessorsTestCase extends AbstractIntegrationTestCase {
+
+  @Rule
+  public SystemProperty lazyFlowProcessors = new SystemProperty(LAZY_FLOW_PROCESSORS_PROPERTY, "true");
+
+  @Override
+  protected String getConfigFile() {
+    return "org/mule/test/construct/lazy-flow-processors-config.xml";
+  }
+
+  @Test
+  public void processorsCreatedOnFirstEvent() throws Exception {
+    LazyMessageProcessorChain lazyProcessors = getLazyProcessors("lazyFlow");
+    assertThat(lazyProcessors.isCreated(), is(false));
+    assertThat(lazyProcessors.getMessageProcessors().isEmpty(), is(true));
+
+    Event result = flowRunner("lazyFlow").withPayload("").run();
+    assertThat(result.getMessageAsString(muleContext), is("12"));
+    assertThat(lazyProcessors.isCreated(), is(true));
+    assertThat(lazyProcessors.getMessageProcessors().size(), is(3));
+
+    assertThat(getLazyProcessors("lazyFlowWithSubFlow").isCreated(), is(false));
+  }
+
+  @Test
+  public void lifecycleAppliedOnCreatedProcessors() throws Exception {
+    Event result = flowRunner("lazyFlow").withPayload("").run();
+
+    assertThat(result.getMessage().getOutboundProperty(LIFECYCLE_TRACKER_PROCESSOR_PROPERTY),
+               is("[setMuleContext, setService, initialise, start]"));
+    assertThat(result.getVariable(FLOW_CONSRUCT_PROPERTY).getValue(),
+               is(muleContext.getRegistry().lookupFlowConstruct("lazyFlow")));
+  }
+
+  @Test
+  public void subFlowCreatedWithReferencingFlow() throws Exception {
+    Event result = flowRunner("lazyFlowWithSubFlow").withPayload("").run();
+    assertThat(result.getMessageAsString(muleContext), is("1xyz2"));
+
+    assertThat(result.getMessage().getOutboundProperty(LIFECYCLE_TRACKER_PROCESSOR_PROPERTY),
+               is("[setMuleContext, setService, initialise, start]"));
+    assertThat(result.getVariable(FLOW_CONSRUCT_PROPERTY).getValue(),
+               is(muleContext.getRegistry().lookupFlowConstruct("lazyFlowWithSubFlow")));
+  }
+
+  @Test
+  public void processorPathsOfCreatedProcessors() throws Exception {
+    Flow flow = (Flow) getFlowConstruct("lazyFlowWithSubFlow");
+    flowRunner("lazyFlowWithSubFlow").withPayload("").run();
+
+    List<Processor> processors = getLazyProcessors("lazyFlowWithSubFlow").getMessageProcessors();
+    assertThat(flow.getProcessorPath(processors.get(0)), is("/lazyFlowWithSubFlow/processors/0"));
+    assertThat(flow.getProcessorPath(processors.get(2)), is("/lazyFlowWithSubFlow/processors/2"));
+  }
+
+  @Test
+  public void processorsKeptWhenFlowRestarted() throws Exception {
+    flowRunner("lazyFlow").withPayload("").run();
+    Processor processor = getLazyProcessors("lazyFlow").getMessageProcessors().get(0);
+
+    Flow flow = (Flow) getFlowConstruct("lazyFlow");
+    flow.stop();
+    flow.start();
+
+    assertThat(flowRunner("lazyFlow").withPayload("").run().getMessageAsString(muleContext), is("12"));
+    assertThat(getLazyProcessors("lazyFlow").getMessageProcessors().get(0), is(sameInstance(processor)));
+  }
+
+  private LazyMessageProcessorChain getLazyProcessors(String flowName) throws Exception {
+    List<Processor> processors = ((Flow) getFlowConstruct(flowName)).getMessageProcessors();
+    assertThat(processors.size(), is(1));
+    assertThat(processors.get(0), instanceOf(LazyMessageProcessorChain.class));
+    return (LazyMessageProcessorChain) processors.get(0);
+  }
+}
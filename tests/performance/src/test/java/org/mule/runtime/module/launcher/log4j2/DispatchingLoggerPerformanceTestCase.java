@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.mule.runtime.module.artifact.classloader.ArtifactClassLoader;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import com.sun.management.ThreadMXBean;
+
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.selector.ContextSelector;
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Measures the overhead of a {@link DispatchingLogger} dispatching the events of a static logger to the context of an artifact,
+ * and checks that doing so doesn't allocate memory once the artifact's logger has been resolved.
+ */
+public class DispatchingLoggerPerformanceTestCase extends AbstractMuleTestCase {
+
+  private static final String LOGGER_NAME = DispatchingLoggerPerformanceTestCase.class.getName();
+  private static final String MESSAGE = "Hello Log!";
+
+  private static final int repetitions = 100000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private LoggerContext containerContext;
+  private LoggerContext artifactContext;
+  private ClassLoader artifactClassLoader;
+  private Logger logger;
+
+  @Before
+  public void before() {
+    containerContext = new LoggerContext("container");
+    artifactContext = new LoggerContext("artifact");
+    artifactClassLoader = mock(ClassLoader.class, withSettings().extraInterfaces(ArtifactClassLoader.class));
+
+    ContextSelector contextSelector = mock(ContextSelector.class);
+    when(contextSelector.getContext(anyString(), any(ClassLoader.class), anyBoolean())).thenReturn(artifactContext);
+
+    Logger originalLogger = containerContext.getLogger(LOGGER_NAME);
+    logger = new DispatchingLogger(originalLogger, getClass().getClassLoader().hashCode(), containerContext, contextSelector,
+                                   originalLogger.getMessageFactory()) {};
+  }
+
+  @After
+  public void after() {
+    containerContext.stop();
+    artifactContext.stop();
+  }
+
+  @Test
+  public void noGarbageWhenDispatching() {
+    assumeThat(getThreadMXBean(), instanceOf(ThreadMXBean.class));
+    ThreadMXBean threadMXBean = (ThreadMXBean) getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    withArtifactClassLoader(() -> {
+      log();
+      long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+      log();
+      long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+      assertThat(allocated, lessThan((long) repetitions));
+    });
+  }
+
+  @Test
+  @Required(throughput = 200, average = 5, percentile90 = 6)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void dispatchToArtifactContext() {
+    withArtifactClassLoader(this::log);
+  }
+
+  @Test
+  @Required(throughput = 800, average = 5, percentile90 = 6)
+  @PerfTest(duration = 15000, threads = 4, warmUp = 5000)
+  public void dispatchToArtifactContextConcurrently() {
+    withArtifactClassLoader(this::log);
+  }
+
+  private void log() {
+    // debug is disabled in the default configuration, so this is all the dispatching overhead
+    for (int i = 0; i < repetitions; i++) {
+      logger.debug(MESSAGE);
+    }
+  }
+
+  private void withArtifactClassLoader(Runnable runnable) {
+    Thread currentThread = Thread.currentThread();
+    ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+    currentThread.setContextClassLoader(artifactClassLoader);
+    try {
+      runnable.run();
+    } finally {
+      currentThread.setContextClassLoader(originalClassLoader);
+    }
+  }
+}
@@ -27,6 +27,34 @@ public class ScatterGatherRouterPerformanceTestCase extends AbstractIsolatedFunc
     this.runFlow("parallelProcessing");
   }
 
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  @Required(throughput = 180, average = 6, percentile90 = 7)
+  public void parallelProcessing2Routes() throws Exception {
+    this.runFlow("parallelProcessing2Routes");
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  @Required(throughput = 160, average = 7, percentile90 = 8)
+  public void parallelProcessing8Routes() throws Exception {
+    this.runFlow("parallelProcessing8Routes");
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  @Required(throughput = 120, average = 9, percentile90 = 11)
+  public void parallelProcessing32Routes() throws Exception {
+    this.runFlow("parallelProcessing32Routes");
+  }
+
+  @Test
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  @Required(throughput = 140, average = 8, percentile90 = 10)
+  public void parallelProcessing32RoutesWithMinSuccessfulRoutes() throws Exception {
+    this.runFlow("parallelProcessing32RoutesWithMinSuccessfulRoutes");
+  }
+
   @Test
   @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
   @Required(throughput = 50, average = 18, percentile90 = 20)
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.test.core.routing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang.StringUtils.repeat;
+
+import org.mule.test.performance.util.AbstractIsolatedFunctionalPerformanceTestCase;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Splits a file of 5 GB, made of CSV records of 5 KB which are read from disk as they are pulled, so that the test only passes
+ * if the records are processed with constant memory.
+ */
+public class SplitterPerformanceTestCase extends AbstractIsolatedFunctionalPerformanceTestCase {
+
+  private static final int RECORD_SIZE = 5 * 1024;
+  private static final int RECORDS = 1024 * 1024;
+
+  @ClassRule
+  public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static File recordsFile;
+
+  @BeforeClass
+  public static void createRecordsFile() throws IOException {
+    recordsFile = temporaryFolder.newFile("records.csv");
+    // each record is a line of RECORD_SIZE bytes, the line separator included
+    String fields = repeat("field,", (RECORD_SIZE - 1 - 8) / 6);
+    String padding = repeat("x", RECORD_SIZE - 1 - fields.length() - 8);
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(recordsFile), UTF_8), 1024 * 1024)) {
+      for (int i = 0; i < RECORDS; i++) {
+        writer.write(String.format("%08d", i));
+        writer.write(fields);
+        writer.write(padding);
+        writer.write('\n');
+      }
+    }
+  }
+
+  @Override
+  protected String getConfigFile() {
+    return "splitter-perf-test.xml";
+  }
+
+  @Test
+  @PerfTest(invocations = 1, threads = 1)
+  @Required(max = 120000)
+  public void streamingForeach() throws Exception {
+    try (RecordsIterator records = new RecordsIterator(recordsFile)) {
+      flowRunner("streamingForeach").withPayload(records).run();
+    }
+  }
+
+  private static class RecordsIterator implements Iterator<String>, AutoCloseable {
+
+    private final BufferedReader reader;
+    private String next;
+
+    private RecordsIterator(File file) throws IOException {
+      reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+      next = reader.readLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      String record = next;
+      try {
+        next = reader.readLine();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core.serialization;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.runtime.core.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.serialization.internal.CompactSerializationProtocol;
+import org.mule.runtime.core.serialization.internal.JavaExternalSerializerProtocol;
+import org.mule.runtime.core.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import org.databene.contiperf.PerfTest;
+import org.databene.contiperf.Required;
+import org.databene.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares the time taken by {@link CompactSerializationProtocol} and {@link JavaExternalSerializerProtocol} to serialize and
+ * deserialize events, and the size of their output.
+ */
+public class SerializationProtocolPerformanceTestCase extends AbstractMuleContextTestCase {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private static final int repetitions = 1000;
+
+  private SerializationProtocol compactProtocol;
+  private SerializationProtocol javaProtocol;
+  private Event event;
+
+  @Before
+  public void before() throws Exception {
+    CompactSerializationProtocol compact = new CompactSerializationProtocol();
+    compact.setMuleContext(muleContext);
+    compactProtocol = compact;
+
+    JavaExternalSerializerProtocol java = new JavaExternalSerializerProtocol();
+    java.setMuleContext(muleContext);
+    javaProtocol = java;
+
+    event = createEvent();
+  }
+
+  @Test
+  public void compactIsSmaller() {
+    assertThat(compactProtocol.serialize(event).length, lessThan(javaProtocol.serialize(event).length));
+  }
+
+  @Test
+  @Required(throughput = 10, average = 100, percentile90 = 120)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void compactRoundTrip() {
+    roundTrip(compactProtocol);
+  }
+
+  @Test
+  @Required(throughput = 5, average = 200, percentile90 = 240)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void javaRoundTrip() {
+    roundTrip(javaProtocol);
+  }
+
+  private void roundTrip(SerializationProtocol protocol) {
+    for (int i = 0; i < repetitions; i++) {
+      protocol.deserialize(protocol.serialize(event));
+    }
+  }
+
+  private Event createEvent() throws Exception {
+    InternalMessage.Builder builder = InternalMessage.builder().payload(IOUtils.getResourceAsString("test-data.json", getClass()));
+    for (int i = 0; i < 20; i++) {
+      builder.addOutboundProperty("property" + i, "value" + i);
+    }
+    Event.Builder eventBuilder = eventBuilder().message(builder.build());
+    for (int i = 0; i < 20; i++) {
+      eventBuilder.addVariable("variable" + i, "value" + i);
+    }
+    return eventBuilder.build();
+  }
+}
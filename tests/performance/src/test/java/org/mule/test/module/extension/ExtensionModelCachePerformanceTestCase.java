@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.module.extension;
+
+import static java.lang.System.nanoTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.extension.internal.introspection.describer.AnnotationsBasedDescriber.DESCRIBER_ID;
+import static org.mule.runtime.module.extension.internal.introspection.describer.AnnotationsBasedDescriber.TYPE_PROPERTY_NAME;
+import org.mule.extension.email.internal.EmailConnector;
+import org.mule.extension.file.internal.FileConnector;
+import org.mule.extension.ftp.internal.FtpConnector;
+import org.mule.extension.http.internal.HttpConnector;
+import org.mule.extension.socket.api.SocketsExtension;
+import org.mule.extension.validation.api.ValidationExtension;
+import org.mule.runtime.extension.api.manifest.ExtensionManifest;
+import org.mule.runtime.extension.api.manifest.ExtensionManifestBuilder;
+import org.mule.runtime.module.extension.internal.manager.DefaultExtensionManager;
+import org.mule.runtime.module.extension.internal.manager.ExtensionModelCache;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Registers the same extensions for many applications, each one with its own copy of the plugins, to compare the time spent
+ * with and without an {@link ExtensionModelCache} shared by all of them.
+ */
+public class ExtensionModelCachePerformanceTestCase extends AbstractMuleContextTestCase {
+
+  private static final int APPLICATIONS = 20;
+  private static final int RUNS = 3;
+  private static final double MAX_SHARED_CACHE_TIME_RATIO = 0.8;
+  private static final List<Class<?>> EXTENSIONS = asList(FileConnector.class, FtpConnector.class, HttpConnector.class,
+                                                          SocketsExtension.class, ValidationExtension.class,
+                                                          EmailConnector.class);
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File[][] pluginFolders;
+
+  @Before
+  public void copyPlugins() throws Exception {
+    pluginFolders = new File[APPLICATIONS][EXTENSIONS.size()];
+    for (int i = 0; i < APPLICATIONS; i++) {
+      for (int j = 0; j < EXTENSIONS.size(); j++) {
+        Class<?> extensionType = EXTENSIONS.get(j);
+        File pluginFolder = temporaryFolder.newFolder("app" + i, extensionType.getSimpleName());
+        File codeSource = new File(extensionType.getProtectionDomain().getCodeSource().getLocation().toURI());
+        if (codeSource.isDirectory()) {
+          FileUtils.copyDirectory(codeSource, new File(pluginFolder, "classes"));
+        } else {
+          FileUtils.copyFileToDirectory(codeSource, new File(pluginFolder, "lib"));
+        }
+        FileUtils.write(new File(pluginFolder, "plugin.properties"), "extension=" + extensionType.getName(), UTF_8);
+        pluginFolders[i][j] = pluginFolder;
+      }
+    }
+  }
+
+  @Test
+  public void sharedCacheSpeedsUpDeployment() throws Exception {
+    // warm up
+    deployApplications(true);
+    deployApplications(false);
+
+    long sharedCacheNanos = 0;
+    long noSharedCacheNanos = 0;
+    for (int i = 0; i < RUNS; i++) {
+      noSharedCacheNanos += deployApplications(false);
+      sharedCacheNanos += deployApplications(true);
+    }
+
+    assertThat((double) sharedCacheNanos / noSharedCacheNanos, lessThan(MAX_SHARED_CACHE_TIME_RATIO));
+  }
+
+  /**
+   * @param sharedCache whether all the applications share an {@link ExtensionModelCache}
+   * @return the nanoseconds spent registering the extensions of all the applications
+   */
+  private long deployApplications(boolean sharedCache) throws Exception {
+    long start = nanoTime();
+    ExtensionModelCache extensionModelCache = new ExtensionModelCache();
+    for (int i = 0; i < APPLICATIONS; i++) {
+      registerExtensions(sharedCache ? new DefaultExtensionManager(extensionModelCache) : new DefaultExtensionManager(),
+                         pluginFolders[i]);
+    }
+    return nanoTime() - start;
+  }
+
+  private void registerExtensions(DefaultExtensionManager extensionManager, File[] applicationPluginFolders) throws Exception {
+    extensionManager.setMuleContext(muleContext);
+    extensionManager.initialise();
+
+    for (int j = 0; j < EXTENSIONS.size(); j++) {
+      Class<?> extensionType = EXTENSIONS.get(j);
+      File pluginFolder = applicationPluginFolders[j];
+      // each application has its own copy of the plugin, loaded by its own class loader
+      try (URLClassLoader pluginClassLoader = new PluginClassLoader(getPluginUrls(pluginFolder), getClass().getClassLoader())) {
+        extensionManager.registerExtension(createManifest(extensionType), pluginClassLoader,
+                                           "org.mule.tests:" + extensionType.getSimpleName() + ":4.0.0",
+                                           of(new File(pluginFolder, "plugin.properties")));
+      }
+    }
+  }
+
+  private URL[] getPluginUrls(File pluginFolder) throws Exception {
+    File classesFolder = new File(pluginFolder, "classes");
+    if (classesFolder.isDirectory()) {
+      return new URL[] {classesFolder.toURI().toURL()};
+    }
+    File[] jars = new File(pluginFolder, "lib").listFiles();
+    return new URL[] {jars[0].toURI().toURL()};
+  }
+
+  private ExtensionManifest createManifest(Class<?> extensionType) {
+    ExtensionManifestBuilder builder =
+        new ExtensionManifestBuilder().setName(extensionType.getSimpleName()).setDescription("").setVersion("4.0.0");
+    builder.withDescriber().setId(DESCRIBER_ID).addProperty(TYPE_PROPERTY_NAME, extensionType.getName());
+    return builder.build();
+  }
+
+  /**
+   * Loads the classes of the plugin from its copy before delegating to the parent, which also has them in its classpath.
+   */
+  private static class PluginClassLoader extends URLClassLoader {
+
+    private PluginClassLoader(URL[] urls, ClassLoader parent) {
+      super(urls, parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> loadedClass = findLoadedClass(name);
+        if (loadedClass == null) {
+          try {
+            loadedClass = findClass(name);
+          } catch (ClassNotFoundException e) {
+            return super.loadClass(name, resolve);
+          }
+        }
+        if (resolve) {
+          resolveClass(loadedClass);
+        }
+        return loadedClass;
+      }
+    }
+  }
+}
@@ -14,6 +14,7 @@ import org.mule.test.performance.util.AbstractIsolatedFunctionalPerformanceTestC
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.RandomStringUtils;
@@ -63,6 +64,7 @@ public class FilePerformanceTestCase extends AbstractIsolatedFunctionalPerforman
     createHelloWorldFile();
     createRandomFileOfSize("1K", 1024);
     createRandomFileOfSize("1M", 1024 * 1024);
+    createRandomFileOfSize("10M", 10 * 1024 * 1024);
   }
 
   @Test
@@ -155,6 +157,70 @@ public class FilePerformanceTestCase extends AbstractIsolatedFunctionalPerforman
     }
   }
 
+  @Test
+  @Required(throughput = 300, average = 3, percentile90 = 4)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void copy1K() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      flowRunner("copy-1K").run();
+    }
+  }
+
+  @Test
+  @Required(throughput = 5, average = 200, percentile90 = 250)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void copy10M() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      flowRunner("copy-10M").run();
+    }
+  }
+
+  @Test
+  @Required(average = 15000)
+  @PerfTest(duration = 30000, threads = 1)
+  public void copy2G() throws Exception {
+    // created on the first invocation only, rather than before every test
+    if (!new File(temporaryFolder.getRoot(), "2G").exists()) {
+      createSparseFileOfSize("2G", 2L * 1024 * 1024 * 1024);
+    }
+    flowRunner("copy-2G").run();
+  }
+
+  @Test
+  @Required(throughput = 300, average = 3, percentile90 = 4)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void readConsume1K() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      flowRunner("read-consume-1K").run();
+    }
+  }
+
+  @Test
+  @Required(throughput = 3, average = 300, percentile90 = 350)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void readConsume10M() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      flowRunner("read-consume-10M").run();
+    }
+  }
+
+  @Test
+  @Required(throughput = 300, average = 3, percentile90 = 4)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void readMapped1K() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      flowRunner("read-mapped-1K").run();
+    }
+  }
+
+  @Test
+  @Required(throughput = 3, average = 300, percentile90 = 350)
+  @PerfTest(duration = 15000, threads = 1, warmUp = 5000)
+  public void readMapped10M() throws Exception {
+    for (int i = 0; i < REPETITIONS; i++) {
+      flowRunner("read-mapped-10M").run();
+    }
+  }
 
   protected File createHelloWorldFile() throws IOException {
     File folder = temporaryFolder.newFolder("files");
@@ -172,5 +238,15 @@ public class FilePerformanceTestCase extends AbstractIsolatedFunctionalPerforman
     return file;
   }
 
+  protected File createSparseFileOfSize(String folderName, long size) throws IOException {
+    File folder = temporaryFolder.newFolder(folderName);
+    File file = new File(folder, "file");
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      randomAccessFile.setLength(size);
+    }
+
+    return file;
+  }
+
 }
 
@@ -10,6 +10,8 @@ package org.mule.test.module.extension.ftp;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 
+import org.mule.functional.util.sftp.SftpServer;
+import org.mule.tck.junit4.rule.DynamicPort;
 import org.mule.tck.junit4.rule.SystemProperty;
 import org.mule.test.infrastructure.client.ftp.FTPTestClient;
 import org.mule.test.infrastructure.process.rules.FtpServer;
@@ -18,6 +20,7 @@ import org.mule.test.performance.util.AbstractIsolatedFunctionalPerformanceTestC
 import java.io.File;
 import java.io.IOException;
 
+import org.apache.commons.io.FileUtils;
 import org.databene.contiperf.PerfTest;
 import org.databene.contiperf.Required;
 import org.junit.Rule;
@@ -32,6 +35,7 @@ public class FtpPerformanceTestCase extends AbstractIsolatedFunctionalPerformanc
   protected static final File BASE_DIR = new File(FTP_SERVER_BASE_DIR, WORKING_DIR);
   private static final String FTP_USER = "anonymous";
   private static final String FTP_PASSWORD = "password";
+  private static final File SFTP_BASE_DIR = new File("target/sftpserver");
 
   private FTPTestClient ftpClient;
 
@@ -41,6 +45,15 @@ public class FtpPerformanceTestCase extends AbstractIsolatedFunctionalPerformanc
   @Rule
   public FtpServer ftpServer = new FtpServer("ftpPort", BASE_DIR);
 
+  @Rule
+  public DynamicPort sftpPort = new DynamicPort("sftpPort");
+
+  @Rule
+  public SystemProperty sftpWorkingDirSystemProperty =
+      new SystemProperty("sftpWorkingDir", SFTP_BASE_DIR.getAbsolutePath());
+
+  private SftpServer sftpServer;
+
   @Override
   protected String getConfigFile() {
     return "ftp-perf-test.xml";
@@ -67,6 +80,11 @@ public class FtpPerformanceTestCase extends AbstractIsolatedFunctionalPerformanc
 
     assertThat(ftpClient.fileExists("copyMe.txt"), is(true));
     assertThat(ftpClient.fileExists("writeMe.txt"), is(true));
+
+    SFTP_BASE_DIR.mkdirs();
+    FileUtils.write(new File(SFTP_BASE_DIR, "readMe.txt"), "simpleContent");
+    sftpServer = new SftpServer(sftpPort.getNumber());
+    sftpServer.start();
   }
 
   @Test
@@ -107,10 +125,35 @@ public class FtpPerformanceTestCase extends AbstractIsolatedFunctionalPerformanc
   }
 
 
+  @Test
+  @Required(throughput = 40, average = 200, percentile90 = 250)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void concurrentPooledWriteAfterRead() throws Exception {
+    flowRunner("pooled-read-and-write").run();
+  }
+
+  @Test
+  @Required(throughput = 20, average = 400, percentile90 = 450)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void concurrentSftpWriteAfterRead() throws Exception {
+    flowRunner("sftp-read-and-write").run();
+  }
+
+  @Test
+  @Required(throughput = 40, average = 200, percentile90 = 250)
+  @PerfTest(duration = 15000, threads = 8, warmUp = 5000)
+  public void concurrentSharedSessionSftpWriteAfterRead() throws Exception {
+    flowRunner("shared-session-sftp-read-and-write").run();
+  }
+
   @Override
   protected void doTearDownAfterMuleContextDispose() throws Exception {
     super.doTearDownAfterMuleContextDispose();
 
+    if (sftpServer != null) {
+      sftpServer.stop();
+    }
+
     if (ftpClient != null) {
       try {
         if (ftpClient.isConnected()) {
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.core.transport;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.compatibility.core.transport.ConfigurableKeyedObjectPool.WHEN_EXHAUSTED_BLOCK;
+import static org.mule.compatibility.core.transport.ConfigurableKeyedObjectPool.WHEN_EXHAUSTED_FAIL;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool.BaseKeyedPoolableObjectFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class StripedConfigurableKeyedObjectPoolTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY1 = "key1";
+  private static final String KEY2 = "key2";
+
+  private final CountingFactory factory = new CountingFactory();
+  private final StripedConfigurableKeyedObjectPool pool = new StripedConfigurableKeyedObjectPool();
+
+  @Before
+  public void before() {
+    pool.setFactory(factory);
+  }
+
+  @Test
+  public void reusesReturnedObjects() throws Exception {
+    Object borrowed = pool.borrowObject(KEY1);
+    assertThat(pool.getNumActive(KEY1), is(1));
+    pool.returnObject(KEY1, borrowed);
+    assertThat(pool.getNumIdle(KEY1), is(1));
+
+    assertThat(pool.borrowObject(KEY1), is(sameInstance(borrowed)));
+    assertThat(factory.created.get(), is(1));
+    assertThat(pool.getBorrowedCount(), is(2L));
+  }
+
+  @Test
+  public void keysLimitedIndependently() throws Exception {
+    pool.setMaxActive(1);
+    pool.setWhenExhaustedAction(WHEN_EXHAUSTED_FAIL);
+
+    Object borrowed1 = pool.borrowObject(KEY1);
+    Object borrowed2 = pool.borrowObject(KEY2);
+    assertThat(borrowed1, is(not(sameInstance(borrowed2))));
+    assertThat(pool.getNumActive(), is(2));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void failsWhenKeyExhausted() throws Exception {
+    pool.setMaxActive(1);
+    pool.setWhenExhaustedAction(WHEN_EXHAUSTED_FAIL);
+
+    pool.borrowObject(KEY1);
+    pool.borrowObject(KEY1);
+  }
+
+  @Test
+  public void blocksUntilReturned() throws Exception {
+    pool.setMaxActive(1);
+    pool.setWhenExhaustedAction(WHEN_EXHAUSTED_BLOCK);
+    Object borrowed = pool.borrowObject(KEY1);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Object> waiting = executor.submit(() -> pool.borrowObject(KEY1));
+      while (pool.getWaitedCount() == 0) {
+        Thread.sleep(10);
+      }
+      pool.returnObject(KEY1, borrowed);
+
+      assertThat(waiting.get(5, SECONDS), is(sameInstance(borrowed)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void blocksUntilTotalReleasedByOtherKey() throws Exception {
+    pool.setMaxTotal(1);
+    pool.setWhenExhaustedAction(WHEN_EXHAUSTED_BLOCK);
+    Object borrowed = pool.borrowObject(KEY1);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Object> waiting = executor.submit(() -> pool.borrowObject(KEY2));
+      while (pool.getWaitedCount() == 0) {
+        Thread.sleep(10);
+      }
+      pool.invalidateObject(KEY1, borrowed);
+
+      assertThat(waiting.get(5, SECONDS), is(notNullValue()));
+      assertThat(pool.getNumActive(), is(1));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void timesOutWhenExhausted() throws Exception {
+    pool.setMaxActive(1);
+    pool.setMaxWait(50);
+    pool.setWhenExhaustedAction(WHEN_EXHAUSTED_BLOCK);
+
+    pool.borrowObject(KEY1);
+    pool.borrowObject(KEY1);
+  }
+
+  @Test
+  public void idleObjectsOfOtherKeysEvictedWhenTotalReached() throws Exception {
+    pool.setMaxTotal(1);
+    pool.setWhenExhaustedAction(WHEN_EXHAUSTED_FAIL);
+    pool.returnObject(KEY1, pool.borrowObject(KEY1));
+
+    pool.borrowObject(KEY2);
+    assertThat(pool.getNumIdle(KEY1), is(0));
+    assertThat(factory.destroyed.get(), is(1));
+  }
+
+  @Test
+  public void invalidObjectsDestroyedOnReturn() throws Exception {
+    Object borrowed = pool.borrowObject(KEY1);
+    factory.valid = false;
+    pool.returnObject(KEY1, borrowed);
+
+    assertThat(pool.getNumIdle(KEY1), is(0));
+    assertThat(factory.destroyed.get(), is(1));
+  }
+
+  @Test
+  public void clearDestroysIdleObjects() throws Exception {
+    pool.returnObject(KEY1, pool.borrowObject(KEY1));
+    pool.returnObject(KEY2, pool.borrowObject(KEY2));
+    pool.clear();
+
+    assertThat(pool.getNumIdle(), is(0));
+    assertThat(factory.destroyed.get(), is(2));
+    assertThat(pool.borrowObject(KEY1), is(notNullValue()));
+  }
+
+  @Test
+  public void objectsNotSharedWhenBorrowedConcurrently() throws Exception {
+    pool.setMaxActive(2);
+    pool.setWhenExhaustedAction(WHEN_EXHAUSTED_BLOCK);
+    Set<Object> inUse = ConcurrentHashMap.newKeySet();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < 8; ++i) {
+        String key = "key" + i % 3;
+        results.add(executor.submit(() -> {
+          for (int j = 0; j < 1000; ++j) {
+            Object borrowed = pool.borrowObject(key);
+            assertThat(inUse.add(borrowed), is(true));
+            inUse.remove(borrowed);
+            pool.returnObject(key, borrowed);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get(30, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(pool.getNumActive(), is(0));
+    assertThat(pool.getBorrowedCount(), is(8000L));
+  }
+
+  private static class CountingFactory extends BaseKeyedPoolableObjectFactory {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private volatile boolean valid = true;
+
+    @Override
+    public Object makeObject(Object key) throws Exception {
+      created.incrementAndGet();
+      return new Object();
+    }
+
+    @Override
+    public void destroyObject(Object key, Object obj) throws Exception {
+      destroyed.incrementAndGet();
+    }
+
+    @Override
+    public boolean validateObject(Object key, Object obj) {
+      return valid;
+    }
+  }
+}
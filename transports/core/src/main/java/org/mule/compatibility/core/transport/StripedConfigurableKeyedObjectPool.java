@@ -0,0 +1,567 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.core.transport;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.pool.KeyedPoolableObjectFactory;
+import org.apache.commons.pool.impl.GenericKeyedObjectPool;
+
+/**
+ * Implements {@link ConfigurableKeyedObjectPool} keeping a separate pool, guarded by its own lock, for each key.
+ * <p>
+ * {@link GenericKeyedObjectPool} synchronizes every borrow and return on the whole pool, so concurrent dispatches to different
+ * endpoints contend with each other. Here only the dispatches to the same endpoint do, and the contention left can be checked
+ * through {@link #getContendedCount()} and {@link #getWaitedCount()}.
+ * <p>
+ * Behaves as the {@link DefaultConfigurableKeyedObjectPool}: objects are validated on return, idle objects are reused last in
+ * first out, and when the {@link #getMaxTotal() total limit} is reached idle objects of other keys are destroyed to make room.
+ *
+ * @since 4.0
+ */
+public class StripedConfigurableKeyedObjectPool implements ConfigurableKeyedObjectPool {
+
+  private static final Object CREATE = new Object();
+
+  private final ConcurrentMap<Object, KeyPool> pools = new ConcurrentHashMap<>();
+  private final AtomicInteger total = new AtomicInteger();
+  // the pools with borrowers waiting because of the total limit, which are signalled when objects of other keys are destroyed
+  private final Set<KeyPool> totalWaiters = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder borrowedCount = new LongAdder();
+  private final LongAdder contendedCount = new LongAdder();
+  private final LongAdder waitedCount = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+
+  private volatile KeyedPoolableObjectFactory factory;
+  private volatile int maxActive = GenericKeyedObjectPool.DEFAULT_MAX_ACTIVE;
+  private volatile int maxIdle = GenericKeyedObjectPool.DEFAULT_MAX_IDLE;
+  private volatile int maxTotal = GenericKeyedObjectPool.DEFAULT_MAX_TOTAL;
+  private volatile long maxWait = GenericKeyedObjectPool.DEFAULT_MAX_WAIT;
+  private volatile byte whenExhaustedAction = GenericKeyedObjectPool.DEFAULT_WHEN_EXHAUSTED_ACTION;
+  private volatile boolean closed;
+
+  @Override
+  public Object borrowObject(Object key) throws Exception, NoSuchElementException, IllegalStateException {
+    assertOpen();
+    borrowedCount.increment();
+    long deadline = maxWait > 0 ? nanoTime() + MILLISECONDS.toNanos(maxWait) : 0;
+
+    while (true) {
+      KeyPool pool = pools.computeIfAbsent(key, k -> new KeyPool());
+      Object taken = pool.take(deadline);
+      if (taken == null) {
+        // the pool for this key was cleared meanwhile
+        continue;
+      }
+
+      if (taken == CREATE) {
+        Object obj = null;
+        try {
+          obj = factory.makeObject(key);
+          factory.activateObject(key, obj);
+          return obj;
+        } catch (Exception e) {
+          if (obj != null) {
+            destroy(key, obj);
+          }
+          pool.release();
+          throw e;
+        }
+      }
+
+      try {
+        factory.activateObject(key, taken);
+        return taken;
+      } catch (Exception e) {
+        // try with another one
+        destroy(key, taken);
+        pool.release();
+      }
+    }
+  }
+
+  @Override
+  public void returnObject(Object key, Object obj) throws Exception {
+    boolean valid = factory.validateObject(key, obj);
+    if (valid) {
+      try {
+        factory.passivateObject(key, obj);
+      } catch (Exception e) {
+        valid = false;
+      }
+    }
+
+    KeyPool pool = pools.get(key);
+    if (pool == null) {
+      total.decrementAndGet();
+      destroy(key, obj);
+      signalTotalWaiters();
+    } else if (!pool.giveBack(obj, valid && !closed)) {
+      destroy(key, obj);
+    }
+  }
+
+  @Override
+  public void invalidateObject(Object key, Object obj) throws Exception {
+    KeyPool pool = pools.get(key);
+    if (pool != null) {
+      pool.release();
+    } else {
+      total.decrementAndGet();
+      signalTotalWaiters();
+    }
+    factory.destroyObject(key, obj);
+  }
+
+  @Override
+  public void addObject(Object key) throws Exception, IllegalStateException, UnsupportedOperationException {
+    assertOpen();
+    Object obj = factory.makeObject(key);
+    factory.passivateObject(key, obj);
+    total.incrementAndGet();
+    while (!pools.computeIfAbsent(key, k -> new KeyPool()).addIdle(obj)) {
+      // the pool for this key was cleared meanwhile
+    }
+  }
+
+  @Override
+  public int getNumIdle(Object key) throws UnsupportedOperationException {
+    KeyPool pool = pools.get(key);
+    return pool == null ? 0 : pool.getNumIdle();
+  }
+
+  @Override
+  public int getNumActive(Object key) throws UnsupportedOperationException {
+    KeyPool pool = pools.get(key);
+    return pool == null ? 0 : pool.getNumActive();
+  }
+
+  @Override
+  public int getNumIdle() throws UnsupportedOperationException {
+    int numIdle = 0;
+    for (KeyPool pool : pools.values()) {
+      numIdle += pool.getNumIdle();
+    }
+    return numIdle;
+  }
+
+  @Override
+  public int getNumActive() throws UnsupportedOperationException {
+    int numActive = 0;
+    for (KeyPool pool : pools.values()) {
+      numActive += pool.getNumActive();
+    }
+    return numActive;
+  }
+
+  @Override
+  public void clear() {
+    for (Object key : pools.keySet()) {
+      clear(key);
+    }
+  }
+
+  @Override
+  public void clear(Object key) throws UnsupportedOperationException {
+    KeyPool pool = pools.get(key);
+    if (pool != null) {
+      List<Object> cleared = pool.clear(key);
+      for (Object obj : cleared) {
+        destroy(key, obj);
+      }
+      if (!cleared.isEmpty()) {
+        signalTotalWaiters();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    closed = true;
+    clear();
+  }
+
+  @Override
+  public void setFactory(KeyedPoolableObjectFactory factory) throws IllegalStateException, UnsupportedOperationException {
+    assertOpen();
+    if (getNumActive() > 0) {
+      throw new IllegalStateException("Objects are already active");
+    }
+    clear();
+    this.factory = factory;
+  }
+
+  private void assertOpen() {
+    if (closed) {
+      throw new IllegalStateException("Pool not open");
+    }
+  }
+
+  private boolean reserveTotal() {
+    int current;
+    do {
+      current = total.get();
+      if (maxTotal >= 0 && current >= maxTotal) {
+        return false;
+      }
+    } while (!total.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Destroys an idle object of a key other than the one of {@code except}, to make room for a new one in the latter.
+   *
+   * @return whether an object was destroyed
+   */
+  private boolean evictIdleOfOtherKey(KeyPool except) {
+    for (Object key : pools.keySet()) {
+      KeyPool pool = pools.get(key);
+      if (pool != null && pool != except) {
+        Object obj = pool.evictIdle();
+        if (obj != null) {
+          destroy(key, obj);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void destroy(Object key, Object obj) {
+    try {
+      factory.destroyObject(key, obj);
+    } catch (Exception e) {
+      // ignored, as in GenericKeyedObjectPool
+    }
+  }
+
+  @Override
+  public int getMaxActive() {
+    return maxActive;
+  }
+
+  @Override
+  public void setMaxActive(int maxActive) {
+    this.maxActive = maxActive;
+    signalAll();
+  }
+
+  @Override
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  @Override
+  public void setMaxTotal(int maxTotal) {
+    this.maxTotal = maxTotal;
+    signalAll();
+  }
+
+  @Override
+  public long getMaxWait() {
+    return maxWait;
+  }
+
+  @Override
+  public void setMaxWait(long maxWait) {
+    this.maxWait = maxWait;
+  }
+
+  @Override
+  public int getMaxIdle() {
+    return maxIdle;
+  }
+
+  @Override
+  public void setMaxIdle(int maxIdle) {
+    this.maxIdle = maxIdle;
+  }
+
+  @Override
+  public byte getWhenExhaustedAction() {
+    return whenExhaustedAction;
+  }
+
+  @Override
+  public void setWhenExhaustedAction(byte whenExhaustedAction) {
+    switch (whenExhaustedAction) {
+      case WHEN_EXHAUSTED_BLOCK:
+      case WHEN_EXHAUSTED_FAIL:
+      case WHEN_EXHAUSTED_GROW:
+        this.whenExhaustedAction = whenExhaustedAction;
+        signalAll();
+        break;
+      default:
+        throw new IllegalArgumentException("whenExhaustedAction " + whenExhaustedAction + " not recognized.");
+    }
+  }
+
+  private void signalAll() {
+    for (KeyPool pool : pools.values()) {
+      pool.signalAll();
+    }
+  }
+
+  /**
+   * Wakes up the borrowers waiting because of the total limit, once an object gave its share of it back. Must not be invoked
+   * while holding the lock of a {@link KeyPool}, since it acquires the ones of the pools with such borrowers.
+   */
+  private void signalTotalWaiters() {
+    for (KeyPool pool : totalWaiters) {
+      pool.signalAll();
+    }
+  }
+
+  /**
+   * @return the number of objects borrowed from this pool
+   */
+  public long getBorrowedCount() {
+    return borrowedCount.sum();
+  }
+
+  /**
+   * @return the number of times a borrow or return had to wait for another one on the same key to release its lock
+   */
+  public long getContendedCount() {
+    return contendedCount.sum();
+  }
+
+  /**
+   * @return the number of borrows that had to wait for an object to be returned because the pool was exhausted
+   */
+  public long getWaitedCount() {
+    return waitedCount.sum();
+  }
+
+  /**
+   * @return the total time, in milliseconds, spent by borrows waiting for an object to be returned
+   */
+  public long getWaitTime() {
+    return NANOSECONDS.toMillis(waitNanos.sum());
+  }
+
+  /**
+   * The objects of a single key, along with the lock guarding them.
+   */
+  private class KeyPool {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Deque<Object> idle = new ArrayDeque<>();
+    private int active;
+    private int waitingForTotal;
+    private boolean retired;
+
+    /**
+     * @return an idle object, {@link #CREATE} if a new object may be created, or {@code null} if this pool was cleared
+     */
+    Object take(long deadline) throws InterruptedException {
+      acquire();
+      long waitStart = 0;
+      boolean registered = false;
+      try {
+        while (!retired) {
+          assertOpen();
+          if (!idle.isEmpty()) {
+            ++active;
+            return idle.pop();
+          }
+          boolean keyExhausted = maxActive >= 0 && active >= maxActive;
+          if (!keyExhausted && reserveTotal()) {
+            ++active;
+            return CREATE;
+          }
+          if (!keyExhausted && evictIdleOfOtherKey(this)) {
+            continue;
+          }
+
+          switch (whenExhaustedAction) {
+            case WHEN_EXHAUSTED_GROW:
+              total.incrementAndGet();
+              ++active;
+              return CREATE;
+            case WHEN_EXHAUSTED_FAIL:
+              throw new NoSuchElementException("Pool exhausted");
+            default:
+              if (!keyExhausted && !registered) {
+                // check the total limit again once this pool is signalled when other keys give their share of it back
+                registered = true;
+                if (waitingForTotal++ == 0) {
+                  totalWaiters.add(this);
+                }
+                continue;
+              }
+              if (waitStart == 0) {
+                waitStart = nanoTime();
+                waitedCount.increment();
+              }
+              if (deadline > 0) {
+                long remaining = deadline - nanoTime();
+                if (remaining <= 0) {
+                  throw new NoSuchElementException("Timeout waiting for idle object");
+                }
+                released.awaitNanos(remaining);
+              } else {
+                released.await();
+              }
+          }
+        }
+        return null;
+      } finally {
+        if (registered && --waitingForTotal == 0) {
+          totalWaiters.remove(this);
+        }
+        if (waitStart != 0) {
+          waitNanos.add(nanoTime() - waitStart);
+        }
+        lock.unlock();
+      }
+    }
+
+    /**
+     * @return whether the object was kept as idle, otherwise it has to be destroyed
+     */
+    boolean giveBack(Object obj, boolean keep) {
+      acquire();
+      try {
+        --active;
+        keep = keep && !retired && (maxIdle < 0 || idle.size() < maxIdle);
+        if (keep) {
+          idle.push(obj);
+        } else {
+          total.decrementAndGet();
+        }
+        released.signal();
+      } finally {
+        lock.unlock();
+      }
+      if (!keep) {
+        signalTotalWaiters();
+      }
+      return keep;
+    }
+
+    /**
+     * Releases an active object that was destroyed.
+     */
+    void release() {
+      acquire();
+      try {
+        --active;
+        total.decrementAndGet();
+        released.signal();
+      } finally {
+        lock.unlock();
+      }
+      signalTotalWaiters();
+    }
+
+    boolean addIdle(Object obj) {
+      acquire();
+      try {
+        if (retired) {
+          return false;
+        }
+        idle.push(obj);
+        released.signal();
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * @return the least recently used idle object, removed from this pool, or {@code null} if there is none or this pool is busy
+     */
+    Object evictIdle() {
+      if (!lock.tryLock()) {
+        return null;
+      }
+      try {
+        if (idle.isEmpty()) {
+          return null;
+        }
+        total.decrementAndGet();
+        return idle.removeLast();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Removes the idle objects, and this pool itself unless it still has active objects.
+     *
+     * @return the idle objects removed
+     */
+    List<Object> clear(Object key) {
+      acquire();
+      try {
+        List<Object> cleared = new ArrayList<>(idle);
+        idle.clear();
+        total.addAndGet(-cleared.size());
+        if (active == 0) {
+          retired = true;
+          pools.remove(key, this);
+        }
+        released.signalAll();
+        return cleared;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int getNumIdle() {
+      acquire();
+      try {
+        return idle.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int getNumActive() {
+      acquire();
+      try {
+        return active;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void signalAll() {
+      acquire();
+      try {
+        released.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void acquire() {
+      if (!lock.tryLock()) {
+        contendedCount.increment();
+        lock.lock();
+      }
+    }
+  }
+}
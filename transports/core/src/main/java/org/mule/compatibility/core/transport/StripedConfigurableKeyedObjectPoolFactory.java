@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.core.transport;
+
+/**
+ * Implements {@link ConfigurableKeyedObjectPoolFactory} creating instances of {@link StripedConfigurableKeyedObjectPool}. Set it
+ * as the {@code dispatcherPoolFactory-ref} of connectors doing many concurrent dispatches to a few endpoints.
+ *
+ * @since 4.0
+ */
+public class StripedConfigurableKeyedObjectPoolFactory implements ConfigurableKeyedObjectPoolFactory {
+
+  @Override
+  public ConfigurableKeyedObjectPool createObjectPool() {
+    return new StripedConfigurableKeyedObjectPool();
+  }
+}
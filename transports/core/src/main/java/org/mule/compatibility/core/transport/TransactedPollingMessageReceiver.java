@@ -89,18 +89,24 @@ public abstract class TransactedPollingMessageReceiver extends AbstractPollingMe
     // Connector property overrides any implied value
     this.setUseMultipleTransactedReceivers(connector.isCreateMultipleTransactedReceivers());
 
-    ThreadingProfile tp = connector.getReceiverThreadingProfile();
-    int numReceiversToStart = 1;
-
-    if (this.isReceiveMessagesInTransaction() && this.isUseMultipleTransactedReceivers() && tp.isDoThreading()) {
-      numReceiversToStart = connector.getNumberOfConcurrentTransactedReceivers();
-    }
-
+    int numReceiversToStart = getNumberOfConcurrentReceivers();
     for (int i = 0; i < numReceiversToStart; i++) {
       super.doStart();
     }
   }
 
+  /**
+   * @return how many messages may be received concurrently: one unless receiving in transaction with multiple transacted
+   *         receivers
+   */
+  protected int getNumberOfConcurrentReceivers() {
+    ThreadingProfile tp = connector.getReceiverThreadingProfile();
+    if (this.isReceiveMessagesInTransaction() && this.isUseMultipleTransactedReceivers() && tp.isDoThreading()) {
+      return connector.getNumberOfConcurrentTransactedReceivers();
+    }
+    return 1;
+  }
+
   @Override
   public void poll() throws Exception {
     try {
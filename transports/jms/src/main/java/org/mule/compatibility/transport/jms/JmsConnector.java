@@ -105,6 +105,26 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
    */
   private boolean eagerConsumer = true;
 
+  /**
+   * The maximum number of messages each consumer receives and processes in a single transaction. Batches are only used when
+   * greater than 1.
+   */
+  private int batchSize = 1;
+
+  /**
+   * How long, in milliseconds, a consumer waits for more messages to complete a batch after receiving its first message.
+   */
+  private long batchTimeout = 100;
+
+  /**
+   * Up to how many consumers are used when receiving batches from a queue. Consumers are added while the batches are full and
+   * removed again once they receive no messages. Consumers are only added when greater than the number of consumers.
+   * <p>
+   * Each consumer receiving batches holds a thread of the receiver's work manager for as long as it is started, so the work
+   * manager must allow at least this many threads, or the number of consumers if greater.
+   */
+  private int maxNumberOfConsumers = 0;
+
   ////////////////////////////////////////////////////////////////////////
   // JMS Connection
   ////////////////////////////////////////////////////////////////////////
@@ -167,6 +187,14 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
    */
   private boolean returnOriginalMessageAsReply = false;
 
+  /**
+   * If temporary reply to destinations are enabled, this flag causes each dispatcher to receive the replies of all its
+   * request-response calls to queues through a single temporary queue, instead of creating one for each call.
+   */
+  private boolean sharedReplyToQueue = false;
+
+  private final JmsDispatcherStatistics dispatcherStatistics = new JmsDispatcherStatistics();
+
   /**
    * In-container embedded mode disables some features for strict Java EE compliance.
    */
@@ -1116,6 +1144,21 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
     this.disableTemporaryReplyToDestinations = disableTemporaryReplyToDestinations;
   }
 
+  public boolean isSharedReplyToQueue() {
+    return sharedReplyToQueue;
+  }
+
+  public void setSharedReplyToQueue(boolean sharedReplyToQueue) {
+    this.sharedReplyToQueue = sharedReplyToQueue;
+  }
+
+  /**
+   * @return the statistics about the sessions used by the dispatchers of this connector and the replies they received
+   */
+  public JmsDispatcherStatistics getDispatcherStatistics() {
+    return dispatcherStatistics;
+  }
+
   public boolean isReturnOriginalMessageAsReply() {
     return returnOriginalMessageAsReply;
   }
@@ -1157,6 +1200,30 @@ public class JmsConnector extends AbstractConnector implements ExceptionListener
     return this.numberOfConcurrentTransactedReceivers;
   }
 
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getBatchTimeout() {
+    return batchTimeout;
+  }
+
+  public void setBatchTimeout(long batchTimeout) {
+    this.batchTimeout = batchTimeout;
+  }
+
+  public int getMaxNumberOfConsumers() {
+    return maxNumberOfConsumers;
+  }
+
+  public void setMaxNumberOfConsumers(int maxNumberOfConsumers) {
+    this.maxNumberOfConsumers = maxNumberOfConsumers;
+  }
+
   public boolean isEmbeddedMode() {
     return embeddedMode;
   }
@@ -42,6 +42,7 @@ public class JmsConstants {
   public static final String CACHE_JMS_SESSIONS_PROPERTY = "cacheJmsSessions";
   public static final String DISABLE_TEMP_DESTINATIONS_PROPERTY = "disableTemporaryReplyToDestinations";
   public static final String RETURN_ORIGINAL_MESSAGE_PROPERTY = "returnOriginalMessageAsReply";
+  public static final String SHARED_REPLY_TO_QUEUE_PROPERTY = "sharedReplyToQueue";
 
   public static final Set JMS_PROPERTY_NAMES =
       Collections.unmodifiableSet(new HashSet(Arrays.asList(new String[] {JMS_SPECIFICATION_102B, JMS_SPECIFICATION_11,
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how the {@link JmsMessageDispatcher}s of a {@link JmsConnector} use the JMS sessions and how long the remote
+ * side takes to answer request-response calls.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @since 4.0
+ */
+public class JmsDispatcherStatistics {
+
+  private final AtomicInteger sessionsInUse = new AtomicInteger();
+  private final AtomicInteger maxSessionsInUse = new AtomicInteger();
+  private final LongAdder repliesReceived = new LongAdder();
+  private final LongAdder replyTimeouts = new LongAdder();
+  private final LongAdder totalReplyTimeMillis = new LongAdder();
+  private final AtomicLong maxReplyTimeMillis = new AtomicLong();
+
+  void sessionAcquired() {
+    int inUse = sessionsInUse.incrementAndGet();
+    maxSessionsInUse.accumulateAndGet(inUse, Math::max);
+  }
+
+  void sessionReleased() {
+    sessionsInUse.decrementAndGet();
+  }
+
+  void replyReceived(long timeMillis) {
+    repliesReceived.increment();
+    totalReplyTimeMillis.add(timeMillis);
+    maxReplyTimeMillis.accumulateAndGet(timeMillis, Math::max);
+  }
+
+  void replyTimedOut() {
+    replyTimeouts.increment();
+  }
+
+  /**
+   * @return the amount of sessions currently being used to dispatch messages
+   */
+  public int getSessionsInUse() {
+    return sessionsInUse.get();
+  }
+
+  /**
+   * @return the maximum amount of sessions used at the same time to dispatch messages
+   */
+  public int getMaxSessionsInUse() {
+    return maxSessionsInUse.get();
+  }
+
+  /**
+   * @return the amount of replies received through a shared reply to queue
+   */
+  public long getRepliesReceived() {
+    return repliesReceived.sum();
+  }
+
+  /**
+   * @return the amount of request-response calls through a shared reply to queue that got no reply in time
+   */
+  public long getReplyTimeouts() {
+    return replyTimeouts.sum();
+  }
+
+  /**
+   * @return the average time between sending a request and receiving its reply through a shared reply to queue
+   */
+  public long getAverageReplyTimeMillis() {
+    long replies = repliesReceived.sum();
+    return replies == 0 ? 0 : totalReplyTimeMillis.sum() / replies;
+  }
+
+  /**
+   * @return the maximum time between sending a request and receiving its reply through a shared reply to queue
+   */
+  public long getMaxReplyTimeMillis() {
+    return maxReplyTimeMillis.get();
+  }
+}
@@ -28,6 +28,7 @@ import org.mule.runtime.core.config.i18n.CoreMessages;
 import org.mule.runtime.core.execution.CompletionHandler;
 import org.mule.runtime.core.transaction.TransactionCoordination;
 import org.mule.runtime.core.util.ClassUtils;
+import org.mule.runtime.core.util.UUID;
 import org.mule.runtime.core.util.concurrent.Latch;
 
 import java.util.concurrent.TimeUnit;
@@ -53,6 +54,7 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
   private JmsConnector connector;
   private boolean disableTemporaryDestinations = false;
   private boolean returnOriginalMessageAsReply = false;
+  private SharedReplyToQueue sharedReplyToQueue;
 
   public JmsMessageDispatcher(OutboundEndpoint endpoint) {
     super(endpoint);
@@ -65,6 +67,10 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
       logger
           .warn("The returnOriginalMessageAsReply property will be ignored because disableTemporaryReplyToDestinations=false.  You need to disable temporary ReplyTo destinations in order for this propery to take effect.");
     }
+    if (!disableTemporaryDestinations && (connector.isSharedReplyToQueue()
+        || "true".equals(endpoint.getProperty(JmsConstants.SHARED_REPLY_TO_QUEUE_PROPERTY)))) {
+      sharedReplyToQueue = new SharedReplyToQueue(connector, endpoint);
+    }
     logger.warn("Starting patched JmsMessageReceiver");
   }
 
@@ -83,7 +89,7 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
 
   @Override
   protected void doDisconnect() throws Exception {
-    // template method
+    closeSharedReplyToQueue();
   }
 
   protected boolean isDisableTemporaryDestinations() {
@@ -104,6 +110,9 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
     boolean transacted = isTransacted();
     final boolean useReplyToDestination = isUseReplyToDestination(event, doSend, transacted);
     final boolean topic = connector.getTopicResolver().isTopic(endpoint, true);
+    // replies to queues may be received through the shared queue, unless a JMSCorrelationID was already given for the request
+    final boolean sharedReplyToQueueCandidate =
+        useReplyToDestination && !topic && sharedReplyToQueue != null && event.getLegacyCorrelationId() == null;
 
     // QoS support
     final long ttl = muleRequestMessage.getOutboundProperty(JmsConstants.TIME_TO_LIVE_PROPERTY, Message.DEFAULT_TIME_TO_LIVE);
@@ -138,9 +147,16 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
       }
 
       session = connector.getTransactionalResource(endpoint);
+      connector.getDispatcherStatistics().sessionAcquired();
       producer = createProducer(session, topic);
 
-      final Destination replyTo = getReplyToDestination(jmsMessage, session, event, useReplyToDestination, topic);
+      Destination replyTo =
+          getReplyToDestination(jmsMessage, session, event, useReplyToDestination && !sharedReplyToQueueCandidate, topic);
+      final boolean useSharedReplyToQueue =
+          sharedReplyToQueueCandidate && replyTo == null && isHandleReplyTo(jmsMessage, event);
+      if (useSharedReplyToQueue) {
+        replyTo = sharedReplyToQueue.getDestination();
+      }
 
       // Set the replyTo property
       if (replyTo != null) {
@@ -153,6 +169,9 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
       // JMS Message ID Pattern. In Mule 4 JMS should support this pattern, and the JMS Correlation ID Pattern
       if (!endpoint.getExchangePattern().hasResponse()) {
         jmsMessage.setJMSCorrelationID(resolveJmsCorrelationId(event));
+      } else if (useSharedReplyToQueue) {
+        // the JMS Correlation ID Pattern is required to tell apart the replies received through the shared queue
+        jmsMessage.setJMSCorrelationID(UUID.getUUID());
       } else {
         jmsMessage.setJMSCorrelationID(event.getLegacyCorrelationId());
       }
@@ -160,7 +179,10 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
       // Allow overrides to alter the message if necessary
       processMessage(jmsMessage, event);
 
-      if (useReplyToDestination && replyTo != null) {
+      if (useSharedReplyToQueue) {
+        return internalSendAndReceiveShared(producer, replyTo, jmsMessage, ttl, priority, persistent,
+                                            endpoint.getResponseTimeout());
+      } else if (useReplyToDestination && replyTo != null) {
         final int timeout = endpoint.getResponseTimeout();
         try {
           if (topic) {
@@ -182,6 +204,9 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
         connector.closeQuietly(producer);
         closeSession(session);
       }
+      if (session != null) {
+        connector.getDispatcherStatistics().sessionReleased();
+      }
     }
   }
 
@@ -192,6 +217,26 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
     return returnOriginalMessageAsReply ? createMuleMessage(jmsMessage) : null;
   }
 
+  private InternalMessage internalSendAndReceiveShared(MessageProducer producer, Destination replyTo, Message jmsMessage,
+                                                      long ttl, int priority, boolean persistent, int timeout)
+      throws Exception {
+    // read it back since processMessage may have changed it
+    final String correlationId = jmsMessage.getJMSCorrelationID();
+    sharedReplyToQueue.expectReply(correlationId);
+    try {
+      connector.getJmsSupport().send(producer, jmsMessage, persistent, priority, ttl, false, endpoint);
+    } catch (Exception e) {
+      sharedReplyToQueue.cancel(correlationId);
+      throw e;
+    }
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Waiting for response event for: " + timeout + " ms on shared " + replyTo + " with JMSCorrelationID "
+          + correlationId);
+    }
+    return createResponseMuleMessage(sharedReplyToQueue.awaitReply(correlationId, timeout), replyTo);
+  }
+
   private InternalMessage internalBlockingSendAndAwait(Session session, MessageProducer producer, Destination replyTo,
                                                        Message jmsMessage, boolean topic, long ttl, int priority,
                                                        boolean persistent, int timeout, Event event)
@@ -340,7 +385,13 @@ public class JmsMessageDispatcher extends AbstractMessageDispatcher {
 
   @Override
   protected void doDispose() {
-    // template method
+    closeSharedReplyToQueue();
+  }
+
+  private void closeSharedReplyToQueue() {
+    if (sharedReplyToQueue != null) {
+      sharedReplyToQueue.close();
+    }
   }
 
   /**
@@ -6,6 +6,9 @@
  */
 package org.mule.compatibility.transport.jms;
 
+import static java.lang.Math.max;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableList;
 import static org.mule.compatibility.transport.jms.JmsConstants.JMS_REPLY_TO;
 import static org.mule.runtime.core.transaction.TransactionCoordination.isTransactionActive;
@@ -38,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 import javax.jms.Destination;
 import javax.jms.JMSException;
@@ -45,6 +49,8 @@ import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.MessageListener;
 import javax.jms.Session;
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,6 +59,12 @@ import org.slf4j.LoggerFactory;
  * In Mule an endpoint corresponds to a single receiver. It's up to the receiver to do multithreaded consumption and resource
  * allocation, if needed. This class honors the <code>numberOfConcurrentTransactedReceivers</code> strictly and will create
  * exactly this number of consumers.
+ * <p>
+ * If the connector has a <code>batchSize</code> greater than 1, each consumer receives up to that many messages, waiting at
+ * most <code>batchTimeout</code> milliseconds for them, and processes all of them in a single transaction. When receiving from
+ * a queue, consumers are added while their batches are full, up to <code>maxNumberOfConsumers</code>, and those added
+ * consumers are removed again once they receive no messages. Each consumer receiving batches holds a thread of the work
+ * manager of the receiver while it is started.
  */
 public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
@@ -60,11 +72,19 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
   protected final int receiversCount;
 
+  protected final int maxReceiversCount;
+
+  private final int batchSize;
+
+  private final long batchTimeout;
+
   private final JmsConnector jmsConnector;
 
   final boolean isTopic;
 
   private final ReconnectWorkManager reconnectWorkManager;
+  // guards adding and removing consumers from their batch receiving threads, which stopping a consumer waits for
+  private final Object consumersLock = new Object();
   private boolean reconnecting = false;
   private boolean started = false;
 
@@ -84,6 +104,13 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     } else {
       receiversCount = jmsConnector.getNumberOfConsumers();
     }
+    batchSize = jmsConnector.getBatchSize();
+    batchTimeout = jmsConnector.getBatchTimeout();
+    if (isBatchEnabled() && !isTopic) {
+      maxReceiversCount = max(receiversCount, jmsConnector.getMaxNumberOfConsumers());
+    } else {
+      maxReceiversCount = receiversCount;
+    }
     if (logger.isDebugEnabled()) {
       logger.debug("Creating " + receiversCount + " sub-receivers for " + endpoint.getEndpointURI());
     }
@@ -206,6 +233,58 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     }
   }
 
+  protected boolean isBatchEnabled() {
+    return batchSize > 1;
+  }
+
+  /**
+   * Adds a consumer because the given one is receiving full batches, unless the maximum number of consumers was reached.
+   */
+  private void addSubReceiver(SubReceiver requester) {
+    synchronized (consumersLock) {
+      if (!requester.started || consumers.size() >= maxReceiversCount) {
+        return;
+      }
+
+      SubReceiver sub = new SubReceiver(true);
+      try {
+        sub.doConnect();
+        sub.doStart();
+        consumers.add(sub);
+        if (logger.isDebugEnabled()) {
+          logger.debug("Added a sub-receiver for " + endpoint.getEndpointURI() + ", now using " + consumers.size());
+        }
+      } catch (MuleException e) {
+        logger.warn("Unable to add a sub-receiver for " + endpoint.getEndpointURI() + ": " + e.getMessage());
+        sub.closeConsumer();
+      }
+    }
+  }
+
+  /**
+   * Removes a consumer that was added by {@link #addSubReceiver(SubReceiver)} because it received no messages, unless that would
+   * leave less than the configured number of consumers.
+   *
+   * @return whether the consumer was removed
+   */
+  private boolean removeSubReceiver(SubReceiver sub) {
+    synchronized (consumersLock) {
+      if (consumers.size() <= receiversCount || !consumers.remove(sub)) {
+        return false;
+      }
+    }
+
+    try {
+      sub.doDisconnect();
+    } catch (MuleException e) {
+      logger.warn("Unable to cleanly remove sub-receiver: " + e.getMessage());
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Removed a sub-receiver for " + endpoint.getEndpointURI() + ", now using " + consumers.size());
+    }
+    return true;
+  }
+
   @Override
   public boolean shouldConsumeInEveryNode() {
     return !this.isTopic;
@@ -215,6 +294,11 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
     private final Logger subLogger = LoggerFactory.getLogger(getClass());
 
+    /**
+     * Whether this consumer was added because of the backlog, so it can be removed once there is none.
+     */
+    private final boolean scaled;
+
     private volatile Session session;
     private volatile MessageConsumer consumer;
 
@@ -222,6 +306,19 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     protected volatile boolean started;
     protected volatile boolean isProcessingMessage;
 
+    /**
+     * The batch receiving loop currently allowed to use the consumer, if any.
+     */
+    private volatile BatchReceiverWork batchReceiverWork;
+
+    public SubReceiver() {
+      this(false);
+    }
+
+    protected SubReceiver(boolean scaled) {
+      this.scaled = scaled;
+    }
+
     protected void doConnect() throws MuleException {
       subLogger.debug("SUB doConnect()");
       try {
@@ -266,6 +363,25 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
         doConnect();
       }
 
+      if (isBatchEnabled()) {
+        BatchReceiverWork work;
+        synchronized (this) {
+          if (started) {
+            return;
+          }
+          work = new BatchReceiverWork();
+          batchReceiverWork = work;
+          started = true;
+        }
+        try {
+          getWorkManager().scheduleWork(work);
+        } catch (WorkException e) {
+          batchReceiverWorkFinished(work);
+          throw new LifecycleException(e, this);
+        }
+        return;
+      }
+
       try {
         MessageListener currentMessageListener = consumer.getMessageListener();
         if (currentMessageListener == null || currentMessageListener != this) {
@@ -286,7 +402,18 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     protected void doStop(boolean force) throws MuleException {
       subLogger.debug("SUB doStop()");
 
-      if (consumer != null) {
+      if (isBatchEnabled()) {
+        BatchReceiverWork work;
+        synchronized (this) {
+          work = batchReceiverWork;
+          batchReceiverWork = null;
+          started = false;
+        }
+        // the batch receiver work finishes after its current batch, it must not use the consumer once this returns
+        if (work != null) {
+          work.awaitExit();
+        }
+      } else if (consumer != null) {
         try {
           consumer.setMessageListener(null);
           started = false;
@@ -364,11 +491,14 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
 
     @Override
     public void onMessage(final Message message) {
+      // Note: Despite the name "Worker", there is no new thread created here in order to maintain synchronicity for exception
+      // handling.
+      processMessages(new JmsWorker(message, MultiConsumerJmsMessageReceiver.this, this));
+    }
+
+    private void processMessages(JmsWorker worker) {
       try {
         isProcessingMessage = true;
-        // Note: Despite the name "Worker", there is no new thread created here in order to maintain synchronicity for exception
-        // handling.
-        JmsWorker worker = new JmsWorker(message, MultiConsumerJmsMessageReceiver.this, this);
         worker.processMessages();
       } catch (Exception e) {
         // Use this rollback method in case a transaction has not been configured on the endpoint.
@@ -390,6 +520,116 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
     public boolean isConnected() {
       return connected;
     }
+
+    /**
+     * Receives up to {@link #batchSize} messages. Once the first one is received, it waits at most {@link #batchTimeout}
+     * milliseconds for the rest.
+     *
+     * @return the received messages, empty if none was received within {@link #batchTimeout} milliseconds
+     */
+    protected List<Object> receiveBatch() throws JMSException {
+      List<Object> batch = new ArrayList<>(batchSize);
+      MessageConsumer currentConsumer = consumer;
+      if (currentConsumer == null) {
+        return batch;
+      }
+
+      Message message = currentConsumer.receive(batchTimeout);
+      if (message == null) {
+        return batch;
+      }
+      batch.add(message);
+
+      long deadline = currentTimeMillis() + batchTimeout;
+      long remaining;
+      while (batch.size() < batchSize && (remaining = deadline - currentTimeMillis()) > 0) {
+        message = currentConsumer.receive(remaining);
+        if (message == null) {
+          break;
+        }
+        batch.add(message);
+      }
+      return batch;
+    }
+
+    /**
+     * Marks the sub-receiver as stopped if the given work is still the current one, so that it can be started again.
+     */
+    private synchronized void batchReceiverWorkFinished(BatchReceiverWork work) {
+      if (batchReceiverWork == work) {
+        batchReceiverWork = null;
+        started = false;
+      }
+    }
+
+    /**
+     * Receives and processes batches until the sub-receiver is stopped or disconnected.
+     */
+    private class BatchReceiverWork implements Work {
+
+      private final CountDownLatch exited = new CountDownLatch(1);
+      private volatile Thread thread;
+
+      @Override
+      public void run() {
+        thread = currentThread();
+        try {
+          while (isCurrent() && connected) {
+            List<Object> batch;
+            try {
+              batch = receiveBatch();
+            } catch (JMSException e) {
+              if (isCurrent() && connected) {
+                // the connector's exception listener takes care of reconnecting
+                subLogger.warn("Unable to receive messages from " + endpoint.getEndpointURI() + ": " + e.getMessage());
+              }
+              return;
+            }
+
+            if (batch.isEmpty()) {
+              if (scaled && removeSubReceiver(SubReceiver.this)) {
+                return;
+              }
+            } else {
+              // the worker clears the batch once processed
+              boolean full = batch.size() == batchSize;
+              processMessages(new JmsWorker(batch, MultiConsumerJmsMessageReceiver.this, SubReceiver.this));
+              if (full) {
+                addSubReceiver(SubReceiver.this);
+              }
+            }
+          }
+        } finally {
+          batchReceiverWorkFinished(this);
+          exited.countDown();
+        }
+      }
+
+      private boolean isCurrent() {
+        return batchReceiverWork == this;
+      }
+
+      /**
+       * Waits for the loop to exit once it is no longer the current one, unless it did not start yet, in which case it will exit
+       * right away, or this is called from the loop itself.
+       */
+      private void awaitExit() {
+        Thread loopThread = thread;
+        if (loopThread == null || loopThread == currentThread()) {
+          return;
+        }
+        try {
+          exited.await();
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+        }
+      }
+
+      @Override
+      public void release() {
+        // nothing to release
+      }
+    }
   }
 
   protected class JmsWorker extends AbstractReceiverWorker {
@@ -402,6 +642,11 @@ public class MultiConsumerJmsMessageReceiver extends AbstractMessageReceiver {
       messages.add(message);
     }
 
+    public JmsWorker(List<Object> messages, AbstractMessageReceiver receiver, SubReceiver subReceiver) {
+      super(messages, receiver);
+      this.subReceiver = subReceiver;
+    }
+
     @Override
     protected Object preProcessMessage(Object message) throws Exception {
       Message m = (Message) message;
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.jms.Session.AUTO_ACKNOWLEDGE;
+
+import org.mule.compatibility.core.api.endpoint.ImmutableEndpoint;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+import javax.jms.TemporaryQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A temporary queue which receives the replies of all the request-response calls of a {@link JmsMessageDispatcher}, instead of
+ * creating and deleting a temporary queue for each call.
+ * <p>
+ * Each request has to be sent with a unique {@code JMSCorrelationID}, which the remote side copies into its reply. Callers
+ * register that id with {@link #expectReply(String)} before sending the request and then wait for the reply with
+ * {@link #awaitReply(String, int)}. A single consumer hands each received reply to the caller waiting for its id.
+ * <p>
+ * The queue and its consumer are created on first use and created again if the JMS connection of the connector changes.
+ *
+ * @since 4.0
+ */
+public class SharedReplyToQueue implements MessageListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(SharedReplyToQueue.class);
+
+  private final JmsConnector connector;
+  private final ImmutableEndpoint endpoint;
+  private final JmsDispatcherStatistics statistics;
+  private final Map<String, PendingReply> pendingReplies = new ConcurrentHashMap<>();
+
+  private Connection connection;
+  private Session session;
+  private TemporaryQueue queue;
+  private MessageConsumer consumer;
+
+  public SharedReplyToQueue(JmsConnector connector, ImmutableEndpoint endpoint) {
+    this.connector = connector;
+    this.endpoint = endpoint;
+    this.statistics = connector.getDispatcherStatistics();
+  }
+
+  /**
+   * @return the destination to set as the {@code JMSReplyTo} of the requests
+   * @throws JMSException if the queue or its consumer could not be created
+   */
+  public synchronized Destination getDestination() throws JMSException {
+    if (queue == null || connection != connector.getConnection()) {
+      close();
+      connection = connector.getConnection();
+      session = connector.getJmsSupport().createSession(connection, false, false, AUTO_ACKNOWLEDGE, false);
+      queue = (TemporaryQueue) connector.getJmsSupport().createTemporaryDestination(session, false);
+      consumer = connector.getJmsSupport().createConsumer(session, queue, null, false, null, false, endpoint);
+      consumer.setMessageListener(this);
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Created shared reply to queue " + queue + " for endpoint " + endpoint.getEndpointURI());
+      }
+    }
+    return queue;
+  }
+
+  /**
+   * Registers a caller that is about to send a request with the given {@code correlationId}. It has to be invoked before sending
+   * the request so that its reply is not missed.
+   *
+   * @param correlationId the unique {@code JMSCorrelationID} of the request
+   */
+  public void expectReply(String correlationId) {
+    pendingReplies.put(correlationId, new PendingReply());
+  }
+
+  /**
+   * Waits for the reply of a request previously registered with {@link #expectReply(String)}.
+   *
+   * @param correlationId the unique {@code JMSCorrelationID} of the request
+   * @param timeout how long to wait for the reply, in milliseconds
+   * @return the reply, or {@code null} if none was received in time
+   */
+  public Message awaitReply(String correlationId, int timeout) throws InterruptedException {
+    PendingReply pendingReply = pendingReplies.get(correlationId);
+    try {
+      Message reply = pendingReply.reply.get(timeout, MILLISECONDS);
+      statistics.replyReceived(NANOSECONDS.toMillis(nanoTime() - pendingReply.startNanos));
+      return reply;
+    } catch (TimeoutException e) {
+      statistics.replyTimedOut();
+      return null;
+    } catch (ExecutionException e) {
+      // replies are never completed exceptionally
+      return null;
+    } finally {
+      pendingReplies.remove(correlationId);
+    }
+  }
+
+  /**
+   * Stops waiting for the reply of a request, for instance because it could not be sent.
+   *
+   * @param correlationId the unique {@code JMSCorrelationID} of the request
+   */
+  public void cancel(String correlationId) {
+    pendingReplies.remove(correlationId);
+  }
+
+  @Override
+  public void onMessage(Message message) {
+    try {
+      String correlationId = message.getJMSCorrelationID();
+      PendingReply pendingReply = correlationId != null ? pendingReplies.get(correlationId) : null;
+      if (pendingReply != null) {
+        pendingReply.reply.complete(message);
+      } else if (logger.isDebugEnabled()) {
+        logger.debug("Discarding reply with JMSCorrelationID " + correlationId + " received after its request timed out");
+      }
+    } catch (JMSException e) {
+      logger.warn("Failed to read the JMSCorrelationID of a reply: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Closes the consumer and deletes the temporary queue. Any caller still waiting for a reply will time out.
+   */
+  public synchronized void close() {
+    connector.closeQuietly(consumer);
+    connector.closeQuietly(queue);
+    connector.closeQuietly(session);
+    consumer = null;
+    queue = null;
+    session = null;
+    connection = null;
+  }
+
+  private static class PendingReply {
+
+    private final long startNanos = nanoTime();
+    private final CompletableFuture<Message> reply = new CompletableFuture<>();
+  }
+}
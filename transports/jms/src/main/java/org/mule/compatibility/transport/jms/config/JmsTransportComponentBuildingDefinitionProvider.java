@@ -102,6 +102,7 @@ public class JmsTransportComponentBuildingDefinitionProvider extends TransportCo
                                        fromSimpleParameter("disableTemporaryReplyToDestinations").build())
         .withSetterParameterDefinition("returnOriginalMessageAsReply",
                                        fromSimpleParameter("returnOriginalMessageAsReply").build())
+        .withSetterParameterDefinition("sharedReplyToQueue", fromSimpleParameter("sharedReplyToQueue").build())
         .withSetterParameterDefinition("embeddedMode", fromSimpleParameter("embeddedMode").build())
         .withSetterParameterDefinition("honorQosHeaders", fromSimpleParameter("honorQosHeaders").build())
         .withSetterParameterDefinition("sameRMOverrideValue", fromSimpleParameter("sameRMOverrideValue").build())
@@ -110,6 +111,9 @@ public class JmsTransportComponentBuildingDefinitionProvider extends TransportCo
                                        fromSimpleReferenceParameter("redeliveryHandlerFactory-ref").build())
         .withSetterParameterDefinition("connectionFactory", fromSimpleReferenceParameter("connectionFactory-ref").build())
         .withSetterParameterDefinition("numberOfConsumers", fromSimpleParameter("numberOfConsumers").build())
+        .withSetterParameterDefinition("maxNumberOfConsumers", fromSimpleParameter("maxNumberOfConsumers").build())
+        .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
+        .withSetterParameterDefinition("batchTimeout", fromSimpleParameter("batchTimeout").build())
         .withSetterParameterDefinition("numberOfConcurrentTransactedReceivers",
                                        fromSimpleParameter("numberOfConcurrentTransactedReceivers").build())
         .withSetterParameterDefinition("jndiNameResolver", fromChildConfiguration(JndiNameResolver.class).build());
@@ -6,15 +6,22 @@
  */
 package org.mule.compatibility.transport.jms;
 
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,15 +31,24 @@ import org.mule.compatibility.transport.jms.JmsConstants;
 import org.mule.compatibility.transport.jms.MultiConsumerJmsMessageReceiver;
 import org.mule.runtime.core.api.config.MuleProperties;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.context.WorkManager;
 import org.mule.runtime.core.execution.MessageProcessingManager;
 import org.mule.runtime.core.retry.policies.SimpleRetryPolicyTemplate;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
 import javax.jms.Destination;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.MessageListener;
 import javax.jms.Session;
+import javax.resource.spi.work.Work;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -96,6 +112,160 @@ public class MultiConsumerJmsMessageReceiverTest extends AbstractMuleTestCase {
     verify(mockMessageConsumer, never()).setMessageListener(any(MessageListener.class));
   }
 
+  @Test
+  public void receiveBatchUpToBatchSize() throws Exception {
+    Message message1 = mock(Message.class);
+    Message message2 = mock(Message.class);
+    Message message3 = mock(Message.class);
+    Message message4 = mock(Message.class);
+    MessageConsumer mockMessageConsumer = mockBatchConsumer(false);
+    when(mockMessageConsumer.receive(anyLong())).thenReturn(message1, message2, message3, message4);
+
+    MultiConsumerJmsMessageReceiver.SubReceiver subReceiver = createConnectedSubReceiver();
+
+    assertThat(subReceiver.receiveBatch(), contains((Object) message1, message2, message3));
+  }
+
+  @Test
+  public void receiveBatchUntilNoMoreMessages() throws Exception {
+    Message message = mock(Message.class);
+    MessageConsumer mockMessageConsumer = mockBatchConsumer(false);
+    when(mockMessageConsumer.receive(anyLong())).thenReturn(message, (Message) null);
+
+    MultiConsumerJmsMessageReceiver.SubReceiver subReceiver = createConnectedSubReceiver();
+
+    assertThat(subReceiver.receiveBatch(), contains((Object) message));
+  }
+
+  @Test
+  public void receiveEmptyBatch() throws Exception {
+    mockBatchConsumer(false);
+
+    MultiConsumerJmsMessageReceiver.SubReceiver subReceiver = createConnectedSubReceiver();
+
+    assertThat(subReceiver.receiveBatch().isEmpty(), is(true));
+  }
+
+  @Test
+  public void batchConsumersScaledOnlyForQueues() throws Exception {
+    mockBatchConsumer(false);
+    when(mockJmsConnector.getMaxNumberOfConsumers()).thenReturn(4);
+    assertThat(new MultiConsumerJmsMessageReceiver(mockJmsConnector, mockFlowConstruct, mockInboundEndpoint).maxReceiversCount,
+               is(4));
+
+    when(mockJmsConnector.getTopicResolver().isTopic(mockInboundEndpoint, true)).thenReturn(true);
+    assertThat(new MultiConsumerJmsMessageReceiver(mockJmsConnector, mockFlowConstruct, mockInboundEndpoint).maxReceiversCount,
+               is(1));
+  }
+
+  @Test
+  public void batchReceiverRestartedAfterReceiveFailure() throws Exception {
+    MessageConsumer mockMessageConsumer = mockBatchConsumer(false);
+    when(mockMessageConsumer.receive(anyLong())).thenThrow(new JMSException("connection lost"));
+    Semaphore finishedWorks = new Semaphore(0);
+
+    MultiConsumerJmsMessageReceiver.SubReceiver subReceiver = createConnectedSubReceiver(runningWorksInThreads(finishedWorks));
+    subReceiver.doStart();
+    assertThat(finishedWorks.tryAcquire(5, SECONDS), is(true));
+    assertThat(subReceiver.started, is(false));
+
+    subReceiver.doStart();
+    assertThat(finishedWorks.tryAcquire(5, SECONDS), is(true));
+    verify(mockMessageConsumer, times(2)).receive(anyLong());
+  }
+
+  @Test
+  public void batchReceiverStopWaitsForReceivingLoop() throws Exception {
+    MessageConsumer mockMessageConsumer = mockBatchConsumer(false);
+    CountDownLatch receiving = new CountDownLatch(1);
+    CountDownLatch receive = new CountDownLatch(1);
+    when(mockMessageConsumer.receive(anyLong())).thenAnswer(invocation -> {
+      receiving.countDown();
+      receive.await();
+      return null;
+    });
+    Semaphore finishedWorks = new Semaphore(0);
+
+    MultiConsumerJmsMessageReceiver.SubReceiver subReceiver = createConnectedSubReceiver(runningWorksInThreads(finishedWorks));
+    subReceiver.doStart();
+    assertThat(receiving.await(5, SECONDS), is(true));
+
+    ExecutorService executor = newSingleThreadExecutor();
+    try {
+      Future<?> stopped = executor.submit(() -> {
+        subReceiver.doStop(true);
+        return null;
+      });
+      try {
+        stopped.get(100, MILLISECONDS);
+        throw new AssertionError("Stopped while the consumer is still in use");
+      } catch (TimeoutException e) {
+        // expected
+      }
+
+      receive.countDown();
+      stopped.get(5, SECONDS);
+      assertThat(finishedWorks.tryAcquire(5, SECONDS), is(true));
+      verify(mockMessageConsumer).receive(anyLong());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * @param finishedWorks released once for each {@link Work} that finished
+   * @return a {@link WorkManager} which runs each scheduled {@link Work} in its own thread
+   */
+  private WorkManager runningWorksInThreads(Semaphore finishedWorks) throws Exception {
+    WorkManager workManager = mock(WorkManager.class);
+    doAnswer(invocation -> {
+      Work work = (Work) invocation.getArguments()[0];
+      new Thread(() -> {
+        try {
+          work.run();
+        } finally {
+          finishedWorks.release();
+        }
+      }).start();
+      return null;
+    }).when(workManager).scheduleWork(any(Work.class));
+    return workManager;
+  }
+
+  private MessageConsumer mockBatchConsumer(boolean topic) throws Exception {
+    when(mockJmsConnector.getTopicResolver().isTopic(mockInboundEndpoint, true)).thenReturn(topic);
+    when(mockJmsConnector.getNumberOfConsumers()).thenReturn(1);
+    when(mockJmsConnector.getBatchSize()).thenReturn(3);
+    when(mockJmsConnector.getBatchTimeout()).thenReturn(100L);
+    when(mockInboundEndpoint.getConnector()).thenReturn(mockJmsConnector);
+    when(mockInboundEndpoint.getProperties().get(JmsConstants.DURABLE_PROPERTY)).thenReturn("false");
+    when(mockInboundEndpoint.getProperties().get(JmsConstants.DURABLE_NAME_PROPERTY)).thenReturn(null);
+
+    MessageConsumer mockMessageConsumer = mock(MessageConsumer.class);
+    when(mockJmsConnector.getJmsSupport().createConsumer(any(Session.class), any(Destination.class), anyString(), anyBoolean(),
+                                                         anyString(), anyBoolean(), any(InboundEndpoint.class)))
+                                                             .thenReturn(mockMessageConsumer);
+    return mockMessageConsumer;
+  }
+
+  private MultiConsumerJmsMessageReceiver.SubReceiver createConnectedSubReceiver() throws Exception {
+    return createConnectedSubReceiver(null);
+  }
+
+  private MultiConsumerJmsMessageReceiver.SubReceiver createConnectedSubReceiver(WorkManager workManager) throws Exception {
+    MultiConsumerJmsMessageReceiver messageReceiver =
+        new MultiConsumerJmsMessageReceiver(mockJmsConnector, mockFlowConstruct, mockInboundEndpoint) {
+
+          @Override
+          protected WorkManager getWorkManager() {
+            return workManager != null ? workManager : super.getWorkManager();
+          }
+        };
+    MultiConsumerJmsMessageReceiver.SubReceiver subReceiver = messageReceiver.new SubReceiver();
+    subReceiver.doConnect();
+    return subReceiver;
+  }
+
   private abstract class TestMessageConsumer implements MessageConsumer {
 
     private MessageListener messageListener;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.jms;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.compatibility.core.api.endpoint.ImmutableEndpoint;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import javax.jms.Connection;
+import javax.jms.Destination;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+import javax.jms.TemporaryQueue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class SharedReplyToQueueTestCase extends AbstractMuleTestCase {
+
+  private static final int TIMEOUT = 1000;
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private JmsConnector connector;
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private ImmutableEndpoint endpoint;
+
+  @Mock
+  private TemporaryQueue temporaryQueue;
+
+  @Mock
+  private MessageConsumer consumer;
+
+  private final JmsDispatcherStatistics statistics = new JmsDispatcherStatistics();
+  private SharedReplyToQueue replyToQueue;
+
+  @Before
+  public void before() throws Exception {
+    when(connector.getConnection()).thenReturn(mock(Connection.class));
+    when(connector.getDispatcherStatistics()).thenReturn(statistics);
+    when(connector.getJmsSupport().createTemporaryDestination(any(Session.class), eq(false))).thenReturn(temporaryQueue);
+    when(connector.getJmsSupport().createConsumer(any(Session.class), any(Destination.class), anyString(), anyBoolean(),
+                                                  anyString(), anyBoolean(), any(ImmutableEndpoint.class)))
+                                                      .thenReturn(consumer);
+
+    replyToQueue = new SharedReplyToQueue(connector, endpoint);
+  }
+
+  @Test
+  public void queueCreatedOnce() throws Exception {
+    assertThat(replyToQueue.getDestination(), is(sameInstance(temporaryQueue)));
+    assertThat(replyToQueue.getDestination(), is(sameInstance(temporaryQueue)));
+
+    verify(connector.getJmsSupport(), times(1)).createTemporaryDestination(any(Session.class), eq(false));
+    verify(consumer).setMessageListener(replyToQueue);
+  }
+
+  @Test
+  public void queueCreatedAgainAfterReconnection() throws Exception {
+    replyToQueue.getDestination();
+    when(connector.getConnection()).thenReturn(mock(Connection.class));
+    replyToQueue.getDestination();
+
+    verify(connector, times(1)).closeQuietly(temporaryQueue);
+    verify(connector.getJmsSupport(), times(2)).createSession(any(Connection.class), eq(false), eq(false), anyInt(), eq(false));
+  }
+
+  @Test
+  public void repliesHandedByCorrelationId() throws Exception {
+    replyToQueue.getDestination();
+    replyToQueue.expectReply("1");
+    replyToQueue.expectReply("2");
+
+    Message reply1 = createReply("1");
+    Message reply2 = createReply("2");
+    replyToQueue.onMessage(reply2);
+    replyToQueue.onMessage(reply1);
+
+    assertThat(replyToQueue.awaitReply("1", TIMEOUT), is(sameInstance(reply1)));
+    assertThat(replyToQueue.awaitReply("2", TIMEOUT), is(sameInstance(reply2)));
+    assertThat(statistics.getRepliesReceived(), is(2L));
+    assertThat(statistics.getReplyTimeouts(), is(0L));
+  }
+
+  @Test
+  public void lateReplyDiscarded() throws Exception {
+    replyToQueue.getDestination();
+    replyToQueue.expectReply("1");
+
+    assertThat(replyToQueue.awaitReply("1", 10), is(nullValue()));
+    replyToQueue.onMessage(createReply("1"));
+
+    assertThat(statistics.getRepliesReceived(), is(0L));
+    assertThat(statistics.getReplyTimeouts(), is(1L));
+  }
+
+  private Message createReply(String correlationId) throws Exception {
+    Message reply = mock(Message.class);
+    when(reply.getJMSCorrelationID()).thenReturn(correlationId);
+    return reply;
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link TcpProtocol} which is also able to decode messages out of the data received so far on a connection, without blocking
+ * to wait for the rest of it. This is what the {@link NioTcpMessageReceiver} requires, since a single thread reads from all of
+ * its connections.
+ *
+ * @since 4.0
+ */
+public interface IncrementalTcpProtocol extends TcpProtocol {
+
+  /**
+   * Decodes the next message out of the data received so far.
+   * <p>
+   * If {@code buffer} holds a whole message, its bytes are consumed by advancing the position of the buffer. Otherwise, the
+   * position of the buffer is left untouched so that the decoding is tried again once more data is received.
+   *
+   * @param buffer the data received and not consumed yet, between its position and its limit
+   * @param endOfStream whether the remote side closed the connection, so no more data will be received
+   * @return the decoded message, or {@code null} if {@code buffer} doesn't hold a whole message yet or, on end of stream, there
+   *         are no more messages
+   * @throws IOException if the data received is not valid for this protocol
+   */
+  Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException;
+
+  /**
+   * Decodes the next message out of the data received so far, as {@link #decode(ByteBuffer, boolean)} does, knowing that the
+   * first {@code examined} bytes of {@code buffer} were already passed to a previous invocation which didn't decode a message out
+   * of them. Protocols which look for a delimiter may use it to avoid examining those bytes again.
+   * <p>
+   * The default implementation ignores {@code examined}.
+   *
+   * @param buffer the data received and not consumed yet, between its position and its limit
+   * @param endOfStream whether the remote side closed the connection, so no more data will be received
+   * @param examined the amount of bytes from the position of {@code buffer} which were already examined
+   * @return the decoded message, or {@code null} if {@code buffer} doesn't hold a whole message yet or, on end of stream, there
+   *         are no more messages
+   * @throws IOException if the data received is not valid for this protocol
+   */
+  default Object decode(ByteBuffer buffer, boolean endOfStream, int examined) throws IOException {
+    return decode(buffer, endOfStream);
+  }
+
+}
@@ -0,0 +1,574 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static java.nio.channels.SelectionKey.OP_WRITE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_REMOTE_CLIENT_ADDRESS;
+
+import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
+import org.mule.compatibility.core.api.transport.Connector;
+import org.mule.compatibility.core.connector.EndpointConnectException;
+import org.mule.compatibility.core.message.CompatibilityMessage;
+import org.mule.compatibility.core.message.MuleCompatibilityMessageBuilder;
+import org.mule.compatibility.core.transport.AbstractMessageReceiver;
+import org.mule.compatibility.core.transport.AbstractReceiverWorker;
+import org.mule.compatibility.transport.tcp.i18n.TcpMessages;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.lifecycle.CreateException;
+import org.mule.runtime.core.api.transaction.Transaction;
+import org.mule.runtime.core.api.transaction.TransactionException;
+import org.mule.runtime.core.config.i18n.CoreMessages;
+import org.mule.runtime.core.connector.ConnectException;
+import org.mule.runtime.core.util.monitor.Expirable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.resource.spi.work.Work;
+import javax.resource.spi.work.WorkException;
+import javax.resource.spi.work.WorkManager;
+
+/**
+ * <code>NioTcpMessageReceiver</code> acts like a TCP server to receive socket requests, like {@link TcpMessageReceiver}, but
+ * instead of blocking a thread on each accepted socket, a single thread accepts the connections and reads from all of them,
+ * waiting for any of them to have data with a {@link Selector}.
+ * <p>
+ * The data read is decoded with an {@link IncrementalTcpProtocol}. Once a connection has whole messages, they are processed by a
+ * worker and no more data is read from it until they are processed, so the messages of each connection are still processed (and
+ * answered) in order. Responses are written by the selector thread too.
+ * <p>
+ * Since the sockets are never blocked on, their SO_TIMEOUT has no effect. Idle connections are closed after the keep alive
+ * timeout of the {@link TcpConnector} instead, if set.
+ *
+ * @since 4.0
+ */
+public class NioTcpMessageReceiver extends AbstractMessageReceiver implements Work {
+
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  protected final AtomicBoolean disposing = new AtomicBoolean(false);
+
+  private final Set<TcpConnection> connections = ConcurrentHashMap.newKeySet();
+  private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+  private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+  private ServerSocketChannel serverChannel;
+  private SelectionKey serverKey;
+  private Selector selector;
+
+  public NioTcpMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint)
+      throws CreateException {
+    super(connector, flowConstruct, endpoint);
+  }
+
+  @Override
+  protected void doConnect() throws ConnectException {
+    disposing.set(false);
+
+    URI uri = endpoint.getEndpointURI().getUri();
+
+    try {
+      serverChannel = ((TcpConnector) connector).getServerSocketChannel(uri);
+      serverChannel.configureBlocking(false);
+      selector = Selector.open();
+      // started again after reconnecting
+      serverKey = serverChannel.register(selector, isStarted() ? OP_ACCEPT : 0);
+    } catch (Exception e) {
+      closeChannels();
+      throw new EndpointConnectException(TcpMessages.failedToBindToUri(uri), e, this);
+    }
+
+    try {
+      getWorkManager().scheduleWork(this, WorkManager.INDEFINITE, null, connector);
+    } catch (WorkException e) {
+      closeChannels();
+      throw new EndpointConnectException(CoreMessages.failedToScheduleWork(), e, this);
+    }
+  }
+
+  @Override
+  protected void doDisconnect() throws ConnectException {
+    // this will cause the selector thread to quit
+    disposing.set(true);
+    closeChannels();
+  }
+
+  @Override
+  protected void doStart() throws MuleException {
+    runOnSelector(() -> setAcceptInterest(OP_ACCEPT));
+  }
+
+  @Override
+  protected void doStop() throws MuleException {
+    // connections already accepted are kept, as the blocking receiver does
+    runOnSelector(() -> setAcceptInterest(0));
+  }
+
+  private void setAcceptInterest(int ops) {
+    if (serverKey != null && serverKey.isValid()) {
+      serverKey.interestOps(ops);
+    }
+  }
+
+  @Override
+  protected void doDispose() {
+    closeChannels();
+    serverChannel = null;
+    logger.info("Closed Tcp port");
+  }
+
+  /**
+   * Closing the selector first deregisters all the channels, so that closing them releases their sockets right away.
+   */
+  private void closeChannels() {
+    try {
+      if (selector != null) {
+        selector.close();
+      }
+      if (serverChannel != null && serverChannel.isOpen()) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Closing: " + serverChannel);
+        }
+        serverChannel.close();
+      }
+    } catch (IOException e) {
+      logger.warn("Failed to close server socket: " + e.getMessage(), e);
+    }
+
+    for (TcpConnection connection : connections) {
+      connection.close();
+    }
+  }
+
+  /**
+   * Obtain the server socket channel
+   *
+   * @return the server socket channel for this server
+   */
+  public ServerSocketChannel getServerSocketChannel() {
+    return serverChannel;
+  }
+
+  /**
+   * @return the amount of connections currently open
+   */
+  public int getConnectionsCount() {
+    return connections.size();
+  }
+
+  /**
+   * Runs a task on the selector thread, which owns the selection keys and the data read.
+   */
+  private void runOnSelector(Runnable task) {
+    selectorTasks.add(task);
+    Selector currentSelector = selector;
+    if (currentSelector != null) {
+      currentSelector.wakeup();
+    }
+  }
+
+  @Override
+  public void run() {
+    // a new selector is opened on reconnection, along with a new selector thread
+    final Selector selector = this.selector;
+    try {
+      while (!disposing.get()) {
+        try {
+          selector.select();
+        } catch (IOException e) {
+          if (!disposing.get()) {
+            // the selector can no longer be used, reconnecting opens a new one
+            getEndpoint().getMuleContext().getExceptionListener().handleException(new EndpointConnectException(e, this));
+          }
+          return;
+        }
+
+        runSelectorTasks();
+        processSelectedKeys(selector);
+      }
+    } catch (ClosedSelectorException e) {
+      // disconnected
+    }
+  }
+
+  /**
+   * Runs the pending tasks, so that a failing one does not affect the others nor the selector thread.
+   */
+  private void runSelectorTasks() {
+    Runnable task;
+    while ((task = selectorTasks.poll()) != null) {
+      try {
+        task.run();
+      } catch (ClosedSelectorException e) {
+        throw e;
+      } catch (CancelledKeyException e) {
+        // closed meanwhile
+      } catch (Exception e) {
+        handleSelectorException(e);
+      }
+    }
+  }
+
+  /**
+   * Accepts, reads from or writes to the channels of the selected keys. A failure only closes the connection it happened on.
+   */
+  private void processSelectedKeys(Selector selector) {
+    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+    while (keys.hasNext()) {
+      SelectionKey key = keys.next();
+      keys.remove();
+
+      if (!key.isValid()) {
+        continue;
+      }
+      if (key.isAcceptable()) {
+        try {
+          accept(selector);
+        } catch (ClosedSelectorException e) {
+          throw e;
+        } catch (Exception e) {
+          handleSelectorException(e);
+        }
+      } else {
+        TcpConnection connection = (TcpConnection) key.attachment();
+        try {
+          if (key.isReadable()) {
+            connection.read();
+          }
+          if (key.isValid() && key.isWritable()) {
+            connection.write();
+          }
+        } catch (ClosedSelectorException e) {
+          throw e;
+        } catch (CancelledKeyException e) {
+          // closed meanwhile
+          connection.close();
+        } catch (Exception e) {
+          handleSelectorException(e);
+          connection.close();
+        }
+      }
+    }
+  }
+
+  private void handleSelectorException(Exception e) {
+    if (!disposing.get()) {
+      getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+    }
+  }
+
+  private void accept(Selector selector) {
+    SocketChannel channel;
+    try {
+      while ((channel = serverChannel.accept()) != null) {
+        try {
+          channel.configureBlocking(false);
+          ((TcpConnector) connector).configureSocket(TcpConnector.SERVER, channel.socket());
+          TcpConnection connection = new TcpConnection(channel);
+          connection.key = channel.register(selector, OP_READ, connection);
+          connections.add(connection);
+          connection.waitForMessages();
+        } catch (IOException e) {
+          logger.warn("Failed to configure accepted socket: " + e.getMessage());
+          channel.close();
+        }
+      }
+    } catch (IOException e) {
+      if (!connector.isDisposed() && !disposing.get()) {
+        getEndpoint().getMuleContext().getExceptionListener().handleException(new EndpointConnectException(e, this));
+      }
+    }
+  }
+
+  @Override
+  public void release() {
+    // template method
+  }
+
+  /**
+   * The state of a connection accepted by this receiver. Except for the responses queued by the workers, it is only accessed by
+   * the selector thread.
+   */
+  protected class TcpConnection implements Expirable {
+
+    private final SocketChannel channel;
+    private final Queue<ByteBuffer> responses = new ConcurrentLinkedQueue<>();
+    private SelectionKey key;
+    private ByteBuffer pending;
+    private boolean endOfStream = false;
+    private boolean processing = false;
+
+    private TcpConnection(SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    private void read() {
+      readBuffer.clear();
+      try {
+        endOfStream = channel.read(readBuffer) < 0;
+      } catch (IOException e) {
+        // do not pollute the log with a stacktrace, log only the message
+        logger.info("Socket exception occured: " + e.getMessage());
+        close();
+        return;
+      }
+      readBuffer.flip();
+
+      List<Object> messages = new ArrayList<>();
+      try {
+        decode(messages);
+      } catch (Exception e) {
+        getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+        close();
+        return;
+      }
+
+      if (!messages.isEmpty()) {
+        process(messages);
+      } else if (endOfStream) {
+        closeWhenWritten();
+      }
+    }
+
+    /**
+     * Decodes all the whole messages received so far, keeping any remaining data until more is received.
+     */
+    private void decode(List<Object> messages) throws IOException {
+      IncrementalTcpProtocol protocol = (IncrementalTcpProtocol) ((TcpConnector) connector).getTcpProtocol();
+      // the pending data was already examined by the last decoding, which didn't decode a message out of it
+      int examined = pending == null ? 0 : pending.remaining();
+      ByteBuffer data = pending == null ? readBuffer : append(pending, readBuffer);
+
+      Object message;
+      while ((message = protocol.decode(data, endOfStream, examined)) != null) {
+        messages.add(message);
+        examined = 0;
+      }
+
+      if (!data.hasRemaining()) {
+        pending = null;
+      } else if (data == readBuffer) {
+        // the read buffer is reused for every connection
+        pending = ByteBuffer.allocate(data.remaining());
+        pending.put(data);
+        pending.flip();
+      } else {
+        pending = data;
+      }
+    }
+
+    /**
+     * @return a buffer with the data of {@code buffer} followed by the data of {@code data}, ready to be read
+     */
+    private ByteBuffer append(ByteBuffer buffer, ByteBuffer data) {
+      if (buffer.capacity() - buffer.limit() >= data.remaining()) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        buffer.limit(limit + data.remaining());
+        buffer.position(limit);
+        buffer.put(data);
+        buffer.position(start);
+        return buffer;
+      } else if (buffer.capacity() - buffer.remaining() >= data.remaining()) {
+        buffer.compact();
+        buffer.put(data);
+        buffer.flip();
+        return buffer;
+      } else {
+        ByteBuffer result = ByteBuffer.allocate(Math.max(buffer.remaining() + data.remaining(), buffer.capacity() * 2));
+        result.put(buffer);
+        result.put(data);
+        result.flip();
+        return result;
+      }
+    }
+
+    private void process(List<Object> messages) {
+      ((TcpConnector) connector).getKeepAliveMonitor().removeExpirable(this);
+      // stop reading until the messages are processed, so they are processed in order
+      processing = true;
+      key.interestOps(key.interestOps() & ~OP_READ);
+
+      try {
+        getWorkManager().scheduleWork(new NioTcpWorker(messages, NioTcpMessageReceiver.this, this), WorkManager.INDEFINITE,
+                                      null, connector);
+      } catch (WorkException e) {
+        getEndpoint().getMuleContext().getExceptionListener().handleException(e);
+        close();
+      }
+    }
+
+    /**
+     * Invoked once the messages are processed and their responses queued
+     */
+    private void processed() {
+      runOnSelector(() -> {
+        processing = false;
+        if (!key.isValid()) {
+          return;
+        }
+        if (endOfStream) {
+          closeWhenWritten();
+        } else {
+          key.interestOps(key.interestOps() | OP_READ);
+          waitForMessages();
+        }
+      });
+    }
+
+    private void waitForMessages() {
+      long keepAliveTimeout = ((TcpConnector) connector).getKeepAliveTimeout();
+      if (keepAliveTimeout > 0) {
+        ((TcpConnector) connector).getKeepAliveMonitor().addExpirable(keepAliveTimeout, TimeUnit.MILLISECONDS, this);
+      }
+    }
+
+    /**
+     * Queues a response to be written by the selector thread
+     */
+    private void send(byte[] response) {
+      responses.add(ByteBuffer.wrap(response));
+      runOnSelector(() -> {
+        if (key.isValid()) {
+          key.interestOps(key.interestOps() | OP_WRITE);
+        }
+      });
+    }
+
+    private void write() {
+      try {
+        ByteBuffer response;
+        while ((response = responses.peek()) != null) {
+          channel.write(response);
+          if (response.hasRemaining()) {
+            // socket buffer full, wait until it is writable again
+            return;
+          }
+          responses.poll();
+        }
+      } catch (IOException e) {
+        logger.info("Socket exception occured: " + e.getMessage());
+        close();
+        return;
+      }
+
+      key.interestOps(key.interestOps() & ~OP_WRITE);
+      if (endOfStream && !processing) {
+        close();
+      }
+    }
+
+    private void closeWhenWritten() {
+      if (responses.isEmpty()) {
+        close();
+      } else {
+        key.interestOps(OP_WRITE);
+      }
+    }
+
+    /**
+     * @return the address of the remote side of the connection, if still connected
+     */
+    public SocketAddress getRemoteAddress() {
+      return channel.socket().getRemoteSocketAddress();
+    }
+
+    @Override
+    public void expired() {
+      runOnSelector(this::close);
+    }
+
+    private void close() {
+      connections.remove(this);
+      ((TcpConnector) connector).getKeepAliveMonitor().removeExpirable(this);
+      if (channel.isOpen()) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Closing listener: " + channel.socket().getLocalSocketAddress());
+        }
+        try {
+          channel.close();
+        } catch (IOException e) {
+          logger.warn("Socket close failed with: " + e);
+        }
+      }
+    }
+  }
+
+  protected class NioTcpWorker extends AbstractReceiverWorker {
+
+    private final TcpConnection connection;
+
+    public NioTcpWorker(List<Object> messages, AbstractMessageReceiver receiver, TcpConnection connection) {
+      super(messages, receiver);
+      this.connection = connection;
+    }
+
+    @Override
+    protected void bindTransaction(Transaction tx) throws TransactionException {
+      // nothing to do
+    }
+
+    @Override
+    protected void handleResults(List messages) throws Exception {
+      // should send back only if remote synch is set or no outbound endpoints
+      if (endpoint.getExchangePattern().hasResponse()) {
+        TcpProtocol protocol = ((TcpConnector) connector).getTcpProtocol();
+        for (Iterator iterator = messages.iterator(); iterator.hasNext();) {
+          ByteArrayOutputStream response = new ByteArrayOutputStream();
+          protocol.write(response, iterator.next());
+          connection.send(response.toByteArray());
+        }
+      }
+    }
+
+    @Override
+    protected CompatibilityMessage preRouteMuleMessage(final CompatibilityMessage message) throws Exception {
+      CompatibilityMessage muleMessage = super.preRouteMuleMessage(message);
+
+      final SocketAddress clientAddress = connection.getRemoteAddress();
+      if (clientAddress != null) {
+        final MuleCompatibilityMessageBuilder builder = new MuleCompatibilityMessageBuilder(muleMessage);
+        builder.addOutboundProperty(MULE_REMOTE_CLIENT_ADDRESS, clientAddress.toString());
+        return builder.build();
+      } else {
+        return muleMessage;
+      }
+    }
+
+    @Override
+    protected void doRun() {
+      try {
+        super.doRun();
+      } finally {
+        // reading from the connection is resumed even if processing the messages failed with an error
+        connection.processed();
+      }
+    }
+  }
+
+}
@@ -7,15 +7,19 @@
 package org.mule.compatibility.transport.tcp;
 
 import org.mule.compatibility.core.api.endpoint.ImmutableEndpoint;
+import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
 import org.mule.compatibility.core.api.transport.Connector;
 import org.mule.compatibility.core.api.transport.MessageDispatcherFactory;
+import org.mule.compatibility.core.api.transport.MessageReceiver;
 import org.mule.compatibility.core.config.i18n.TransportCoreMessages;
 import org.mule.compatibility.core.transport.AbstractConnector;
 import org.mule.compatibility.core.transport.ConfigurableKeyedObjectPool;
+import org.mule.compatibility.transport.tcp.i18n.TcpMessages;
 import org.mule.compatibility.transport.tcp.protocols.SafeProtocol;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.config.MuleProperties;
+import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.message.InternalMessage;
 import org.mule.runtime.core.exception.MessagingException;
@@ -26,11 +30,14 @@ import org.mule.runtime.core.util.monitor.ExpiryMonitor;
 import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
 
 import org.apache.commons.pool.impl.GenericKeyedObjectPool;
 
@@ -88,6 +95,13 @@ public class TcpConnector extends AbstractConnector {
    */
   private boolean keepAlive = false;
 
+  /**
+   * If set, each receiver reads from all of its connections in a single thread, waiting for any of them to have data with a
+   * {@link java.nio.channels.Selector}, instead of blocking a thread on each connection. Requires an
+   * {@link IncrementalTcpProtocol}.
+   */
+  private boolean nonBlockingReceiver = false;
+
   // TODO MULE-2300 remove once fixed
   private TcpSocketKey lastSocketKey;
 
@@ -144,6 +158,15 @@ public class TcpConnector extends AbstractConnector {
       }
     }
 
+    if (nonBlockingReceiver) {
+      if (!isNonBlockingReceiverSupported()) {
+        throw new InitialisationException(TcpMessages.nonBlockingReceiverCannotBeUsed(), this);
+      }
+      if (!isIncrementalProtocol(getTcpProtocol())) {
+        throw new InitialisationException(TcpMessages.protocolCannotDecodeIncrementally(getTcpProtocol().getClass()), this);
+      }
+    }
+
     socketFactory.setConnectionTimeout(getConnectionTimeout());
 
     socketsPool.setFactory(getSocketFactory());
@@ -172,6 +195,41 @@ public class TcpConnector extends AbstractConnector {
     keepAliveMonitor.dispose();
   }
 
+  /**
+   * Subclasses of the default server socket factory, such as the SSL one, customize the sockets in ways that would be bypassed
+   * by a server socket channel. Neither may a receiver be overridden, as the polling connector does.
+   */
+  protected boolean isNonBlockingReceiverSupported() {
+    return getServerSocketFactory().getClass() == TcpServerSocketFactory.class
+        && (serviceOverrides == null || !serviceOverrides.containsKey(MuleProperties.CONNECTOR_MESSAGE_RECEIVER_CLASS));
+  }
+
+  /**
+   * A protocol which overrides how messages are read but not how they are decoded would have its messages decoded differently
+   * by the non-blocking receiver, so it is not accepted.
+   */
+  private boolean isIncrementalProtocol(TcpProtocol protocol) {
+    if (!(protocol instanceof IncrementalTcpProtocol)) {
+      return false;
+    }
+    try {
+      Class<?> readClass = protocol.getClass().getMethod("read", InputStream.class).getDeclaringClass();
+      Class<?> decodeClass = protocol.getClass().getMethod("decode", ByteBuffer.class, boolean.class).getDeclaringClass();
+      return readClass.isAssignableFrom(decodeClass);
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  @Override
+  protected MessageReceiver createReceiver(FlowConstruct flowConstruct, InboundEndpoint endpoint) throws Exception {
+    if (nonBlockingReceiver) {
+      return new NioTcpMessageReceiver(this, flowConstruct, endpoint);
+    } else {
+      return super.createReceiver(flowConstruct, endpoint);
+    }
+  }
+
   /**
    * Lookup a socket in the list of dispatcher sockets but don't create a new socket
    */
@@ -379,6 +437,14 @@ public class TcpConnector extends AbstractConnector {
     this.keepAlive = keepAlive;
   }
 
+  public boolean isNonBlockingReceiver() {
+    return nonBlockingReceiver;
+  }
+
+  public void setNonBlockingReceiver(boolean nonBlockingReceiver) {
+    this.nonBlockingReceiver = nonBlockingReceiver;
+  }
+
   public boolean isSendTcpNoDelay() {
     return sendTcpNoDelay;
   }
@@ -407,6 +473,11 @@ public class TcpConnector extends AbstractConnector {
     return getServerSocketFactory().createServerSocket(uri, getReceiveBacklog(), isReuseAddress());
   }
 
+  protected ServerSocketChannel getServerSocketChannel(URI uri) throws IOException {
+    return ((TcpServerSocketFactory) getServerSocketFactory()).createServerSocketChannel(uri, getReceiveBacklog(),
+                                                                                        isReuseAddress());
+  }
+
   private static int valueOrDefault(int value, int threshhold, int deflt) {
     if (value < threshhold) {
       return deflt;
@@ -15,6 +15,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.URI;
+import java.nio.channels.ServerSocketChannel;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,15 +26,45 @@ public class TcpServerSocketFactory implements SimpleServerSocketFactory {
 
   @Override
   public ServerSocket createServerSocket(URI uri, int backlog, Boolean reuse) throws IOException {
+    InetSocketAddress address = getBindAddress(uri);
+    if (address.getAddress().isAnyLocalAddress()) {
+      return createServerSocket(address.getPort(), backlog, reuse);
+    } else {
+      return createServerSocket(address.getAddress(), address.getPort(), backlog, reuse);
+    }
+  }
+
+  /**
+   * Creates a server socket channel bound to the same address as {@link #createServerSocket(URI, int, Boolean)} would, for
+   * receivers which select on its connections instead of reading each of them in its own thread.
+   *
+   * @param uri The address and port to connect to
+   * @param backlog The backlog (or {@link org.mule.compatibility.core.api.transport.Connector#INT_VALUE_NOT_SET})
+   * @param reuse Whether to reuse addresses (null for default)
+   * @return A new, bound server socket channel, in blocking mode
+   * @throws IOException
+   */
+  public ServerSocketChannel createServerSocketChannel(URI uri, int backlog, Boolean reuse) throws IOException {
+    ServerSocketChannel channel = ServerSocketChannel.open();
+    try {
+      configure(channel.socket(), reuse, getBindAddress(uri), backlog);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return channel;
+  }
+
+  private InetSocketAddress getBindAddress(URI uri) throws IOException {
     String host = StringUtils.defaultIfEmpty(uri.getHost(), "localhost");
     InetAddress inetAddress = InetAddress.getByName(host);
 
     if ((inetAddress.equals(NetworkUtils.getLocalHost()) || host.trim().equals("localhost"))
         && TcpPropertyHelper.isBindingLocalhostToAllLocalInterfaces()) {
       logger.warn(TcpMessages.localhostBoundToAllLocalInterfaces().toString());
-      return createServerSocket(uri.getPort(), backlog, reuse);
+      return new InetSocketAddress(uri.getPort());
     } else {
-      return createServerSocket(inetAddress, uri.getPort(), backlog, reuse);
+      return new InetSocketAddress(inetAddress, uri.getPort());
     }
   }
 
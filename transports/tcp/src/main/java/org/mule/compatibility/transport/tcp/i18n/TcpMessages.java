@@ -42,6 +42,14 @@ public class TcpMessages extends I18nMessageFactory {
   public static I18nMessage localhostBoundToAllLocalInterfaces() {
     return factory.createMessage(BUNDLE_PATH, 6, TcpPropertyHelper.MULE_TCP_BIND_LOCALHOST_TO_ALL_LOCAL_INTERFACES_PROPERTY);
   }
+
+  public static I18nMessage nonBlockingReceiverCannotBeUsed() {
+    return factory.createMessage(BUNDLE_PATH, 7);
+  }
+
+  public static I18nMessage protocolCannotDecodeIncrementally(Class c) {
+    return factory.createMessage(BUNDLE_PATH, 8, c.getName());
+  }
 }
 
 
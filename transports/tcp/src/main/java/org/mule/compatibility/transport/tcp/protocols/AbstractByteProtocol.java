@@ -22,6 +22,7 @@ import java.io.Serializable;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 
 import javax.inject.Inject;
 
@@ -174,6 +175,19 @@ public abstract class AbstractByteProtocol implements TcpProtocol {
     return len;
   }
 
+  /**
+   * Consume data from a buffer being decoded
+   *
+   * @param buffer The buffer to consume the data from, starting at its position
+   * @param length The amount of data to consume
+   * @return The data consumed
+   */
+  protected byte[] consume(ByteBuffer buffer, int length) {
+    byte[] data = new byte[length];
+    buffer.get(data);
+    return data;
+  }
+
   protected byte[] nullEmptyArray(byte[] data) {
     if (0 == data.length) {
       return null;
@@ -6,8 +6,11 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.IncrementalTcpProtocol;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.text.MessageFormat;
 
 import org.apache.commons.io.output.ByteArrayOutputStream;
@@ -24,7 +27,7 @@ import org.slf4j.LoggerFactory;
  * Writing simply writes the data to the socket.
  * </p>
  */
-public class DirectProtocol extends AbstractByteProtocol {
+public class DirectProtocol extends AbstractByteProtocol implements IncrementalTcpProtocol {
 
   protected static final int UNLIMITED = -1;
 
@@ -72,6 +75,15 @@ public class DirectProtocol extends AbstractByteProtocol {
     return nullEmptyArray(baos.toByteArray());
   }
 
+  /**
+   * Decodes all the data received so far as a message, the same as {@link #read(InputStream)} reads the data that is
+   * (momentarily) available.
+   */
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    return nullEmptyArray(consume(buffer, buffer.remaining()));
+  }
+
   protected int remaining(int limit, int remain, int len) {
     if (UNLIMITED == limit) {
       return bufferSize;
@@ -6,6 +6,9 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
 /**
  * The EOFProtocol class is an application level tcp protocol that does nothing. Reading is terminated by the stream being closed
  * by the client.
@@ -24,4 +27,12 @@ public class EOFProtocol extends DirectProtocol {
     return true;
   }
 
+  /**
+   * Decode all the data once the stream is closed
+   */
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    return endOfStream ? super.decode(buffer, endOfStream) : null;
+  }
+
 }
@@ -8,9 +8,11 @@ package org.mule.compatibility.transport.tcp.protocols;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,9 +62,7 @@ public class LengthProtocol extends DirectProtocol {
       logger.debug("length: " + length);
     }
 
-    if (length < 0 || (getMaxMessageLength() > 0 && length > getMaxMessageLength())) {
-      throw new IOException("Length " + length + " exceeds limit: " + getMaxMessageLength());
-    }
+    checkLength(length);
 
     // finally read the rest of the data
     byte[] buffer = new byte[length];
@@ -74,6 +74,39 @@ public class LengthProtocol extends DirectProtocol {
     return buffer;
   }
 
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    if (buffer.remaining() < SIZE_INT) {
+      return incomplete(buffer, endOfStream);
+    }
+
+    int length = buffer.getInt(buffer.position());
+    if (logger.isDebugEnabled()) {
+      logger.debug("length: " + length);
+    }
+    checkLength(length);
+
+    if (buffer.remaining() < SIZE_INT + length) {
+      return incomplete(buffer, endOfStream);
+    }
+    buffer.position(buffer.position() + SIZE_INT);
+    return consume(buffer, length);
+  }
+
+  private Object incomplete(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    if (endOfStream && buffer.hasRemaining()) {
+      // same as when the stream is closed in the middle of a read
+      throw new EOFException("Stream closed after receiving " + buffer.remaining() + " bytes of a message");
+    }
+    return null;
+  }
+
+  private void checkLength(int length) throws IOException {
+    if (length < 0 || (getMaxMessageLength() > 0 && length > getMaxMessageLength())) {
+      throw new IOException("Length " + length + " exceeds limit: " + getMaxMessageLength());
+    }
+  }
+
   @Override
   protected void writeByteArray(OutputStream os, byte[] data) throws IOException {
     // Write the length and then the data.
@@ -6,9 +6,12 @@
  */
 package org.mule.compatibility.transport.tcp.protocols;
 
+import org.mule.compatibility.transport.tcp.IncrementalTcpProtocol;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -37,9 +40,10 @@ import java.util.concurrent.ConcurrentMap;
  * insure that unread characters remain on the stream so that all data may be read later.
  * </p>
  */
-public class XmlMessageProtocol extends AbstractByteProtocol {
+public class XmlMessageProtocol extends AbstractByteProtocol implements IncrementalTcpProtocol {
 
   private static final String XML_PATTERN = "<?xml";
+  private static final byte[] XML_PATTERN_BYTES = XML_PATTERN.getBytes();
 
   private static final int READ_BUFFER_SIZE = 4096;
   private static final int PUSHBACK_BUFFER_SIZE = READ_BUFFER_SIZE * 2;
@@ -105,6 +109,39 @@ public class XmlMessageProtocol extends AbstractByteProtocol {
     }
   }
 
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream) throws IOException {
+    return decode(buffer, endOfStream, 0);
+  }
+
+  @Override
+  public Object decode(ByteBuffer buffer, boolean endOfStream, int examined) throws IOException {
+    // start search at 2nd character in buffer to indicate whether we have reached a new document, skipping the data already
+    // examined except for the bytes where a pattern completed by the new data may start.
+    int patternIndex = indexOfPattern(buffer, Math.max(1, examined - XML_PATTERN_BYTES.length + 1));
+    if (patternIndex > 0) {
+      return consume(buffer, patternIndex);
+    } else if (endOfStream || !isRepeat(patternIndex, buffer.remaining(), 0)) {
+      return nullEmptyArray(consume(buffer, buffer.remaining()));
+    } else {
+      return null;
+    }
+  }
+
+  private int indexOfPattern(ByteBuffer buffer, int fromIndex) {
+    int start = buffer.position();
+    for (int i = fromIndex; i <= buffer.remaining() - XML_PATTERN_BYTES.length; ++i) {
+      int j = 0;
+      while (j < XML_PATTERN_BYTES.length && buffer.get(start + i + j) == XML_PATTERN_BYTES[j]) {
+        ++j;
+      }
+      if (j == XML_PATTERN_BYTES.length) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   /**
    * Show we continue reading? This class, following previous implementations, only reads while input is saturated.
    * 
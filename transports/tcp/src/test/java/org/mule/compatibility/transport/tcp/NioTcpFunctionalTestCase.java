@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.mule.functional.extensions.CompatibilityFunctionalTestCase;
+import org.mule.runtime.core.api.client.MuleClient;
+import org.mule.runtime.core.api.message.InternalMessage;
+import org.mule.tck.junit4.rule.DynamicPort;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class NioTcpFunctionalTestCase extends CompatibilityFunctionalTestCase {
+
+  private static final String TEST_MESSAGE = "Test TCP Request";
+  private static final int CONNECTIONS = 200;
+
+  @Rule
+  public DynamicPort dynamicPort1 = new DynamicPort("port1");
+
+  @Override
+  protected String getConfigFile() {
+    return "tcp-nio-functional-test-flow.xml";
+  }
+
+  @Test
+  public void testSend() throws Exception {
+    MuleClient client = muleContext.getClient();
+    InternalMessage result = client.send("clientEndpoint", TEST_MESSAGE, null).getRight();
+    assertEquals(TEST_MESSAGE + " Received", getPayloadAsString(result));
+  }
+
+  @Test
+  public void manyPersistentConnections() throws Exception {
+    NioTcpMessageReceiver receiver = getReceiver();
+    List<Socket> sockets = new ArrayList<>(CONNECTIONS);
+    try {
+      for (int i = 0; i < CONNECTIONS; ++i) {
+        sockets.add(new Socket("localhost", dynamicPort1.getNumber()));
+      }
+
+      for (int round = 0; round < 2; ++round) {
+        for (int i = 0; i < CONNECTIONS; ++i) {
+          write(sockets.get(i), TEST_MESSAGE + i);
+        }
+        for (int i = 0; i < CONNECTIONS; ++i) {
+          assertThat(read(sockets.get(i)), is(TEST_MESSAGE + i + " Received"));
+        }
+      }
+      assertThat(receiver.getConnectionsCount(), is(CONNECTIONS));
+    } finally {
+      for (Socket socket : sockets) {
+        socket.close();
+      }
+    }
+
+    new PollingProber(5000, 100).check(new JUnitLambdaProbe(() -> receiver.getConnectionsCount() == 0));
+  }
+
+  @Test
+  public void messageSplitAcrossReads() throws Exception {
+    try (Socket socket = new Socket("localhost", dynamicPort1.getNumber())) {
+      DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      out.writeInt(TEST_MESSAGE.length());
+      out.write(TEST_MESSAGE.getBytes(), 0, 4);
+      out.flush();
+      Thread.sleep(100);
+      out.write(TEST_MESSAGE.getBytes(), 4, TEST_MESSAGE.length() - 4);
+      out.flush();
+
+      assertThat(read(socket), is(TEST_MESSAGE + " Received"));
+    }
+  }
+
+  @Test
+  public void severalMessagesInOneRead() throws Exception {
+    try (Socket socket = new Socket("localhost", dynamicPort1.getNumber())) {
+      write(socket, TEST_MESSAGE + 1);
+      write(socket, TEST_MESSAGE + 2);
+
+      assertThat(read(socket), is(TEST_MESSAGE + 1 + " Received"));
+      assertThat(read(socket), is(TEST_MESSAGE + 2 + " Received"));
+    }
+  }
+
+  @Test
+  public void failingConnectionDoesNotAffectOthers() throws Exception {
+    try (Socket socket = new Socket("localhost", dynamicPort1.getNumber());
+        Socket failingSocket = new Socket("localhost", dynamicPort1.getNumber())) {
+      DataOutputStream out = new DataOutputStream(failingSocket.getOutputStream());
+      out.writeInt(-1);
+      out.flush();
+      assertThat(failingSocket.getInputStream().read(), is(-1));
+
+      write(socket, TEST_MESSAGE);
+      assertThat(read(socket), is(TEST_MESSAGE + " Received"));
+    }
+
+    try (Socket socket = new Socket("localhost", dynamicPort1.getNumber())) {
+      write(socket, TEST_MESSAGE);
+      assertThat(read(socket), is(TEST_MESSAGE + " Received"));
+    }
+  }
+
+  private NioTcpMessageReceiver getReceiver() {
+    TcpConnector connector = (TcpConnector) muleContext.getRegistry().lookupObject("tcpConnector");
+    assertThat(connector.getReceivers().size(), is(1));
+    Object receiver = connector.getReceivers().values().iterator().next();
+    assertThat(receiver, instanceOf(NioTcpMessageReceiver.class));
+    return (NioTcpMessageReceiver) receiver;
+  }
+
+  private void write(Socket socket, String message) throws IOException {
+    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+    out.writeInt(message.length());
+    out.write(message.getBytes());
+    out.flush();
+  }
+
+  private String read(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(socket.getInputStream());
+    byte[] message = new byte[in.readInt()];
+    in.readFully(message);
+    return new String(message);
+  }
+}
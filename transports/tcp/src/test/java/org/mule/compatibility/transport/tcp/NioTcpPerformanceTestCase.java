@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp;
+
+import static java.lang.Integer.getInteger;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.functional.extensions.CompatibilityFunctionalTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Compares the connections count and throughput of the blocking and the non blocking TCP receivers. The amount of connections
+ * can be raised with the {@code mule.test.tcp.connections} system property, as long as the open files limit allows it.
+ */
+public class NioTcpPerformanceTestCase extends CompatibilityFunctionalTestCase {
+
+  private static final String TEST_MESSAGE = "Test TCP Request";
+  private static final int CONNECTIONS = getInteger("mule.test.tcp.connections", 500);
+  private static final int THROUGHPUT_CONNECTIONS = 8;
+  private static final int THROUGHPUT_MESSAGES = 1000;
+
+  @Rule
+  public DynamicPort blockingPort = new DynamicPort("port1");
+
+  @Rule
+  public DynamicPort nonBlockingPort = new DynamicPort("port2");
+
+  @Override
+  protected String getConfigFile() {
+    return "tcp-nio-performance-test-flow.xml";
+  }
+
+  /**
+   * The blocking receiver would need a thread for each of these connections, so only the non blocking one is exercised.
+   */
+  @Test
+  public void nonBlockingConnections() throws Exception {
+    int threadsBefore = Thread.activeCount();
+    List<Socket> sockets = connect(nonBlockingPort.getNumber(), CONNECTIONS);
+    try {
+      long elapsed = exchange(sockets, 10);
+      logger.info(CONNECTIONS + " connections served in " + elapsed + " ms using " + (Thread.activeCount() - threadsBefore)
+          + " more threads");
+      assertThat(Thread.activeCount() - threadsBefore, lessThan(CONNECTIONS / 2));
+    } finally {
+      close(sockets);
+    }
+  }
+
+  @Test
+  public void blockingThroughput() throws Exception {
+    logThroughput("Blocking", blockingPort.getNumber());
+  }
+
+  @Test
+  public void nonBlockingThroughput() throws Exception {
+    logThroughput("Non blocking", nonBlockingPort.getNumber());
+  }
+
+  private void logThroughput(String receiver, int port) throws Exception {
+    List<Socket> sockets = connect(port, THROUGHPUT_CONNECTIONS);
+    try {
+      exchange(sockets, THROUGHPUT_MESSAGES / 10);
+      long elapsed = exchange(sockets, THROUGHPUT_MESSAGES);
+      double speed = THROUGHPUT_CONNECTIONS * THROUGHPUT_MESSAGES * 1000.0 / Math.max(elapsed, 1);
+      logger.info(receiver + " receiver: " + speed + " messages per second over " + THROUGHPUT_CONNECTIONS + " connections");
+    } finally {
+      close(sockets);
+    }
+  }
+
+  private long exchange(List<Socket> sockets, int rounds) throws IOException {
+    long start = System.currentTimeMillis();
+    for (int round = 0; round < rounds; ++round) {
+      for (int i = 0; i < sockets.size(); ++i) {
+        write(sockets.get(i), TEST_MESSAGE + i);
+      }
+      for (int i = 0; i < sockets.size(); ++i) {
+        assertThat(read(sockets.get(i)), is(TEST_MESSAGE + i + " Received"));
+      }
+    }
+    return System.currentTimeMillis() - start;
+  }
+
+  private List<Socket> connect(int port, int count) throws IOException {
+    List<Socket> sockets = new ArrayList<>(count);
+    try {
+      for (int i = 0; i < count; ++i) {
+        sockets.add(new Socket("localhost", port));
+      }
+    } catch (IOException e) {
+      close(sockets);
+      throw e;
+    }
+    return sockets;
+  }
+
+  private void close(List<Socket> sockets) throws IOException {
+    for (Socket socket : sockets) {
+      socket.close();
+    }
+  }
+
+  private void write(Socket socket, String message) throws IOException {
+    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+    out.writeInt(message.length());
+    out.write(message.getBytes());
+    out.flush();
+  }
+
+  private String read(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(socket.getInputStream());
+    byte[] message = new byte[in.readInt()];
+    in.readFully(message);
+    return new String(message);
+  }
+}
@@ -14,6 +14,9 @@ import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
 import org.mule.compatibility.core.api.transport.Connector;
 import org.mule.compatibility.core.transport.AbstractConnectorTestCase;
 import org.mule.compatibility.transport.tcp.TcpConnector;
+import org.mule.compatibility.transport.tcp.protocols.LengthProtocol;
+import org.mule.compatibility.transport.tcp.protocols.StreamingProtocol;
+import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.tck.MuleTestUtils.TestCallback;
 
 import org.junit.Test;
@@ -90,4 +93,25 @@ public class TcpConnectorTestCase extends AbstractConnectorTestCase {
     });
   }
 
+  @Test
+  public void nonBlockingReceiverWithIncrementalProtocol() throws Exception {
+    TcpConnector connector = new TcpConnector(muleContext);
+    connector.setName("nonBlockingConnector");
+    connector.setNonBlockingReceiver(true);
+    connector.setTcpProtocol(new LengthProtocol());
+    connector.initialise();
+
+    assertTrue(connector.isNonBlockingReceiver());
+    connector.dispose();
+  }
+
+  @Test(expected = InitialisationException.class)
+  public void nonBlockingReceiverWithStreamingProtocol() throws Exception {
+    TcpConnector connector = new TcpConnector(muleContext);
+    connector.setName("nonBlockingConnector");
+    connector.setNonBlockingReceiver(true);
+    connector.setTcpProtocol(new StreamingProtocol());
+    connector.initialise();
+  }
+
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.tcp.protocols;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.compatibility.transport.tcp.IncrementalTcpProtocol;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+@SmallTest
+public class IncrementalDecodingTestCase extends AbstractMuleTestCase {
+
+  private static final String FIRST = "first message";
+  private static final String SECOND = "second message";
+
+  @Test
+  public void directDecodesDataReceived() throws Exception {
+    ByteBuffer buffer = wrap(FIRST.getBytes());
+
+    assertThat(decodeString(new DirectProtocol(), buffer, false), is(FIRST));
+    assertThat(new DirectProtocol().decode(buffer, false), is(nullValue()));
+  }
+
+  @Test
+  public void eofDecodesOnEndOfStream() throws Exception {
+    ByteBuffer buffer = wrap(FIRST.getBytes());
+
+    assertThat(new EOFProtocol().decode(buffer, false), is(nullValue()));
+    assertThat(buffer.position(), is(0));
+    assertThat(decodeString(new EOFProtocol(), buffer, true), is(FIRST));
+    assertThat(new EOFProtocol().decode(buffer, true), is(nullValue()));
+  }
+
+  @Test
+  public void lengthDecodesWholeMessagesOnly() throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    byte[] data = concat(write(protocol, FIRST), write(protocol, SECOND));
+
+    // received one byte at a time
+    ByteBuffer buffer = ByteBuffer.allocate(data.length);
+    buffer.flip();
+    StringBuilder decoded = new StringBuilder();
+    for (byte b : data) {
+      buffer.limit(buffer.limit() + 1);
+      buffer.put(buffer.limit() - 1, b);
+      Object message = protocol.decode(buffer, false);
+      if (message != null) {
+        decoded.append(new String((byte[]) message)).append('|');
+      }
+    }
+
+    assertThat(decoded.toString(), is(FIRST + "|" + SECOND + "|"));
+    assertThat(buffer.hasRemaining(), is(false));
+  }
+
+  @Test
+  public void lengthDecodesSeveralMessagesReceivedTogether() throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    ByteBuffer buffer = wrap(concat(write(protocol, FIRST), write(protocol, SECOND)));
+
+    assertThat(decodeString(protocol, buffer, false), is(FIRST));
+    assertThat(decodeString(protocol, buffer, false), is(SECOND));
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+  }
+
+  @Test(expected = IOException.class)
+  public void lengthExceedingLimit() throws Exception {
+    LengthProtocol protocol = new LengthProtocol(FIRST.length() - 1);
+    protocol.decode(wrap(write(new LengthProtocol(), FIRST)), false);
+  }
+
+  @Test(expected = EOFException.class)
+  public void lengthClosedInTheMiddleOfAMessage() throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    byte[] data = write(protocol, FIRST);
+    byte[] truncated = new byte[data.length - 1];
+    System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+    protocol.decode(wrap(truncated), true);
+  }
+
+  @Test
+  public void safeKeepsCookieUntilWholeMessageReceived() throws Exception {
+    SafeProtocol protocol = new SafeProtocol();
+    byte[] data = write(protocol, FIRST);
+
+    ByteBuffer buffer = wrap(data);
+    buffer.limit(data.length - 1);
+    assertThat(protocol.decode(buffer, false), is(nullValue()));
+    assertThat(buffer.position(), is(0));
+
+    buffer.limit(data.length);
+    assertThat(decodeString(protocol, buffer, false), is(FIRST));
+    assertThat(buffer.hasRemaining(), is(false));
+  }
+
+  @Test(expected = IOException.class)
+  public void safeWithoutCookie() throws Exception {
+    new SafeProtocol().decode(wrap(write(new LengthProtocol(), FIRST)), false);
+  }
+
+  @Test
+  public void xmlDecodesUpToNextDocument() throws Exception {
+    String first = "<?xml version=\"1.0\"?><first/>";
+    String second = "<?xml version=\"1.0\"?><second/>";
+    ByteBuffer buffer = wrap((first + second).getBytes());
+
+    assertThat(decodeString(new XmlMessageProtocol(), buffer, false), is(first));
+    assertThat(decodeString(new XmlMessageProtocol(), buffer, false), is(second));
+  }
+
+  @Test
+  public void xmlEofWaitsForNextDocument() throws Exception {
+    String first = "<?xml version=\"1.0\"?><first/>";
+    String second = "<?xml version=\"1.0\"?><second/>";
+    ByteBuffer buffer = wrap((first + second).getBytes());
+
+    assertThat(decodeString(new XmlMessageEOFProtocol(), buffer, false), is(first));
+    assertThat(new XmlMessageEOFProtocol().decode(buffer, false), is(nullValue()));
+    assertThat(decodeString(new XmlMessageEOFProtocol(), buffer, true), is(second));
+  }
+
+  @Test
+  public void xmlEofResumesSearchAfterExaminedData() throws Exception {
+    String first = "<?xml version=\"1.0\"?><first/>";
+    String second = "<?xml version=\"1.0\"?><second/>";
+    byte[] data = (first + second).getBytes();
+    XmlMessageEOFProtocol protocol = new XmlMessageEOFProtocol();
+
+    // the start of the next document is split between the examined data and the new one
+    ByteBuffer buffer = wrap(data);
+    int examined = first.length() + 2;
+    buffer.limit(examined);
+    assertThat(protocol.decode(buffer, false, 0), is(nullValue()));
+
+    buffer.limit(data.length);
+    assertThat(new String((byte[]) protocol.decode(buffer, false, examined)), is(first));
+    assertThat(protocol.decode(buffer, false, 0), is(nullValue()));
+    assertThat(buffer.position(), is(first.length()));
+  }
+
+  @Test
+  public void decodedAsRead() throws Exception {
+    LengthProtocol protocol = new LengthProtocol();
+    byte[] data = write(protocol, FIRST);
+
+    assertThat(protocol.decode(wrap(data), false), equalTo(protocol.read(new ByteArrayInputStream(data))));
+  }
+
+  private String decodeString(IncrementalTcpProtocol protocol, ByteBuffer buffer, boolean endOfStream) throws IOException {
+    return new String((byte[]) protocol.decode(buffer, endOfStream));
+  }
+
+  private byte[] write(IncrementalTcpProtocol protocol, String message) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    protocol.write(out, message.getBytes());
+    return out.toByteArray();
+  }
+
+  private ByteBuffer wrap(byte[] data) {
+    return ByteBuffer.wrap(data);
+  }
+
+  private byte[] concat(byte[] first, byte[] second) {
+    byte[] result = new byte[first.length + second.length];
+    System.arraycopy(first, 0, result, 0, first.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+}
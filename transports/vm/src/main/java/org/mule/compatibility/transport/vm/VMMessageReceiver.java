@@ -6,6 +6,9 @@
  */
 package org.mule.compatibility.transport.vm;
 
+import static java.lang.System.currentTimeMillis;
+import static org.mule.runtime.core.api.Event.setCurrentEvent;
+
 import org.mule.compatibility.core.api.endpoint.InboundEndpoint;
 import org.mule.compatibility.core.api.transport.Connector;
 import org.mule.compatibility.core.message.CompatibilityMessage;
@@ -22,6 +25,7 @@ import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.execution.ExecutionTemplate;
 import org.mule.runtime.core.api.lifecycle.CreateException;
 import org.mule.runtime.core.util.queue.Queue;
+import org.mule.runtime.core.util.queue.QueueListener;
 import org.mule.runtime.core.util.queue.QueueSession;
 
 import java.io.Serializable;
@@ -29,15 +33,27 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <code>VMMessageReceiver</code> is a listener for events from a Mule service which then simply passes the events on to the
  * target service.
+ * <p>
+ * When the queue manager is able to signal its queues, one-way receivers consume the queue as soon as messages are made available
+ * in it instead of polling it continuously.
  */
 public class VMMessageReceiver extends TransactedPollingMessageReceiver {
 
   private VMConnector connector;
 
+  private final QueueListener queueListener = queueName -> signal();
+  private final AtomicInteger consumers = new AtomicInteger();
+  private final Object consumersLock = new Object();
+  private volatile int maxConsumers;
+  private volatile boolean signalDriven;
+  private ScheduledFuture<?> sweep;
+
   public VMMessageReceiver(Connector connector, FlowConstruct flowConstruct, InboundEndpoint endpoint) throws CreateException {
     super(connector, flowConstruct, endpoint);
     this.setReceiveMessagesInTransaction(endpoint.getTransactionConfig().isTransacted());
@@ -55,6 +71,95 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
     }
   }
 
+  @Override
+  public void doStart() throws MuleException {
+    if (!endpoint.getExchangePattern().hasResponse()
+        && connector.getQueueManager().addQueueListener(getQueueName(), queueListener)) {
+      // Connector property overrides any implied value
+      setUseMultipleTransactedReceivers(connector.isCreateMultipleTransactedReceivers());
+      maxConsumers = getNumberOfConcurrentReceivers();
+      signalDriven = true;
+      // Picks up the messages already queued and any made available without a signal, such as recovered ones
+      sweep = connector.getScheduler().scheduleWithFixedDelay(() -> {
+        if (!hasNoMessages()) {
+          signal();
+        }
+      }, DEFAULT_STARTUP_DELAY, getFrequency(), getTimeUnit());
+    } else {
+      super.doStart();
+    }
+  }
+
+  @Override
+  protected void doStop() throws MuleException {
+    if (signalDriven) {
+      connector.getQueueManager().removeQueueListener(getQueueName(), queueListener);
+      sweep.cancel(false);
+      awaitConsumers();
+      signalDriven = false;
+    }
+    super.doStop();
+  }
+
+  /**
+   * Starts a new consumer of the queue, unless the maximum amount of consumers is already running.
+   */
+  private void signal() {
+    if (!isStarted()) {
+      return;
+    }
+    int current;
+    do {
+      current = consumers.get();
+      if (current >= maxConsumers) {
+        return;
+      }
+    } while (!consumers.compareAndSet(current, current + 1));
+
+    try {
+      connector.getScheduler().execute(new QueueConsumer());
+    } catch (RejectedExecutionException e) {
+      consumers.decrementAndGet();
+      logger.warn("Could not start a consumer for queue " + getQueueName(), e);
+    }
+  }
+
+  /**
+   * Starts a new consumer of the queue once the polling frequency of this receiver elapses, so a persistent failure doesn't make
+   * the consumers spin on the queue.
+   */
+  private void signalLater() {
+    try {
+      connector.getScheduler().schedule(() -> signal(), getFrequency(), getTimeUnit());
+    } catch (RejectedExecutionException e) {
+      logger.warn("Could not schedule a consumer for queue " + getQueueName(), e);
+    }
+  }
+
+  private void consumerCompleted() {
+    if (consumers.decrementAndGet() == 0) {
+      synchronized (consumersLock) {
+        consumersLock.notifyAll();
+      }
+    }
+  }
+
+  private void awaitConsumers() {
+    long deadline = currentTimeMillis() + endpoint.getMuleContext().getConfiguration().getShutdownTimeout();
+    synchronized (consumersLock) {
+      long remaining;
+      while (consumers.get() > 0 && (remaining = deadline - currentTimeMillis()) > 0) {
+        try {
+          consumersLock.wait(remaining);
+        } catch (InterruptedException e) {
+          logger.warn("Interrupted while waiting for the consumers of queue " + getQueueName() + " to complete", e);
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
   @Override
   protected void doDispose() {
     // template method
@@ -147,7 +252,7 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
     int batchSize = getBatchSize(queue.size());
 
     // try to get the first event off the queue
-    InternalMessage message = getMessage(queue, connector.getQueueTimeout());
+    InternalMessage message = getMessage(queue, getQueueTimeout());
 
     if (message != null) {
       messages.add(message);
@@ -179,7 +284,18 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
     QueueSession qs = connector.getTransactionalResource(endpoint);
     Queue queue = qs.getQueue(endpoint.getEndpointURI().getAddress());
 
-    return getMessage(queue, connector.getQueueTimeout());
+    return getMessage(queue, getQueueTimeout());
+  }
+
+  /*
+   * Consumers are only started once messages are available, so they don't need to wait for them.
+   */
+  private int getQueueTimeout() {
+    return signalDriven ? 0 : connector.getQueueTimeout();
+  }
+
+  private String getQueueName() {
+    return endpoint.getEndpointURI().getAddress();
   }
 
   @Override
@@ -198,6 +314,37 @@ public class VMMessageReceiver extends TransactedPollingMessageReceiver {
     return routeMessage((CompatibilityMessage) msg);
   }
 
+  /**
+   * Consumes the queue until it is empty. Messages signalled while all consumers were busy are picked up by the consumer
+   * finishing last. If consuming the queue fails, the next consumer is only started after the polling frequency elapses.
+   */
+  private class QueueConsumer implements Runnable {
+
+    @Override
+    public void run() {
+      // Make sure we start with a clean slate.
+      setCurrentEvent(null);
+      boolean failed = false;
+      try {
+        while (isStarted() && !isStopping() && !hasNoMessages()) {
+          performPoll();
+        }
+      } catch (Exception e) {
+        failed = true;
+        endpoint.getMuleContext().getExceptionListener().handleException(e);
+      } finally {
+        consumerCompleted();
+      }
+      if (isStarted() && !isStopping() && !hasNoMessages()) {
+        if (failed) {
+          signalLater();
+        } else {
+          signal();
+        }
+      }
+    }
+  }
+
   /*
    * We create our own "polling" worker here since we need to evade the standard scheduler.
    */
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.compatibility.transport.vm;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.functional.extensions.CompatibilityFunctionalTestCase;
+import org.mule.runtime.core.api.client.MuleClient;
+import org.mule.runtime.core.api.message.InternalMessage;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class VMSignalDrivenReceiverTestCase extends CompatibilityFunctionalTestCase {
+
+  private static final int MESSAGES = 100;
+
+  @Override
+  protected String getConfigFile() {
+    return "vm/vm-signal-driven-test-flow.xml";
+  }
+
+  @Test
+  public void messagesConsumedAsSignalled() throws Exception {
+    assertAllReceived("vm://in", "vm://out");
+  }
+
+  @Test
+  public void messagesConsumedInTransactionAsSignalled() throws Exception {
+    assertAllReceived("vm://txIn", "vm://txOut");
+  }
+
+  private void assertAllReceived(String in, String out) throws Exception {
+    MuleClient client = muleContext.getClient();
+    for (int i = 0; i < MESSAGES; ++i) {
+      client.dispatch(in, "Marco" + i, null);
+    }
+
+    Set<Object> received = new HashSet<>();
+    for (int i = 0; i < MESSAGES; ++i) {
+      InternalMessage response = client.request(out, RECEIVE_TIMEOUT).getRight().get();
+      received.add(response.getPayload().getValue());
+    }
+    for (int i = 0; i < MESSAGES; ++i) {
+      assertThat(received.contains("Marco" + i + " Received"), is(true));
+    }
+    assertThat(client.request(out, RECEIVE_TIMEOUT).getRight().isPresent(), is(false));
+  }
+}